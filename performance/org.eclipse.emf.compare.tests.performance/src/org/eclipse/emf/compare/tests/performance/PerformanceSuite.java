@@ -15,7 +15,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({TestMatchId.class, TestMatchContent.class, TestDiff.class, TestReq.class, TestEqui.class,
 		TestConflict.class, TestCompare.class, TestPostMatchUML.class, TestPostComparisonUML.class,
-		TestLogicalModel.class, })
+		TestLogicalModel.class, TestTextDiff.class, })
 public class PerformanceSuite {
 
 }
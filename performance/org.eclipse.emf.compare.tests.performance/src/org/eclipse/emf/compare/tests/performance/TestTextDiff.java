@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.performance;
+
+import java.util.Random;
+
+import org.eclipse.emf.compare.internal.ThreeWayTextDiff;
+import org.eclipse.emf.compare.internal.dmp.LineBasedDiff;
+import org.eclipse.emf.compare.internal.dmp.LineHashDiff;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import fr.obeo.performance.api.PerformanceMonitor;
+
+/**
+ * Compares the line-based diff of the reference diff_match_patch implementation with the
+ * {@link LineHashDiff} engine on large texts.
+ */
+@SuppressWarnings({"nls", "restriction" })
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestTextDiff extends AbstractEMFComparePerformanceTest {
+
+	/** Number of lines of the generated texts, roughly 2MB. */
+	private static final int LINE_COUNT = 50000;
+
+	/** Number of lines changed on each side. */
+	private static final int CHANGE_COUNT = 500;
+
+	/** The generated origin text. */
+	private static final String ORIGIN = createText(0);
+
+	/** The generated left text. */
+	private static final String LEFT = changeText(ORIGIN, 1);
+
+	/** The generated right text. */
+	private static final String RIGHT = changeText(ORIGIN, 2);
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.emf.compare.tests.performance.AbstractEMFComparePerformanceTest#setSUTName()
+	 */
+	@Override
+	protected void setSUTName() {
+		getPerformance().getSystemUnderTest().setName(TestTextDiff.class.getSimpleName());
+	}
+
+	@Test
+	public void a_lineDiffReference() {
+		PerformanceMonitor monitor = getPerformance().createMonitor("lineDiffReference");
+		monitor.measure(warmup(), getStepsNumber(), new Runnable() {
+			public void run() {
+				new LineBasedDiff().computeLineBasedDiff(ORIGIN, LEFT);
+			}
+		});
+	}
+
+	@Test
+	public void b_lineDiffLineHash() {
+		PerformanceMonitor monitor = getPerformance().createMonitor("lineDiffLineHash");
+		final LineHashDiff lineDiff = new LineHashDiff();
+		monitor.measure(warmup(), getStepsNumber(), new Runnable() {
+			public void run() {
+				lineDiff.diff(ORIGIN, LEFT, System.currentTimeMillis() + 1000L);
+			}
+		});
+	}
+
+	@Test
+	public void c_threeWayTextDiff() {
+		PerformanceMonitor monitor = getPerformance().createMonitor("threeWayTextDiff");
+		final LineHashDiff lineDiff = new LineHashDiff();
+		monitor.measure(warmup(), getStepsNumber(), new Runnable() {
+			public void run() {
+				new ThreeWayTextDiff(ORIGIN, LEFT, RIGHT, lineDiff).isConflicting();
+			}
+		});
+	}
+
+	private static String createText(long seed) {
+		final Random random = new Random(seed);
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < LINE_COUNT; i++) {
+			builder.append("\t\tline ").append(i).append(" : ").append(random.nextInt()).append('\n');
+		}
+		return builder.toString();
+	}
+
+	private static String changeText(String text, long seed) {
+		final Random random = new Random(seed);
+		final String[] lines = text.split("\n");
+		for (int i = 0; i < CHANGE_COUNT; i++) {
+			final int line = random.nextInt(lines.length);
+			lines[line] = "changed " + random.nextInt();
+		}
+		final StringBuilder builder = new StringBuilder();
+		for (String line : lines) {
+			builder.append(line).append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -34,6 +34,7 @@ import org.eclipse.emf.compare.DifferenceKind;
 import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.diagram.internal.extensions.DiagramDiff;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.gmf.runtime.notation.NotationPackage;
@@ -54,6 +55,7 @@ import org.eclipse.sirius.viewpoint.description.RepresentationElementMapping;
  * @author <a href="mailto:cedric.brun@obeo.fr">Cedric Brun</a>
  */
 @SuppressWarnings("restriction")
+@IPostProcessor.Phases({Phase.REQUIREMENTS, Phase.COMPARISON })
 public class SiriusDiffPostProcessor implements IPostProcessor {
 	/**
 	 * Create a new predicate to check whether the value of a {@link ReferenceChange} is of a given type.
@@ -25,12 +25,14 @@ import org.eclipse.emf.compare.diagram.internal.extensions.DiagramDiff;
 import org.eclipse.emf.compare.diagram.internal.factories.DiagramExtensionFactoryRegistry;
 import org.eclipse.emf.compare.internal.postprocessor.factories.IChangeFactory;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 
 /**
  * Post-processor to create the diagram difference extensions.
  * 
  * @author <a href="mailto:cedric.notot@obeo.fr">Cedric Notot</a>
  */
+@IPostProcessor.Phases(Phase.COMPARISON)
 public class CompareDiagramPostProcessor implements IPostProcessor {
 
 	/** Registry of diagram difference extension factories. */
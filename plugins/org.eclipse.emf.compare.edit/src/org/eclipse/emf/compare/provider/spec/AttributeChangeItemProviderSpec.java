@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,6 +27,7 @@ import org.eclipse.emf.compare.provider.SafeAdapterFactoryItemDelegator;
 import org.eclipse.emf.compare.provider.utils.ComposedStyledString;
 import org.eclipse.emf.compare.provider.utils.IStyledString;
 import org.eclipse.emf.compare.provider.utils.IStyledString.Style;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
@@ -179,7 +180,26 @@ public class AttributeChangeItemProviderSpec extends AttributeChangeItemProvider
 	@Override
 	public IStyledString.IComposedStyledString getStyledText(Object object) {
 		final AttributeChange attChange = (AttributeChange)object;
+		final LabelCache cache = LabelCache.getCache(attChange);
+		if (cache == null) {
+			return computeStyledText(attChange);
+		}
+		IStyledString.IComposedStyledString ret = cache.getStyledText(getRootAdapterFactory(), attChange);
+		if (ret == null) {
+			ret = computeStyledText(attChange);
+			cache.putStyledText(getRootAdapterFactory(), attChange, ret);
+		}
+		return ret;
+	}
 
+	/**
+	 * Computes the styled label of the given difference.
+	 * 
+	 * @param attChange
+	 *            The difference which styled label we need.
+	 * @return The styled label of the given difference.
+	 */
+	private IStyledString.IComposedStyledString computeStyledText(AttributeChange attChange) {
 		final String valueText = getValueText(attChange);
 
 		final String attributeText = getAttributeText(attChange);
@@ -226,6 +246,26 @@ public class AttributeChangeItemProviderSpec extends AttributeChangeItemProvider
 	 */
 	public String getSemanticObjectLabel(Object object) {
 		final AttributeChange attChange = (AttributeChange)object;
+		final LabelCache cache = LabelCache.getCache(attChange);
+		if (cache == null) {
+			return computeSemanticObjectLabel(attChange);
+		}
+		String ret = cache.getText(getRootAdapterFactory(), attChange, LabelCache.SEMANTIC_LABEL);
+		if (ret == null) {
+			ret = computeSemanticObjectLabel(attChange);
+			cache.putText(getRootAdapterFactory(), attChange, LabelCache.SEMANTIC_LABEL, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the semantic label of the given difference.
+	 * 
+	 * @param attChange
+	 *            The difference which semantic label we need.
+	 * @return The semantic label of the given difference.
+	 */
+	private String computeSemanticObjectLabel(AttributeChange attChange) {
 		return getValueText(attChange);
 	}
 
@@ -236,6 +276,26 @@ public class AttributeChangeItemProviderSpec extends AttributeChangeItemProvider
 	 */
 	public String getDescription(Object object) {
 		final AttributeChange attChange = (AttributeChange)object;
+		final LabelCache cache = LabelCache.getCache(attChange);
+		if (cache == null) {
+			return computeDescription(attChange);
+		}
+		String ret = cache.getText(getRootAdapterFactory(), attChange, LabelCache.DESCRIPTION);
+		if (ret == null) {
+			ret = computeDescription(attChange);
+			cache.putText(getRootAdapterFactory(), attChange, LabelCache.DESCRIPTION, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the description of the given difference.
+	 * 
+	 * @param attChange
+	 *            The difference which description we need.
+	 * @return The description of the given difference.
+	 */
+	private String computeDescription(AttributeChange attChange) {
 
 		final String valueText = getValueText(attChange);
 		final String attributeText = getAttributeText(attChange);
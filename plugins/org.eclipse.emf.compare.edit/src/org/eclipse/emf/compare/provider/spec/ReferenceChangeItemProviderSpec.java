@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.emf.compare.provider.SafeAdapterFactoryItemDelegator;
 import org.eclipse.emf.compare.provider.utils.ComposedStyledString;
 import org.eclipse.emf.compare.provider.utils.IStyledString;
 import org.eclipse.emf.compare.provider.utils.IStyledString.Style;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
 import org.eclipse.emf.compare.utils.EMFComparePredicates;
 import org.eclipse.emf.compare.utils.ReferenceUtil;
 import org.eclipse.emf.ecore.EObject;
@@ -254,7 +255,26 @@ public class ReferenceChangeItemProviderSpec extends ReferenceChangeItemProvider
 	@Override
 	public IStyledString.IComposedStyledString getStyledText(Object object) {
 		final ReferenceChange refChange = (ReferenceChange)object;
+		final LabelCache cache = LabelCache.getCache(refChange);
+		if (cache == null) {
+			return computeStyledText(refChange);
+		}
+		IStyledString.IComposedStyledString ret = cache.getStyledText(getRootAdapterFactory(), refChange);
+		if (ret == null) {
+			ret = computeStyledText(refChange);
+			cache.putStyledText(getRootAdapterFactory(), refChange, ret);
+		}
+		return ret;
+	}
 
+	/**
+	 * Computes the styled label of the given difference.
+	 * 
+	 * @param refChange
+	 *            The difference which styled label we need.
+	 * @return The styled label of the given difference.
+	 */
+	private IStyledString.IComposedStyledString computeStyledText(ReferenceChange refChange) {
 		final String valueText = getValueText(refChange);
 
 		final String referenceText = getReferenceText(refChange);
@@ -320,6 +340,26 @@ public class ReferenceChangeItemProviderSpec extends ReferenceChangeItemProvider
 	 */
 	public String getSemanticObjectLabel(Object object) {
 		final ReferenceChange refChange = (ReferenceChange)object;
+		final LabelCache cache = LabelCache.getCache(refChange);
+		if (cache == null) {
+			return computeSemanticObjectLabel(refChange);
+		}
+		String ret = cache.getText(getRootAdapterFactory(), refChange, LabelCache.SEMANTIC_LABEL);
+		if (ret == null) {
+			ret = computeSemanticObjectLabel(refChange);
+			cache.putText(getRootAdapterFactory(), refChange, LabelCache.SEMANTIC_LABEL, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the semantic label of the given difference.
+	 * 
+	 * @param refChange
+	 *            The difference which semantic label we need.
+	 * @return The semantic label of the given difference.
+	 */
+	private String computeSemanticObjectLabel(ReferenceChange refChange) {
 		final String valueText = getValueText(refChange);
 
 		StringBuilder ret = new StringBuilder();
@@ -346,6 +386,26 @@ public class ReferenceChangeItemProviderSpec extends ReferenceChangeItemProvider
 	 */
 	public String getDescription(Object object) {
 		final ReferenceChange refChange = (ReferenceChange)object;
+		final LabelCache cache = LabelCache.getCache(refChange);
+		if (cache == null) {
+			return computeDescription(refChange);
+		}
+		String ret = cache.getText(getRootAdapterFactory(), refChange, LabelCache.DESCRIPTION);
+		if (ret == null) {
+			ret = computeDescription(refChange);
+			cache.putText(getRootAdapterFactory(), refChange, LabelCache.DESCRIPTION, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the description of the given difference.
+	 * 
+	 * @param refChange
+	 *            The difference which description we need.
+	 * @return The description of the given difference.
+	 */
+	private String computeDescription(ReferenceChange refChange) {
 
 		final String valueText = getValueText(refChange);
 		final String referenceText = getReferenceText(refChange);
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.provider.utils;
+
+import com.google.common.base.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.notify.AdapterFactory;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.compare.ComparePackage;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.internal.utils.ComparisonUtil;
+import org.eclipse.emf.compare.provider.IItemDescriptionProvider;
+import org.eclipse.emf.compare.provider.IItemStyledLabelProvider;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Caches the labels computed by the item providers for the elements of a given comparison.
+ * <p>
+ * There is one such cache per comparison, installed as an adapter of the comparison and of all of its
+ * differences. Since the label of an element may depend on the state of any difference (the decorations of
+ * containment changes, the labels of merged values...), the whole cache is cleared whenever the state of one
+ * of these differences changes.
+ * </p>
+ * <p>
+ * Labels are cached for a given adapter factory, since the labels of the same element may differ from one
+ * adapter factory to the next.
+ * </p>
+ * <p>
+ * This cache can safely be read and written from multiple threads.
+ * </p>
+ *
+ * @since 4.4
+ */
+public final class LabelCache extends AdapterImpl {
+	/** Kind of the labels returned by {@link IItemDescriptionProvider#getDescription(Object)}. */
+	public static final String DESCRIPTION = "description"; //$NON-NLS-1$
+
+	/**
+	 * Kind of the labels returned by
+	 * {@link org.eclipse.emf.compare.provider.ISemanticObjectLabelProvider#getSemanticObjectLabel(Object)}.
+	 */
+	public static final String SEMANTIC_LABEL = "semanticLabel"; //$NON-NLS-1$
+
+	/**
+	 * Kind of the labels returned by
+	 * {@link org.eclipse.emf.edit.provider.IItemLabelProvider#getText(Object)}.
+	 */
+	public static final String TEXT = "text"; //$NON-NLS-1$
+
+	/** Kind of the labels returned by {@link IItemStyledLabelProvider#getStyledText(Object)}. */
+	private static final String STYLED_TEXT = "styledText"; //$NON-NLS-1$
+
+	/** The labels we've cached so far. */
+	private final ConcurrentMap<Key, Object> labels = new ConcurrentHashMap<Key, Object>();
+
+	/** The comparison this cache has been installed on. */
+	private final Comparison comparison;
+
+	/**
+	 * Constructor. Use {@link #getCache(Comparison)} to retrieve the cache of a comparison.
+	 *
+	 * @param comparison
+	 *            The comparison this cache is installed on.
+	 */
+	private LabelCache(Comparison comparison) {
+		this.comparison = comparison;
+	}
+
+	/**
+	 * Returns the label cache of the given comparison, installing one if it doesn't have any yet.
+	 *
+	 * @param comparison
+	 *            The comparison which label cache we need.
+	 * @return The label cache of the given comparison.
+	 */
+	public static LabelCache getCache(Comparison comparison) {
+		synchronized (comparison) {
+			LabelCache cache = (LabelCache)EcoreUtil.getExistingAdapter(comparison, LabelCache.class);
+			if (cache == null) {
+				cache = new LabelCache(comparison);
+				comparison.eAdapters().add(cache);
+				for (Diff diff : comparison.getDifferences()) {
+					diff.eAdapters().add(cache);
+				}
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Returns the label cache of the comparison containing the given difference.
+	 *
+	 * @param diff
+	 *            The difference.
+	 * @return The label cache of the comparison containing this difference, <code>null</code> if it is not
+	 *         part of a comparison.
+	 */
+	public static LabelCache getCache(Diff diff) {
+		final Comparison comparison = ComparisonUtil.getComparison(diff);
+		if (comparison == null) {
+			return null;
+		}
+		return getCache(comparison);
+	}
+
+	/**
+	 * Clears this cache and removes it from the comparison and differences it has been installed on. The next
+	 * call to {@link #getCache(Comparison)} for that comparison will install a new cache.
+	 */
+	public void dispose() {
+		clear();
+		synchronized (comparison) {
+			for (Diff diff : comparison.getDifferences()) {
+				diff.eAdapters().remove(this);
+			}
+			comparison.eAdapters().remove(this);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#isAdapterForType(java.lang.Object)
+	 */
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == LabelCache.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#notifyChanged(org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void notifyChanged(Notification msg) {
+		if (msg.getFeature() == ComparePackage.Literals.DIFF__STATE && !msg.isTouch()) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns the cached label of the given kind for the given element.
+	 *
+	 * @param adapterFactory
+	 *            The adapter factory that computed the label.
+	 * @param element
+	 *            The element which label we need.
+	 * @param kind
+	 *            The kind of label we need, such as {@link #TEXT} or {@link #DESCRIPTION}. Any object with
+	 *            proper <code>equals</code> and <code>hashCode</code> can be used as a kind.
+	 * @return The cached label, <code>null</code> if we have none.
+	 */
+	public String getText(AdapterFactory adapterFactory, Object element, Object kind) {
+		return (String)labels.get(new Key(adapterFactory, element, kind));
+	}
+
+	/**
+	 * Caches the label of the given kind for the given element.
+	 *
+	 * @param adapterFactory
+	 *            The adapter factory that computed the label.
+	 * @param element
+	 *            The element which label has been computed.
+	 * @param kind
+	 *            The kind of the computed label.
+	 * @param text
+	 *            The computed label. Nothing is cached if this is <code>null</code>.
+	 */
+	public void putText(AdapterFactory adapterFactory, Object element, Object kind, String text) {
+		if (text != null) {
+			labels.put(new Key(adapterFactory, element, kind), text);
+		}
+	}
+
+	/**
+	 * Returns the cached styled label of the given element.
+	 *
+	 * @param adapterFactory
+	 *            The adapter factory that computed the styled label.
+	 * @param element
+	 *            The element which styled label we need.
+	 * @return A copy of the cached styled label, <code>null</code> if we have none.
+	 */
+	public IStyledString.IComposedStyledString getStyledText(AdapterFactory adapterFactory, Object element) {
+		final IStyledString.IComposedStyledString cached = (IStyledString.IComposedStyledString)labels
+				.get(new Key(adapterFactory, element, STYLED_TEXT));
+		if (cached == null) {
+			return null;
+		}
+		return copy(cached);
+	}
+
+	/**
+	 * Caches the styled label of the given element.
+	 *
+	 * @param adapterFactory
+	 *            The adapter factory that computed the styled label.
+	 * @param element
+	 *            The element which styled label has been computed.
+	 * @param text
+	 *            The computed styled label. Nothing is cached if this is <code>null</code>.
+	 */
+	public void putStyledText(AdapterFactory adapterFactory, Object element,
+			IStyledString.IComposedStyledString text) {
+		if (text != null) {
+			labels.put(new Key(adapterFactory, element, STYLED_TEXT), copy(text));
+		}
+	}
+
+	/**
+	 * Forgets about all cached labels.
+	 */
+	public void clear() {
+		labels.clear();
+	}
+
+	/**
+	 * Returns the number of labels currently cached, all adapter factories and kinds included.
+	 *
+	 * @return The number of cached labels.
+	 */
+	public int size() {
+		return labels.size();
+	}
+
+	/**
+	 * Copies the given styled string, since those are mutable.
+	 *
+	 * @param text
+	 *            The styled string to copy.
+	 * @return A copy of the given styled string.
+	 */
+	private static IStyledString.IComposedStyledString copy(IStyledString.IComposedStyledString text) {
+		final ComposedStyledString copy = new ComposedStyledString();
+		for (IStyledString styledString : text) {
+			copy.append(styledString.getString(), styledString.getStyle());
+		}
+		return copy;
+	}
+
+	/**
+	 * Key of the cached labels: the adapter factory, the element and the kind of label.
+	 */
+	private static final class Key {
+		/** The adapter factory that computed the label. */
+		private final AdapterFactory adapterFactory;
+
+		/** The element which label has been cached. */
+		private final Object element;
+
+		/** The kind of label that has been cached. */
+		private final Object kind;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param adapterFactory
+		 *            The adapter factory that computed the label.
+		 * @param element
+		 *            The element which label has been cached.
+		 * @param kind
+		 *            The kind of label that has been cached.
+		 */
+		Key(AdapterFactory adapterFactory, Object element, Object kind) {
+			this.adapterFactory = adapterFactory;
+			this.element = element;
+			this.kind = kind;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(adapterFactory, element, kind);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key)obj;
+			return adapterFactory == other.adapterFactory && Objects.equal(element, other.element)
+					&& Objects.equal(kind, other.kind);
+		}
+	}
+}
@@ -0,0 +1,516 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.report;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.AdapterFactory;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Conflict;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.Equivalence;
+import org.eclipse.emf.compare.Match;
+import org.eclipse.emf.compare.provider.IItemDescriptionProvider;
+import org.eclipse.emf.compare.provider.ISemanticObjectLabelProvider;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
+import org.eclipse.emf.compare.utils.MatchUtil;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.edit.provider.AdapterFactoryItemDelegator;
+
+/**
+ * Writes a description of a comparison's matches, differences, conflicts, equivalences and refinements as
+ * JSON, using the labels of the given adapter factory's item providers.
+ * <p>
+ * The report is streamed to the output as the comparison is walked, only keeping the identifiers of its
+ * elements, so that reports can be produced for comparisons of very large models. This does not depend on
+ * any UI and can be used headless, for example from continuous integration builds.
+ * </p>
+ * <p>
+ * Elements are identified by their position in the comparison. A match is identified by <code>m</code>
+ * followed by the dot-separated indices of its ancestors and itself among their siblings, <code>m0.2</code>
+ * being the third sub-match of the first match. A difference is identified by <code>d</code> followed by the
+ * position of its match and its index among the differences of that match. Conflicts and equivalences are
+ * identified by <code>c</code> and <code>e</code> respectively, followed by the position of their first
+ * difference. With the {@link Format#JSON JSON} format, the report is a single object
+ * which matches contain their differences and sub-matches. With the {@link Format#JSON_LINES JSON lines}
+ * format, each element is written on its own line as a flat object, its <code>type</code> member telling
+ * what kind of element it describes.
+ * </p>
+ *
+ * @since 4.4
+ */
+public final class ComparisonReportWriter {
+	/** Supported report formats. */
+	public enum Format {
+		/** The whole report is a single JSON object, matches nesting their differences and sub-matches. */
+		JSON,
+
+		/** Each element of the comparison is written on its own line, as a flat JSON object. */
+		JSON_LINES;
+	}
+
+	/** Name of the member holding the identifier of an element. */
+	private static final String ID = "id"; //$NON-NLS-1$
+
+	/** Name of the member holding the kind of element a JSON lines record describes. */
+	private static final String TYPE = "type"; //$NON-NLS-1$
+
+	/** Name of the member holding the kind of a difference or conflict. */
+	private static final String KIND = "kind"; //$NON-NLS-1$
+
+	/** Name of the member holding the label of an element. */
+	private static final String LABEL = "label"; //$NON-NLS-1$
+
+	/** Name of the member holding the differences of a match, conflict or equivalence. */
+	private static final String DIFFERENCES = "differences"; //$NON-NLS-1$
+
+	/** The adapter factory providing the labels of the comparison's elements. */
+	private final AdapterFactory adapterFactory;
+
+	/** The format of the reports we write. */
+	private final Format format;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param adapterFactory
+	 *            The adapter factory providing the labels of the comparison's elements.
+	 * @param format
+	 *            The format of the reports to write.
+	 */
+	public ComparisonReportWriter(AdapterFactory adapterFactory, Format format) {
+		this.adapterFactory = checkNotNull(adapterFactory);
+		this.format = checkNotNull(format);
+	}
+
+	/**
+	 * Writes the report of the given comparison to the given stream, encoded in UTF-8. The stream is flushed
+	 * but not closed.
+	 *
+	 * @param comparison
+	 *            The comparison to report.
+	 * @param out
+	 *            The stream to write the report to.
+	 * @throws IOException
+	 *             If we cannot write to the given stream.
+	 */
+	public void write(Comparison comparison, OutputStream out) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		final Report report = new Report(comparison, new JsonWriter(writer));
+		try {
+			report.write();
+		} finally {
+			report.dispose();
+		}
+		writer.flush();
+	}
+
+	/**
+	 * The state of a single report being written.
+	 */
+	private final class Report {
+		/** The comparison we're reporting. */
+		private final Comparison comparison;
+
+		/** The JSON writer we're writing the report with. */
+		private final JsonWriter json;
+
+		/** Provides the labels of the comparison's elements. */
+		private final AdapterFactoryItemDelegator itemDelegator;
+
+		/**
+		 * The label cache installed on the comparison while writing this report, <code>null</code> if the
+		 * comparison had a label cache beforehand. We regularly clear the cache we installed to avoid holding
+		 * onto the labels of the whole comparison, and remove it from the comparison once done.
+		 */
+		private final LabelCache ownLabelCache;
+
+		/**
+		 * The identifiers of the comparison's elements. These are computed in a single walk of the comparison
+		 * since elements refer to one another, and looking for the index of each of them in its siblings
+		 * would be quadratic.
+		 */
+		private final Map<EObject, String> ids = new IdentityHashMap<EObject, String>();
+
+		/**
+		 * Constructor.
+		 *
+		 * @param comparison
+		 *            The comparison we're reporting.
+		 * @param json
+		 *            The JSON writer we're writing the report with.
+		 */
+		Report(Comparison comparison, JsonWriter json) {
+			this.comparison = comparison;
+			this.json = json;
+			this.itemDelegator = new AdapterFactoryItemDelegator(adapterFactory);
+			if (EcoreUtil.getExistingAdapter(comparison, LabelCache.class) == null) {
+				ownLabelCache = LabelCache.getCache(comparison);
+			} else {
+				ownLabelCache = null;
+			}
+		}
+
+		/**
+		 * Writes the whole report.
+		 *
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		void write() throws IOException {
+			computeIds();
+			if (format == Format.JSON) {
+				json.beginObject();
+				json.name("threeWay").value(comparison.isThreeWay()); //$NON-NLS-1$
+				json.name("matches").beginArray(); //$NON-NLS-1$
+				for (Match match : comparison.getMatches()) {
+					writeMatch(match);
+				}
+				json.endArray();
+				json.name("conflicts").beginArray(); //$NON-NLS-1$
+				for (Conflict conflict : comparison.getConflicts()) {
+					writeConflict(conflict);
+				}
+				json.endArray();
+				json.name("equivalences").beginArray(); //$NON-NLS-1$
+				for (Equivalence equivalence : comparison.getEquivalences()) {
+					writeEquivalence(equivalence);
+				}
+				json.endArray();
+				json.endObject();
+				json.newLine();
+			} else {
+				json.beginObject();
+				json.name(TYPE).value("comparison"); //$NON-NLS-1$
+				json.name("threeWay").value(comparison.isThreeWay()); //$NON-NLS-1$
+				json.endObject();
+				json.newLine();
+				for (Match match : comparison.getMatches()) {
+					writeMatch(match);
+				}
+				for (Conflict conflict : comparison.getConflicts()) {
+					writeConflict(conflict);
+				}
+				for (Equivalence equivalence : comparison.getEquivalences()) {
+					writeEquivalence(equivalence);
+				}
+			}
+			json.flush();
+		}
+
+		/**
+		 * Removes the label cache we've installed on the comparison, if any.
+		 */
+		void dispose() {
+			ids.clear();
+			if (ownLabelCache != null) {
+				ownLabelCache.dispose();
+			}
+		}
+
+		/**
+		 * Writes the given match, its differences and its sub-matches.
+		 *
+		 * @param match
+		 *            The match to write.
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		private void writeMatch(Match match) throws IOException {
+			json.beginObject();
+			if (format == Format.JSON_LINES) {
+				json.name(TYPE).value("match"); //$NON-NLS-1$
+			}
+			json.name(ID).value(id(match));
+			if (format == Format.JSON_LINES) {
+				final EObject container = match.eContainer();
+				json.name("parent").value(container instanceof Match ? id(container) : null); //$NON-NLS-1$
+			}
+			json.name(LABEL).value(itemDelegator.getText(match));
+			json.name("left").value(uri(match.getLeft())); //$NON-NLS-1$
+			json.name("right").value(uri(match.getRight())); //$NON-NLS-1$
+			json.name("origin").value(uri(match.getOrigin())); //$NON-NLS-1$
+			if (format == Format.JSON) {
+				json.name(DIFFERENCES).beginArray();
+				for (Diff diff : match.getDifferences()) {
+					writeDiff(diff);
+				}
+				json.endArray();
+				releaseLabels();
+				json.name("submatches").beginArray(); //$NON-NLS-1$
+				for (Match submatch : match.getSubmatches()) {
+					writeMatch(submatch);
+				}
+				json.endArray();
+				json.endObject();
+			} else {
+				json.endObject();
+				json.newLine();
+				for (Diff diff : match.getDifferences()) {
+					writeDiff(diff);
+				}
+				releaseLabels();
+				for (Match submatch : match.getSubmatches()) {
+					writeMatch(submatch);
+				}
+			}
+		}
+
+		/**
+		 * Writes the given difference.
+		 *
+		 * @param diff
+		 *            The difference to write.
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		private void writeDiff(Diff diff) throws IOException {
+			json.beginObject();
+			if (format == Format.JSON_LINES) {
+				json.name(TYPE).value("diff"); //$NON-NLS-1$
+			}
+			json.name(ID).value(id(diff));
+			if (format == Format.JSON_LINES) {
+				json.name("match").value(id(diff.getMatch())); //$NON-NLS-1$
+			}
+			json.name("eClass").value(diff.eClass().getName()); //$NON-NLS-1$
+			json.name(KIND).value(String.valueOf(diff.getKind()));
+			json.name("source").value(String.valueOf(diff.getSource())); //$NON-NLS-1$
+			json.name("state").value(String.valueOf(diff.getState())); //$NON-NLS-1$
+			final EStructuralFeature feature = MatchUtil.getStructuralFeature(diff);
+			json.name("feature").value(feature == null ? null : feature.getName()); //$NON-NLS-1$
+			json.name(LABEL).value(getDescription(diff));
+			json.name("value").value(getSemanticLabel(diff)); //$NON-NLS-1$
+			json.name("conflict").value(id(diff.getConflict())); //$NON-NLS-1$
+			json.name("equivalence").value(id(diff.getEquivalence())); //$NON-NLS-1$
+			writeIds("refines", diff.getRefines()); //$NON-NLS-1$
+			writeIds("refinedBy", diff.getRefinedBy()); //$NON-NLS-1$
+			writeIds("requires", diff.getRequires()); //$NON-NLS-1$
+			writeIds("requiredBy", diff.getRequiredBy()); //$NON-NLS-1$
+			json.endObject();
+			if (format == Format.JSON_LINES) {
+				json.newLine();
+			}
+		}
+
+		/**
+		 * Writes the given conflict.
+		 *
+		 * @param conflict
+		 *            The conflict to write.
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		private void writeConflict(Conflict conflict) throws IOException {
+			json.beginObject();
+			if (format == Format.JSON_LINES) {
+				json.name(TYPE).value("conflict"); //$NON-NLS-1$
+			}
+			json.name(ID).value(id(conflict));
+			json.name(KIND).value(String.valueOf(conflict.getKind()));
+			writeIds(DIFFERENCES, conflict.getDifferences());
+			json.endObject();
+			if (format == Format.JSON_LINES) {
+				json.newLine();
+			}
+		}
+
+		/**
+		 * Writes the given equivalence.
+		 *
+		 * @param equivalence
+		 *            The equivalence to write.
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		private void writeEquivalence(Equivalence equivalence) throws IOException {
+			json.beginObject();
+			if (format == Format.JSON_LINES) {
+				json.name(TYPE).value("equivalence"); //$NON-NLS-1$
+			}
+			json.name(ID).value(id(equivalence));
+			writeIds(DIFFERENCES, equivalence.getDifferences());
+			json.endObject();
+			if (format == Format.JSON_LINES) {
+				json.newLine();
+			}
+		}
+
+		/**
+		 * Writes an array member holding the identifiers of the given elements.
+		 *
+		 * @param name
+		 *            Name of the member.
+		 * @param elements
+		 *            The elements which identifiers we need to write.
+		 * @throws IOException
+		 *             If we cannot write to the output.
+		 */
+		private void writeIds(String name, Collection<? extends EObject> elements) throws IOException {
+			json.name(name).beginArray();
+			for (EObject element : elements) {
+				json.value(id(element));
+			}
+			json.endArray();
+		}
+
+		/**
+		 * Returns the identifier of the given element.
+		 *
+		 * @param element
+		 *            The element which identifier we need.
+		 * @return The identifier of the given element, <code>null</code> if <code>element</code> is
+		 *         <code>null</code> or not part of the comparison.
+		 */
+		private String id(EObject element) {
+			if (element == null) {
+				return null;
+			}
+			return ids.get(element);
+		}
+
+		/**
+		 * Computes the identifiers of all matches, differences, conflicts and equivalences of the comparison
+		 * from their position.
+		 */
+		private void computeIds() {
+			int index = 0;
+			for (Match match : comparison.getMatches()) {
+				computeIds(match, String.valueOf(index++));
+			}
+			index = 0;
+			for (Conflict conflict : comparison.getConflicts()) {
+				computeGroupId('c', conflict, conflict.getDifferences(), index++);
+			}
+			index = 0;
+			for (Equivalence equivalence : comparison.getEquivalences()) {
+				computeGroupId('e', equivalence, equivalence.getDifferences(), index++);
+			}
+		}
+
+		/**
+		 * Computes the identifiers of the given match, of its differences and of its sub-matches.
+		 *
+		 * @param match
+		 *            The match which identifiers we need.
+		 * @param position
+		 *            The dot-separated indices of this match and its ancestors among their siblings.
+		 */
+		private void computeIds(Match match, String position) {
+			ids.put(match, 'm' + position);
+			int index = 0;
+			for (Diff diff : match.getDifferences()) {
+				ids.put(diff, 'd' + position + '.' + index++);
+			}
+			index = 0;
+			for (Match submatch : match.getSubmatches()) {
+				computeIds(submatch, position + '.' + index++);
+			}
+		}
+
+		/**
+		 * Computes the identifier of the given conflict or equivalence from the position of its first
+		 * difference. A difference is part of at most one conflict and one equivalence, so that this is
+		 * enough to tell them apart. Groups with no differences fall back to their index in the comparison,
+		 * which cannot be mistaken for the position of a difference since it contains no dot.
+		 *
+		 * @param kind
+		 *            The first character of the identifier, telling what kind of group this is.
+		 * @param group
+		 *            The conflict or equivalence which identifier we need.
+		 * @param differences
+		 *            The differences of that group.
+		 * @param index
+		 *            The index of that group among the groups of its kind in the comparison.
+		 */
+		private void computeGroupId(char kind, EObject group, List<Diff> differences, int index) {
+			String first = null;
+			if (!differences.isEmpty()) {
+				first = ids.get(differences.get(0));
+			}
+			if (first != null) {
+				ids.put(group, kind + first.substring(1));
+			} else {
+				ids.put(group, kind + String.valueOf(index));
+			}
+		}
+
+		/**
+		 * Returns the URI of the given object.
+		 *
+		 * @param eObject
+		 *            The object which URI we need.
+		 * @return The URI of the given object, <code>null</code> if <code>eObject</code> is
+		 *         <code>null</code>.
+		 */
+		private String uri(EObject eObject) {
+			if (eObject == null) {
+				return null;
+			}
+			return EcoreUtil.getURI(eObject).toString();
+		}
+
+		/**
+		 * Returns the description of the given difference, falling back to its label if its item provider
+		 * does not provide descriptions.
+		 *
+		 * @param diff
+		 *            The difference which description we need.
+		 * @return The description of the given difference.
+		 */
+		private String getDescription(Diff diff) {
+			final Object provider = adapterFactory.adapt(diff, IItemDescriptionProvider.class);
+			if (provider instanceof IItemDescriptionProvider) {
+				return ((IItemDescriptionProvider)provider).getDescription(diff);
+			}
+			return itemDelegator.getText(diff);
+		}
+
+		/**
+		 * Returns the label of the value of the given difference.
+		 *
+		 * @param diff
+		 *            The difference which value's label we need.
+		 * @return The label of the value of the given difference, <code>null</code> if its item provider does
+		 *         not provide such labels.
+		 */
+		private String getSemanticLabel(Diff diff) {
+			final Object provider = adapterFactory.adapt(diff, ISemanticObjectLabelProvider.class);
+			if (provider instanceof ISemanticObjectLabelProvider) {
+				return ((ISemanticObjectLabelProvider)provider).getSemanticObjectLabel(diff);
+			}
+			return null;
+		}
+
+		/**
+		 * Forgets about the labels computed so far, if we're the ones who installed the comparison's label
+		 * cache.
+		 */
+		private void releaseLabels() {
+			if (ownLabelCache != null) {
+				ownLabelCache.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.BitSet;
+
+/**
+ * A minimal streaming JSON writer. Tokens are written as soon as they are received, the only state we keep is
+ * whether each of the currently opened objects and arrays already has a member, so that we know when to
+ * separate members with a comma.
+ */
+final class JsonWriter {
+	/** The writer we're writing JSON into. */
+	private final Writer out;
+
+	/** Whether the object or array opened at each depth already has a member. */
+	private final BitSet hasMember = new BitSet();
+
+	/** Current nesting depth. */
+	private int depth;
+
+	/** Whether we've just written the name of an object member and now expect its value. */
+	private boolean afterName;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param out
+	 *            The writer we're writing JSON into. Should be buffered.
+	 */
+	JsonWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Starts a new JSON object.
+	 *
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter beginObject() throws IOException {
+		return open('{');
+	}
+
+	/**
+	 * Ends the current JSON object.
+	 *
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter endObject() throws IOException {
+		return close('}');
+	}
+
+	/**
+	 * Starts a new JSON array.
+	 *
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter beginArray() throws IOException {
+		return open('[');
+	}
+
+	/**
+	 * Ends the current JSON array.
+	 *
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter endArray() throws IOException {
+		return close(']');
+	}
+
+	/**
+	 * Writes the name of the next member of the current object.
+	 *
+	 * @param name
+	 *            Name of the member.
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter name(String name) throws IOException {
+		separate();
+		string(name);
+		out.write(':');
+		afterName = true;
+		return this;
+	}
+
+	/**
+	 * Writes a string value, or <code>null</code>.
+	 *
+	 * @param value
+	 *            The value to write.
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter value(String value) throws IOException {
+		separate();
+		if (value == null) {
+			out.write("null"); //$NON-NLS-1$
+		} else {
+			string(value);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value.
+	 *
+	 * @param value
+	 *            The value to write.
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	JsonWriter value(boolean value) throws IOException {
+		separate();
+		out.write(String.valueOf(value));
+		return this;
+	}
+
+	/**
+	 * Ends the current top-level value with a line break, as expected from JSON lines records.
+	 *
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	void newLine() throws IOException {
+		out.write('\n');
+		hasMember.clear(0);
+	}
+
+	/**
+	 * Flushes the underlying writer.
+	 *
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Opens an object or array.
+	 *
+	 * @param c
+	 *            The opening character.
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	private JsonWriter open(char c) throws IOException {
+		separate();
+		out.write(c);
+		depth++;
+		hasMember.clear(depth);
+		return this;
+	}
+
+	/**
+	 * Closes an object or array.
+	 *
+	 * @param c
+	 *            The closing character.
+	 * @return This writer.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	private JsonWriter close(char c) throws IOException {
+		out.write(c);
+		depth--;
+		return this;
+	}
+
+	/**
+	 * Writes a comma if the value we're about to write is not the first member of the current object or
+	 * array, and records that this object or array now has a member.
+	 *
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	private void separate() throws IOException {
+		if (afterName) {
+			afterName = false;
+			return;
+		}
+		if (depth > 0 && hasMember.get(depth)) {
+			out.write(',');
+		}
+		hasMember.set(depth);
+	}
+
+	/**
+	 * Writes the given string as a JSON string literal.
+	 *
+	 * @param value
+	 *            The string to write.
+	 * @throws IOException
+	 *             If we cannot write to the underlying writer.
+	 */
+	private void string(String value) throws IOException {
+		out.write('"');
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					out.write("\\\""); //$NON-NLS-1$
+					break;
+				case '\\':
+					out.write("\\\\"); //$NON-NLS-1$
+					break;
+				case '\n':
+					out.write("\\n"); //$NON-NLS-1$
+					break;
+				case '\r':
+					out.write("\\r"); //$NON-NLS-1$
+					break;
+				case '\t':
+					out.write("\\t"); //$NON-NLS-1$
+					break;
+				default:
+					if (c < ' ') {
+						// other control characters
+						out.write(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						out.write(c);
+					}
+			}
+		}
+		out.write('"');
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2018 Obeo and others.
+ * Copyright (c) 2015, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,7 @@ import org.eclipse.emf.compare.internal.merge.MergeMode;
 import org.eclipse.emf.compare.internal.utils.ComparisonUtil;
 import org.eclipse.emf.compare.provider.ISemanticObjectLabelProvider;
 import org.eclipse.emf.compare.provider.ITooltipLabelProvider;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
 import org.eclipse.emf.compare.utils.MatchUtil;
 import org.eclipse.emf.compare.utils.ReferenceUtil;
 import org.eclipse.emf.ecore.EObject;
@@ -314,11 +315,37 @@ public abstract class AbstractTooltipProvider<T extends Diff> extends AdapterImp
 	 */
 	protected String getLabel(EObject eObject) {
 		if (eObject != null) {
-			Object adapter = adapterFactory.getRootAdapterFactory().adapt(eObject,
-					ISemanticObjectLabelProvider.class);
-			if (adapter instanceof ISemanticObjectLabelProvider) {
-				return ((ISemanticObjectLabelProvider)adapter).getSemanticObjectLabel(eObject);
+			final LabelCache cache = getLabelCache();
+			String label = null;
+			if (cache != null) {
+				label = cache.getText(adapterFactory.getRootAdapterFactory(), eObject,
+						LabelCache.SEMANTIC_LABEL);
 			}
+			if (label == null) {
+				Object adapter = adapterFactory.getRootAdapterFactory().adapt(eObject,
+						ISemanticObjectLabelProvider.class);
+				if (adapter instanceof ISemanticObjectLabelProvider) {
+					label = ((ISemanticObjectLabelProvider)adapter).getSemanticObjectLabel(eObject);
+					if (cache != null) {
+						cache.putText(adapterFactory.getRootAdapterFactory(), eObject,
+								LabelCache.SEMANTIC_LABEL, label);
+					}
+				}
+			}
+			return label;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the label cache of the comparison containing the difference this tooltip provider is attached
+	 * to.
+	 *
+	 * @return The label cache of our difference's comparison, <code>null</code> if none.
+	 */
+	private LabelCache getLabelCache() {
+		if (getTarget() instanceof Diff) {
+			return LabelCache.getCache((Diff)getTarget());
 		}
 		return null;
 	}
@@ -357,7 +384,16 @@ public abstract class AbstractTooltipProvider<T extends Diff> extends AdapterImp
 		if (eObject == null) {
 			return ""; //$NON-NLS-1$
 		}
-		return this.labelProvider.getText(eObject);
+		final LabelCache cache = getLabelCache();
+		if (cache == null) {
+			return this.labelProvider.getText(eObject);
+		}
+		String label = cache.getText(adapterFactory, eObject, LabelCache.TEXT);
+		if (label == null) {
+			label = this.labelProvider.getText(eObject);
+			cache.putText(adapterFactory, eObject, LabelCache.TEXT, label);
+		}
+		return label;
 	}
 
 	/**
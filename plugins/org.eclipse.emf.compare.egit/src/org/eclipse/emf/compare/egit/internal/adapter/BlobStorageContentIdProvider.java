@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.egit.internal.adapter;
+
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.emf.compare.egit.internal.storage.IndexBlobStorage;
+import org.eclipse.emf.compare.egit.internal.storage.WorkspaceGitBlobStorage;
+import org.eclipse.emf.compare.ide.utils.IStorageContentIdProvider;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Provides the blob ids of the storages we create for Git revisions as their content identifiers.
+ */
+public class BlobStorageContentIdProvider implements IStorageContentIdProvider {
+	/** {@inheritDoc} */
+	public String getContentId(IStorage storage) {
+		final ObjectId blobId;
+		if (storage instanceof WorkspaceGitBlobStorage) {
+			blobId = ((WorkspaceGitBlobStorage)storage).getBlobId();
+		} else if (storage instanceof IndexBlobStorage) {
+			blobId = ((IndexBlobStorage)storage).getBlobId();
+		} else {
+			blobId = null;
+		}
+		if (blobId == null || ObjectId.zeroId().equals(blobId)) {
+			return null;
+		}
+		return blobId.name();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,11 @@ package org.eclipse.emf.compare.egit.internal.adapter;
 
 import org.eclipse.core.runtime.IAdapterFactory;
 import org.eclipse.egit.core.storage.GitBlobStorage;
+import org.eclipse.emf.compare.ide.utils.IStorageContentIdProvider;
 import org.eclipse.emf.compare.ide.utils.IStoragePathProvider;
 
 /**
- * Adapts EGit storages into instances of {@link IStoragePathProvider}.
+ * Adapts EGit storages into instances of {@link IStoragePathProvider} and {@link IStorageContentIdProvider}.
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  */
@@ -26,13 +27,16 @@ public class EGitAdapterFactory implements IAdapterFactory {
 	public Object getAdapter(Object adaptableObject, Class adapterType) {
 		if (adaptableObject instanceof GitBlobStorage && adapterType == IStoragePathProvider.class) {
 			return new BlobStoragePathProvider();
+		} else if (adaptableObject instanceof GitBlobStorage
+				&& adapterType == IStorageContentIdProvider.class) {
+			return new BlobStorageContentIdProvider();
 		}
 		return null;
 	}
 
 	/** {@inheritDoc} */
 	public Class[] getAdapterList() {
-		return new Class[] {IStoragePathProvider.class, };
+		return new Class[] {IStoragePathProvider.class, IStorageContentIdProvider.class, };
 	}
 
 }
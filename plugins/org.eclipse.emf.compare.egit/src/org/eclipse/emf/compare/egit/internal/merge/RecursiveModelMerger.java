@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Obeo.
+ * Copyright (c) 2015, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,11 +15,20 @@ package org.eclipse.emf.compare.egit.internal.merge;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.mapping.RemoteResourceMappingContext;
 import org.eclipse.core.resources.mapping.ResourceMapping;
@@ -28,6 +37,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
@@ -86,6 +96,13 @@ import org.eclipse.team.core.variants.IResourceVariant;
  * Any file that is <b>not</b> part of a model, which model cannot be determined, or which model does not
  * specify a custom merger, will be handled as it would by the RecursiveMerger.
  * </p>
+ * <p>
+ * Logical models are merged one after the other by default. When the
+ * <code>org.eclipse.emf.compare.egit/modelMerge.threads</code> preference is greater than one, the logical
+ * models that do not share any resource are merged concurrently on a pool of that many threads instead. Only
+ * the model mergers themselves run in parallel, the index and working tree updates are still applied
+ * sequentially, in the order in which the tree walk met the models.
+ * </p>
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  * @author <a href="mailto:laurent.delaigue@obeo.fr">Laurent Delaigue</a>
@@ -95,6 +112,12 @@ public class RecursiveModelMerger extends RecursiveMerger {
 
 	private static final EMFCompareLogger LOGGER = new EMFCompareLogger(RecursiveModelMerger.class);
 
+	/** Qualifier of the preferences read by this merger. */
+	private static final String PREFERENCE_QUALIFIER = "org.eclipse.emf.compare.egit"; //$NON-NLS-1$
+
+	/** Preference specifying how many logical models can be merged concurrently. */
+	private static final String MODEL_MERGE_THREADS_PREFERENCE = "modelMerge.threads"; //$NON-NLS-1$
+
 	/**
 	 * This will be populated during the course of the RecursiveMappingMergers' executions. These files have
 	 * been cleanly merged and we should thus make sure the DirCacheBuilder takes their latest working
@@ -189,6 +212,15 @@ public class RecursiveModelMerger extends RecursiveMerger {
 			handleUnchangedFiles = false;
 		}
 
+		// In parallel mode, model merges are only collected during the tree walk and run once it is over.
+		final int modelMergeThreads = getModelMergeThreads();
+		final DeferredModelMerges deferred;
+		if (modelMergeThreads > 1) {
+			deferred = new DeferredModelMerges();
+		} else {
+			deferred = null;
+		}
+
 		// We are done with the setup. We can now iterate over the tree walk and
 		// either delegate to the logical model's merger if any or fall back to
 		// standard git merging. Basically, any file that is not a part of a
@@ -222,6 +254,14 @@ public class RecursiveModelMerger extends RecursiveMerger {
 			final int nonZeroMode = modeBase != 0 ? modeBase : modeOurs != 0 ? modeOurs : modeTheirs;
 			final IResource resource = variantTreeProvider.getResourceHandleForLocation(getRepository(), path,
 					FileMode.fromBits(nonZeroMode) == FileMode.TREE);
+			if (deferred != null && deferred.resources.contains(resource)) {
+				// This one will be handled by a model merge we have yet to run.
+				if (treeWalk.isSubtree() && enterSubtree) {
+					treeWalk.enterSubtree();
+				}
+				deferred.coveredPaths.add(path);
+				continue;
+			}
 			Set<IResource> logicalModel = logicalModels.getModel(resource);
 
 			IResourceMappingMerger modelMerger = null;
@@ -243,7 +283,11 @@ public class RecursiveModelMerger extends RecursiveMerger {
 					}
 				}
 			}
-			if (modelMerger != null) {
+			if (modelMerger != null && deferred != null) {
+				enterSubtree = true;
+				deferred.add(new ModelMerge(this, subscriber, remoteMappingContext, path, logicalModel,
+						modelMerger, handleUnchangedFiles));
+			} else if (modelMerger != null) {
 				enterSubtree = true;
 
 				boolean success = new ModelMerge(this, subscriber, remoteMappingContext, path, logicalModel,
@@ -273,6 +317,12 @@ public class RecursiveModelMerger extends RecursiveMerger {
 				treeWalk.enterSubtree();
 			}
 		}
+		if (deferred != null && !runDeferredModelMerges(deferred, modelMergeThreads)) {
+			if (LOGGER.isInfoEnabled()) {
+				LOGGER.info("FAILED - Recursive model merge."); //$NON-NLS-1$
+			}
+			return false;
+		}
 		if (!makeInSync.isEmpty()) {
 			indexModelMergedFiles();
 		}
@@ -287,6 +337,171 @@ public class RecursiveModelMerger extends RecursiveMerger {
 		return LogicalModels.findAdapter(logicalModel, IResourceMappingMerger.class);
 	}
 
+	/**
+	 * Returns the number of threads on which independent logical models can be merged concurrently. This is
+	 * read from the <code>org.eclipse.emf.compare.egit/modelMerge.threads</code> preference, bounded by the
+	 * number of available processors. Model merges are sequential if this returns one or less.
+	 * <p>
+	 * Model mergers will need scheduling rules on the resources they modify: if the current thread already
+	 * holds one, our worker threads could never acquire theirs and the merges will thus be sequential.
+	 * </p>
+	 *
+	 * @return The number of threads on which to merge logical models.
+	 */
+	protected int getModelMergeThreads() {
+		final int threads = Platform.getPreferencesService().getInt(PREFERENCE_QUALIFIER,
+				MODEL_MERGE_THREADS_PREFERENCE, 1, null);
+		if (threads > 1 && Job.getJobManager().currentRule() != null) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Scheduling rule held, merging logical models sequentially."); //$NON-NLS-1$
+			}
+			return 1;
+		}
+		return Math.min(threads, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Runs the model merges that have been deferred during the tree walk. The merges of independent logical
+	 * models are run concurrently, then their results are registered in the order in which they were met.
+	 * Models overlapping one of these are merged sequentially afterwards.
+	 * <p>
+	 * The model mergers save their results in the working tree as soon as they are done. Results are only
+	 * registered once all concurrent merges succeeded : the saved results of the merges that will never be
+	 * registered are reverted.
+	 * </p>
+	 *
+	 * @param deferred
+	 *            The model merges to run.
+	 * @param threads
+	 *            The maximum number of threads on which to merge.
+	 * @return <code>true</code> if all model merges succeeded, <code>false</code> otherwise.
+	 * @throws IOException
+	 *             Thrown if we fail to register the result of a merge.
+	 */
+	private boolean runDeferredModelMerges(DeferredModelMerges deferred, int threads) throws IOException {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Merging " + deferred.independent.size() //$NON-NLS-1$
+					+ " independent logical models on " + threads + " threads."); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		final List<Future<?>> futures = new ArrayList<>(deferred.independent.size());
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max(1, Math.min(threads, deferred.independent.size())), new ModelMergeThreadFactory());
+		try {
+			final IProgressMonitor cancellationMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return monitor.isCancelled();
+				}
+			};
+			for (final ModelMerge modelMerge : deferred.independent) {
+				futures.add(executor.submit(new Runnable() {
+					public void run() {
+						modelMerge.merge(cancellationMonitor);
+					}
+				}));
+			}
+			awaitAll(futures);
+		} finally {
+			executor.shutdown();
+		}
+
+		ModelMerge failed = null;
+		for (ModelMerge modelMerge : deferred.independent) {
+			if (failed == null && modelMerge.hasFailed()) {
+				failed = modelMerge;
+			}
+		}
+		boolean success;
+		if (failed != null) {
+			for (ModelMerge modelMerge : deferred.independent) {
+				if (modelMerge != failed) {
+					modelMerge.abandon();
+				}
+			}
+			// Logs the failure and reverts what has been modified so far
+			success = failed.complete();
+		} else {
+			// All merges succeeded, we can now update the index sequentially
+			success = true;
+			for (ModelMerge modelMerge : deferred.independent) {
+				if (!success) {
+					modelMerge.abandon();
+				} else if (modelMerge.complete()) {
+					registerMergedModelPath(modelMerge.path);
+				} else {
+					success = false;
+				}
+			}
+		}
+		for (ModelMerge modelMerge : deferred.dependent) {
+			if (!success) {
+				break;
+			} else if (modelMerge.run(new JGitProgressMonitorWrapper(monitor))) {
+				registerMergedModelPath(modelMerge.path);
+			} else {
+				success = false;
+			}
+		}
+		if (success) {
+			for (String path : deferred.coveredPaths) {
+				if (!unmergedPaths.contains(path)) {
+					registerMergedPath(path);
+				}
+			}
+		}
+		return success;
+	}
+
+	/**
+	 * Waits for all of the given model merges to end. Failures that were not handled by the merges
+	 * themselves are rethrown once all merges have ended.
+	 *
+	 * @param futures
+	 *            The merges to wait for.
+	 */
+	private void awaitAll(List<Future<?>> futures) {
+		RuntimeException runtimeFailure = null;
+		Error errorFailure = null;
+		for (Future<?> future : futures) {
+			boolean joined = false;
+			while (!joined) {
+				try {
+					future.get();
+					joined = true;
+				} catch (InterruptedException e) {
+					// As in waitForScope, the UILockListener might interrupt us. Re-try to join.
+				} catch (ExecutionException e) {
+					joined = true;
+					if (e.getCause() instanceof Error) {
+						errorFailure = (Error)e.getCause();
+					} else if (e.getCause() instanceof RuntimeException) {
+						runtimeFailure = (RuntimeException)e.getCause();
+					}
+				}
+			}
+		}
+		if (errorFailure != null) {
+			throw errorFailure;
+		} else if (runtimeFailure != null) {
+			throw runtimeFailure;
+		}
+	}
+
+	/**
+	 * Registers the path from which a model merge was started as merged unless it is in conflict.
+	 *
+	 * @param path
+	 *            The path from which a logical model has been merged.
+	 */
+	private void registerMergedModelPath(String path) {
+		if (!unmergedPaths.contains(path)) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Merged model file: " + path); //$NON-NLS-1$
+			}
+			registerMergedPath(path);
+		}
+	}
+
 	private boolean fallBackToDefaultMerge(TreeWalk treeWalk, boolean ignoreConflicts)
 			throws MissingObjectException, IncorrectObjectTypeException, CorruptObjectException, IOException {
 		boolean hasWorkingTreeIterator = tw.getTreeCount() > T_FILE;
@@ -434,6 +649,18 @@ public class RecursiveModelMerger extends RecursiveMerger {
 
 		private final boolean handleUnchangedFiles;
 
+		/** The merge context prepared by {@link #merge(IProgressMonitor)}. */
+		private GitMergeContext mergeContext;
+
+		/** The status returned by the model merger. */
+		private IStatus status;
+
+		/** Set if the initialization of the merge context was cancelled. */
+		private OperationCanceledException cancellation;
+
+		/** The core failure of {@link #merge(IProgressMonitor)}, if any. */
+		private CoreException coreFailure;
+
 		public ModelMerge(RecursiveModelMerger merger, GitResourceVariantTreeSubscriber subscriber,
 				RemoteResourceMappingContext remoteMappingContext, String path, Set<IResource> logicalModel,
 				IResourceMappingMerger modelMerger, boolean handleUnchangedFiles) {
@@ -447,30 +674,135 @@ public class RecursiveModelMerger extends RecursiveMerger {
 		}
 
 		private boolean run(IProgressMonitor monitor) throws CorruptObjectException, IOException {
+			merge(monitor);
+			return complete();
+		}
+
+		/**
+		 * Prepares the merge context of this logical model and delegates to its model merger. This does not
+		 * update the merger's state and can thus be called from any thread, {@link #complete()} must then be
+		 * called from the merging thread.
+		 *
+		 * @param monitor
+		 *            Monitor on which to report progress.
+		 */
+		private void merge(IProgressMonitor monitor) {
 			SubMonitor progress = SubMonitor.convert(monitor, 1);
-			IMergeContext mergeContext = null;
 			try {
 				mergeContext = prepareMergeContext();
-				final IStatus status = modelMerger.merge(mergeContext, progress.newChild(1));
-				registerHandledFiles(mergeContext, status);
+				status = modelMerger.merge(mergeContext, progress.newChild(1));
+			} catch (CoreException e) {
+				coreFailure = e;
+			} catch (OperationCanceledException e) {
+				cancellation = e;
+			}
+		}
+
+		/**
+		 * Registers the result of {@link #merge(IProgressMonitor)} in the index and disposes of the merge
+		 * context.
+		 *
+		 * @return <code>true</code> if the merge succeeded, <code>false</code> otherwise.
+		 */
+		private boolean complete() {
+			try {
+				if (coreFailure == null && cancellation == null) {
+					for (IResource mergedResource : mergeContext.getMergedResources()) {
+						merger.addSyncPath(mergedResource);
+					}
+					registerHandledFiles(mergeContext, status);
+				}
 			} catch (CoreException e) {
-				Activator.logError(e.getMessage(), e);
+				coreFailure = e;
+			} finally {
+				dispose();
+			}
+			if (coreFailure != null) {
+				Activator.logError(coreFailure.getMessage(), coreFailure);
 				merger.workTreeUpdater.revertModifiedFiles();
 				return false;
-			} catch (OperationCanceledException e) {
+			} else if (cancellation != null) {
 				final String message = NLS.bind(MergeText.RecursiveModelMerger_ScopeInitializationInterrupted,
 						path);
-				Activator.logError(message, e);
+				Activator.logError(message, cancellation);
 				merger.workTreeUpdater.revertModifiedFiles();
 				return false;
-			} finally {
-				if (mergeContext != null) {
-					mergeContext.dispose();
-				}
 			}
 			return true;
 		}
 
+		/**
+		 * Tells whether {@link #merge(IProgressMonitor)} failed or has been cancelled.
+		 *
+		 * @return <code>true</code> if this merge cannot be completed successfully.
+		 */
+		private boolean hasFailed() {
+			return coreFailure != null || cancellation != null;
+		}
+
+		/**
+		 * Disposes of the merge context of this logical model if it has been prepared.
+		 */
+		private void dispose() {
+			if (mergeContext != null) {
+				mergeContext.dispose();
+				mergeContext = null;
+			}
+		}
+
+		/**
+		 * Discards the result of this merge when it will never be {@link #complete() completed}. The model
+		 * merger may already have saved its result in the working tree : the files of this logical model are
+		 * restored to their content before the merge.
+		 */
+		private void abandon() {
+			final Set<IResource> touched = new LinkedHashSet<>(logicalModel);
+			if (mergeContext != null) {
+				touched.addAll(mergeContext.getMergedResources());
+			}
+			dispose();
+			for (IResource resource : touched) {
+				if (resource instanceof IFile) {
+					try {
+						revert((IFile)resource);
+					} catch (CoreException | IOException e) {
+						Activator.logError(e.getMessage(), e);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Restores the given file to its content in our side of the merge, deleting it if it did not exist
+		 * there.
+		 *
+		 * @param file
+		 *            The file to revert.
+		 * @throws CoreException
+		 *             Thrown if we cannot read our side of the file, or cannot write it.
+		 * @throws IOException
+		 *             Thrown if we cannot read our side of the file.
+		 */
+		private void revert(IFile file) throws CoreException, IOException {
+			final IResourceVariant ourVariant = subscriber.getSourceTree().getResourceVariant(file);
+			if (ourVariant == null) {
+				if (file.exists()) {
+					file.delete(true, new NullProgressMonitor());
+				}
+				return;
+			}
+			try (InputStream contents = ourVariant.getStorage(new NullProgressMonitor()).getContents()) {
+				if (file.exists()) {
+					file.setContents(contents, true, false, new NullProgressMonitor());
+				} else {
+					file.create(contents, true, new NullProgressMonitor());
+				}
+			}
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Reverted abandoned model merge result " + file); //$NON-NLS-1$
+			}
+		}
+
 		private void registerHandledFiles(final IMergeContext mergeContext, final IStatus status)
 				throws TeamException, CoreException {
 			for (IResource handledFile : logicalModel) {
@@ -561,7 +893,7 @@ public class RecursiveModelMerger extends RecursiveMerger {
 		 * @throws OperationCanceledException
 		 *             Thrown if the user cancelled the initialization.
 		 */
-		private IMergeContext prepareMergeContext() throws CoreException, OperationCanceledException {
+		private GitMergeContext prepareMergeContext() throws CoreException, OperationCanceledException {
 			final Set<ResourceMapping> allMappings = LogicalModels.getResourceMappings(logicalModel,
 					remoteMappingContext);
 			final ResourceMapping[] mappings = allMappings.toArray(new ResourceMapping[allMappings.size()]);
@@ -576,7 +908,7 @@ public class RecursiveModelMerger extends RecursiveMerger {
 			};
 			manager.initialize(new NullProgressMonitor());
 
-			final IMergeContext context = new GitMergeContext(merger, subscriber, manager);
+			final GitMergeContext context = new GitMergeContext(subscriber, manager);
 			// Wait for the asynchronous scope expanding to end (started from
 			// the initialization of our merge context)
 			waitForScope(context);
@@ -601,29 +933,41 @@ public class RecursiveModelMerger extends RecursiveMerger {
 
 	private static class GitMergeContext extends SubscriberMergeContext {
 
-		private final RecursiveModelMerger merger;
+		/**
+		 * The resources the model merger told us were merged. These are only registered in the merger once
+		 * the model merge is complete so that the model merger can run on any thread.
+		 */
+		private final Set<IResource> mergedResources = Collections
+				.synchronizedSet(new LinkedHashSet<IResource>());
 
 		/**
 		 * Create and initialize a merge context for the given subscriber.
 		 *
-		 * @param merger
-		 *            the merger
 		 * @param subscriber
 		 *            the subscriber.
 		 * @param scopeManager
 		 *            the scope manager.
 		 */
-		public GitMergeContext(RecursiveModelMerger merger, Subscriber subscriber,
-				ISynchronizationScopeManager scopeManager) {
+		public GitMergeContext(Subscriber subscriber, ISynchronizationScopeManager scopeManager) {
 			super(subscriber, scopeManager);
-			this.merger = merger;
 			initialize();
 		}
 
+		/**
+		 * Returns the resources that were merged through this context.
+		 *
+		 * @return The resources that were merged through this context, in the order they were merged.
+		 */
+		public List<IResource> getMergedResources() {
+			synchronized (mergedResources) {
+				return new ArrayList<>(mergedResources);
+			}
+		}
+
 		public void markAsMerged(IDiff node, boolean inSyncHint, IProgressMonitor monitor)
 				throws CoreException {
 			final IResource resource = getDiffTree().getResource(node);
-			merger.addSyncPath(resource);
+			mergedResources.add(resource);
 		}
 
 		public void reject(IDiff diff, IProgressMonitor monitor) throws CoreException {
@@ -633,7 +977,54 @@ public class RecursiveModelMerger extends RecursiveMerger {
 		@Override
 		protected void makeInSync(IDiff diff, IProgressMonitor monitor) throws CoreException {
 			final IResource resource = getDiffTree().getResource(diff);
-			merger.addSyncPath(resource);
+			mergedResources.add(resource);
+		}
+	}
+
+	/**
+	 * The model merges collected during the tree walk when merging in parallel.
+	 */
+	private static class DeferredModelMerges {
+		/** Merges of logical models that do not share any resource with one another. */
+		private final List<ModelMerge> independent = new ArrayList<>();
+
+		/** Merges of logical models sharing resources with one of the independent merges. */
+		private final List<ModelMerge> dependent = new ArrayList<>();
+
+		/** All resources of the logical models that will be merged. */
+		private final Set<IResource> resources = new HashSet<>();
+
+		/** The paths we met during the tree walk that are part of a logical model that will be merged. */
+		private final List<String> coveredPaths = new ArrayList<>();
+
+		/**
+		 * Defers the given model merge.
+		 *
+		 * @param modelMerge
+		 *            The model merge to defer.
+		 */
+		public void add(ModelMerge modelMerge) {
+			if (Collections.disjoint(resources, modelMerge.logicalModel)) {
+				independent.add(modelMerge);
+			} else {
+				dependent.add(modelMerge);
+			}
+			resources.addAll(modelMerge.logicalModel);
+		}
+	}
+
+	/**
+	 * Creates the daemon threads on which logical models are merged.
+	 */
+	private static class ModelMergeThreadFactory implements ThreadFactory {
+		/** Number of the next thread to be created. */
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable,
+					"EMF Compare model merge " + threadNumber.getAndIncrement()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
 		}
 	}
 
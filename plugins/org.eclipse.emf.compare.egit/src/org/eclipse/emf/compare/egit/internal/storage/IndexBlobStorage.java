@@ -1,6 +1,6 @@
 /*******************************************************************************
  * Copyright (C) 2010, Jens Baumgart <jens.baumgart@sap.com>
- * Copyright (C) 2014, Obeo
+ * Copyright (C) 2014, 2026 Obeo
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -30,8 +30,21 @@ import org.eclipse.jgit.lib.Repository;
 @SuppressWarnings("restriction")
 public class IndexBlobStorage extends GitBlobStorage {
 
+	/** Id of this object in the repository. */
+	private final ObjectId blobId;
+
 	IndexBlobStorage(final Repository repository, final String fileName, final ObjectId blob) {
 		super(repository, fileName, blob);
+		this.blobId = blob;
+	}
+
+	/**
+	 * Returns the id of the underlying object in the repository.
+	 *
+	 * @return the id of the underlying object in the repository.
+	 */
+	public ObjectId getBlobId() {
+		return blobId;
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2015, Obeo.
+ * Copyright (C) 2015, 2026 Obeo.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -25,6 +25,9 @@ public class WorkspaceGitBlobStorage extends GitBlobStorage {
 	/** Workspace-relative path of the underlying object. */
 	private final IPath workspacePath;
 
+	/** Id of this object in its repository. */
+	private final ObjectId blobId;
+
 	/**
 	 * @param repository
 	 *            The repository containing this object.
@@ -41,6 +44,16 @@ public class WorkspaceGitBlobStorage extends GitBlobStorage {
 	public WorkspaceGitBlobStorage(Repository repository, String path, IPath workspacePath, ObjectId blob) {
 		super(repository, path, blob);
 		this.workspacePath = workspacePath;
+		this.blobId = blob;
+	}
+
+	/**
+	 * Returns the id of the underlying object in its repository.
+	 *
+	 * @return the id of the underlying object in its repository.
+	 */
+	public ObjectId getBlobId() {
+		return blobId;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,15 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.tests.suite;
 
+import org.eclipse.emf.compare.ide.utils.tests.BlobModelCacheTest;
 import org.eclipse.emf.compare.ide.utils.tests.Bug471045Test;
 import org.eclipse.emf.compare.ide.utils.tests.Bug507157Test;
+import org.eclipse.emf.compare.ide.utils.tests.LocalFileContentTest;
 import org.eclipse.emf.compare.ide.utils.tests.ResourceUtil_BinaryIdentical2Test;
 import org.eclipse.emf.compare.ide.utils.tests.ResourceUtil_BinaryIdentical2_ReadLimitTest;
 import org.eclipse.emf.compare.ide.utils.tests.ResourceUtil_BinaryIdentical3Test;
 import org.eclipse.emf.compare.ide.utils.tests.ResourceUtil_BinaryIdentical3_ReadLimitTest;
+import org.eclipse.emf.compare.ide.utils.tests.XMLDependencyScannerTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -24,6 +27,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ResourceUtil_BinaryIdentical2Test.class, ResourceUtil_BinaryIdentical2_ReadLimitTest.class,
 		ResourceUtil_BinaryIdentical3Test.class, ResourceUtil_BinaryIdentical3_ReadLimitTest.class,
-		Bug471045Test.class, Bug507157Test.class })
+		Bug471045Test.class, Bug507157Test.class, XMLDependencyScannerTest.class,
+		LocalFileContentTest.class, BlobModelCacheTest.class, })
 public class AllTests {
 }
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.utils.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.internal.utils.BlobModelCache;
+import org.eclipse.emf.compare.ide.internal.utils.IProxyCreationListener;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the cache of the models parsed from immutable contents.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class BlobModelCacheTest {
+	private static final URI RESOURCE_URI = URI.createURI("platform:/resource/project/model.ecore");
+
+	private static final String CONTENT_ID = "ce013625030ba8dba906f756967f9e9ca394464a";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testCachedResourceKeepsContentAndIds() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		cache.store(createModel(), CONTENT_ID, null);
+
+		final XMLResource loaded = newResource(RESOURCE_URI);
+		final List<EObject> proxyHolders = new ArrayList<EObject>();
+		assertTrue(cache.load(loaded, CONTENT_ID, null, collectProxies(proxyHolders)));
+
+		final EPackage ePackage = (EPackage)loaded.getContents().get(0);
+		assertEquals("model", ePackage.getName());
+		assertEquals("packageId", loaded.getID(ePackage));
+		final EClass eClass = (EClass)ePackage.getEClassifiers().get(0);
+		assertEquals("classId", loaded.getID(eClass));
+		final EAnnotation annotation = ePackage.getEAnnotations().get(0);
+		assertTrue(((InternalEList<EObject>)annotation.getReferences()).basicGet(0).eIsProxy());
+		assertEquals(1, proxyHolders.size());
+		assertEquals(annotation, proxyHolders.get(0));
+	}
+
+	@Test
+	public void testEntriesAreKeyedByContentAndURI() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		cache.store(createModel(), CONTENT_ID, null);
+
+		assertFalse(cache.load(newResource(RESOURCE_URI), "0000000000000000000000000000000000000000", null,
+				null));
+		assertFalse(cache.load(newResource(URI.createURI("platform:/resource/project/other.ecore")),
+				CONTENT_ID, null, null));
+	}
+
+	@Test
+	public void testEntriesAreSpilledToDisk() {
+		final File directory = folder.getRoot();
+		new BlobModelCache(directory).store(createModel(), CONTENT_ID, null);
+
+		final XMLResource loaded = newResource(RESOURCE_URI);
+		assertTrue(new BlobModelCache(directory).load(loaded, CONTENT_ID, null, null));
+		assertEquals("model", ((EPackage)loaded.getContents().get(0)).getName());
+	}
+
+	@Test
+	public void testSpillIsTrimmed() {
+		final File directory = folder.getRoot();
+		final BlobModelCache cache = new BlobModelCache(directory, 1);
+		cache.store(createModel(), CONTENT_ID, null);
+
+		assertEquals(0, directory.listFiles().length);
+	}
+
+	@Test
+	public void testResourcesWithErrorsAreNotCached() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		final XMLResource model = createModel();
+		model.getErrors().add(new Resource.Diagnostic() {
+			public String getMessage() {
+				return "error";
+			}
+
+			public String getLocation() {
+				return RESOURCE_URI.toString();
+			}
+
+			public int getLine() {
+				return 1;
+			}
+
+			public int getColumn() {
+				return 1;
+			}
+		});
+		cache.store(model, CONTENT_ID, null);
+
+		assertFalse(cache.load(newResource(RESOURCE_URI), CONTENT_ID, null, null));
+	}
+
+	@Test
+	public void testEntriesAreKeyedByLoadOptions() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		cache.store(createModel(), CONTENT_ID, null);
+
+		assertFalse(cache.load(newResource(RESOURCE_URI), CONTENT_ID,
+				Collections.singletonMap(XMLResource.OPTION_RECORD_UNKNOWN_FEATURE, Boolean.TRUE), null));
+		assertTrue(cache.load(newResource(RESOURCE_URI), CONTENT_ID, null, null));
+	}
+
+	@Test
+	public void testEntriesOfOutdatedMetamodelsAreDiscarded() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		final XMLResource model = newResource(RESOURCE_URI);
+		final EPackage metamodel = createMetamodel(model.getResourceSet(), "name");
+		model.getContents().add(EcoreUtil.create((EClass)metamodel.getEClassifier("Element")));
+		cache.store(model, CONTENT_ID, null);
+
+		final XMLResource sameMetamodel = newResource(RESOURCE_URI);
+		createMetamodel(sameMetamodel.getResourceSet(), "name");
+		assertTrue(cache.load(sameMetamodel, CONTENT_ID, null, null));
+
+		final XMLResource otherMetamodel = newResource(RESOURCE_URI);
+		createMetamodel(otherMetamodel.getResourceSet(), "label");
+		assertFalse(cache.load(otherMetamodel, CONTENT_ID, null, null));
+		assertFalse(otherMetamodel.isLoaded());
+
+		// The outdated entry has been discarded
+		final XMLResource reloaded = newResource(RESOURCE_URI);
+		createMetamodel(reloaded.getResourceSet(), "name");
+		assertFalse(cache.load(reloaded, CONTENT_ID, null, null));
+	}
+
+	@Test
+	public void testUnregisteredMetamodelsAreNotCached() {
+		final BlobModelCache cache = new BlobModelCache(null);
+		final XMLResource model = newResource(RESOURCE_URI);
+		final EPackage metamodel = createMetamodel(model.getResourceSet(), "name");
+		model.getResourceSet().getPackageRegistry().remove(metamodel.getNsURI());
+		model.getContents().add(EcoreUtil.create((EClass)metamodel.getEClassifier("Element")));
+		cache.store(model, CONTENT_ID, null);
+
+		final XMLResource loaded = newResource(RESOURCE_URI);
+		loaded.getResourceSet().getPackageRegistry().put(metamodel.getNsURI(), metamodel);
+		assertFalse(cache.load(loaded, CONTENT_ID, null, null));
+	}
+
+	private static EPackage createMetamodel(ResourceSet resourceSet, String attributeName) {
+		final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("dynamic");
+		ePackage.setNsPrefix("dynamic");
+		ePackage.setNsURI("http://dynamic");
+		final EClass element = EcoreFactory.eINSTANCE.createEClass();
+		element.setName("Element");
+		final EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(attributeName);
+		attribute.setEType(EcorePackage.Literals.ESTRING);
+		element.getEStructuralFeatures().add(attribute);
+		ePackage.getEClassifiers().add(element);
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		return ePackage;
+	}
+
+	private static XMLResource createModel() {
+		final XMLResource resource = newResource(RESOURCE_URI);
+		final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("model");
+		ePackage.setNsURI("http://model");
+		final EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName("Class");
+		ePackage.getEClassifiers().add(eClass);
+		final EClass external = EcoreFactory.eINSTANCE.createEClass();
+		((InternalEObject)external).eSetProxyURI(
+				URI.createURI("platform:/resource/project/other.ecore#//External"));
+		final EAnnotation annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+		annotation.setSource("test");
+		annotation.getReferences().add(external);
+		ePackage.getEAnnotations().add(annotation);
+		resource.getContents().add(ePackage);
+		resource.setID(ePackage, "packageId");
+		resource.setID(eClass, "classId");
+		return resource;
+	}
+
+	private static XMLResource newResource(URI uri) {
+		final ResourceSet resourceSet = new ResourceSetImpl();
+		final XMLResource resource = new XMIResourceImpl(uri);
+		resourceSet.getResources().add(resource);
+		return resource;
+	}
+
+	private static IProxyCreationListener collectProxies(final List<EObject> proxyHolders) {
+		return new IProxyCreationListener() {
+			public void proxyCreated(Resource source, EObject eObject, EStructuralFeature eStructuralFeature,
+					EObject proxy, int position) {
+				proxyHolders.add(eObject);
+			}
+		};
+	}
+}
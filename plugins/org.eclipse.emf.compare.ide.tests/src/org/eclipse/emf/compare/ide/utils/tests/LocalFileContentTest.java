@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.utils.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.internal.utils.LocalFileContent;
+import org.eclipse.emf.compare.ide.internal.utils.URIStorage;
+import org.eclipse.emf.compare.ide.utils.ResourceUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the comparison and digest of local files through their channels.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class LocalFileContentTest {
+	/** Larger than the size from which files are read in direct buffers. */
+	private static final int LARGE_SIZE = 3 * 1024 * 1024 + 17;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSmallFiles() throws IOException {
+		final File first = write("first", content(1000, 0));
+		final File same = write("same", content(1000, 0));
+		final File other = write("other", content(1000, 999));
+		final File shorter = write("shorter", content(999, 0));
+
+		assertTrue(LocalFileContent.identical(first, same));
+		assertFalse(LocalFileContent.identical(first, other));
+		assertFalse(LocalFileContent.identical(first, shorter));
+	}
+
+	@Test
+	public void testLargeFiles() throws IOException {
+		final File first = write("first", content(LARGE_SIZE, 0));
+		final File same = write("same", content(LARGE_SIZE, 0));
+		final File lastByte = write("lastByte", content(LARGE_SIZE, LARGE_SIZE - 1));
+		final byte[] changed = content(LARGE_SIZE, 0);
+		changed[0]++;
+		final File firstByte = write("firstByte", changed);
+
+		assertTrue(LocalFileContent.identical(first, same));
+		assertFalse(LocalFileContent.identical(first, lastByte));
+		assertFalse(LocalFileContent.identical(first, firstByte));
+	}
+
+	@Test
+	public void testDigestMatchesContent() throws Exception {
+		for (int size : new int[] {0, 1000, LARGE_SIZE }) {
+			final byte[] content = content(size, 0);
+			final File file = write("digest" + size, content);
+			final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			LocalFileContent.digest(file, digest);
+
+			assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), digest.digest());
+		}
+	}
+
+	@Test
+	public void testLargeFilesAreReleased() throws Exception {
+		final File first = write("first", content(LARGE_SIZE, 0));
+		final File same = write("same", content(LARGE_SIZE, 0));
+
+		assertTrue(LocalFileContent.identical(first, same));
+		LocalFileContent.digest(first, MessageDigest.getInstance("SHA-1"));
+		// Would fail on Windows if the files were still mapped
+		assertTrue(first.delete());
+		assertTrue(same.delete());
+	}
+
+	@Test
+	public void testBinaryIdenticalUsesLocalFiles() throws IOException {
+		final IStorage first = storage(write("first", content(LARGE_SIZE, 0)));
+		final IStorage same = storage(write("same", content(LARGE_SIZE, 0)));
+		final IStorage other = storage(write("other", content(LARGE_SIZE, 42)));
+
+		assertEquals(new File(folder.getRoot(), "first"), LocalFileContent.getLocalFile(first));
+		assertTrue(ResourceUtil.binaryIdentical(first, same));
+		assertTrue(ResourceUtil.binaryIdentical(first, same, first));
+		assertFalse(ResourceUtil.binaryIdentical(first, other));
+		assertFalse(ResourceUtil.binaryIdentical(first, same, other));
+	}
+
+	@Test
+	public void testMissingFileIsNotLocal() {
+		final File missing = new File(folder.getRoot(), "missing");
+
+		assertNull(LocalFileContent.getLocalFile(storage(missing)));
+	}
+
+	private static IStorage storage(File file) {
+		return new URIStorage(URI.createFileURI(file.getAbsolutePath()), null, null);
+	}
+
+	private File write(String name, byte[] content) throws IOException {
+		final File file = new File(folder.getRoot(), name);
+		try (OutputStream stream = new FileOutputStream(file)) {
+			stream.write(content);
+		}
+		return file;
+	}
+
+	private static byte[] content(int size, int changedIndex) {
+		final byte[] content = new byte[size];
+		Arrays.fill(content, (byte)'a');
+		for (int i = 0; i < size; i += 80) {
+			content[i] = '\n';
+		}
+		if (changedIndex > 0 && changedIndex < size) {
+			content[changedIndex]++;
+		}
+		return content;
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.utils.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.internal.utils.XMLDependencyScanner;
+import org.junit.Test;
+
+/**
+ * Tests the references found by the {@link XMLDependencyScanner}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class XMLDependencyScannerTest {
+
+	private static final URI RESOURCE = URI.createPlatformResourceURI("/project/folder/model.ecore", true);
+
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+
+	private static final String NAMESPACES = " xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\""
+			+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+			+ " xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\"";
+
+	@Test
+	public void testHrefReferences() throws IOException {
+		final String content = HEADER + "<ecore:EPackage" + NAMESPACES + " name=\"root\">\n"
+				+ "  <eSubpackages href=\"fragment.ecore#/\"/>\n"
+				+ "  <eClassifiers xsi:type=\"ecore:EClass\" name=\"A\">\n"
+				+ "    <eSuperTypes href=\"../other/super.ecore#//Super\"/>\n"
+				+ "    <eSuperTypes href=\"#//B\"/>\n"
+				+ "    <eSuperTypes href=\"platform:/resource/project2/lib.ecore#//Lib\"/>\n"
+				+ "  </eClassifiers>\n" + "</ecore:EPackage>\n";
+
+		assertEquals(setOf(uri("/project/folder/fragment.ecore"), uri("/project/other/super.ecore"),
+				uri("/project2/lib.ecore")), scan(content));
+	}
+
+	@Test
+	public void testAttributeReferences() throws IOException {
+		final String content = HEADER + "<ecore:EPackage" + NAMESPACES + " name=\"root\">\n"
+				+ "  <eClassifiers xsi:type=\"ecore:EClass\" name=\"A\""
+				+ " eSuperTypes=\"#//B super.ecore#//Super ecore:EClass typed.ecore#//Typed\">\n"
+				+ "    <eStructuralFeatures xsi:type=\"ecore:EAttribute\" name=\"a\""
+				+ " eType=\"ecore:EDataType http://www.eclipse.org/emf/2002/Ecore#//EString\"/>\n"
+				+ "    <eAnnotations source=\"doc\">\n"
+				+ "      <details key=\"documentation\" value=\"see issue #42 or page#3\"/>\n"
+				+ "    </eAnnotations>\n" + "  </eClassifiers>\n" + "</ecore:EPackage>\n";
+
+		assertEquals(setOf(uri("/project/folder/super.ecore"), uri("/project/folder/typed.ecore")),
+				scan(content));
+	}
+
+	@Test
+	public void testTextLookingLikeReferencesIsIgnored() throws IOException {
+		final String content = HEADER + "<ecore:EPackage" + NAMESPACES + " name=\"root\">\n"
+				+ "  <eAnnotations source=\"doc\">\n"
+				+ "    <details key=\"documentation\" value=\"see spec.html#intro for details\"/>\n"
+				+ "    <details key=\"link\" value=\"notes.txt#summary\"/>\n"
+				+ "    <details key=\"type\" value=\"ecore:EClass\"/>\n" + "  </eAnnotations>\n"
+				+ "  <eClassifiers xsi:type=\"ecore:EClass\" name=\"A\""
+				+ " eSuperTypes=\"super.ecore#//Super\"/>\n"
+				+ "</ecore:EPackage>\n";
+
+		// Free text is never a reference
+		assertEquals(setOf(uri("/project/folder/notes.txt"), uri("/project/folder/super.ecore")),
+				scan(content));
+
+		// Single tokens need to point to an existing resource
+		final XMLDependencyScanner scanner = new XMLDependencyScanner(new Predicate<URI>() {
+			public boolean apply(URI input) {
+				return "ecore".equals(input.fileExtension());
+			}
+		});
+		assertEquals(setOf(uri("/project/folder/super.ecore")), scanner.scan(RESOURCE,
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	public void testHrefReferencesAreNotFiltered() throws IOException {
+		final String content = HEADER + "<ecore:EPackage" + NAMESPACES + " name=\"root\">\n"
+				+ "  <eSubpackages href=\"missing.ecore#/\"/>\n" + "</ecore:EPackage>\n";
+
+		final XMLDependencyScanner scanner = new XMLDependencyScanner(Predicates.<URI> alwaysFalse());
+		assertEquals(setOf(uri("/project/folder/missing.ecore")), scanner.scan(RESOURCE,
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	public void testSchemaLocationsAreNotDependencies() throws IOException {
+		final String content = HEADER + "<root:Root" + NAMESPACES + " xmlns:root=\"http://root\""
+				+ " xsi:schemaLocation=\"http://root metamodel.ecore#/\">\n"
+				+ "  <children href=\"child.xmi#/\"/>\n"
+				+ "  <type href=\"metamodel.ecore#//Type\"/>\n" + "</root:Root>\n";
+
+		assertEquals(setOf(uri("/project/folder/child.xmi")), scan(content));
+	}
+
+	@Test(expected = IOException.class)
+	public void testMalformedContent() throws IOException {
+		scan("this is not xml");
+	}
+
+	private static Set<URI> setOf(URI... uris) {
+		return new HashSet<URI>(Arrays.asList(uris));
+	}
+
+	private static URI uri(String path) {
+		return URI.createPlatformResourceURI(path, true);
+	}
+
+	private static Set<URI> scan(String content) throws IOException {
+		return new XMLDependencyScanner().scan(RESOURCE,
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.emf.common.util.BasicMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.EMFCompare;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonFootprint;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonFootprint.Component;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonMemoryBudget;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonMemoryBudget.Account;
+import org.eclipse.emf.compare.merge.CachingDiffRelationshipComputer;
+import org.eclipse.emf.compare.merge.IMerger;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
+import org.eclipse.emf.compare.scope.DefaultComparisonScope;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.compare.utils.EqualityHelper;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the footprint estimation and the eviction order of the {@link ComparisonMemoryBudget}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class ComparisonMemoryBudgetTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ComparisonMemoryBudget budget;
+
+	private CachingDiffRelationshipComputer relationshipComputer;
+
+	@Before
+	public void setUp() {
+		budget = new ComparisonMemoryBudget(Long.MAX_VALUE, MoreExecutors.directExecutor());
+		relationshipComputer = new CachingDiffRelationshipComputer(
+				IMerger.RegistryImpl.createStandaloneInstance());
+	}
+
+	@Test
+	public void testFootprint() throws IOException {
+		final IComparisonScope scope = createScope();
+		final Comparison comparison = compare(scope);
+		final Account account = budget.register(comparison, scope, relationshipComputer);
+
+		ComparisonFootprint footprint = account.getFootprint();
+		assertTrue(footprint.get(Component.MODELS) > 0L);
+		assertTrue(footprint.get(Component.COMPARISON) > 0L);
+		assertEquals(0L, footprint.get(Component.UNUSED_RESOURCES));
+		assertEquals(0L, footprint.get(Component.LABEL_CACHE));
+		assertEquals(0L, footprint.get(Component.RELATIONSHIP_CACHE));
+
+		final Resource unused = addUnusedResource((ResourceSet)scope.getLeft(), "library.ecore");
+		fillCaches(comparison);
+		footprint = account.getFootprint();
+		assertTrue(footprint.get(Component.UNUSED_RESOURCES) > 0L);
+		assertTrue(footprint.get(Component.LABEL_CACHE) > 0L);
+		assertTrue(footprint.get(Component.URI_CACHE) > 0L);
+		assertTrue(footprint.get(Component.RELATIONSHIP_CACHE) > 0L);
+		assertTrue(footprint.getEvictable() < footprint.getTotal());
+		assertEquals(footprint.getTotal(), budget.getEstimatedFootprint());
+		assertTrue(unused.isLoaded());
+
+		account.release();
+		assertTrue(budget.getAccounts().isEmpty());
+		assertEquals(0L, budget.getEstimatedFootprint());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvictedFirst() {
+		final IComparisonScope scope1 = createScope();
+		final Comparison comparison1 = compare(scope1);
+		final Account account1 = budget.register(comparison1, scope1, null);
+		final IComparisonScope scope2 = createScope();
+		final Comparison comparison2 = compare(scope2);
+		final Account account2 = budget.register(comparison2, scope2, null);
+		fillCaches(comparison1);
+		fillCaches(comparison2);
+
+		account1.touch();
+		budget.evict(1L);
+		assertTrue(LabelCache.getCache(comparison1).size() > 0);
+		assertEquals(0, LabelCache.getCache(comparison2).size());
+
+		account2.touch();
+		budget.evict(1L);
+		assertEquals(0, LabelCache.getCache(comparison1).size());
+		assertTrue(budget.getEvictedBytes() > 0L);
+	}
+
+	@Test
+	public void testCachesEvictedBeforeResources() throws IOException {
+		final IComparisonScope scope = createScope();
+		final Comparison comparison = compare(scope);
+		final Account account = budget.register(comparison, scope, relationshipComputer);
+		final Resource unused = addUnusedResource((ResourceSet)scope.getLeft(), "library.ecore");
+		fillCaches(comparison);
+
+		final long labels = account.getFootprint().get(Component.LABEL_CACHE);
+		assertEquals(labels, budget.evict(labels));
+		assertEquals(0, LabelCache.getCache(comparison).size());
+		assertTrue(relationshipComputer.getCacheSize() > 0);
+		assertTrue(unused.isLoaded());
+
+		budget.evict(Long.MAX_VALUE);
+		assertEquals(0, relationshipComputer.getCacheSize());
+		assertEquals(0L, account.getFootprint().get(Component.URI_CACHE));
+		assertFalse(unused.isLoaded());
+		assertFalse(((ResourceSet)scope.getLeft()).getResources().contains(unused));
+		for (Resource resource : ((ResourceSet)scope.getLeft()).getResources()) {
+			assertTrue(resource.isLoaded());
+		}
+	}
+
+	@Test
+	public void testOnlyReloadableUnmodifiedResourcesEvicted() throws IOException {
+		final IComparisonScope scope = createScope();
+		final Comparison comparison = compare(scope);
+		budget.register(comparison, scope, relationshipComputer);
+		final ResourceSet left = (ResourceSet)scope.getLeft();
+		final Resource unused = addUnusedResource(left, "library.ecore");
+		final Resource modified = addUnusedResource(left, "modified.ecore");
+		((EPackage)modified.getContents().get(0)).setName("modified");
+		final Resource inMemory = new XMIResourceImpl(URI.createURI("memory.ecore"));
+		inMemory.getContents().add(EcoreFactory.eINSTANCE.createEPackage());
+		left.getResources().add(inMemory);
+
+		budget.evict(Long.MAX_VALUE);
+		assertFalse(unused.isLoaded());
+		assertTrue(modified.isModified());
+		assertTrue(modified.isLoaded());
+		assertTrue(inMemory.isLoaded());
+		assertTrue(left.getResources().contains(modified));
+		assertTrue(left.getResources().contains(inMemory));
+	}
+
+	@Test
+	public void testEvictedResourcesAreReloaded() throws IOException {
+		final IComparisonScope scope = createScope();
+		final Comparison comparison = compare(scope);
+		budget.register(comparison, scope, relationshipComputer);
+
+		// Resolving a proxy from the compared model loads a resource that is not part of the comparison
+		final File libraryFile = new File(folder.getRoot(), "library.ecore");
+		final Resource library = new XMIResourceImpl(URI.createFileURI(libraryFile.getAbsolutePath()));
+		final EClass book = EcoreFactory.eINSTANCE.createEClass();
+		book.setName("Book");
+		final EPackage libraryPackage = EcoreFactory.eINSTANCE.createEPackage();
+		libraryPackage.setName("library");
+		libraryPackage.getEClassifiers().add(book);
+		library.getContents().add(libraryPackage);
+		library.save(null);
+		final ResourceSet left = (ResourceSet)scope.getLeft();
+		left.getResources().add(library);
+		final EClass leftClass = (EClass)((EPackage)left.getResources().get(0).getContents().get(0))
+				.getEClassifiers().get(0);
+		leftClass.getESuperTypes().add(book);
+
+		budget.evict(Long.MAX_VALUE);
+		assertFalse(library.isLoaded());
+		assertTrue(book.eIsProxy());
+
+		final EClass superType = leftClass.getESuperTypes().get(0);
+		assertFalse(superType.eIsProxy());
+		assertEquals("Book", superType.getName());
+		assertNotSame(library, superType.eResource());
+		assertTrue(superType.eResource().isLoaded());
+	}
+
+	@Test
+	public void testBudgetEnforcedOnRegistration() throws IOException {
+		budget = new ComparisonMemoryBudget(1L, MoreExecutors.directExecutor());
+		final IComparisonScope scope = createScope();
+		final Comparison comparison = compare(scope);
+		final Resource unused = addUnusedResource((ResourceSet)scope.getLeft(), "library.ecore");
+		fillCaches(comparison);
+
+		budget.register(comparison, scope, relationshipComputer);
+		assertEquals(0, LabelCache.getCache(comparison).size());
+		assertEquals(0, relationshipComputer.getCacheSize());
+		assertFalse(unused.isLoaded());
+		assertTrue(budget.getEvictedBytes() > 0L);
+	}
+
+	private void fillCaches(Comparison comparison) {
+		final LabelCache labelCache = LabelCache.getCache(comparison);
+		final EqualityHelper equalityHelper = (EqualityHelper)comparison.getEqualityHelper();
+		for (Diff diff : comparison.getDifferences()) {
+			labelCache.putText(null, diff, LabelCache.TEXT, diff.toString());
+			if (diff.getMatch().getLeft() != null) {
+				equalityHelper.getURI(diff.getMatch().getLeft());
+			}
+			relationshipComputer.computeCache(diff);
+		}
+	}
+
+	private static Comparison compare(IComparisonScope scope) {
+		return EMFCompare.builder().build().compare(scope, new BasicMonitor());
+	}
+
+	private static IComparisonScope createScope() {
+		return new DefaultComparisonScope(createResourceSet("left"), createResourceSet("right"), null);
+	}
+
+	private static ResourceSet createResourceSet(String className) {
+		final ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore",
+				new XMIResourceFactoryImpl());
+		final Resource resource = new XMIResourceImpl(URI.createURI("model.ecore"));
+		final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("model");
+		for (int i = 0; i < 10; i++) {
+			final EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			eClass.setName(className + i);
+			ePackage.getEClassifiers().add(eClass);
+		}
+		resource.getContents().add(ePackage);
+		resourceSet.getResources().add(resource);
+		return resourceSet;
+	}
+
+	private Resource addUnusedResource(ResourceSet resourceSet, String fileName) throws IOException {
+		final File file = new File(folder.getRoot(), fileName);
+		final Resource resource = new XMIResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+		final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("library");
+		resource.getContents().add(ePackage);
+		resource.save(null);
+		resourceSet.getResources().add(resource);
+		return resource;
+	}
+}
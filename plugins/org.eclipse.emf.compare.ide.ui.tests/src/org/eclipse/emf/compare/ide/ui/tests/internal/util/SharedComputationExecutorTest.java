@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the scheduling, backpressure and cancellation of the {@link SharedComputationExecutor}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class SharedComputationExecutorTest {
+
+	private static final long TIMEOUT = 10L;
+
+	private SharedComputationExecutor executor;
+
+	private CountDownLatch blockerStarted;
+
+	private CountDownLatch blockerRelease;
+
+	@Before
+	public void setUp() {
+		executor = new SharedComputationExecutor(1, 10, false);
+		blockerStarted = new CountDownLatch(1);
+		blockerRelease = new CountDownLatch(1);
+	}
+
+	@After
+	public void tearDown() {
+		blockerRelease.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	public void testTasksAreRunByPriority() throws Exception {
+		final List<String> order = new CopyOnWriteArrayList<String>();
+		final CountDownLatch done = new CountDownLatch(4);
+		block(executor.newView(Priority.NORMAL, false));
+
+		executor.execute(recorder(order, "low", done), Priority.LOW, false);
+		executor.execute(recorder(order, "normal1", done), Priority.NORMAL, false);
+		executor.execute(recorder(order, "high", done), Priority.HIGH, false);
+		executor.execute(recorder(order, "normal2", done), Priority.NORMAL, false);
+		blockerRelease.countDown();
+
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(ImmutableList.of("high", "normal1", "normal2", "low"), order);
+	}
+
+	@Test
+	public void testSubmitterWaitsWhenQueueIsFull() throws Exception {
+		executor.shutdown();
+		executor = new SharedComputationExecutor(1, 1, false);
+		block(executor.newView(Priority.NORMAL, false));
+		final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+		final CountDownLatch done = new CountDownLatch(1);
+
+		// Fills the queue
+		executor.execute(new Runnable() {
+			public void run() {
+				// nothing
+			}
+		}, Priority.NORMAL, false);
+		final Thread submitter = new Thread(new Runnable() {
+			public void run() {
+				executor.execute(new Runnable() {
+					public void run() {
+						runner.set(Thread.currentThread());
+						done.countDown();
+					}
+				}, Priority.NORMAL, false);
+			}
+		});
+		submitter.start();
+		submitter.join(200L);
+		assertTrue(submitter.isAlive());
+		assertEquals(1L, executor.getStatistics().getBlockedCount());
+
+		blockerRelease.countDown();
+		submitter.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+		assertFalse(submitter.isAlive());
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		assertNotSame(submitter, runner.get());
+	}
+
+	@Test
+	public void testNestedSubmissionIsQueuedWhenQueueIsFull() throws Exception {
+		executor.shutdown();
+		executor = new SharedComputationExecutor(1, 1, false);
+		final AtomicReference<Thread> outer = new AtomicReference<Thread>();
+		final AtomicReference<Thread> nested = new AtomicReference<Thread>();
+		final CountDownLatch done = new CountDownLatch(1);
+		executor.execute(new Runnable() {
+			public void run() {
+				outer.set(Thread.currentThread());
+				// Fills the queue, then submits from within a task : this must neither block nor run inline
+				executor.execute(new Runnable() {
+					public void run() {
+						// nothing
+					}
+				}, Priority.NORMAL, false);
+				executor.execute(new Runnable() {
+					public void run() {
+						nested.set(Thread.currentThread());
+						done.countDown();
+					}
+				}, Priority.NORMAL, false);
+				assertEquals(2, executor.getStatistics().getQueuedCount());
+				assertNull(nested.get());
+			}
+		}, Priority.NORMAL, false);
+
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(0L, executor.getStatistics().getBlockedCount());
+	}
+
+	@Test
+	public void testIOBoundTasksAreRunByPriority() throws Exception {
+		executor.shutdown();
+		executor = new SharedComputationExecutor(1, 10, true);
+		assumeTrue(executor.isUsingVirtualThreads());
+		final ListeningExecutorService view = executor.newView(Priority.NORMAL, true);
+		// Occupies all of the virtual threads we're allowed to use
+		final Semaphore gate = new Semaphore(0);
+		blockerStarted = new CountDownLatch(4);
+		for (int i = 0; i < 4; i++) {
+			view.submit(new Runnable() {
+				public void run() {
+					blockerStarted.countDown();
+					gate.acquireUninterruptibly();
+				}
+			});
+		}
+		assertTrue(blockerStarted.await(TIMEOUT, TimeUnit.SECONDS));
+
+		final List<String> order = new CopyOnWriteArrayList<String>();
+		final CountDownLatch done = new CountDownLatch(3);
+		executor.execute(recorder(order, "low", done), Priority.LOW, true);
+		executor.execute(recorder(order, "normal", done), Priority.NORMAL, true);
+		executor.execute(recorder(order, "high", done), Priority.HIGH, true);
+		assertEquals(3, executor.getStatistics().getQueuedCount());
+
+		// Frees a single virtual thread, on which the queued tasks will run one after the other
+		gate.release();
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(ImmutableList.of("high", "normal", "low"), order);
+		gate.release(3);
+	}
+
+	@Test
+	public void testShutdownNowOnlyInterruptsTasksOfTheView() throws Exception {
+		executor.shutdown();
+		executor = new SharedComputationExecutor(2, 10, false);
+		final ListeningExecutorService view = executor.newView(Priority.NORMAL, false);
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicBoolean interrupted = new AtomicBoolean();
+		view.submit(new Runnable() {
+			public void run() {
+				started.countDown();
+				try {
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					interrupted.set(true);
+				}
+			}
+		});
+		final ListenableFuture<?> other = block(executor.newView(Priority.NORMAL, false));
+		assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+
+		view.shutdownNow();
+
+		assertTrue(view.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+		assertFalse(other.isDone());
+	}
+
+	@Test
+	public void testShutdownNowCancelsPendingTasks() throws Exception {
+		block(executor.newView(Priority.NORMAL, false));
+		final ListeningExecutorService view = executor.newView(Priority.NORMAL, false);
+		final AtomicBoolean ran = new AtomicBoolean();
+		final ListenableFuture<?> pending = view.submit(new Runnable() {
+			public void run() {
+				ran.set(true);
+			}
+		});
+
+		assertEquals(1, view.shutdownNow().size());
+		assertTrue(pending.isCancelled());
+		assertTrue(view.isTerminated());
+
+		blockerRelease.countDown();
+		final CountDownLatch done = new CountDownLatch(1);
+		executor.execute(recorder(new CopyOnWriteArrayList<String>(), "after", done), Priority.LOW, false);
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		assertFalse(ran.get());
+	}
+
+	private ListenableFuture<?> block(ListeningExecutorService view) throws InterruptedException {
+		final ListenableFuture<?> future = view.submit(new Runnable() {
+			public void run() {
+				blockerStarted.countDown();
+				try {
+					blockerRelease.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		assertTrue(blockerStarted.await(TIMEOUT, TimeUnit.SECONDS));
+		return future;
+	}
+
+	private static Runnable recorder(final List<String> order, final String name, final CountDownLatch done) {
+		return new Runnable() {
+			public void run() {
+				order.add(name);
+				done.countDown();
+			}
+		};
+	}
+}
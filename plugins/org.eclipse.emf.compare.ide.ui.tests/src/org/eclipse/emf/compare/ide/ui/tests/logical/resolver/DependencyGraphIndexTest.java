@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.logical.resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.DependencyFoundEvent;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.DependencyGraphIndex;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.ResolvedEvent;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.ResourceRemovedEvent;
+import org.eclipse.emf.compare.internal.utils.Graph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the persistence and validation of the {@link DependencyGraphIndex}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class DependencyGraphIndexTest {
+
+	private static final URI A = URI.createPlatformResourceURI("/project/a.ecore", true);
+
+	private static final URI B = URI.createPlatformResourceURI("/project/b.ecore", true);
+
+	private static final URI C = URI.createPlatformResourceURI("/project/c.ecore", true);
+
+	private final Map<URI, Long> stamps = Maps.newHashMap();
+
+	private File location;
+
+	@Before
+	public void setUp() throws IOException {
+		location = File.createTempFile("dependencies", ".index");
+		location.delete();
+		stamps.put(A, Long.valueOf(1L));
+		stamps.put(B, Long.valueOf(1L));
+		stamps.put(C, Long.valueOf(1L));
+	}
+
+	@After
+	public void tearDown() {
+		location.delete();
+	}
+
+	@Test
+	public void testRestoreAfterSave() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A, B, C);
+		resolve(index, B);
+		resolve(index, C);
+		index.save();
+		assertTrue(location.isFile());
+
+		index = createIndex();
+		final Graph<URI> graph = new Graph<URI>();
+		assertEquals(ImmutableSet.of(B, C), index.restore(A, graph));
+		assertTrue(graph.contains(A));
+		assertTrue(graph.hasChild(A, B));
+		assertTrue(graph.hasChild(A, C));
+
+		// Already in the graph, nothing more to restore
+		assertEquals(Collections.emptySet(), index.restore(A, graph));
+		assertEquals(Collections.emptySet(), index.restore(B, graph));
+	}
+
+	@Test
+	public void testParentDataIsRestored() throws IOException {
+		final URI parent = A.appendFragment("//parent");
+		DependencyGraphIndex index = createIndex();
+		index.recordEdge(new DependencyFoundEvent<URI>(A, B, Optional.of(parent)));
+		index.recordNode(new ResolvedEvent<URI>(A));
+		index.save();
+
+		final Graph<URI> graph = new Graph<URI>();
+		createIndex().restore(A, graph);
+		assertEquals(parent, graph.getParentData(B));
+	}
+
+	@Test
+	public void testModifiedResourceIsNotRestored() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A, B);
+		resolve(index, B);
+		index.save();
+
+		stamps.put(A, Long.valueOf(2L));
+		index = createIndex();
+		final Graph<URI> graph = new Graph<URI>();
+		assertNull(index.restore(A, graph));
+		assertFalse(graph.contains(A));
+		assertEquals(Collections.emptySet(), index.restore(B, graph));
+		assertTrue(graph.contains(B));
+
+		// The stale entry is discarded
+		stamps.put(A, Long.valueOf(1L));
+		assertNull(index.restore(A, new Graph<URI>()));
+	}
+
+	@Test
+	public void testDeletedResourceIsNotRestored() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A);
+		index.save();
+
+		stamps.remove(A);
+		assertNull(createIndex().restore(A, new Graph<URI>()));
+	}
+
+	@Test
+	public void testRemovedResourceIsNotPersisted() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A, B);
+		resolve(index, B);
+		index.recordRemoval(new ResourceRemovedEvent<URI>(Collections.singleton(A)));
+		index.save();
+
+		index = createIndex();
+		assertNull(index.restore(A, new Graph<URI>()));
+		assertEquals(Collections.emptySet(), index.restore(B, new Graph<URI>()));
+	}
+
+	@Test
+	public void testRestoreAfterChangedDependency() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A, B);
+		resolve(index, B, C);
+		resolve(index, C);
+		index.save();
+
+		index = createIndex();
+		final Graph<URI> graph = new Graph<URI>();
+		assertEquals(ImmutableSet.of(B), index.restore(A, graph));
+		assertEquals(ImmutableSet.of(C), index.restore(B, graph));
+		assertEquals(Collections.emptySet(), index.restore(C, graph));
+
+		// C changed : it is re-resolved along with its parent B, which drops the edge from A to B
+		stamps.put(C, Long.valueOf(2L));
+		final ImmutableSet<URI> recompute = ImmutableSet.of(B, C);
+		index.recordRemoval(new ResourceRemovedEvent<URI>(recompute));
+		graph.removeAll(recompute);
+		resolve(index, B, C);
+		resolve(index, C);
+		graph.addChildren(B, Collections.singleton(C));
+		assertFalse(graph.hasChild(A, B));
+
+		// The grandparent A is still in the graph, but its edges need to be restored
+		assertEquals(ImmutableSet.of(B), index.restore(A, graph));
+		assertTrue(graph.hasChild(A, B));
+		assertTrue(graph.hasChild(A, C));
+		assertEquals(Collections.emptySet(), index.restore(A, graph));
+	}
+
+	@Test
+	public void testDependenciesAreRecordedOnce() throws IOException {
+		DependencyGraphIndex index = createIndex();
+		resolve(index, A, B, C);
+		index.save();
+		final long length = location.length();
+
+		// Resolving the same resource again must not duplicate its dependencies
+		resolve(index, A, B, C);
+		resolve(index, A, C, B);
+		index.save();
+		assertEquals(length, location.length());
+		assertEquals(ImmutableSet.of(B, C), createIndex().restore(A, new Graph<URI>()));
+	}
+
+	@Test
+	public void testCorruptedIndexIsIgnored() throws IOException {
+		final FileOutputStream out = new FileOutputStream(location);
+		try {
+			out.write(new byte[] {1, 2, 3, });
+		} finally {
+			out.close();
+		}
+
+		DependencyGraphIndex index = createIndex();
+		assertNull(index.restore(A, new Graph<URI>()));
+		resolve(index, A);
+		index.save();
+		assertEquals(Collections.emptySet(), createIndex().restore(A, new Graph<URI>()));
+	}
+
+	private DependencyGraphIndex createIndex() {
+		return new DependencyGraphIndex(location) {
+			@Override
+			protected long getModificationStamp(URI uri) {
+				final Long stamp = stamps.get(uri);
+				if (stamp == null) {
+					return IResource.NULL_STAMP;
+				}
+				return stamp.longValue();
+			}
+		};
+	}
+
+	private static void resolve(DependencyGraphIndex index, URI uri, URI... dependencies) {
+		for (URI dependency : dependencies) {
+			index.recordEdge(new DependencyFoundEvent<URI>(uri, dependency));
+		}
+		index.recordNode(new ResolvedEvent<URI>(uri));
+	}
+}
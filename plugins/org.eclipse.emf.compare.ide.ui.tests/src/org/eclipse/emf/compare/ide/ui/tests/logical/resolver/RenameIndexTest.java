@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.logical.resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Function;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.compare.ide.ui.internal.logical.RenameIndex;
+import org.junit.Test;
+
+/**
+ * Tests the bulk detection of renames through the {@link RenameIndex}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class RenameIndexTest {
+
+	private final Map<String, String> contents = new HashMap<String, String>();
+
+	@Test
+	public void testRenamesArePaired() {
+		contents.put("a.xmi", SimilarityComputerTest.PREFIX + "a\n");
+		contents.put("b.xmi", SimilarityComputerTest.PREFIX2 + "b\n");
+		contents.put("renamedA.xmi", SimilarityComputerTest.PREFIX + "a, slight change\n");
+		contents.put("renamedB.xmi", SimilarityComputerTest.PREFIX2 + "b\n");
+
+		final BiMap<String, String> renames = computeRenames(ImmutableList.of("a.xmi", "b.xmi"),
+				ImmutableList.of("renamedB.xmi", "renamedA.xmi"));
+
+		assertEquals(ImmutableMap.of("a.xmi", "renamedA.xmi", "b.xmi", "renamedB.xmi"), renames);
+	}
+
+	@Test
+	public void testMostSimilarFileWins() {
+		contents.put("a.xmi", SimilarityComputerTest.PREFIX + "a\nb\n");
+		contents.put("copy.xmi", SimilarityComputerTest.PREFIX + "a\nc\n");
+		contents.put("renamed.xmi", SimilarityComputerTest.PREFIX + "a\nb\n");
+
+		final BiMap<String, String> renames = computeRenames(ImmutableList.of("a.xmi"),
+				ImmutableList.of("copy.xmi", "renamed.xmi"));
+
+		assertEquals(ImmutableMap.of("a.xmi", "renamed.xmi"), renames);
+	}
+
+	@Test
+	public void testDifferentFilesAreNotRenames() {
+		contents.put("a.xmi", SimilarityComputerTest.PREFIX + "a\n");
+		contents.put("b.xmi", SimilarityComputerTest.PREFIX2 + "a\n");
+
+		assertTrue(computeRenames(ImmutableList.of("a.xmi"), ImmutableList.of("b.xmi")).isEmpty());
+	}
+
+	@Test
+	public void testSharedLinesAreNotEnough() {
+		contents.put("a.xmi", SimilarityComputerTest.PREFIX + "old line\nold line 2\n");
+		contents.put("b.xmi", SimilarityComputerTest.PREFIX + "new line\nnew line 2\n");
+
+		// Most lines are shared, but the similarity computer deems these files different
+		assertTrue(computeRenames(ImmutableList.of("a.xmi"), ImmutableList.of("b.xmi")).isEmpty());
+	}
+
+	@Test
+	public void testAppendedContentIsRename() {
+		contents.put("a.xmi", SimilarityComputerTest.PREFIX);
+		contents.put("b.xmi", SimilarityComputerTest.PREFIX + SimilarityComputerTest.PREFIX2);
+
+		assertEquals(ImmutableMap.of("a.xmi", "b.xmi"),
+				computeRenames(ImmutableList.of("a.xmi"), ImmutableList.of("b.xmi")));
+	}
+
+	@Test
+	public void testShortOrUnreadableFilesAreIgnored() {
+		contents.put("short.xmi", "a\n");
+		contents.put("shortRenamed.xmi", "a\n");
+		contents.put("renamedMissing.xmi", SimilarityComputerTest.PREFIX);
+
+		assertTrue(computeRenames(ImmutableList.of("short.xmi", "missing.xmi"),
+				ImmutableList.of("shortRenamed.xmi", "renamedMissing.xmi")).isEmpty());
+	}
+
+	private BiMap<String, String> computeRenames(List<String> removed, List<String> added) {
+		final Function<String, InputStream> open = new Function<String, InputStream>() {
+			public InputStream apply(String input) {
+				final String content = contents.get(input);
+				if (content == null) {
+					return null;
+				}
+				return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+			}
+		};
+		return RenameIndex.computeRenames(removed, open, added, open);
+	}
+}
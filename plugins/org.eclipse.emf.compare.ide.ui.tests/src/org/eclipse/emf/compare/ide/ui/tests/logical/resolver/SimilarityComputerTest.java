@@ -1,5 +1,6 @@
 package org.eclipse.emf.compare.ide.ui.tests.logical.resolver;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -83,6 +84,42 @@ public class SimilarityComputerTest {
 		assertFalse(SimilarityComputer.isSimilar(stream(a), stream(b)));
 	}
 
+	@Test
+	public void testLineTerminators() throws IOException {
+		String a = PREFIX + "last line"; //$NON-NLS-1$
+		String b = PREFIX.replace("\n", "\r\n") + "last line\n"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		assertEquals(0d, SimilarityComputer.computeDifference(stream(a), stream(b)), 0d);
+	}
+
+	@Test
+	public void testTwoChangedLinesNotSimilar() throws IOException {
+		String a = PREFIX + "old line\nold line 2\n"; //$NON-NLS-1$
+		String b = PREFIX + "new line\nnew line 2\n"; //$NON-NLS-1$
+
+		// Two of eleven lines changed, each in two character fragments
+		assertFalse(SimilarityComputer.isSimilar(stream(a), stream(b)));
+	}
+
+	@Test
+	public void testEditedLineNotSimilar() throws IOException {
+		String a = PREFIX;
+		String b = LIPSUM1.replace("elit.", "elit!") //$NON-NLS-1$ //$NON-NLS-2$
+				+ PREFIX.substring(LIPSUM1.length());
+
+		// Both sentences of the first line of nine changed, in four character fragments
+		assertFalse(SimilarityComputer.isSimilar(stream(a), stream(b)));
+	}
+
+	@Test
+	public void testDoubledContentSimilar() throws IOException {
+		String a = PREFIX;
+		String b = PREFIX + PREFIX2;
+
+		// A single inserted fragment, however long
+		assertTrue(SimilarityComputer.isSimilar(stream(a), stream(b)));
+	}
+
 	@Test
 	public void testTooShort() throws IOException {
 		String a = LIPSUM1 + '\n' + LIPSUM2;
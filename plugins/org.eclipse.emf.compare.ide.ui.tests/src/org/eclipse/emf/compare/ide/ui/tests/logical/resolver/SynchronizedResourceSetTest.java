@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.logical.resolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.internal.utils.IProxyCreationListener;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.SynchronizedResourceSet;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the thread-safe resources list of the {@link SynchronizedResourceSet}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class SynchronizedResourceSetTest {
+
+	private static final int THREADS = 8;
+
+	private static final int RESOURCES_PER_THREAD = 200;
+
+	private SynchronizedResourceSet resourceSet;
+
+	@Before
+	public void setUp() {
+		resourceSet = new SynchronizedResourceSet(mock(IProxyCreationListener.class));
+	}
+
+	@Test
+	public void testMembership() {
+		final EList<Resource> resources = resourceSet.getResources();
+		final Resource first = new XMIResourceImpl(URI.createURI("first.xmi"));
+		final Resource second = new XMIResourceImpl(URI.createURI("second.xmi"));
+
+		assertTrue(resources.add(first));
+		assertFalse(resources.add(first));
+		resources.add(second);
+		assertTrue(resources.contains(first));
+		assertTrue(resources.containsAll(resources));
+		assertFalse(resources.contains(null));
+		assertEquals(1, resources.indexOf(second));
+		assertSame(resourceSet, first.getResourceSet());
+
+		assertTrue(resources.remove(first));
+		assertFalse(resources.remove(first));
+		assertFalse(resources.contains(first));
+		assertTrue(resources.contains(second));
+
+		resources.clear();
+		assertFalse(resources.contains(second));
+		assertTrue(resources.isEmpty());
+	}
+
+	@Test
+	public void testConcurrentAdditions() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final List<Future<List<Resource>>> futures = new ArrayList<Future<List<Resource>>>();
+			for (int i = 0; i < THREADS; i++) {
+				final int thread = i;
+				futures.add(executor.submit(new Callable<List<Resource>>() {
+					public List<Resource> call() {
+						final List<Resource> added = new ArrayList<Resource>();
+						for (int j = 0; j < RESOURCES_PER_THREAD; j++) {
+							final Resource resource = new XMIResourceImpl(
+									URI.createURI("thread" + thread + "/resource" + j + ".xmi"));
+							resourceSet.getResources().add(resource);
+							// Concurrent readers must never see a half-added resource
+							assertTrue(resourceSet.getResources().contains(resource));
+							for (Object existing : resourceSet.getResources().toArray()) {
+								assertSame(resourceSet, ((Resource)existing).getResourceSet());
+							}
+							added.add(resource);
+						}
+						return added;
+					}
+				}));
+			}
+			final List<Resource> all = new ArrayList<Resource>();
+			for (Future<List<Resource>> future : futures) {
+				all.addAll(future.get(1, TimeUnit.MINUTES));
+			}
+
+			assertEquals(THREADS * RESOURCES_PER_THREAD, resourceSet.getResources().size());
+			assertTrue(resourceSet.getResources().containsAll(all));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
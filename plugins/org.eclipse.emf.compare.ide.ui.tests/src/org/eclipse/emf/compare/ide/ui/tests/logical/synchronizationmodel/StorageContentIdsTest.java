@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.tests.logical.synchronizationmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.compare.ide.ui.internal.logical.StorageContentIds;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the computation and caching of the content identifiers used to minimize the identical resources.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class StorageContentIdsTest {
+
+	private StorageContentIds contentIds;
+
+	@Before
+	public void setUp() {
+		contentIds = new StorageContentIds();
+	}
+
+	@Test
+	public void testContentIdIsGitBlobId() {
+		assertEquals("e69de29bb2d1d6434b8b29ae775ad8c2e48c5391",
+				StorageContentIds.computeContentId(new byte[0]));
+		assertEquals("ce013625030ba8dba906f756967f9e9ca394464a",
+				StorageContentIds.computeContentId("hello\n".getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	public void testContentIdDependsOnContent() throws Exception {
+		final IStorage left = storage("left.ecore", "<ecore/>");
+		final IStorage right = storage("right.ecore", "<ecore/>");
+		final IStorage other = storage("other.ecore", "<ecore />");
+
+		assertEquals(contentIds.getContentId(left), contentIds.getContentId(right));
+		assertFalse(contentIds.getContentId(left).equals(contentIds.getContentId(other)));
+	}
+
+	@Test
+	public void testContentIdIsCached() throws Exception {
+		final IStorage storage = storage("a.ecore", "<ecore/>");
+
+		final String id = contentIds.getContentId(storage);
+
+		assertEquals(id, contentIds.getContentId(storage));
+		verify(storage, times(1)).getContents();
+	}
+
+	@Test
+	public void testPrefetchComputesAllIds() throws Exception {
+		final IStorage first = storage("a.ecore", "<a/>");
+		final IStorage second = storage("b.ecore", "<b/>");
+
+		contentIds.prefetch(ImmutableList.of(first, second), new NullProgressMonitor());
+
+		assertEquals(StorageContentIds.computeContentId("<a/>".getBytes(StandardCharsets.UTF_8)),
+				contentIds.getContentId(first));
+		assertEquals(StorageContentIds.computeContentId("<b/>".getBytes(StandardCharsets.UTF_8)),
+				contentIds.getContentId(second));
+		verify(first, times(1)).getContents();
+		verify(second, times(1)).getContents();
+	}
+
+	@Test
+	public void testLargeContentIdIsStreamed() throws Exception {
+		final StringBuilder content = new StringBuilder();
+		while (content.length() < 200 * 1024) {
+			content.append("<eClassifiers name=\"C").append(content.length()).append("\"/>\n");
+		}
+		final IStorage storage = storage("large.ecore", content.toString());
+
+		assertEquals(StorageContentIds.computeContentId(content.toString().getBytes(StandardCharsets.UTF_8)),
+				contentIds.getContentId(storage));
+		// Read once to find the length, once to digest the content
+		verify(storage, times(2)).getContents();
+	}
+
+	@Test
+	public void testStorageWithoutContentHasNoId() throws Exception {
+		final IStorage storage = mock(IStorage.class);
+		when(storage.getName()).thenReturn("empty.ecore");
+
+		assertNull(contentIds.getContentId(storage));
+	}
+
+	private static IStorage storage(String name, final String content) throws Exception {
+		final IStorage storage = mock(IStorage.class);
+		when(storage.getName()).thenReturn(name);
+		when(storage.getContents()).thenAnswer(new Answer<InputStream>() {
+			public InputStream answer(InvocationOnMock invocation) {
+				return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		return storage;
+	}
+}
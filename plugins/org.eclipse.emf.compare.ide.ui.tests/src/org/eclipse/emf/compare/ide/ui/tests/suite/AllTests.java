@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2020 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,20 +23,26 @@ import org.eclipse.emf.compare.ide.ui.tests.compareconfiguration.EMFCompareConfi
 import org.eclipse.emf.compare.ide.ui.tests.contentmergeviewer.notloadedfragment.NotLoadedFragmentItemTest;
 import org.eclipse.emf.compare.ide.ui.tests.contentmergeviewer.util.RedoActionTest;
 import org.eclipse.emf.compare.ide.ui.tests.contentmergeviewer.util.UndoActionTest;
+import org.eclipse.emf.compare.ide.ui.tests.internal.util.ComparisonMemoryBudgetTest;
+import org.eclipse.emf.compare.ide.ui.tests.internal.util.SharedComputationExecutorTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.modelprovider.EMFModelProviderRegistrationTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.modelprovider.EMFModelProviderTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.CachingImplicitDependenciesTest;
+import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.DependencyGraphIndexTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.DependencyGraphUpdaterTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.GraphResolutionTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.LocalMonitoredProxyCreationListenerTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.RemoteMonitoredProxyCreationListenerTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.RenameDetectorTest;
+import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.RenameIndexTest;
+import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.SynchronizedResourceSetTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.ResolutionEventsTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.ResourceComputationSchedulerTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.ResourceComputationSchedulerWithEventBusTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.SimilarityComputerTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.ThreadedModelResolverGraphTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.resolver.ThreadedModelResolverWithCustomDependencyProviderTest;
+import org.eclipse.emf.compare.ide.ui.tests.logical.synchronizationmodel.StorageContentIdsTest;
 import org.eclipse.emf.compare.ide.ui.tests.logical.synchronizationmodel.SynchronizationModelDiagnosticTest;
 import org.eclipse.emf.compare.ide.ui.tests.structuremergeviewer.NavigatableTest;
 import org.eclipse.emf.compare.ide.ui.tests.structuremergeviewer.actions.CascadingFilterRefinementTest;
@@ -70,7 +76,9 @@ import org.junit.runners.Suite.SuiteClasses;
 		SynchronizationModelDiagnosticTest.class, CascadingFilterRefinementTest.class,
 		MergeNonConflictingRunnableRefinementTest.class, CachingImplicitDependenciesTest.class,
 		MirroredMergeActionTest.class, EMFModelProviderRegistrationTest.class,
-		MergeConflictingRunnableTest.class, UndoActionTest.class, RedoActionTest.class })
+		MergeConflictingRunnableTest.class, UndoActionTest.class, RedoActionTest.class,
+		DependencyGraphIndexTest.class, SharedComputationExecutorTest.class, StorageContentIdsTest.class,
+		RenameIndexTest.class, SynchronizedResourceSetTest.class, ComparisonMemoryBudgetTest.class, })
 public class AllTests {
 
 	@BeforeClass
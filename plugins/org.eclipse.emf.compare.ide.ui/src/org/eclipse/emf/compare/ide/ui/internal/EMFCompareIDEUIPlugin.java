@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2022 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -35,6 +35,8 @@ import org.eclipse.emf.compare.ide.ui.internal.logical.view.registry.LogicalMode
 import org.eclipse.emf.compare.ide.ui.internal.mergeresolution.MergeResolutionListenerRegistry;
 import org.eclipse.emf.compare.ide.ui.internal.mergeresolution.MergeResolutionListenerRegistryListener;
 import org.eclipse.emf.compare.ide.ui.internal.subscriber.SubscriberProviderRegistryListener;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonMemoryBudget;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
 import org.eclipse.emf.compare.ide.ui.logical.IModelMinimizer;
 import org.eclipse.emf.compare.ide.ui.subscriber.SubscriberProviderRegistry;
 import org.eclipse.emf.compare.rcp.extension.AbstractRegistryEventListener;
@@ -186,6 +188,8 @@ public class EMFCompareIDEUIPlugin extends AbstractUIPlugin {
 		modelDependencyProviderRegistry.clear();
 		globalRegistry.removeListener(subscriberProviderRegistryListener);
 		subscriberProviderRegistry.clear();
+		ComparisonMemoryBudget.disposeShared();
+		SharedComputationExecutor.disposeShared();
 		plugin = null;
 		super.stop(context);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 EclipseSource Muenchen GmbH and others.
+ * Copyright (c) 2016, 2026 EclipseSource Muenchen GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,11 +10,24 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.contentmergeviewer.tree.provider;
 
+import static com.google.common.collect.Maps.newHashMap;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Predicate;
+
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.compare.ComparePackage;
 import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.rcp.ui.EMFCompareRCPUIPlugin;
 import org.eclipse.emf.compare.rcp.ui.mergeviewer.item.provider.IMergeViewerItemContentProvider;
 import org.eclipse.emf.compare.rcp.ui.mergeviewer.item.provider.IMergeViewerItemProvider;
 import org.eclipse.emf.compare.rcp.ui.mergeviewer.item.provider.IMergeViewerItemProviderConfiguration;
+import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroupProvider;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.ui.provider.AdapterFactoryContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 
@@ -22,6 +35,10 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
  * This implementation of {@link ITreeContentProvider} delegates to the {@link IMergeViewerItemProvider}s and
  * {@link IMergeViewerItemContentProvider}s registered via the content merge viewer customization extension
  * point. If no fitting provider is registered, the calls will be delegated to the AdapterFactory.
+ * <p>
+ * The children computed by the {@link IMergeViewerItemContentProvider}s are memoized for the current group
+ * provider and filter predicate, and forgotten whenever a difference is merged or the models change.
+ * </p>
  * 
  * @author Stefan Dirix <sdirix@eclipsesource.com>
  */
@@ -31,6 +48,22 @@ public class DelegatingTreeMergeViewerItemContentProvider extends AdapterFactory
 
 	private Comparison comparison;
 
+	/** The memoized children of the items handled by an {@link IMergeViewerItemContentProvider}. */
+	private final Map<ChildrenKey, Object[]> children = newHashMap();
+
+	/** Whether the items handled by an {@link IMergeViewerItemContentProvider} have children. */
+	private final Map<ChildrenKey, Boolean> hasChildren = newHashMap();
+
+	/** Forgets about the memoized children whenever the state of a difference changes. */
+	private final AdapterImpl diffStateListener = new AdapterImpl() {
+		@Override
+		public void notifyChanged(Notification msg) {
+			if (msg.getFeature() == ComparePackage.Literals.DIFF__STATE && !msg.isTouch()) {
+				clearChildren();
+			}
+		}
+	};
+
 	/**
 	 * Constructor.
 	 * 
@@ -44,6 +77,9 @@ public class DelegatingTreeMergeViewerItemContentProvider extends AdapterFactory
 		super(configuration.getAdapterFactory());
 		this.comparison = comparison;
 		this.configuration = configuration;
+		for (Diff diff : comparison.getDifferences()) {
+			diff.eAdapters().add(diffStateListener);
+		}
 	}
 
 	/**
@@ -83,7 +119,17 @@ public class DelegatingTreeMergeViewerItemContentProvider extends AdapterFactory
 	public boolean hasChildren(Object object) {
 		IMergeViewerItemContentProvider contentProvider = getContentProvider(object);
 		if (contentProvider != null) {
-			return contentProvider.hasChildren(object, getConfiguration());
+			final ChildrenKey key = new ChildrenKey(object, getConfiguration());
+			final Object[] knownChildren = children.get(key);
+			if (knownChildren != null) {
+				return knownChildren.length > 0;
+			}
+			Boolean ret = hasChildren.get(key);
+			if (ret == null) {
+				ret = Boolean.valueOf(contentProvider.hasChildren(object, getConfiguration()));
+				hasChildren.put(key, ret);
+			}
+			return ret.booleanValue();
 		}
 		return super.hasChildren(object);
 	}
@@ -95,11 +141,53 @@ public class DelegatingTreeMergeViewerItemContentProvider extends AdapterFactory
 	public Object[] getChildren(Object object) {
 		IMergeViewerItemContentProvider contentProvider = getContentProvider(object);
 		if (contentProvider != null) {
-			return contentProvider.getChildren(object, getConfiguration());
+			final ChildrenKey key = new ChildrenKey(object, getConfiguration());
+			Object[] ret = children.get(key);
+			if (ret == null) {
+				ret = contentProvider.getChildren(object, getConfiguration());
+				children.put(key, ret);
+			}
+			return ret.clone();
 		}
 		return super.getChildren(object);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The models have changed, which may affect the children of any item.
+	 * </p>
+	 * 
+	 * @see org.eclipse.emf.edit.ui.provider.AdapterFactoryContentProvider#notifyChanged(org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void notifyChanged(Notification notification) {
+		clearChildren();
+		super.notifyChanged(notification);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.edit.ui.provider.AdapterFactoryContentProvider#dispose()
+	 */
+	@Override
+	public void dispose() {
+		for (Diff diff : comparison.getDifferences()) {
+			diff.eAdapters().remove(diffStateListener);
+		}
+		clearChildren();
+		super.dispose();
+	}
+
+	/**
+	 * Forgets about all memoized children.
+	 */
+	protected void clearChildren() {
+		children.clear();
+		hasChildren.clear();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -140,4 +228,60 @@ public class DelegatingTreeMergeViewerItemContentProvider extends AdapterFactory
 		return mergeViewerItemContentProvider;
 	}
 
+	/**
+	 * Key of the memoized children: the parent item along with the group provider and filter predicate that
+	 * were active when its children have been computed.
+	 */
+	private static final class ChildrenKey {
+		/** The parent item. */
+		private final Object parent;
+
+		/** The active group provider. */
+		private final IDifferenceGroupProvider groupProvider;
+
+		/** The active filter predicate. */
+		private final Predicate<? super EObject> predicate;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param parent
+		 *            The parent item.
+		 * @param configuration
+		 *            The configuration providing the active group provider and filter predicate.
+		 */
+		ChildrenKey(Object parent, IMergeViewerItemProviderConfiguration configuration) {
+			this.parent = parent;
+			this.groupProvider = configuration.getDifferenceGroupProvider();
+			this.predicate = configuration.getDifferenceFilterPredicate();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(parent, groupProvider, predicate);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ChildrenKey)) {
+				return false;
+			}
+			final ChildrenKey other = (ChildrenKey)obj;
+			return Objects.equal(parent, other.parent) && groupProvider == other.groupProvider
+					&& predicate == other.predicate;
+		}
+	}
 }
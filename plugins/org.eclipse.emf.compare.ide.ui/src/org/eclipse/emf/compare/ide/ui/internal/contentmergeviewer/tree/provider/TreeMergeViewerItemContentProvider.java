@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 EclipseSource Muenchen GmbH and others.
+ * Copyright (c) 2016, 2026 EclipseSource Muenchen GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,6 +55,7 @@ import org.eclipse.emf.compare.graph.IGraphView;
 import org.eclipse.emf.compare.internal.utils.DiffUtil;
 import org.eclipse.emf.compare.match.impl.NotLoadedFragmentMatch;
 import org.eclipse.emf.compare.rcp.ui.internal.EMFCompareConstants;
+import org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl.InsertionPoints;
 import org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl.MergeViewerItem;
 import org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl.ResourceAttachmentChangeMergeViewerItem;
 import org.eclipse.emf.compare.rcp.ui.internal.util.MergeViewerUtil;
@@ -333,18 +334,19 @@ public class TreeMergeViewerItemContentProvider implements IMergeViewerItemConte
 			final List<Object> sideContent, final List<Object> oppositeContent,
 			final List<Object> ancestorContent, final List<? extends IMergeViewerItem> values,
 			List<? extends Diff> differences, IMergeViewerItemProviderConfiguration configuration) {
-		final List<IMergeViewerItem> ret = newArrayList(values);
 		if (differences.isEmpty()) {
-			return ret;
+			return newArrayList(values);
 		}
 
 		if (sideContent.isEmpty() && oppositeContent.isEmpty()) {
-			return ret;
+			return newArrayList(values);
 		}
 
 		Comparison comparison = configuration.getComparison();
 		AdapterFactory adapterFactory = configuration.getAdapterFactory();
 		MergeViewerSide side = parent.getSide();
+		final InsertionPoints insertionPoints = new InsertionPoints(comparison, oppositeContent, sideContent,
+				values);
 
 		for (Diff diff : Lists.reverse(differences)) {
 			EObject value = (EObject)getDiffValue(diff);
@@ -367,26 +369,17 @@ public class TreeMergeViewerItemContentProvider implements IMergeViewerItemConte
 						// pseudo conflict delete...
 						insertionIndex = ancestorContent.indexOf(value);
 					} else {
-						insertionIndex = Math.min(
-								DiffUtil.findInsertionIndex(comparison, oppositeContent, sideContent, value),
-								ret.size());
+						insertionIndex = Math.min(insertionPoints.findInsertionIndex(value),
+								insertionPoints.size());
 					}
 
-					// offset the insertion by the number of previous insertion points in the list
-					// Cannot be improved by keeping the number of created insertion points because the given
-					// "values" parameter may already contains some insertion points.
-					int realIndex = 0;
-					for (int index = 0; index < insertionIndex && realIndex < ret.size(); realIndex++) {
-						if (!ret.get(realIndex).isInsertionPoint()) {
-							index++;
-						}
-					}
-
-					ret.add(realIndex, insertionPoint);
+					// the given "values" may already contain some insertion points, the insertion index only
+					// counts the other values
+					insertionPoints.add(insertionIndex, insertionPoint);
 				}
 			}
 		}
-		return ret;
+		return insertionPoints.toList();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2018 Obeo.
+ * Copyright (c) 2013, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,9 +12,13 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.logical;
 
-import static org.eclipse.emf.compare.ide.utils.ResourceUtil.binaryIdentical;
-
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
@@ -38,6 +42,11 @@ import org.eclipse.emf.ecore.resource.Resource.Factory;
  * three) sides of the comparison can be safely removed from the scope. Likewise, unmatched read-only files
  * will be removed from the scope.
  * </p>
+ * <p>
+ * Storages are matched through hash maps on their names, then compared through the identifiers of their
+ * content as computed by {@link StorageContentIds}. These identifiers are computed in parallel, cached
+ * across comparisons for the workspace files, and known without any I/O for Git revisions.
+ * </p>
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  */
@@ -45,6 +54,9 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 
 	private static final String XTEXT_PACKAGE_PREFIX = "org.eclipse.xtext."; //$NON-NLS-1$
 
+	/** Computes and caches the identifiers of the storages' content. */
+	private final StorageContentIds contentIds = new StorageContentIds();
+
 	/**
 	 * {@inheritDoc} Specifically, we'll remove all resources that can be seen as binary identical (we match
 	 * resources through exact equality of their names).
@@ -73,21 +85,24 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 			final Set<? extends IStorage> originCopy = originTraversal.getStorages();
 
 			final boolean threeWay = !originCopy.isEmpty();
+			final Map<String, Deque<IStorage>> rightByName = indexByName(rightCopy);
+			final Map<String, Deque<IStorage>> originByName = indexByName(originCopy);
 
-			SubMonitor subMonitor = progess.newChild(98).setWorkRemaining(leftCopy.size());
+			SubMonitor subMonitor = progess.newChild(98).setWorkRemaining(leftCopy.size() * 2);
+			final List<IStorage[]> candidates = new ArrayList<IStorage[]>();
+			final List<IStorage> candidateStorages = new ArrayList<IStorage>();
 			for (IStorage left : leftCopy) {
-				final IStorage right = removeLikeNamedStorageFrom(left, rightCopy);
+				final IStorage right = removeLikeNamedStorageFrom(left, rightByName, rightCopy);
 				if (right != null && threeWay) {
-					final IStorage origin = removeLikeNamedStorageFrom(left, originCopy);
-					if (origin != null && equals(left, right, origin)) {
-						leftTraversal.removeStorage(left);
-						rightTraversal.removeStorage(right);
-						originTraversal.removeStorage(origin);
+					final IStorage origin = removeLikeNamedStorageFrom(left, originByName, originCopy);
+					if (origin != null) {
+						candidates.add(new IStorage[] {left, right, origin, });
+						Collections.addAll(candidateStorages, left, right, origin);
 					}
-				} else if (right != null && equals(left, right)) {
-					leftTraversal.removeStorage(left);
-					rightTraversal.removeStorage(right);
-				} else if (right == null && isIgnoredStorage(left)) {
+				} else if (right != null) {
+					candidates.add(new IStorage[] {left, right, });
+					Collections.addAll(candidateStorages, left, right);
+				} else if (isIgnoredStorage(left)) {
 					/*
 					 * Left has no match in right and is in plugins, so remove it from the scope. Otherwise,
 					 * we would unnecessarily include added models that should be ignored.
@@ -97,9 +112,23 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 				subMonitor.worked(1);
 			}
 
+			contentIds.prefetch(candidateStorages, subMonitor);
+			subMonitor.setWorkRemaining(candidates.size());
+			for (IStorage[] candidate : candidates) {
+				if (candidate.length == 3 && equals(candidate[0], candidate[1], candidate[2])) {
+					leftTraversal.removeStorage(candidate[0]);
+					rightTraversal.removeStorage(candidate[1]);
+					originTraversal.removeStorage(candidate[2]);
+				} else if (candidate.length == 2 && equals(candidate[0], candidate[1])) {
+					leftTraversal.removeStorage(candidate[0]);
+					rightTraversal.removeStorage(candidate[1]);
+				}
+				subMonitor.worked(1);
+			}
+
 			subMonitor = progess.newChild(1).setWorkRemaining(rightCopy.size());
 			for (IStorage right : rightCopy) {
-				final IStorage origin = removeLikeNamedStorageFrom(right, originCopy);
+				final IStorage origin = removeLikeNamedStorageFrom(right, originByName, originCopy);
 				if (origin != null) {
 					// we had a match in the origin, leave this file in scope (it's been removed from left)
 				} else if (isIgnoredStorage(right)) {
@@ -136,7 +165,8 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 
 	/**
 	 * Checks whether the three given (non-<code>null</code>) resources are identical. This default
-	 * implementation only checks that the three are identical binary-wise.
+	 * implementation only checks that the three are identical binary-wise, by comparing the identifiers of
+	 * their content.
 	 * <p>
 	 * Identical resources will be filtered out of the comparison scope.
 	 * </p>
@@ -151,12 +181,15 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 	 *         otherwise.
 	 */
 	protected boolean equals(IStorage left, IStorage right, IStorage origin) {
-		return binaryIdentical(left, right, origin);
+		final String leftId = contentIds.getContentId(left);
+		return leftId != null && leftId.equals(contentIds.getContentId(right))
+				&& leftId.equals(contentIds.getContentId(origin));
 	}
 
 	/**
 	 * Checks whether the two given (non-<code>null</code>) resources are identical. This default
-	 * implementation only checks that the two are identical binary-wise.
+	 * implementation only checks that the two are identical binary-wise, by comparing the identifiers of
+	 * their content.
 	 * <p>
 	 * Identical resources will be filtered out of the comparison scope.
 	 * </p>
@@ -169,33 +202,55 @@ public class IdenticalResourceMinimizer implements IModelMinimizer {
 	 *         otherwise.
 	 */
 	protected boolean equals(IStorage left, IStorage right) {
-		return binaryIdentical(left, right);
+		final String leftId = contentIds.getContentId(left);
+		return leftId != null && leftId.equals(contentIds.getContentId(right));
 	}
 
 	/**
-	 * Looks up into the {@code candidates} set for a storage which name matches that of the {@code reference}
-	 * storage, removing it if there is one.
+	 * Indexes the given storages by name, keeping their iteration order for storages sharing the same name.
+	 * 
+	 * @param storages
+	 *            The storages to index.
+	 * @return The given storages, indexed by name.
+	 */
+	private static Map<String, Deque<IStorage>> indexByName(Set<? extends IStorage> storages) {
+		final Map<String, Deque<IStorage>> index = new HashMap<String, Deque<IStorage>>();
+		for (IStorage storage : storages) {
+			Deque<IStorage> likeNamed = index.get(storage.getName());
+			if (likeNamed == null) {
+				likeNamed = new ArrayDeque<IStorage>(1);
+				index.put(storage.getName(), likeNamed);
+			}
+			likeNamed.add(storage);
+		}
+		return index;
+	}
+
+	/**
+	 * Looks up into the {@code index} for a storage which name matches that of the {@code reference} storage,
+	 * removing it from both {@code index} and {@code candidates} if there is one.
 	 * 
 	 * @param reference
 	 *            The storage for which we'll seek a match into {@code candidates}.
+	 * @param index
+	 *            The candidates into which to look up for a match to {@code reference}, indexed by name.
 	 * @param candidates
-	 *            The set of candidates into which to look up for a match to {@code reference}.
+	 *            The set of candidates from which {@code index} has been built.
 	 * @return The first storage from the set of candidates that matches the {@code reference}, if any.
 	 *         <code>null</code> if none match.
 	 */
-	protected IStorage removeLikeNamedStorageFrom(IStorage reference, Set<? extends IStorage> candidates) {
-		final String referenceName = reference.getName();
-		final Iterator<? extends IStorage> candidatesIterator = candidates.iterator();
-		while (candidatesIterator.hasNext()) {
-			final IStorage candidate = candidatesIterator.next();
-			final String candidateName = candidate.getName();
-
-			if (referenceName.equals(candidateName)) {
-				candidatesIterator.remove();
-				return candidate;
-			}
+	private static IStorage removeLikeNamedStorageFrom(IStorage reference, Map<String, Deque<IStorage>> index,
+			Set<? extends IStorage> candidates) {
+		final Deque<IStorage> likeNamed = index.get(reference.getName());
+		if (likeNamed == null) {
+			return null;
+		}
+		final IStorage candidate = likeNamed.poll();
+		if (likeNamed.isEmpty()) {
+			index.remove(reference.getName());
 		}
-		return null;
+		candidates.remove(candidate);
+		return candidate;
 	}
 
 	/**
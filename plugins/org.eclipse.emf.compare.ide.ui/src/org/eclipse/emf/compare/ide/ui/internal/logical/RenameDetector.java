@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource Munich and others.
+ * Copyright (c) 2015, 2026 EclipseSource Munich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  * 
  * Contributors:
  *     Philip Langer - initial API and implementation
+ *     Obeo - detect all renames of a side at once through a RenameIndex
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.logical;
 
@@ -19,12 +20,14 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 
-import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +36,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IStorage;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.compare.ide.ui.logical.IStorageProvider;
 import org.eclipse.emf.compare.ide.ui.logical.IStorageProviderAccessor;
 import org.eclipse.emf.compare.ide.ui.logical.IStorageProviderAccessor.DiffSide;
 import org.eclipse.team.core.TeamException;
@@ -60,17 +64,9 @@ public class RenameDetector {
 	/** Cache for affected files. */
 	private Iterable<IFile> affectedFiles;
 
-	/** Cache for already computed files before rename on the {@link DiffSide#SOURCE}. */
-	private Map<IFile, Optional<IFile>> sourceRenameBeforeCache = new HashMap<IFile, Optional<IFile>>();
-
-	/** Cache for already computed files after rename on the {@link DiffSide#SOURCE}. */
-	private Map<IFile, Optional<IFile>> sourceRenameAfterCache = new HashMap<IFile, Optional<IFile>>();
-
-	/** Cache for already computed files before rename on the {@link DiffSide#REMOTE}. */
-	private Map<IFile, Optional<IFile>> remoteRenameBeforeCache = new HashMap<IFile, Optional<IFile>>();
-
-	/** Cache for already computed files after rename on the {@link DiffSide#REMOTE}. */
-	private Map<IFile, Optional<IFile>> remoteRenameAfterCache = new HashMap<IFile, Optional<IFile>>();
+	/** The renames found on each side, mapping origin files to the source or remote files. */
+	private final Map<DiffSide, BiMap<IFile, IFile>> renames = new EnumMap<DiffSide, BiMap<IFile, IFile>>(
+			DiffSide.class);
 
 	/**
 	 * Constructor.
@@ -102,11 +98,7 @@ public class RenameDetector {
 	 */
 	public Optional<IFile> getFileBeforeRename(IFile sourceOrRemoteFile, DiffSide side) {
 		Preconditions.checkArgument(isSourceOrRemoteSide(side));
-		if (!isFileBeforeRenameCached(sourceOrRemoteFile, side)) {
-			cacheFileBeforeRename(computeFileBeforeRename(sourceOrRemoteFile, side), sourceOrRemoteFile,
-					side);
-		}
-		return getCachedFileBeforeRename(sourceOrRemoteFile, side).get();
+		return Optional.fromNullable(getRenames(side).inverse().get(sourceOrRemoteFile));
 	}
 
 	/**
@@ -125,119 +117,7 @@ public class RenameDetector {
 	 */
 	public Optional<IFile> getFileAfterRename(IFile originFile, DiffSide side) {
 		Preconditions.checkArgument(isSourceOrRemoteSide(side));
-		if (!isFileAfterRenameCached(originFile, side)) {
-			cacheFileAfterRename(computeFileAfterRename(originFile, side), originFile, side);
-		}
-		return getCachedFileAfterRename(originFile, side).get();
-	}
-
-	/**
-	 * Specifies whether the result of {@link #computeFileBeforeRename(IFile, DiffSide)} has been cached for
-	 * the given {@code sourceOrRemoteFile} and {@code side}.
-	 * 
-	 * @param sourceOrRemoteFile
-	 *            The source or remote file.
-	 * @param side
-	 *            The side.
-	 * @return <code>true</code> if it is cached, <code>false</code> otherwise.
-	 */
-	private boolean isFileBeforeRenameCached(IFile sourceOrRemoteFile, DiffSide side) {
-		return getCachedFileBeforeRename(sourceOrRemoteFile, side).isPresent();
-	}
-
-	/**
-	 * Caches the result of {@link #computeFileBeforeRename(IFile, DiffSide)} specified as
-	 * {@code fileBeforeRename} for the given {@code sourceOrRemoteFile} and {@code side}.
-	 * 
-	 * @param fileBeforeRename
-	 *            The result to be cached.
-	 * @param sourceOrRemoteFile
-	 *            The input file.
-	 * @param side
-	 *            The input side.
-	 */
-	private void cacheFileBeforeRename(Optional<IFile> fileBeforeRename, IFile sourceOrRemoteFile,
-			DiffSide side) {
-		if (DiffSide.SOURCE.equals(side)) {
-			sourceRenameBeforeCache.put(sourceOrRemoteFile, fileBeforeRename);
-		} else if (DiffSide.REMOTE.equals(side)) {
-			remoteRenameBeforeCache.put(sourceOrRemoteFile, fileBeforeRename);
-		}
-	}
-
-	/**
-	 * Returns the optional cached result of {@link #computeFileBeforeRename(IFile, DiffSide)}.
-	 * 
-	 * @param sourceOrRemoteFile
-	 *            The source or remote file.
-	 * @param side
-	 *            The side.
-	 * @return The cached result, or {@link Optional#absent()}
-	 */
-	private Optional<Optional<IFile>> getCachedFileBeforeRename(IFile sourceOrRemoteFile, DiffSide side) {
-		final Optional<Optional<IFile>> cachedFile;
-		if (DiffSide.SOURCE.equals(side)) {
-			cachedFile = Optional.fromNullable(sourceRenameBeforeCache.get(sourceOrRemoteFile));
-		} else if (DiffSide.REMOTE.equals(side)) {
-			cachedFile = Optional.fromNullable(remoteRenameBeforeCache.get(sourceOrRemoteFile));
-		} else {
-			cachedFile = Optional.absent();
-		}
-		return cachedFile;
-	}
-
-	/**
-	 * Specifies whether the result of {@link #computeFileAfterRename(IFile, DiffSide)} has been cached for
-	 * the given {@code originFile} and {@code side}.
-	 * 
-	 * @param originFile
-	 *            The origin file.
-	 * @param side
-	 *            The side.
-	 * @return <code>true</code> if it is cached, <code>false</code> otherwise.
-	 */
-	private boolean isFileAfterRenameCached(IFile originFile, DiffSide side) {
-		return getCachedFileAfterRename(originFile, side).isPresent();
-	}
-
-	/**
-	 * Caches the result of {@link #computeFileAfterRename(IFile, DiffSide)} specified as
-	 * {@code fileAfterRename} for the given {@code originFile} and {@code side}.
-	 * 
-	 * @param fileAfterRename
-	 *            The result to be cached.
-	 * @param originFile
-	 *            The input file.
-	 * @param side
-	 *            The input side.
-	 */
-	private void cacheFileAfterRename(Optional<IFile> fileAfterRename, IFile originFile, DiffSide side) {
-		if (DiffSide.SOURCE.equals(side)) {
-			sourceRenameAfterCache.put(originFile, fileAfterRename);
-		} else if (DiffSide.REMOTE.equals(side)) {
-			remoteRenameAfterCache.put(originFile, fileAfterRename);
-		}
-	}
-
-	/**
-	 * Returns the optional cached result of {@link #computeFileAfterRename(IFile, DiffSide)}.
-	 * 
-	 * @param originFile
-	 *            The origin file.
-	 * @param side
-	 *            The side.
-	 * @return The cached result, or {@link Optional#absent()}
-	 */
-	private Optional<Optional<IFile>> getCachedFileAfterRename(IFile originFile, DiffSide side) {
-		final Optional<Optional<IFile>> cachedFile;
-		if (DiffSide.SOURCE.equals(side)) {
-			cachedFile = Optional.fromNullable(sourceRenameAfterCache.get(originFile));
-		} else if (DiffSide.REMOTE.equals(side)) {
-			cachedFile = Optional.fromNullable(remoteRenameAfterCache.get(originFile));
-		} else {
-			cachedFile = Optional.absent();
-		}
-		return cachedFile;
+		return Optional.fromNullable(getRenames(side).get(originFile));
 	}
 
 	/**
@@ -253,101 +133,60 @@ public class RenameDetector {
 	}
 
 	/**
-	 * Given a source or remote file, this method optionally returns the corresponding {@link IFile} before it
-	 * has been renamed on the respective {@code side}, if it has been renamed at all.
-	 * <p>
-	 * Only {@link DiffSide#SOURCE} or {@link DiffSide#REMOTE} are valid values for {@code side}.
-	 * </p>
+	 * Returns all renames that occurred on the given {@code side}, detecting them all at once the first time
+	 * they are needed for this side. The files removed and added on this side are compared through a
+	 * {@link RenameIndex}.
 	 * 
-	 * @param sourceOrRemoteFile
-	 *            The potentially renamed file.
 	 * @param side
-	 *            The {@link DiffSide} to look for the rename (only {@link DiffSide#SOURCE} or
-	 *            {@link DiffSide#REMOTE} are valid).
-	 * @return The file before the rename, if it has been renamed at all, {@link Optional#absent()} otherwise.
+	 *            The side to look for renames on.
+	 * @return The renames, mapping origin files to the source or remote files they've been renamed to.
 	 */
-	private Optional<IFile> computeFileBeforeRename(IFile sourceOrRemoteFile, DiffSide side) {
-		if (isAddedFile(sourceOrRemoteFile, side)) {
-			for (IFile removedOriginFile : getRemovedFiles(side)) {
-				if (isRename(removedOriginFile, sourceOrRemoteFile, side)) {
-					return Optional.of(removedOriginFile);
+	private synchronized BiMap<IFile, IFile> getRenames(DiffSide side) {
+		BiMap<IFile, IFile> sideRenames = renames.get(side);
+		if (sideRenames == null) {
+			final List<IFile> removedFiles = new ArrayList<IFile>();
+			final List<IFile> addedFiles = new ArrayList<IFile>();
+			final Predicate<IFile> isRemoved = isChangedWithDiffKind(IDiff.REMOVE, side);
+			final Predicate<IFile> isAdded = isChangedWithDiffKind(IDiff.ADD, side);
+			for (IFile file : getAffectedFiles()) {
+				if (isRemoved.apply(file)) {
+					removedFiles.add(file);
+				} else if (isAdded.apply(file)) {
+					addedFiles.add(file);
 				}
 			}
+			sideRenames = RenameIndex.computeRenames(removedFiles, contentsOn(DiffSide.ORIGIN), addedFiles,
+					contentsOn(side));
+			renames.put(side, sideRenames);
 		}
-		return Optional.absent();
+		return sideRenames;
 	}
 
 	/**
-	 * Given an origin file, this method optionally returns the corresponding {@link IFile} after it has been
-	 * renamed on the respective {@code side}, if it has been renamed at all.
-	 * <p>
-	 * Only {@link DiffSide#SOURCE} or {@link DiffSide#REMOTE} are valid values for {@code side}.
-	 * </p>
+	 * Opens the contents of files on the given {@code side}.
 	 * 
-	 * @param originFile
-	 *            The potentially renamed file.
 	 * @param side
-	 *            The {@link DiffSide} to look for the rename (only {@link DiffSide#SOURCE} or
-	 *            {@link DiffSide#REMOTE} are valid).
-	 * @return The file after the rename, if it has been renamed at all, {@link Optional#absent()} otherwise.
+	 *            The side from which to read the files.
+	 * @return A function opening the content of a file on this side, or returning <code>null</code> if this
+	 *         file cannot be accessed.
 	 */
-	private Optional<IFile> computeFileAfterRename(IFile originFile, DiffSide side) {
-		if (isRemovedFile(originFile, side)) {
-			for (IFile addedSourceOrRemoteFile : getAddedFiles(side)) {
-				if (isRename(originFile, addedSourceOrRemoteFile, side)) {
-					return Optional.of(addedSourceOrRemoteFile);
+	private Function<IFile, InputStream> contentsOn(final DiffSide side) {
+		return new Function<IFile, InputStream>() {
+			public InputStream apply(IFile input) {
+				try {
+					final IStorageProvider provider = accessor.getStorageProvider(input, side);
+					if (provider != null) {
+						final IStorage storage = provider.getStorage(NPM);
+						if (storage != null) {
+							return storage.getContents();
+						}
+					}
+				} catch (CoreException e) {
+					// can't access a storage so ignore, fall through and return null
 				}
+				return null;
 			}
-		}
-		return Optional.absent();
-	}
-
-	/**
-	 * Specifies whether the given {@code originFile} has been removed on the given {@code side}.
-	 * 
-	 * @param originFile
-	 *            The file to check.
-	 * @param side
-	 *            The side to check.
-	 * @return <code>true</code> {@code originFile} has been removed, <code>false</code> otherwise.
-	 */
-	private boolean isRemovedFile(IFile originFile, DiffSide side) {
-		return isChangedWithDiffKind(IDiff.REMOVE, side).apply(originFile);
-	}
-
-	/**
-	 * Specifies whether the given {@code originFile} has been added on the given {@code side}.
-	 * 
-	 * @param originFile
-	 *            The file to check.
-	 * @param side
-	 *            The side to check.
-	 * @return <code>true</code> {@code originFile} has been added, <code>false</code> otherwise.
-	 */
-	private boolean isAddedFile(IFile originFile, DiffSide side) {
-		return isChangedWithDiffKind(IDiff.ADD, side).apply(originFile);
-	}
-
-	/**
-	 * Returns all files that have been added on the given {@code side}.
-	 * 
-	 * @param side
-	 *            The side to get the additions of.
-	 * @return The files that have been added.
-	 */
-	private Iterable<IFile> getAddedFiles(DiffSide side) {
-		return filter(getAffectedFiles(), isChangedWithDiffKind(IDiff.ADD, side));
-	}
-
-	/**
-	 * Returns all files that have been removed on the given {@code side}.
-	 * 
-	 * @param side
-	 *            The side to get the deletions of.
-	 * @return The files that have been removed.
-	 */
-	private Iterable<IFile> getRemovedFiles(DiffSide side) {
-		return filter(getAffectedFiles(), isChangedWithDiffKind(IDiff.REMOVE, side));
+		};
 	}
 
 	/**
@@ -368,32 +207,6 @@ public class RenameDetector {
 		return affectedFiles;
 	}
 
-	/**
-	 * Specifies whether the given {@code originFile} should be considered as renamed to
-	 * {@code addedSourceOrOriginFile} on the given {@code side} according to their contents.
-	 * 
-	 * @param originFile
-	 *            The origin file to check.
-	 * @param addedSourceOrRemoteFile
-	 *            The source or remote file to check.
-	 * @param side
-	 *            The side.
-	 * @return <code>true</code> if {@code addedSourceOrRemoteFile} at the given {@code side} should be
-	 *         considered as a renamed version of {@code originFile}, <code>false</code> otherwise.
-	 */
-	private boolean isRename(IFile originFile, IFile addedSourceOrRemoteFile, DiffSide side) {
-		try {
-			final IStorage origin = accessor.getStorageProvider(originFile, DiffSide.ORIGIN).getStorage(NPM);
-			final IStorage added = accessor.getStorageProvider(addedSourceOrRemoteFile, side).getStorage(NPM);
-			if (origin != null && added != null) {
-				return SimilarityComputer.isSimilar(origin.getContents(), added.getContents());
-			}
-		} catch (CoreException | IOException e) {
-			// can't access a storage so ignore, fall through and return false
-		}
-		return false;
-	}
-
 	/**
 	 * Transforms a {@link IResource} to all of its direct and indirect children.
 	 * 
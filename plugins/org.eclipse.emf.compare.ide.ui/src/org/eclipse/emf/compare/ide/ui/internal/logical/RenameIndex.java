@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.logical;
+
+import com.google.common.base.Function;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.logical.SimilarityComputer.LineFile;
+import org.eclipse.emf.compare.ide.ui.internal.logical.SimilarityComputer.LineInterner;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
+
+/**
+ * Finds the most likely renames between a set of removed files and a set of added files in bulk, in the
+ * fashion of Git's rename detection.
+ * <p>
+ * The content of each file is read once, in parallel, and reduced to a fingerprint : the multiset of the
+ * hashes of its lines. The fingerprints of the removed files are then indexed by line, so that scoring all
+ * added files against all removed files only costs the number of lines they share. Two files are only
+ * candidates for a rename if the lines of the smaller one that are missing from the other (regardless of
+ * their order) amount to less than {@link SimilarityComputer#THRESHOLD} of the larger one's lines; files
+ * missing more lines than that are not worth diffing.
+ * </p>
+ * <p>
+ * Candidates are then considered from the one missing the fewest lines, each file taking part in at most one
+ * rename. A candidate is a rename if {@link SimilarityComputer#isSimilar(InputStream, InputStream)} deems its
+ * files similar, so that only the few candidate pairs are actually diffed.
+ * </p>
+ *
+ * @param <K>
+ *            Type of the keys identifying the files.
+ */
+public final class RenameIndex<K> {
+	/** The removed files, for which we have a fingerprint. */
+	private final List<K> removed;
+
+	/** Opens the content of a removed file. */
+	private final Function<? super K, InputStream> removedContents;
+
+	/** The fingerprints of {@link #removed}. */
+	private final List<Fingerprint> removedFingerprints;
+
+	/** The added files, for which we have a fingerprint. */
+	private final List<K> added;
+
+	/** Opens the content of an added file. */
+	private final Function<? super K, InputStream> addedContents;
+
+	/** The fingerprints of {@link #added}. */
+	private final List<Fingerprint> addedFingerprints;
+
+	/** For each line identifier, the start of its postings in {@link #postingFiles}. */
+	private int[] postingStarts;
+
+	/** Indices, in {@link #removed}, of the files containing each line. */
+	private int[] postingFiles;
+
+	/** Number of occurrences of the line in the file of the corresponding {@link #postingFiles} entry. */
+	private int[] postingCounts;
+
+	/**
+	 * Creates the index of the given files.
+	 *
+	 * @param removed
+	 *            The files removed from the origin.
+	 * @param removedContents
+	 *            Opens the content of a removed file.
+	 * @param removedFingerprints
+	 *            The fingerprints of these files.
+	 * @param added
+	 *            The files added on a side.
+	 * @param addedContents
+	 *            Opens the content of an added file.
+	 * @param addedFingerprints
+	 *            The fingerprints of these files.
+	 */
+	private RenameIndex(List<K> removed, Function<? super K, InputStream> removedContents,
+			List<Fingerprint> removedFingerprints, List<K> added,
+			Function<? super K, InputStream> addedContents, List<Fingerprint> addedFingerprints) {
+		this.removed = removed;
+		this.removedContents = removedContents;
+		this.removedFingerprints = removedFingerprints;
+		this.added = added;
+		this.addedContents = addedContents;
+		this.addedFingerprints = addedFingerprints;
+	}
+
+	/**
+	 * Computes the renames between the given removed and added files.
+	 *
+	 * @param removed
+	 *            The files removed from the origin.
+	 * @param removedContents
+	 *            Opens the content of a removed file, returning <code>null</code> if it cannot be read.
+	 * @param added
+	 *            The files added on a side.
+	 * @param addedContents
+	 *            Opens the content of an added file, returning <code>null</code> if it cannot be read.
+	 * @param <K>
+	 *            Type of the keys identifying the files.
+	 * @return The renames found, mapping removed files to the added files they've been renamed to.
+	 */
+	public static <K> BiMap<K, K> computeRenames(Collection<K> removed,
+			Function<? super K, InputStream> removedContents, Collection<K> added,
+			Function<? super K, InputStream> addedContents) {
+		if (removed.isEmpty() || added.isEmpty()) {
+			return HashBiMap.create();
+		}
+		final List<K> removedList = ImmutableList.copyOf(removed);
+		final List<K> addedList = ImmutableList.copyOf(added);
+		final LineFile[] removedLines = readAll(removedList, removedContents);
+		final LineFile[] addedLines = readAll(addedList, addedContents);
+
+		final LineInterner interner = new LineInterner();
+		final List<K> indexedRemoved = new ArrayList<K>();
+		final List<Fingerprint> removedFingerprints = new ArrayList<Fingerprint>();
+		for (int i = 0; i < removedLines.length; i++) {
+			if (removedLines[i] != null && removedLines[i].isComparable()) {
+				indexedRemoved.add(removedList.get(i));
+				removedFingerprints.add(new Fingerprint(interner, removedLines[i]));
+			}
+		}
+		final List<K> indexedAdded = new ArrayList<K>();
+		final List<Fingerprint> addedFingerprints = new ArrayList<Fingerprint>();
+		for (int i = 0; i < addedLines.length; i++) {
+			if (addedLines[i] != null && addedLines[i].isComparable()) {
+				indexedAdded.add(addedList.get(i));
+				addedFingerprints.add(new Fingerprint(interner, addedLines[i]));
+			}
+		}
+
+		final RenameIndex<K> index = new RenameIndex<K>(indexedRemoved, removedContents,
+				removedFingerprints, indexedAdded, addedContents, addedFingerprints);
+		index.buildPostings(interner.size());
+		return index.pairRenames(index.scoreCandidates());
+	}
+
+	/**
+	 * Reads the lines of all given files, spreading the work on the shared executor. The calling thread
+	 * takes part in the work and only waits for the files being read by other threads, so that this can
+	 * safely be called from a thread of the shared executor itself.
+	 *
+	 * @param files
+	 *            The files to read.
+	 * @param contents
+	 *            Opens the content of a file.
+	 * @param <K>
+	 *            Type of the keys identifying the files.
+	 * @return The lines of each file, <code>null</code> for the files that could not be read.
+	 */
+	private static <K> LineFile[] readAll(final List<K> files,
+			final Function<? super K, InputStream> contents) {
+		final LineFile[] result = new LineFile[files.size()];
+		final AtomicInteger next = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(files.size());
+		final Runnable reader = new Runnable() {
+			public void run() {
+				int i = next.getAndIncrement();
+				while (i < result.length) {
+					try {
+						result[i] = read(contents.apply(files.get(i)));
+					} finally {
+						done.countDown();
+					}
+					i = next.getAndIncrement();
+				}
+			}
+		};
+		final int helpers = Math.min(files.size(), Runtime.getRuntime().availableProcessors()) - 1;
+		for (int i = 0; i < helpers; i++) {
+			SharedComputationExecutor.getShared().execute(reader, Priority.NORMAL, true);
+		}
+		reader.run();
+		boolean interrupted = false;
+		while (done.getCount() > 0) {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				// The remaining files are being read, they won't take long
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the lines of the given stream, closing it.
+	 *
+	 * @param stream
+	 *            The stream to read, may be <code>null</code>.
+	 * @return The lines of this stream, <code>null</code> if it cannot be read.
+	 */
+	private static LineFile read(InputStream stream) {
+		if (stream == null) {
+			return null;
+		}
+		try (InputStream input = stream) {
+			return SimilarityComputer.readLines(input);
+		} catch (IOException e) {
+			EMFCompareIDEUIPlugin.getDefault().log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Builds the inverted index of the removed files, listing for each line the files that contain it.
+	 *
+	 * @param lineCount
+	 *            Number of distinct lines.
+	 */
+	private void buildPostings(int lineCount) {
+		postingStarts = new int[lineCount + 1];
+		for (Fingerprint fingerprint : removedFingerprints) {
+			for (int line : fingerprint.lines) {
+				postingStarts[line + 1]++;
+			}
+		}
+		for (int line = 0; line < lineCount; line++) {
+			postingStarts[line + 1] += postingStarts[line];
+		}
+		postingFiles = new int[postingStarts[lineCount]];
+		postingCounts = new int[postingFiles.length];
+		final int[] fill = Arrays.copyOf(postingStarts, lineCount);
+		for (int file = 0; file < removedFingerprints.size(); file++) {
+			final Fingerprint fingerprint = removedFingerprints.get(file);
+			for (int i = 0; i < fingerprint.lines.length; i++) {
+				final int posting = fill[fingerprint.lines[i]]++;
+				postingFiles[posting] = file;
+				postingCounts[posting] = fingerprint.counts[i];
+			}
+		}
+	}
+
+	/**
+	 * Scores all added files against the removed files they share lines with.
+	 *
+	 * @return The pairs which may be similar.
+	 */
+	private List<Candidate> scoreCandidates() {
+		final List<Candidate> candidates = new ArrayList<Candidate>();
+		final int[] common = new int[removedFingerprints.size()];
+		final int[] touched = new int[removedFingerprints.size()];
+		for (int addedIndex = 0; addedIndex < addedFingerprints.size(); addedIndex++) {
+			final Fingerprint fingerprint = addedFingerprints.get(addedIndex);
+			int touchedCount = 0;
+			for (int i = 0; i < fingerprint.lines.length; i++) {
+				final int line = fingerprint.lines[i];
+				for (int posting = postingStarts[line]; posting < postingStarts[line + 1]; posting++) {
+					final int removedIndex = postingFiles[posting];
+					if (common[removedIndex] == 0) {
+						touched[touchedCount++] = removedIndex;
+					}
+					common[removedIndex] += Math.min(fingerprint.counts[i], postingCounts[posting]);
+				}
+			}
+			for (int i = 0; i < touchedCount; i++) {
+				final int removedIndex = touched[i];
+				final int removedLineCount = removedFingerprints.get(removedIndex).lineCount;
+				final int smaller = Math.min(fingerprint.lineCount, removedLineCount);
+				final int larger = Math.max(fingerprint.lineCount, removedLineCount);
+				final double missing = (double)(smaller - common[removedIndex]) / larger;
+				if (missing < SimilarityComputer.THRESHOLD) {
+					candidates.add(new Candidate(removedIndex, addedIndex, missing));
+				}
+				common[removedIndex] = 0;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Chooses the renames among the given candidates, the pairs missing the fewest lines first.
+	 *
+	 * @param candidates
+	 *            The candidate pairs.
+	 * @return The renames, mapping removed files to the added files they've been renamed to.
+	 */
+	private BiMap<K, K> pairRenames(List<Candidate> candidates) {
+		Collections.sort(candidates);
+		final BiMap<K, K> renames = HashBiMap.create();
+		for (Candidate candidate : candidates) {
+			final K removedFile = removed.get(candidate.removedIndex);
+			final K addedFile = added.get(candidate.addedIndex);
+			if (!renames.containsKey(removedFile) && !renames.containsValue(addedFile)
+					&& isSimilar(removedFile, addedFile)) {
+				renames.put(removedFile, addedFile);
+			}
+		}
+		return renames;
+	}
+
+	/**
+	 * Checks whether the contents of the given files are similar enough for one to be a rename of the other.
+	 *
+	 * @param removedFile
+	 *            A removed file.
+	 * @param addedFile
+	 *            An added file.
+	 * @return <code>true</code> if {@link SimilarityComputer} deems these files similar.
+	 */
+	private boolean isSimilar(K removedFile, K addedFile) {
+		try (InputStream removedContent = removedContents.apply(removedFile);
+				InputStream addedContent = addedContents.apply(addedFile)) {
+			return SimilarityComputer.isSimilar(removedContent, addedContent);
+		} catch (IOException e) {
+			EMFCompareIDEUIPlugin.getDefault().log(e);
+			return false;
+		}
+	}
+
+	/**
+	 * The multiset of the lines of a file.
+	 */
+	private static final class Fingerprint {
+		/** Identifiers of the distinct lines of the file. */
+		final int[] lines;
+
+		/** Number of occurrences of each of {@link #lines} in the file. */
+		final int[] counts;
+
+		/** Total number of lines of the file. */
+		final int lineCount;
+
+		/**
+		 * Computes the fingerprint of the given file.
+		 *
+		 * @param interner
+		 *            Gives identifiers to the lines.
+		 * @param file
+		 *            The lines of the file.
+		 */
+		Fingerprint(LineInterner interner, LineFile file) {
+			final int[] ids = interner.intern(file);
+			Arrays.sort(ids);
+			int distinct = 0;
+			for (int i = 0; i < ids.length; i++) {
+				if (i == 0 || ids[i] != ids[i - 1]) {
+					distinct++;
+				}
+			}
+			this.lines = new int[distinct];
+			this.counts = new int[distinct];
+			int current = -1;
+			for (int i = 0; i < ids.length; i++) {
+				if (i == 0 || ids[i] != ids[i - 1]) {
+					current++;
+					lines[current] = ids[i];
+				}
+				counts[current]++;
+			}
+			this.lineCount = file.lineCount;
+		}
+	}
+
+	/**
+	 * A pair of files which may be similar.
+	 */
+	private static final class Candidate implements Comparable<Candidate> {
+		/** Index of the removed file. */
+		final int removedIndex;
+
+		/** Index of the added file. */
+		final int addedIndex;
+
+		/** Ratio of the lines of the smaller file that are missing from the other. */
+		final double difference;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param removedIndex
+		 *            Index of the removed file.
+		 * @param addedIndex
+		 *            Index of the added file.
+		 * @param difference
+		 *            Ratio of the lines of the smaller file that are missing from the other.
+		 */
+		Candidate(int removedIndex, int addedIndex, double difference) {
+			this.removedIndex = removedIndex;
+			this.addedIndex = addedIndex;
+			this.difference = difference;
+		}
+
+		/**
+		 * {@inheritDoc} Candidates are ordered by increasing difference, then by order of the files.
+		 *
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(Candidate other) {
+			int result = Double.compare(difference, other.difference);
+			if (result == 0) {
+				result = Integer.compare(removedIndex, other.removedIndex);
+			}
+			if (result == 0) {
+				result = Integer.compare(addedIndex, other.addedIndex);
+			}
+			return result;
+		}
+	}
+}
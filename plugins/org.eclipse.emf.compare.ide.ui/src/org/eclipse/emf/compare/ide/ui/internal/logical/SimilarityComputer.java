@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource GmbH and others.
+ * Copyright (c) 2015, 2026 EclipseSource GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  * 
  * Contributors:
  *     Michael Borkowski - initial API and implementation
+ *     Obeo - compare streamed line hashes
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.logical;
 
@@ -14,6 +15,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import org.eclipse.emf.compare.internal.dmp.LineBasedDiff;
@@ -23,6 +25,11 @@ import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Diff;
 /**
  * This class is responsible for computing similarities between two text contents and deciding whether they
  * are close enough to be considered a rename.
+ * <p>
+ * It can also {@link #readLines(InputStream) stream} a content without materializing it, reducing each of
+ * its lines to a 64 bits hash, so that many contents can be compared line by line cheaply before computing
+ * the actual difference of the most similar ones.
+ * </p>
  * 
  * @author Michael Borkowski <mborkowski@eclipsesource.com>
  */
@@ -38,6 +45,15 @@ public final class SimilarityComputer {
 	 */
 	public static final double THRESHOLD = 0.3;
 
+	/** Size of the buffer we read the streams with. */
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	/** Offset basis of the FNV-1a hash of the lines. */
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	/** Prime of the FNV-1a hash of the lines. */
+	private static final long FNV_PRIME = 0x100000001b3L;
+
 	/**
 	 * Private constructor to prevent instantiation.
 	 */
@@ -113,7 +129,7 @@ public final class SimilarityComputer {
 	 * @return the similarity
 	 */
 	private static double internalCalculateSimilarity(LineFile a, LineFile b) {
-		if (a.characterCount < MINIMUM_LENGTH || b.characterCount < MINIMUM_LENGTH) {
+		if (!a.isComparable() || !b.isComparable()) {
 			return Double.MAX_VALUE;
 		}
 
@@ -158,12 +174,63 @@ public final class SimilarityComputer {
 		return result;
 	}
 
+	/**
+	 * Reads the lines of the given stream, reducing each to its hash. Lines are terminated by '\n', '\r' or
+	 * "\r\n" as for {@link java.io.BufferedReader#readLine()}, and the terminators are not part of the
+	 * hashes. Characters are counted as if the stream was UTF-8 encoded. The stream is not closed by this
+	 * method.
+	 * 
+	 * @param stream
+	 *            the stream to read from
+	 * @return the lines of the stream
+	 * @throws IOException
+	 *             if reading fails
+	 */
+	static LineFile readLines(InputStream stream) throws IOException {
+		final LineFile result = new LineFile();
+		final byte[] buffer = new byte[READ_BUFFER_SIZE];
+		long hash = FNV_OFFSET_BASIS;
+		boolean inLine = false;
+		boolean afterCarriageReturn = false;
+
+		int read = stream.read(buffer);
+		while (read != -1) {
+			for (int i = 0; i < read; i++) {
+				final byte current = buffer[i];
+				if (current == '\n' && afterCarriageReturn) {
+					// second half of a "\r\n" terminator
+					afterCarriageReturn = false;
+				} else if (current == '\n' || current == '\r') {
+					result.addLine(hash);
+					result.characterCount++;
+					hash = FNV_OFFSET_BASIS;
+					inLine = false;
+					afterCarriageReturn = current == '\r';
+				} else {
+					hash = (hash ^ (current & 0xff)) * FNV_PRIME;
+					// do not count the continuation bytes of multi-byte UTF-8 characters
+					if ((current & 0xc0) != 0x80) {
+						result.characterCount++;
+					}
+					inLine = true;
+					afterCarriageReturn = false;
+				}
+			}
+			read = stream.read(buffer);
+		}
+		if (inLine) {
+			result.addLine(hash);
+			result.characterCount++;
+		}
+		return result;
+	}
+
 	/**
 	 * An auxiliary data structure for internally representing a file.
 	 * 
 	 * @author mborkowski
 	 */
-	private static class LineFile {
+	static final class LineFile {
 		/**
 		 * The character count of the file.
 		 */
@@ -172,11 +239,136 @@ public final class SimilarityComputer {
 		/**
 		 * The line count of the file.
 		 */
-		long lineCount;
+		int lineCount;
+
+		/**
+		 * The hashes of the lines of the file, when it has been
+		 * {@link SimilarityComputer#readLines(InputStream) streamed}.
+		 */
+		long[] lines = new long[64];
 
 		/**
-		 * The contents of the file.
+		 * The contents of the file, when {@link SimilarityComputer#readUtf8(InputStream) read} to compute its
+		 * difference with another.
 		 */
 		String content;
+
+		/**
+		 * Appends a line to this file.
+		 * 
+		 * @param hash
+		 *            The hash of the line.
+		 */
+		void addLine(long hash) {
+			if (lineCount == lines.length) {
+				lines = Arrays.copyOf(lines, lineCount * 2);
+			}
+			lines[lineCount++] = hash;
+		}
+
+		/**
+		 * Specifies whether this file is long enough for its similarity with other files to be meaningful.
+		 * 
+		 * @return <code>true</code> if this file has at least {@link SimilarityComputer#MINIMUM_LENGTH}
+		 *         characters.
+		 */
+		boolean isComparable() {
+			return characterCount >= MINIMUM_LENGTH;
+		}
+	}
+
+	/**
+	 * Gives the same identifier to the lines with the same hash, these identifiers being dense so that they
+	 * can be used as indices.
+	 */
+	static final class LineInterner {
+		/** Hashes held by the slots of this open addressing table. */
+		private long[] hashes = new long[256];
+
+		/** Identifiers held by the slots of this table, plus one, 0 for free slots. */
+		private int[] ids = new int[256];
+
+		/** Number of identifiers given so far. */
+		private int size;
+
+		/**
+		 * Returns the identifier of the given line hash, creating a new one if this hash has never been seen.
+		 * 
+		 * @param hash
+		 *            The hash of a line.
+		 * @return The identifier of this hash.
+		 */
+		int intern(long hash) {
+			if ((size + 1) * 2 > ids.length) {
+				rehash();
+			}
+			final int slot = find(hashes, ids, hash);
+			if (ids[slot] == 0) {
+				hashes[slot] = hash;
+				ids[slot] = ++size;
+			}
+			return ids[slot] - 1;
+		}
+
+		/**
+		 * Returns the identifiers of all lines of the given file.
+		 * 
+		 * @param file
+		 *            The file which lines we need identifiers for.
+		 * @return The identifiers of the lines of this file, in order.
+		 */
+		int[] intern(LineFile file) {
+			final int[] result = new int[file.lineCount];
+			for (int i = 0; i < file.lineCount; i++) {
+				result[i] = intern(file.lines[i]);
+			}
+			return result;
+		}
+
+		/**
+		 * Returns the number of distinct identifiers given so far, identifiers being in {@code [0..size)}.
+		 * 
+		 * @return The number of identifiers.
+		 */
+		int size() {
+			return size;
+		}
+
+		/**
+		 * Doubles the capacity of this table.
+		 */
+		private void rehash() {
+			final long[] newHashes = new long[hashes.length * 2];
+			final int[] newIds = new int[ids.length * 2];
+			for (int i = 0; i < ids.length; i++) {
+				if (ids[i] != 0) {
+					final int slot = find(newHashes, newIds, hashes[i]);
+					newHashes[slot] = hashes[i];
+					newIds[slot] = ids[i];
+				}
+			}
+			hashes = newHashes;
+			ids = newIds;
+		}
+
+		/**
+		 * Finds the slot holding the given hash, or the free slot where it should be inserted.
+		 * 
+		 * @param tableHashes
+		 *            Hashes of the table to look into.
+		 * @param tableIds
+		 *            Identifiers of the table to look into.
+		 * @param hash
+		 *            The hash to look for.
+		 * @return The slot of this hash.
+		 */
+		private static int find(long[] tableHashes, int[] tableIds, long hash) {
+			final int mask = tableIds.length - 1;
+			int slot = (int)(hash ^ (hash >>> 32)) & mask;
+			while (tableIds[slot] != 0 && tableHashes[slot] != hash) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
 	}
 }
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.logical;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.compare.ide.internal.utils.LocalFileContent;
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
+import org.eclipse.emf.compare.ide.utils.IStorageContentIdProvider;
+
+/**
+ * Computes and caches identifiers of the content of storages, so that we can tell whether storages are
+ * identical by comparing their identifiers instead of their content.
+ * <p>
+ * The identifiers are those Git gives to blobs, as documented on {@link IStorageContentIdProvider}. Storages
+ * that can be adapted to an {@link IStorageContentIdProvider} (Git revisions for example) will thus not need
+ * to be read at all. The identifiers of workspace files are cached according to the modification stamp of
+ * these files, so that they are only computed again when the files change. The identifiers of other
+ * storages are cached for as long as the storage instances themselves are reachable.
+ * </p>
+ */
+public class StorageContentIds {
+	/** Maximum number of workspace files which identifiers we'll keep. */
+	private static final int MAX_CACHED_FILES = 20000;
+
+	/** Delay between two checks of the progress monitor while waiting for the computations, in ms. */
+	private static final long CANCELLATION_POLLING_DELAY = 100L;
+
+	/** Size of the buffer through which we stream the content of non-local storages, in bytes. */
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+	/** Characters of the hexadecimal representation of our digests. */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+	/** Identifiers of the workspace files, keyed by path and stamps. */
+	private final Cache<String, String> fileIds;
+
+	/** Identifiers of the other storages, keyed by identity. */
+	private final Cache<IStorage, String> storageIds;
+
+	/**
+	 * Default constructor.
+	 */
+	public StorageContentIds() {
+		this.fileIds = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_FILES).build();
+		this.storageIds = CacheBuilder.newBuilder().weakKeys().build();
+	}
+
+	/**
+	 * Computes the identifiers of all of the given storages in parallel so that subsequent calls to
+	 * {@link #getContentId(IStorage)} for these storages are served from the cache. Returns when all of the
+	 * identifiers are known.
+	 *
+	 * @param storages
+	 *            The storages which identifiers we need.
+	 * @param monitor
+	 *            Monitor on which to check for cancellation.
+	 * @throws OperationCanceledException
+	 *             if the monitor is cancelled before all identifiers are computed.
+	 */
+	public void prefetch(Iterable<? extends IStorage> storages, IProgressMonitor monitor) {
+		final ListeningExecutorService executor = SharedComputationExecutor.getShared()
+				.newView(Priority.HIGH, true);
+		final List<ListenableFuture<String>> futures = new ArrayList<ListenableFuture<String>>();
+		try {
+			for (final IStorage storage : storages) {
+				if (getCachedContentId(storage) == null) {
+					futures.add(executor.submit(new Callable<String>() {
+						public String call() {
+							return getContentId(storage);
+						}
+					}));
+				}
+			}
+			final ListenableFuture<List<String>> all = Futures.successfulAsList(futures);
+			boolean done = false;
+			while (!done) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				try {
+					all.get(CANCELLATION_POLLING_DELAY, TimeUnit.MILLISECONDS);
+					done = true;
+				} catch (TimeoutException e) {
+					// Check the monitor again
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			// Cannot happen with successfulAsList, failures are logged by getContentId
+			EMFCompareIDEUIPlugin.getDefault().log(e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the identifier of the given storage's content, computing it if needed.
+	 *
+	 * @param storage
+	 *            The storage which content identifier we need.
+	 * @return The identifier of the given storage's content, <code>null</code> if its content cannot be read.
+	 */
+	public String getContentId(IStorage storage) {
+		String id = getCachedContentId(storage);
+		if (id == null) {
+			try {
+				id = computeContentId(storage);
+			} catch (CoreException e) {
+				EMFCompareIDEUIPlugin.getDefault().log(e);
+			} catch (IOException e) {
+				EMFCompareIDEUIPlugin.getDefault().log(e);
+			}
+			if (id != null) {
+				if (storage instanceof IFile) {
+					fileIds.put(getFileKey((IFile)storage), id);
+				} else {
+					storageIds.put(storage, id);
+				}
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the identifier of the given storage's content if it is known without reading the content.
+	 *
+	 * @param storage
+	 *            The storage which content identifier we need.
+	 * @return The identifier of the given storage's content, <code>null</code> if not known yet.
+	 */
+	private String getCachedContentId(IStorage storage) {
+		final Object provider = Platform.getAdapterManager().loadAdapter(storage,
+				IStorageContentIdProvider.class.getName());
+		if (provider instanceof IStorageContentIdProvider) {
+			final String id = ((IStorageContentIdProvider)provider).getContentId(storage);
+			if (id != null) {
+				return id;
+			}
+		}
+		if (storage instanceof IFile) {
+			return fileIds.getIfPresent(getFileKey((IFile)storage));
+		}
+		return storageIds.getIfPresent(storage);
+	}
+
+	/**
+	 * Reads the content of the given storage to compute its identifier. The content of local files is
+	 * streamed to the digest without being copied on the heap. Other storages are streamed through a fixed
+	 * size buffer: those that do not fit in that buffer are read twice, once to count their length, which Git
+	 * hashes before the content, and once to digest them.
+	 *
+	 * @param storage
+	 *            The storage which content identifier we need.
+	 * @return The identifier of the given storage's content, <code>null</code> if it has none.
+	 * @throws CoreException
+	 *             if the content of this storage cannot be accessed.
+	 * @throws IOException
+	 *             if the content of this storage cannot be read.
+	 */
+	private static String computeContentId(IStorage storage) throws CoreException, IOException {
+		final File localFile = LocalFileContent.getLocalFile(storage);
+		if (localFile != null) {
+			final MessageDigest digest = createDigest(localFile.length());
+			LocalFileContent.digest(localFile, digest);
+			return toHex(digest.digest());
+		}
+		final long length;
+		try (InputStream stream = storage.getContents()) {
+			if (stream == null) {
+				return null;
+			}
+			final byte[] head = new byte[STREAM_BUFFER_SIZE];
+			final int headLength = ByteStreams.read(stream, head, 0, head.length);
+			if (headLength < head.length) {
+				// Small enough to have been read at once
+				final MessageDigest digest = createDigest(headLength);
+				digest.update(head, 0, headLength);
+				return toHex(digest.digest());
+			}
+			// Git needs the length before the content: count it without keeping the content around
+			length = headLength + ByteStreams.exhaust(stream);
+		}
+		final MessageDigest digest = createDigest(length);
+		try (InputStream stream = storage.getContents()) {
+			if (stream == null) {
+				return null;
+			}
+			final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+			long read = 0L;
+			int count = stream.read(buffer);
+			while (count != -1) {
+				digest.update(buffer, 0, count);
+				read += count;
+				count = stream.read(buffer);
+			}
+			if (read != length) {
+				throw new IOException("Content of " + storage.getFullPath() //$NON-NLS-1$
+						+ " changed while it was read"); //$NON-NLS-1$
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Computes the identifier Git would give to the given content as a blob.
+	 *
+	 * @param content
+	 *            The content which identifier we need.
+	 * @return The identifier of this content.
+	 */
+	public static String computeContentId(byte[] content) {
+		final MessageDigest digest = createDigest(content.length);
+		digest.update(content);
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Creates the digest with which we'll compute the identifier of a content, already fed with the header
+	 * Git puts before the content of its blobs.
+	 *
+	 * @param length
+	 *            Length of the content which identifier we need.
+	 * @return The digest to which the content must be fed.
+	 */
+	private static MessageDigest createDigest(long length) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// All Java platforms are required to support SHA-1
+			throw new IllegalStateException(e);
+		}
+		digest.update(("blob " + length).getBytes(StandardCharsets.US_ASCII)); //$NON-NLS-1$
+		digest.update((byte)0);
+		return digest;
+	}
+
+	/**
+	 * Returns the hexadecimal representation of the given digest.
+	 *
+	 * @param hash
+	 *            The digest to represent.
+	 * @return The lower case hexadecimal representation of this digest.
+	 */
+	private static String toHex(byte[] hash) {
+		final char[] hex = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+			hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Computes the key under which we cache the identifier of the given workspace file. This changes whenever
+	 * the file is modified, whether in the workspace or on the disk.
+	 *
+	 * @param file
+	 *            The file which cache key we need.
+	 * @return The cache key of this file.
+	 */
+	private static String getFileKey(IFile file) {
+		return file.getFullPath().toString() + '@' + file.getModificationStamp() + '@'
+				+ file.getLocalTimeStamp();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Obeo.
+ * Copyright (c) 2015, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,9 +15,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.eventbus.EventBus;
 
+import java.io.IOException;
+
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.compare.graph.IGraph;
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
 
 /**
  * Default implementation of {@link IResolutionContext}.
@@ -36,6 +39,8 @@ public class DefaultResolutionContext implements IResolutionContext {
 
 	private final ModelResourceListener modelResourceListener;
 
+	private final DependencyGraphIndex graphIndex;
+
 	private IResourceDependencyProvider dependencyProvider;
 
 	private IResourceDependencyLocalResolver localResolver;
@@ -47,11 +52,35 @@ public class DefaultResolutionContext implements IResolutionContext {
 	public DefaultResolutionContext(EventBus eventBus, IGraph<URI> graph,
 			DependencyGraphUpdater<URI> graphUpdater, ResourceComputationScheduler<URI> scheduler,
 			ModelResourceListener modelResourceListener) {
+		this(eventBus, graph, graphUpdater, scheduler, modelResourceListener, null);
+	}
+
+	/**
+	 * Creates a context which dependency graph will be persisted in the given index.
+	 * 
+	 * @param eventBus
+	 *            The event bus
+	 * @param graph
+	 *            The dependency graph
+	 * @param graphUpdater
+	 *            The graph updater
+	 * @param scheduler
+	 *            The scheduler
+	 * @param modelResourceListener
+	 *            The model resource listener
+	 * @param graphIndex
+	 *            The persistent index of the dependency graph, may be <code>null</code> if the graph should
+	 *            only be kept in memory.
+	 */
+	public DefaultResolutionContext(EventBus eventBus, IGraph<URI> graph,
+			DependencyGraphUpdater<URI> graphUpdater, ResourceComputationScheduler<URI> scheduler,
+			ModelResourceListener modelResourceListener, DependencyGraphIndex graphIndex) {
 		this.eventBus = checkNotNull(eventBus);
 		this.graph = checkNotNull(graph);
 		this.graphUpdater = checkNotNull(graphUpdater);
 		this.scheduler = checkNotNull(scheduler);
 		this.modelResourceListener = checkNotNull(modelResourceListener);
+		this.graphIndex = graphIndex;
 	}
 
 	public EventBus getEventBus() {
@@ -74,6 +103,10 @@ public class DefaultResolutionContext implements IResolutionContext {
 		return modelResourceListener;
 	}
 
+	public DependencyGraphIndex getGraphIndex() {
+		return graphIndex;
+	}
+
 	public synchronized IResourceDependencyProvider getDependencyProvider() {
 		if (dependencyProvider == null) {
 			dependencyProvider = new ResourceDependencyProvider(this);
@@ -106,21 +139,32 @@ public class DefaultResolutionContext implements IResolutionContext {
 	 * {@inheritDoc} When initialized, the context will:
 	 * <ol>
 	 * <li>install a listener on the workspace to keep track of modified resources</li>
-	 * <li>Register its {@link #graphUpdater} to its {@link #eventBus}</li>
+	 * <li>Register its {@link #graphUpdater} and {@link #graphIndex} (if any) to its {@link #eventBus}</li>
 	 * <li>initialize its {@link #scheduler}</li>
 	 * </ol>
 	 */
 	public void initialize() {
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(modelResourceListener);
 		eventBus.register(graphUpdater);
+		if (graphIndex != null) {
+			eventBus.register(graphIndex);
+		}
 		scheduler.initialize();
 	}
 
 	/**
-	 * Disposes resources allocated during initialization.
+	 * Disposes resources allocated during initialization, saving the {@link #graphIndex} if any.
 	 */
 	public void dispose() {
 		scheduler.dispose();
+		if (graphIndex != null) {
+			eventBus.unregister(graphIndex);
+			try {
+				graphIndex.save();
+			} catch (IOException e) {
+				EMFCompareIDEUIPlugin.getDefault().log(e);
+			}
+		}
 		eventBus.unregister(graphUpdater);
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(modelResourceListener);
 	}
@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.logical.resolver;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.graph.IGraph;
+import org.eclipse.emf.compare.rcp.EMFCompareLogger;
+
+/**
+ * Persistent index of the dependencies between the model resources of the workspace.
+ * <p>
+ * This index listens to the same events as the {@link DependencyGraphUpdater} and remembers, for each
+ * resource that has been resolved, the resources it depends upon along with the modification stamp the
+ * resource had when it was parsed. It is saved to a compact binary file on {@link #save()}, and read back
+ * from it the first time it is needed, so that the dependencies of a resource that has not changed since it
+ * was last parsed can be {@link #restore(URI, IGraph) restored} in the dependency graph without loading the
+ * resource again, even after a restart of the workspace.
+ * </p>
+ * <p>
+ * Entries are validated lazily : the modification stamp of a resource is only checked when we try to restore
+ * it. Entries of the resources that are changed or removed afterwards are discarded through the
+ * {@link ResourceRemovedEvent} the local resolver sends when it processes the deltas tracked by the
+ * {@link ModelResourceListener}.
+ * </p>
+ */
+public class DependencyGraphIndex {
+	/** Identifies the format of the index files; bump it if this format ever changes. */
+	private static final int FORMAT_VERSION = 0x45434401;
+
+	/** Index of the "no parent data" entry in the serialized URI table. */
+	private static final int NO_URI = -1;
+
+	/** The logger. */
+	private static final EMFCompareLogger LOGGER = new EMFCompareLogger(DependencyGraphIndex.class);
+
+	/** File in which this index is persisted. */
+	private final File location;
+
+	/** The indexed resources, by URI. */
+	private final Map<URI, IndexEntry> entries;
+
+	/** Whether we've read the content of {@link #location} yet. */
+	private boolean loaded;
+
+	/** Whether this index has changed since it was last loaded or saved. */
+	private boolean dirty;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param location
+	 *            File in which this index is to be persisted. Does not need to exist yet.
+	 */
+	public DependencyGraphIndex(File location) {
+		this.location = checkNotNull(location);
+		this.entries = Maps.newLinkedHashMap();
+	}
+
+	/**
+	 * Records that a resource has been resolved, along with its current modification stamp.
+	 *
+	 * @param event
+	 *            Event that describes the resolved resource.
+	 */
+	@Subscribe
+	public synchronized void recordNode(ResolvedEvent<URI> event) {
+		ensureLoaded();
+		final URI uri = event.getNode();
+		IndexEntry entry = getOrCreateEntry(uri);
+		// Without proxy resolution, we do not know about the outgoing dependencies of this resource
+		if (ResolutionUtil.getResolutionScope() != CrossReferenceResolutionScope.SELF) {
+			entry.stamp = getModificationStamp(uri);
+		}
+		dirty = true;
+	}
+
+	/**
+	 * Records a dependency of a resource. A resource that is resolved again only records each of its
+	 * dependencies once.
+	 *
+	 * @param event
+	 *            Event that describes the dependency.
+	 */
+	@Subscribe
+	public synchronized void recordEdge(DependencyFoundEvent<URI> event) {
+		ensureLoaded();
+		final IndexEntry entry = getOrCreateEntry(event.getFrom());
+		final URI parentData;
+		if (event.hasParent()) {
+			parentData = event.getParent().get();
+		} else {
+			parentData = null;
+		}
+		final boolean known = entry.children.containsKey(event.getTo());
+		if (!known || !Objects.equal(parentData, entry.children.get(event.getTo()))) {
+			entry.children.put(event.getTo(), parentData);
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Discards the entries of removed (or changed) resources.
+	 *
+	 * @param event
+	 *            The event indicating the removed resources.
+	 */
+	@Subscribe
+	public synchronized void recordRemoval(ResourceRemovedEvent<URI> event) {
+		ensureLoaded();
+		for (URI uri : event.getElements()) {
+			if (entries.remove(uri) != null) {
+				dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Restores the given resource and its outgoing dependencies in the given graph if this index knows about
+	 * it and the resource has not been modified since it was indexed.
+	 * <p>
+	 * Entries that are no longer valid are discarded : the resource will have to be resolved again. This
+	 * looks at the graph itself rather than at what has been restored before, since the graph can drop nodes
+	 * and edges without telling us (re-resolved resources take the edges of their parents with them).
+	 * </p>
+	 *
+	 * @param uri
+	 *            URI of the resource to restore.
+	 * @param graph
+	 *            The graph in which to restore the resource.
+	 * @return The resources the restored resource depends upon, which the caller needs to restore or resolve
+	 *         in turn. This will be empty if the resource and all of its dependencies were already in the
+	 *         graph, and <code>null</code> if the resource could not be restored.
+	 */
+	public synchronized Set<URI> restore(URI uri, IGraph<URI> graph) {
+		ensureLoaded();
+		final IndexEntry entry = entries.get(uri);
+		if (entry == null || entry.stamp == IResource.NULL_STAMP) {
+			return null;
+		} else if (entry.stamp != getModificationStamp(uri)) {
+			entries.remove(uri);
+			dirty = true;
+			return null;
+		} else if (isInGraph(uri, entry, graph)) {
+			return Collections.emptySet();
+		}
+
+		graph.add(uri);
+		for (Map.Entry<URI, URI> child : entry.children.entrySet()) {
+			graph.addChildren(uri, Collections.singleton(child.getKey()));
+			if (child.getValue() != null) {
+				graph.addParentData(child.getKey(), child.getValue());
+			}
+		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Restored node " + uri + " from index"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return new LinkedHashSet<URI>(entry.children.keySet());
+	}
+
+	/**
+	 * Checks whether the given resource and all of its indexed dependencies are in the given graph.
+	 *
+	 * @param uri
+	 *            URI of the resource.
+	 * @param entry
+	 *            The index entry of this resource.
+	 * @param graph
+	 *            The dependency graph.
+	 * @return <code>true</code> if there is nothing to restore for this resource.
+	 */
+	private static boolean isInGraph(URI uri, IndexEntry entry, IGraph<URI> graph) {
+		if (!graph.contains(uri)) {
+			return false;
+		}
+		for (URI child : entry.children.keySet()) {
+			if (!graph.contains(child) || !graph.getDirectParents(child).contains(uri)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes this index to its file if it changed since it was last read or written.
+	 * <p>
+	 * Only the entries of the resources which modification stamp is known are saved. The index is written in
+	 * a temporary file first so that a failure cannot leave a corrupted index behind.
+	 * </p>
+	 *
+	 * @throws IOException
+	 *             if we cannot write the index file.
+	 */
+	public synchronized void save() throws IOException {
+		if (!dirty) {
+			return;
+		}
+		final Map<URI, Integer> uriTable = Maps.newLinkedHashMap();
+		final List<Map.Entry<URI, IndexEntry>> savedEntries = Lists.newArrayList();
+		for (Map.Entry<URI, IndexEntry> entry : entries.entrySet()) {
+			if (entry.getValue().stamp != IResource.NULL_STAMP) {
+				savedEntries.add(entry);
+				intern(uriTable, entry.getKey());
+				for (Map.Entry<URI, URI> child : entry.getValue().children.entrySet()) {
+					intern(uriTable, child.getKey());
+					if (child.getValue() != null) {
+						intern(uriTable, child.getValue());
+					}
+				}
+			}
+		}
+
+		final File parent = location.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Cannot create folder " + parent); //$NON-NLS-1$
+		}
+		final File temp = new File(location.getPath() + ".tmp"); //$NON-NLS-1$
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(temp)));
+		try {
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(uriTable.size());
+			for (URI uri : uriTable.keySet()) {
+				out.writeUTF(uri.toString());
+			}
+			out.writeInt(savedEntries.size());
+			for (Map.Entry<URI, IndexEntry> entry : savedEntries) {
+				final IndexEntry indexEntry = entry.getValue();
+				out.writeInt(uriTable.get(entry.getKey()).intValue());
+				out.writeLong(indexEntry.stamp);
+				out.writeInt(indexEntry.children.size());
+				for (Map.Entry<URI, URI> child : indexEntry.children.entrySet()) {
+					out.writeInt(uriTable.get(child.getKey()).intValue());
+					if (child.getValue() == null) {
+						out.writeInt(NO_URI);
+					} else {
+						out.writeInt(uriTable.get(child.getValue()).intValue());
+					}
+				}
+			}
+		} finally {
+			out.close();
+		}
+		if (location.exists() && !location.delete()) {
+			throw new IOException("Cannot replace " + location); //$NON-NLS-1$
+		}
+		if (!temp.renameTo(location)) {
+			throw new IOException("Cannot rename " + temp + " to " + location); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Returns the modification stamp of the resource at the given URI.
+	 *
+	 * @param uri
+	 *            URI of the resource.
+	 * @return The modification stamp of this resource, {@link IResource#NULL_STAMP} if it does not exist.
+	 */
+	protected long getModificationStamp(URI uri) {
+		if (!uri.isPlatformResource()) {
+			return IResource.NULL_STAMP;
+		}
+		final IFile file = ResolutionUtil.getFileAt(uri);
+		if (file == null || !file.isAccessible()) {
+			return IResource.NULL_STAMP;
+		}
+		return file.getModificationStamp();
+	}
+
+	/**
+	 * Reads the index file if we haven't done so yet. An index file that cannot be read is ignored : we'll
+	 * start with an empty index and overwrite it on the next save.
+	 */
+	private void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (!location.isFile()) {
+			return;
+		}
+		try {
+			final DataInputStream in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(location)));
+			try {
+				read(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			entries.clear();
+			dirty = true;
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Ignoring unreadable dependency index " + location //$NON-NLS-1$
+						+ ": " + e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Reads the content of an index file.
+	 *
+	 * @param in
+	 *            Stream on the index file.
+	 * @throws IOException
+	 *             if the index cannot be read or is not in the expected format.
+	 */
+	private void read(DataInputStream in) throws IOException {
+		if (in.readInt() != FORMAT_VERSION) {
+			throw new IOException("Unknown dependency index format"); //$NON-NLS-1$
+		}
+		final URI[] uriTable = new URI[in.readInt()];
+		for (int i = 0; i < uriTable.length; i++) {
+			uriTable[i] = URI.createURI(in.readUTF());
+		}
+		final int entryCount = in.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			final IndexEntry entry = getOrCreateEntry(uriTable[in.readInt()]);
+			entry.stamp = in.readLong();
+			final int childCount = in.readInt();
+			for (int j = 0; j < childCount; j++) {
+				final URI child = uriTable[in.readInt()];
+				final int parentData = in.readInt();
+				if (parentData == NO_URI) {
+					entry.children.put(child, null);
+				} else {
+					entry.children.put(child, uriTable[parentData]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the entry of the given resource, creating it if needed.
+	 *
+	 * @param uri
+	 *            URI of the resource.
+	 * @return The entry of this resource.
+	 */
+	private IndexEntry getOrCreateEntry(URI uri) {
+		IndexEntry entry = entries.get(uri);
+		if (entry == null) {
+			entry = new IndexEntry();
+			entries.put(uri, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Adds the given URI to the given table if it is not already present.
+	 *
+	 * @param uriTable
+	 *            The table of URIs, associating each to its position in the table.
+	 * @param uri
+	 *            The URI to add.
+	 */
+	private static void intern(Map<URI, Integer> uriTable, URI uri) {
+		if (!uriTable.containsKey(uri)) {
+			uriTable.put(uri, Integer.valueOf(uriTable.size()));
+		}
+	}
+
+	/**
+	 * What this index knows about a single resource.
+	 */
+	private static final class IndexEntry {
+		/** Modification stamp of the resource when it was resolved, {@link IResource#NULL_STAMP} if none. */
+		long stamp = IResource.NULL_STAMP;
+
+		/**
+		 * The resources this one depends upon, in the order they were found, associated with their parent
+		 * data (<code>null</code> if none).
+		 */
+		final Map<URI, URI> children = Maps.newLinkedHashMap();
+	}
+}
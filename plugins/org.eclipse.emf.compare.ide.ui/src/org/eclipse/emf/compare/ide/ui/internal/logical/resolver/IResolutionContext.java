@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Obeo.
+ * Copyright (c) 2015, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -50,6 +50,9 @@ public interface IResolutionContext {
 	/** The implicit dependencies provider. */
 	IImplicitDependencies getImplicitDependencies();
 
+	/** The persistent index of the dependency graph, <code>null</code> if the graph is not persisted. */
+	DependencyGraphIndex getGraphIndex();
+
 	/** Initializes the context. */
 	void initialize();
 
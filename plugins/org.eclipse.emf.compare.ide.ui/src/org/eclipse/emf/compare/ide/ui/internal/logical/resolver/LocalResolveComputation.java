@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Obeo.
+ * Copyright (c) 2015, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,18 @@ package org.eclipse.emf.compare.ide.ui.internal.logical.resolver;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Predicate;
 import com.google.common.eventbus.EventBus;
 import com.google.common.util.concurrent.FutureCallback;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.ide.internal.utils.XMLDependencyScanner;
 import org.eclipse.emf.compare.ide.ui.internal.util.ThreadSafeProgressMonitor;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -32,6 +39,20 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
  */
 class LocalResolveComputation extends AbstractResourceResolver implements IComputation<URI> {
 
+	/**
+	 * Finds the dependencies of XML resources without loading them. Attribute values that only look like
+	 * references are not reported unless they point to an existing workspace file.
+	 */
+	private static final XMLDependencyScanner SCANNER = new XMLDependencyScanner(new Predicate<URI>() {
+		public boolean apply(URI input) {
+			if (input.isPlatformResource()) {
+				final IFile file = ResolutionUtil.getFileAt(input);
+				return file != null && file.exists();
+			}
+			return false;
+		}
+	});
+
 	/** The event bus. */
 	protected final EventBus eventBus;
 
@@ -75,6 +96,11 @@ class LocalResolveComputation extends AbstractResourceResolver implements ICompu
 			context.getScheduler().scheduleComputation(computation);
 		}
 
+		if (ResolutionUtil.isDependencyScanningEnabled() && scanDependencies()) {
+			eventBus.post(new ResolvedEvent<URI>(uri));
+			return;
+		}
+
 		final Resource resource = resourceSet.loadResource(uri);
 		Diagnostic resourceDiagnostic = EcoreUtil.computeDiagnostic(resource, true);
 		if (resourceDiagnostic.getSeverity() >= Diagnostic.WARNING) {
@@ -84,6 +110,35 @@ class LocalResolveComputation extends AbstractResourceResolver implements ICompu
 		demandUnload(resource);
 	}
 
+	/**
+	 * Finds the dependencies of our resource by streaming through its XML content instead of loading it.
+	 * <p>
+	 * This does not tell us which object of the resource holds each dependency, so no parent data is
+	 * recorded in the dependency graph for the dependencies found this way. Resources that cannot be scanned
+	 * (not XML, unreadable...) are left to the usual loading so that their problems are reported.
+	 * </p>
+	 * 
+	 * @return <code>true</code> if the resource has been scanned, <code>false</code> if it needs to be
+	 *         loaded.
+	 */
+	private boolean scanDependencies() {
+		final Set<URI> dependencies;
+		try (InputStream stream = resourceSet.getURIConverter().createInputStream(uri)) {
+			dependencies = SCANNER.scan(uri, stream);
+		} catch (IOException e) {
+			return false;
+		}
+		if (ResolutionUtil.getResolutionScope() != CrossReferenceResolutionScope.SELF) {
+			for (URI dependency : dependencies) {
+				if (dependency.isPlatformResource()) {
+					eventBus.post(new DependencyFoundEvent<URI>(uri, dependency));
+					context.getLocalResolver().demandResolve(resourceSet, dependency, diagnostic, tspm);
+				}
+			}
+		}
+		return true;
+	}
+
 	public URI getKey() {
 		return uri;
 	}
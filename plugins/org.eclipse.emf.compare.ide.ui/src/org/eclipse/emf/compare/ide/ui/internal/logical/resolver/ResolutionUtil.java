@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Obeo.
+ * Copyright (c) 2015, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -51,6 +51,18 @@ public final class ResolutionUtil {
 		return CrossReferenceResolutionScope.valueOf(stringValue);
 	}
 
+	/**
+	 * Tells the local resolution whether it should find the dependencies of XML resources by scanning their
+	 * content rather than loading them as EMF models.
+	 * 
+	 * @return <code>true</code> if the dependencies should be scanned, <code>false</code> to load the
+	 *         resources.
+	 */
+	public static boolean isDependencyScanningEnabled() {
+		final IPreferenceStore store = EMFCompareIDEUIPlugin.getDefault().getPreferenceStore();
+		return store.getBoolean(EMFCompareUIPreferences.DEPENDENCY_SCANNING_PREFERENCE);
+	}
+
 	/**
 	 * Checks if the current thread is interrupted or if the given monitor has been canceled.
 	 * 
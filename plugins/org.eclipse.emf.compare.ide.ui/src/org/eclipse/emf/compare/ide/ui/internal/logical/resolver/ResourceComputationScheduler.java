@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2017 Obeo and others.
+ * Copyright (c) 2015, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -30,7 +30,7 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -39,6 +39,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
 
 /**
  * Class providing facilities to schedule computations and hide as much as possible the multi-threaded
@@ -66,10 +68,10 @@ public class ResourceComputationScheduler<T> {
 	 */
 	private volatile Set<T> computedKeys;
 
-	/** Thread pool for our resolving threads. */
+	/** View of the shared executor running our computations. */
 	private ListeningExecutorService computingPool;
 
-	/** Thread pool for our unloading threads. */
+	/** View of the shared executor running our unloading tasks. */
 	private ListeningExecutorService unloadingPool;
 
 	/**
@@ -143,8 +145,9 @@ public class ResourceComputationScheduler<T> {
 	}
 
 	/**
-	 * Creates the thread pools of this resolver and instantiates the computedElements Set. We cannot keep
-	 * pools between resolving calls because in case of cancellation, we have to shutdown the pool to exit
+	 * Creates the views of the {@link SharedComputationExecutor shared executor} used by this resolver and
+	 * instantiates the computedElements Set. The threads themselves are shared and long-lived, but we cannot
+	 * keep views between resolving calls because in case of cancellation, we have to shut them down to exit
 	 * early.
 	 * <p>
 	 * <b>Pre-conditions:</b>
@@ -161,17 +164,10 @@ public class ResourceComputationScheduler<T> {
 	 * </p>
 	 */
 	private void setUpComputation() {
-		final int availableProcessors = Runtime.getRuntime().availableProcessors();
-		ThreadFactory computingThreadFactory = new ThreadFactoryBuilder()
-				.setNameFormat("EMFCompare-ResolvingThread-%d") //$NON-NLS-1$
-				.build();
-		this.computingPool = MoreExecutors.listeningDecorator(
-				Executors.newFixedThreadPool(availableProcessors, computingThreadFactory));
-		ThreadFactory unloadingThreadFactory = new ThreadFactoryBuilder()
-				.setNameFormat("EMFCompare-UnloadingThread-%d") //$NON-NLS-1$
-				.build();
-		this.unloadingPool = MoreExecutors.listeningDecorator(
-				Executors.newFixedThreadPool(availableProcessors, unloadingThreadFactory));
+		final SharedComputationExecutor executor = SharedComputationExecutor.getShared();
+		// Computations are resource loads that mostly wait for the disk
+		this.computingPool = executor.newView(Priority.NORMAL, true);
+		this.unloadingPool = executor.newView(Priority.LOW, true);
 		computedKeys = new LinkedHashSet<T>();
 	}
 
@@ -398,23 +394,34 @@ public class ResourceComputationScheduler<T> {
 	 */
 	public boolean scheduleComputation(final IComputation<T> computation) {
 		checkNotNull(computation);
+		final ListeningExecutorService pool;
 		lock.writeLock().lock();
 		try {
-			if (computedKeys.add(computation.getKey()) && currentlyComputing.add(computation.getKey())) {
-				ListenableFuture<?> future = computingPool.submit(new Runnable() {
-					public void run() {
-						computation.run();
-					}
-				});
-				// even if post-treatment is null, we need this callback for proper finalization
-				Futures.addCallback(future, new ComputingFutureCallback<T>(this, computation.getKey(),
-						computation.getPostTreatment()), MoreExecutors.directExecutor());
-				return true;
+			if (!computedKeys.add(computation.getKey())
+					|| !currentlyComputing.add(computation.getKey())) {
+				return false;
 			}
-			return false;
+			pool = computingPool;
 		} finally {
 			lock.writeLock().unlock();
 		}
+		// Submit outside of the lock: the shared executor makes this thread wait when its queue is full,
+		// and we don't want to block the other computations in the meantime.
+		final ListenableFuture<?> future;
+		try {
+			future = pool.submit(new Runnable() {
+				public void run() {
+					computation.run();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			finalizeTask(computation.getKey());
+			throw e;
+		}
+		// even if post-treatment is null, we need this callback for proper finalization
+		Futures.addCallback(future, new ComputingFutureCallback<T>(this, computation.getKey(),
+				computation.getPostTreatment()), MoreExecutors.directExecutor());
+		return true;
 	}
 
 	/**
@@ -442,7 +449,7 @@ public class ResourceComputationScheduler<T> {
 
 	/**
 	 * Schedule a job that is suppoed to unload resource(s) that are no longer needed. This implementation
-	 * uses a dedicated thread pool to perform these unloads.
+	 * runs these unloads with a low priority on the shared executor.
 	 * 
 	 * @param runnable
 	 *            Runnable to run, must not be {@code null}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2017 Obeo and others.
+ * Copyright (c) 2015, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,8 +20,11 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -33,6 +36,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.compare.graph.IGraph;
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
 import org.eclipse.emf.compare.ide.ui.internal.util.ThreadSafeProgressMonitor;
 import org.eclipse.emf.compare.ide.utils.ResourceUtil;
 import org.eclipse.emf.compare.rcp.EMFCompareLogger;
@@ -163,8 +167,51 @@ public class ResourceDependencyLocalResolver implements IResourceDependencyLocal
 		if (context.getScheduler().isScheduled(uri)) {
 			return;
 		}
-		context.getScheduler().scheduleComputation(new LocalResolveComputation(context, diagnostic,
-				resourceSet, uri, new MonitorCallback(diagnostic, tspm), tspm));
+		final DependencyGraphIndex graphIndex = context.getGraphIndex();
+		if (graphIndex != null && ResolutionUtil.getResolutionScope() != CrossReferenceResolutionScope.SELF) {
+			restoreOrResolve(graphIndex, resourceSet, uri, diagnostic, tspm);
+		} else {
+			context.getScheduler().scheduleComputation(new LocalResolveComputation(context, diagnostic,
+					resourceSet, uri, new MonitorCallback(diagnostic, tspm), tspm));
+		}
+	}
+
+	/**
+	 * Restores the given resource and its dependencies from the persistent index of the dependency graph,
+	 * only scheduling the resolution of the resources that were not indexed or changed since.
+	 * 
+	 * @param graphIndex
+	 *            The persistent index of the dependency graph.
+	 * @param resourceSet
+	 *            The resource set in which to load the resources that need to be resolved.
+	 * @param uri
+	 *            The uri we are to try and restore or load as a model.
+	 * @param diagnostic
+	 *            The diagnostic
+	 * @param tspm
+	 *            Monitor on which to report progress to the user.
+	 */
+	private void restoreOrResolve(DependencyGraphIndex graphIndex, SynchronizedResourceSet resourceSet,
+			URI uri, DiagnosticSupport diagnostic, ThreadSafeProgressMonitor tspm) {
+		final Set<URI> visited = Sets.newHashSet();
+		final Deque<URI> pending = new ArrayDeque<URI>();
+		pending.add(uri);
+		while (!pending.isEmpty()) {
+			final URI current = pending.poll();
+			if (!visited.add(current) || context.getScheduler().isScheduled(current)) {
+				continue;
+			}
+			final Set<URI> dependencies = graphIndex.restore(current, dependencyGraph);
+			if (dependencies == null) {
+				context.getScheduler().scheduleComputation(new LocalResolveComputation(context, diagnostic,
+						resourceSet, current, new MonitorCallback(diagnostic, tspm), tspm));
+			} else {
+				pending.addAll(dependencies);
+				// The implicit dependencies would have been resolved along with this resource
+				Iterables.addAll(pending,
+						context.getImplicitDependencies().of(current, resourceSet.getURIConverter()));
+			}
+		}
 	}
 
 	/**
@@ -268,6 +315,22 @@ public class ResourceDependencyLocalResolver implements IResourceDependencyLocal
 		updateChangedResources(resourceSet, diagnostic, tspm);
 
 		resourceSet.dispose();
+		saveGraphIndex();
+	}
+
+	/**
+	 * Saves the persistent index of the dependency graph, if any, so that the dependencies we've just
+	 * resolved are not lost if the workbench does not shut down properly.
+	 */
+	private void saveGraphIndex() {
+		final DependencyGraphIndex graphIndex = context.getGraphIndex();
+		if (graphIndex != null) {
+			try {
+				graphIndex.save();
+			} catch (IOException e) {
+				EMFCompareIDEUIPlugin.getDefault().log(e);
+			}
+		}
 	}
 
 	/**
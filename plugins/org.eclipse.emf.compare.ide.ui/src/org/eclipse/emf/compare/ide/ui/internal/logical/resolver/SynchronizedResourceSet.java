@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Obeo and others.
+ * Copyright (c) 2011, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,9 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.logical.resolver;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -22,8 +24,11 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.notify.Notification;
@@ -68,8 +73,17 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 	/** Keeps track of the packages manually loaded for some of this resource set's resources. */
 	private final Set<Resource> loadedPackages;
 
-	/** Never try and load the same package twice. We'll use this lock to prevent that from happening. */
-	private final ReentrantLock packageLoadingLock;
+	/**
+	 * Never try and load the same package twice. Threads asking for a package that is being loaded will wait
+	 * on the load registered here for its URI instead of contending on a global lock.
+	 */
+	private final ConcurrentHashMap<URI, PackageLoad> packageLoads;
+
+	/**
+	 * The package load each thread is currently waiting on. Used to detect loader threads that would end up
+	 * waiting on each other's package.
+	 */
+	private final ConcurrentHashMap<Thread, PackageLoad> awaitedLoads;
 
 	/**
 	 * Constructor.
@@ -82,7 +96,8 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		this.resources = new SynchronizedResourcesEList<Resource>();
 		this.namespaceURIs = Sets.newSetFromMap(new ConcurrentHashMap<URI, Boolean>());
 		this.loadedPackages = Sets.newSetFromMap(new ConcurrentHashMap<Resource, Boolean>());
-		this.packageLoadingLock = new ReentrantLock(true);
+		this.packageLoads = new ConcurrentHashMap<URI, PackageLoad>();
+		this.awaitedLoads = new ConcurrentHashMap<Thread, PackageLoad>();
 		this.loadOptions = super.getLoadOptions();
 		/*
 		 * This resource set is specifically designed to resolve cross resources links, it thus spends a lot
@@ -141,7 +156,9 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			LOGGER.debug("SRS@" + Integer.toHexString(hashCode()) + ".loadResource for " + normalizedURI); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		result = uriCache.get(normalizedURI);
-		if (result == null) {
+		if (result != null && namespaceURIs.contains(uri)) {
+			ensurePackageLoaded(normalizedURI);
+		} else if (result == null) {
 			result = delegatedGetResource(uri, true);
 			if (result != null) {
 				if (LOGGER.isDebugEnabled()) {
@@ -218,6 +235,10 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			resource.load(stream, Collections.emptyMap());
 		} catch (IOException e) {
 			handleDemandLoadException(resource, e);
+		} catch (RuntimeException e) {
+			// Don't keep this broken instance around, the next demand for this package will try again
+			uriCache.remove(normalized, resource);
+			throw e;
 		}
 		loadedPackages.add(resource);
 		return resource;
@@ -273,7 +294,7 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		final URI normalized = getURIConverter().normalize(uri);
 		Resource demanded = uriCache.get(normalized);
 		if (namespaceURIs.contains(uri) && demanded != null) {
-			ensurePackageLoaded(demanded);
+			ensurePackageLoaded(normalized);
 		}
 
 		if (demanded == null) {
@@ -306,7 +327,9 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 	}
 
 	/**
-	 * This will be used to load the uris matching those from {@link #namespaceURIs} normally.
+	 * This will be used to load the uris matching those from {@link #namespaceURIs} normally. The package's
+	 * resource may already be cached by another thread that is still loading it, in which case we wait for
+	 * that load to end before returning it.
 	 * 
 	 * @param uri
 	 *            The uri of the package to load.
@@ -315,36 +338,43 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 	private Resource demandPackageLoad(URI uri) {
 		final URI normalized = getURIConverter().normalize(uri);
 
-		packageLoadingLock.lock();
-		try {
-			Resource demanded = uriCache.get(normalized);
-			if (demanded == null) {
+		Resource demanded = uriCache.get(normalized);
+		if (demanded != null) {
+			ensurePackageLoaded(normalized);
+		} else {
+			final PackageLoad load = new PackageLoad(uri, normalized);
+			final PackageLoad existing = packageLoads.putIfAbsent(normalized, load);
+			if (existing == null) {
 				if (LOGGER.isDebugEnabled()) {
 					LOGGER.debug("SRS@" + Integer.toHexString(hashCode()) //$NON-NLS-1$
 							+ ".getResource - loaded package normally : " + uri); //$NON-NLS-1$
 				}
-				demanded = loadPackage(uri, normalized);
+				load.run();
+				demanded = load.await();
+			} else {
+				demanded = existing.await();
 			}
-			return demanded;
-		} finally {
-			packageLoadingLock.unlock();
 		}
+		return demanded;
 	}
 
 	/**
 	 * {@link #loadPackage(URI, URI)} will push the packages' resource in {@link #uriCache cache} before the
 	 * package is actually loaded in order to avoid multi-threading issues. However, multi-threading can also
 	 * make it so that another thread asks for a resource in cache and return it before the actual loading
-	 * ends. This will lock that latter thread until the package is finished loading.
+	 * ends. This will make that latter thread wait until the package is finished loading.
+	 * <p>
+	 * The load is registered in {@link #packageLoads} before its resource is cached, so that any thread
+	 * finding the resource in cache also finds the load to wait on.
+	 * </p>
+	 * 
+	 * @param normalized
+	 *            Normalized URI of the package we need loaded.
 	 */
-	private void ensurePackageLoaded(Resource packageResource) {
-		if (!packageResource.isLoaded() || ((Resource.Internal)packageResource).isLoading()) {
-			packageLoadingLock.lock();
-			try {
-				ensurePackageLoaded(packageResource);
-			} finally {
-				packageLoadingLock.unlock();
-			}
+	private void ensurePackageLoaded(URI normalized) {
+		final PackageLoad load = packageLoads.get(normalized);
+		if (load != null) {
+			load.await();
 		}
 	}
 
@@ -354,7 +384,7 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 	 * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#createResource(org.eclipse.emf.common.util.URI)
 	 */
 	@Override
-	public synchronized Resource createResource(URI uri) {
+	public Resource createResource(URI uri) {
 		return super.createResource(uri);
 	}
 
@@ -365,7 +395,7 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 	 *      java.lang.String)
 	 */
 	@Override
-	public synchronized Resource createResource(URI uri, String contentType) {
+	public Resource createResource(URI uri, String contentType) {
 		return super.createResource(uri, contentType);
 	}
 
@@ -403,11 +433,131 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			resource.unload();
 			getResources().remove(resource);
 		}
+		packageLoads.clear();
+	}
+
+	/**
+	 * The load of a package resource, shared by all threads that need this package.
+	 */
+	private final class PackageLoad extends FutureTask<Resource> {
+		/** Normalized URI of the package to load. */
+		private final URI normalized;
+
+		/** The thread currently running this load, <code>null</code> if it is not running. */
+		private volatile Thread loader;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param uri
+		 *            The uri of the package to load.
+		 * @param normalized
+		 *            the normalized form of this URI.
+		 */
+		PackageLoad(final URI uri, final URI normalized) {
+			super(new Callable<Resource>() {
+				public Resource call() {
+					return loadPackage(uri, normalized);
+				}
+			});
+			this.normalized = normalized;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see java.util.concurrent.FutureTask#run()
+		 */
+		@Override
+		public void run() {
+			loader = Thread.currentThread();
+			try {
+				super.run();
+			} finally {
+				loader = null;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * A failed load is forgotten so that the next demand for this package tries to load it again.
+		 * </p>
+		 * 
+		 * @see java.util.concurrent.FutureTask#setException(java.lang.Throwable)
+		 */
+		@Override
+		protected void setException(Throwable t) {
+			packageLoads.remove(normalized, this);
+			super.setException(t);
+		}
+
+		/**
+		 * Waits for this load to complete, unless it is the current thread that is loading the package, in
+		 * which case this returns the "currently loading" instance from the cache (there might be recursive
+		 * calls to "getResource" with this package URI during the loading itself, as can be observed with the
+		 * UML Ecore profile for example).
+		 * <p>
+		 * Packages that refer to each other can also be loaded by two threads at once, each of them needing
+		 * the package the other one is loading. Waiting would deadlock these threads : the thread that closes
+		 * such a cycle is given the "currently loading" instance instead, as it would have been if a single
+		 * thread had loaded both packages.
+		 * </p>
+		 * 
+		 * @return The package's resource.
+		 */
+		Resource await() {
+			final Thread current = Thread.currentThread();
+			if (loader == current) {
+				return uriCache.get(normalized);
+			}
+			// Register before looking for a cycle so that at least one of two racing threads sees it
+			awaitedLoads.put(current, this);
+			try {
+				if (isAwaitedByLoader(current)) {
+					return uriCache.get(normalized);
+				}
+				return Uninterruptibles.getUninterruptibly(this);
+			} catch (ExecutionException e) {
+				throw Throwables.propagate(e.getCause());
+			} finally {
+				awaitedLoads.remove(current);
+			}
+		}
+
+		/**
+		 * Checks whether the thread running this load is, directly or through other loader threads, waiting
+		 * on a package that the given thread is loading.
+		 * 
+		 * @param thread
+		 *            The thread that wants to wait on this load.
+		 * @return <code>true</code> if waiting on this load from {@code thread} would never end.
+		 */
+		private boolean isAwaitedByLoader(Thread thread) {
+			final Set<Thread> visited = Sets.newHashSet();
+			Thread owner = loader;
+			while (owner != null && visited.add(owner)) {
+				if (owner == thread) {
+					return true;
+				}
+				final PackageLoad awaited = awaitedLoads.get(owner);
+				if (awaited == null) {
+					return false;
+				}
+				owner = awaited.loader;
+			}
+			return false;
+		}
 	}
 
 	/**
 	 * A synchronized implementation of {@link ResourcesEList}.
 	 * <p>
+	 * Accesses to the list are guarded by a read/write lock so that the many threads resolving resources
+	 * concurrently can look at its content at the same time, while the membership tests are answered from a
+	 * concurrent set.
+	 * </p>
+	 * <p>
 	 * Note that this cannot be extracted out of the {@link SynchronizedResourceSet} since the
 	 * {@link ResourcesEList} type is not visible.
 	 * </p>
@@ -420,8 +570,75 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		/** Generated SUID. */
 		private static final long serialVersionUID = 7371376112881960414L;
 
-		/** The lock we'll use for synchronization of the resources list. */
-		private final Object lock = new Object();
+		/**
+		 * The lock we'll use for synchronization of the resources list. Readers, which are much more frequent
+		 * than writers for a resource set, do not block each other.
+		 */
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		/**
+		 * Concurrent set of this list's contents. This allows us to answer the membership tests, which EMF
+		 * issues on every addition to ensure uniqueness, without locking nor iterating over the list. This set
+		 * is based on {@link Object#equals(Object)}, which resources do not override.
+		 */
+		private final Set<Object> members = Sets.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+
+		/**
+		 * Checks whether the given object is part of this list without locking it.
+		 * 
+		 * @param object
+		 *            The object we're looking for.
+		 * @return <code>true</code> if this list contains the given object.
+		 */
+		private boolean isMember(Object object) {
+			// This list cannot contain null, and the concurrent set does not accept it.
+			return object != null && members.contains(object);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.util.AbstractEList#didAdd(int, java.lang.Object)
+		 */
+		@Override
+		protected void didAdd(int index, E newObject) {
+			members.add(newObject);
+			super.didAdd(index, newObject);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.util.AbstractEList#didSet(int, java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		protected void didSet(int index, E newObject, E oldObject) {
+			members.remove(oldObject);
+			members.add(newObject);
+			super.didSet(index, newObject, oldObject);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.util.AbstractEList#didRemove(int, java.lang.Object)
+		 */
+		@Override
+		protected void didRemove(int index, E oldObject) {
+			members.remove(oldObject);
+			super.didRemove(index, oldObject);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.util.AbstractEList#didClear(int, java.lang.Object[])
+		 */
+		@Override
+		protected void didClear(int size, Object[] oldObjects) {
+			members.clear();
+			super.didClear(size, oldObjects);
+		}
 
 		/**
 		 * {@inheritDoc}
@@ -430,9 +647,12 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean containsAll(Collection<?> c) {
-			synchronized(lock) {
-				return super.containsAll(c);
+			for (Object object : c) {
+				if (!isMember(object)) {
+					return false;
+				}
 			}
+			return true;
 		}
 
 		/**
@@ -442,8 +662,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E set(int index, E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.set(index, object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -464,8 +687,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean add(E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.add(object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -476,8 +702,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void add(int index, E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.add(index, object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -488,8 +717,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAll(Collection<? extends E> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAll(collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -500,8 +732,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAll(int index, Collection<? extends E> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAll(index, collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -512,8 +747,14 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean remove(Object object) {
-			synchronized(lock) {
+			if (!isMember(object)) {
+				return false;
+			}
+			lock.writeLock().lock();
+			try {
 				return super.remove(object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -524,8 +765,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean retainAll(Collection<?> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.retainAll(collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -536,8 +780,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void move(int index, E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.move(index, object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -548,8 +795,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean equals(Object object) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.equals(object);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -560,8 +810,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int hashCode() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.hashCode();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -572,8 +825,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public String toString() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.toString();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -604,12 +860,15 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public ListIterator<E> listIterator(int index) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				int curSize = size();
 				if (index < 0 || index > curSize) {
 					throw new BasicIndexOutOfBoundsException(index, curSize);
 				}
 				return new SynchronizedEListIterator(index);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -620,8 +879,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int indexOf(Object object) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.indexOf(object);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -632,8 +894,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int lastIndexOf(Object object) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.lastIndexOf(object);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -644,8 +909,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public Object[] toArray() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.toArray();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -656,8 +924,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public <T> T[] toArray(T[] array) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.toArray(array);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -668,8 +939,15 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void setData(int size, Object[] data) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.setData(size, data);
+				members.clear();
+				for (int i = 0; i < size; i++) {
+					members.add(data[i]);
+				}
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -680,8 +958,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E get(int index) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.get(index);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -692,8 +973,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E basicGet(int index) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicGet(index);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -704,8 +988,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void shrink() {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.shrink();
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -716,8 +1003,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void grow(int minimumCapacity) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.grow(minimumCapacity);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -730,8 +1020,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		@Override
 		public Object clone() {
 			// CHECKSTYLE:ON
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.clone();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -742,8 +1035,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void addUnique(E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.addUnique(object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -754,8 +1050,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void addUnique(int index, E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.addUnique(index, object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -766,8 +1065,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAllUnique(Collection<? extends E> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAllUnique(collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -778,8 +1080,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAllUnique(int index, Collection<? extends E> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAllUnique(index, collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -791,8 +1096,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAllUnique(Object[] objects, int start, int end) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAllUnique(objects, start, end);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -804,8 +1112,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean addAllUnique(int index, Object[] objects, int start, int end) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.addAllUnique(index, objects, start, end);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -817,8 +1128,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public NotificationChain basicAdd(E object, NotificationChain notifications) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.basicAdd(object, notifications);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -829,8 +1143,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E remove(int index) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.remove(index);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -841,8 +1158,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean removeAll(Collection<?> collection) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.removeAll(collection);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -854,8 +1174,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public NotificationChain basicRemove(Object object, NotificationChain notifications) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.basicRemove(object, notifications);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -866,8 +1189,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public void clear() {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				super.clear();
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -878,8 +1204,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E setUnique(int index, E object) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.setUnique(index, object);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -891,8 +1220,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public NotificationChain basicSet(int index, E object, NotificationChain notifications) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.basicSet(index, object, notifications);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -903,8 +1235,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public E move(int targetIndex, int sourceIndex) {
-			synchronized(lock) {
+			lock.writeLock().lock();
+			try {
 				return super.move(targetIndex, sourceIndex);
+			} finally {
+				lock.writeLock().unlock();
 			}
 		}
 
@@ -915,8 +1250,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public List<E> basicList() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicList();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -947,12 +1285,15 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public ListIterator<E> basicListIterator(int index) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				int curSize = size();
 				if (index < 0 || index > curSize) {
 					throw new BasicIndexOutOfBoundsException(index, curSize);
 				}
 				return new SynchronizedNonResolvingEListIterator(index);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -963,9 +1304,7 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean contains(Object object) {
-			synchronized(lock) {
-				return super.contains(object);
-			}
+			return isMember(object);
 		}
 
 		/**
@@ -975,9 +1314,7 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean basicContains(Object object) {
-			synchronized(lock) {
-				return super.basicContains(object);
-			}
+			return isMember(object);
 		}
 
 		/**
@@ -987,9 +1324,12 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean basicContainsAll(Collection<?> collection) {
-			synchronized(lock) {
-				return super.basicContainsAll(collection);
+			for (Object object : collection) {
+				if (!isMember(object)) {
+					return false;
+				}
 			}
+			return true;
 		}
 
 		/**
@@ -1000,8 +1340,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 
 		@Override
 		public int basicIndexOf(Object object) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicIndexOf(object);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1012,8 +1355,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int basicLastIndexOf(Object object) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicLastIndexOf(object);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1024,8 +1370,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public Object[] basicToArray() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicToArray();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1036,8 +1385,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public <T> T[] basicToArray(T[] array) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.basicToArray(array);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1048,8 +1400,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public Object[] data() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.data();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1060,8 +1415,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public Object getFeature() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.getFeature();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1072,8 +1430,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int getFeatureID() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.getFeatureID();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1084,8 +1445,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public Object getNotifier() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.getNotifier();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1096,8 +1460,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public boolean isEmpty() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.isEmpty();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1108,8 +1475,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public int size() {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.size();
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1120,8 +1490,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 		 */
 		@Override
 		public List<E> subList(int fromIndex, int toIndex) {
-			synchronized(lock) {
+			lock.readLock().lock();
+			try {
 				return super.subList(fromIndex, toIndex);
+			} finally {
+				lock.readLock().unlock();
 			}
 		}
 
@@ -1138,8 +1511,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasNext() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasNext();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1150,8 +1526,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E next() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.next();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1162,8 +1541,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void remove() {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.remove();
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1174,8 +1556,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean equals(Object obj) {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.equals(obj);
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1186,8 +1571,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int hashCode() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hashCode();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1198,8 +1586,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public String toString() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.toString();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 		}
@@ -1234,8 +1625,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void add(E object) {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.add(object);
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1246,8 +1640,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasNext() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasNext();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1258,8 +1655,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasPrevious() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasPrevious();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1270,8 +1670,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E next() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.next();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1282,8 +1685,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E previous() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.previous();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1294,8 +1700,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int previousIndex() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.previousIndex();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1306,8 +1715,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void remove() {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.remove();
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1318,8 +1730,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void set(E object) {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.set(object);
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1330,8 +1745,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean equals(Object obj) {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.equals(obj);
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1342,8 +1760,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int hashCode() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hashCode();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1354,8 +1775,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public String toString() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.toString();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1366,8 +1790,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int nextIndex() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.nextIndex();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 		}
@@ -1385,8 +1812,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasNext() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasNext();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1397,8 +1827,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E next() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.next();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1409,8 +1842,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void remove() {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.remove();
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1421,8 +1857,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean equals(Object obj) {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.equals(obj);
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1433,8 +1872,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int hashCode() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hashCode();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1445,8 +1887,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public String toString() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.toString();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 		}
@@ -1481,8 +1926,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void add(E object) {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.add(object);
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1493,8 +1941,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasNext() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasNext();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1505,8 +1956,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean hasPrevious() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hasPrevious();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1517,8 +1971,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E next() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.next();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1529,8 +1986,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public E previous() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.previous();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1541,8 +2001,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int previousIndex() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.previousIndex();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1553,8 +2016,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void remove() {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.remove();
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1565,8 +2031,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public void set(E object) {
-				synchronized(lock) {
+				lock.writeLock().lock();
+				try {
 					super.set(object);
+				} finally {
+					lock.writeLock().unlock();
 				}
 			}
 
@@ -1577,8 +2046,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public boolean equals(Object obj) {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.equals(obj);
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1589,8 +2061,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int hashCode() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.hashCode();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1601,8 +2076,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public String toString() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.toString();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 
@@ -1613,8 +2091,11 @@ public class SynchronizedResourceSet extends ResourceSetImpl implements Disposab
 			 */
 			@Override
 			public int nextIndex() {
-				synchronized(lock) {
+				lock.readLock().lock();
+				try {
 					return super.nextIndex();
+				} finally {
+					lock.readLock().unlock();
 				}
 			}
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 Obeo and others.
+ * Copyright (c) 2014, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,8 @@ package org.eclipse.emf.compare.ide.ui.internal.logical.resolver;
 
 import com.google.common.eventbus.EventBus;
 
+import java.io.File;
+
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IStorage;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -63,6 +65,12 @@ public class ThreadedModelResolver extends AbstractModelResolver implements IGra
 	 */
 	private IGraph<URI> graph;
 
+	/**
+	 * File in which the dependency graph is persisted across sessions, <code>null</code> if it is only kept
+	 * in memory.
+	 */
+	private File indexLocation;
+
 	/**
 	 * Convert the dependency graph to its read-only version.
 	 * 
@@ -106,9 +114,13 @@ public class ThreadedModelResolver extends AbstractModelResolver implements IGra
 	 * @return The resolution context to use.
 	 */
 	protected DefaultResolutionContext createContext(EventBus eventBus, IGraph<URI> aGraph) {
+		DependencyGraphIndex graphIndex = null;
+		if (indexLocation != null) {
+			graphIndex = new DependencyGraphIndex(indexLocation);
+		}
 		return new DefaultResolutionContext(eventBus, aGraph,
 				new DependencyGraphUpdater<URI>(aGraph, eventBus), new ResourceComputationScheduler<URI>(),
-				new ModelResourceListener());
+				new ModelResourceListener(), graphIndex);
 	}
 
 	/** {@inheritDoc} */
@@ -178,4 +190,17 @@ public class ThreadedModelResolver extends AbstractModelResolver implements IGra
 	public void setGraph(IGraph<URI> graph) {
 		this.graph = graph;
 	}
+
+	/**
+	 * Sets the file in which the dependency graph should be persisted so that the next sessions do not need
+	 * to resolve the unchanged resources again. This must be called before {@link #initialize()} to be taken
+	 * into account.
+	 * 
+	 * @param indexLocation
+	 *            The index file, <code>null</code> to only keep the dependency graph in memory.
+	 * @see DependencyGraphIndex
+	 */
+	public void setIndexLocation(File indexLocation) {
+		this.indexLocation = indexLocation;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2015 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIMessages;
 import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.ThreadedModelResolver;
 import org.eclipse.emf.compare.ide.ui.logical.IModelResolver;
 import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
 import org.eclipse.emf.compare.rcp.graph.IGraphConsumer;
@@ -43,6 +44,9 @@ import org.eclipse.emf.compare.rcp.graph.IGraphConsumer;
  * @author <a href="mailto:arthur.daussy@obeo.fr">Arthur Daussy</a>
  */
 public class ModelResolverDescriptor {
+	/** Extension of the files in which the resolvers persist their dependency graph. */
+	private static final String INDEX_FILE_EXTENSION = ".index"; //$NON-NLS-1$
+
 	/** Underlying {@link IConfigurationElement} describing this resolver. */
 	private final IConfigurationElement configurationElement;
 
@@ -144,6 +148,11 @@ public class ModelResolverDescriptor {
 				if (resolver instanceof IGraphConsumer) {
 					EMFCompareRCPPlugin.getDefault().register((IGraphConsumer)resolver);
 				}
+				if (resolver instanceof ThreadedModelResolver) {
+					// The registered resolvers persist their dependency graph in the workspace metadata
+					((ThreadedModelResolver)resolver).setIndexLocation(EMFCompareIDEUIPlugin.getDefault()
+							.getStateLocation().append(className + INDEX_FILE_EXTENSION).toFile());
+				}
 				resolver.initialize();
 			} catch (CoreException e) {
 				// Shouldn't happen since the registry listener should have checked that.
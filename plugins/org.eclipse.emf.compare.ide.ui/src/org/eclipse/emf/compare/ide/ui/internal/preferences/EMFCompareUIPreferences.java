@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2017 Obeo and others.
+ * Copyright (c) 2014, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -42,6 +42,14 @@ public interface EMFCompareUIPreferences {
 	 */
 	String RESOLUTION_SCOPE_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID + ".preference.resolutionScope"; //$NON-NLS-1$
 
+	/**
+	 * Preference telling the model resolvers whether they should find the dependencies of XML resources by
+	 * scanning their content (value <code>true</code>) instead of loading them as EMF models (value
+	 * <code>false</code>).
+	 */
+	String DEPENDENCY_SCANNING_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.scanDependencies"; //$NON-NLS-1$
+
 	/**
 	 * Preference indicating whether a pre-merge must be performed when a REAL conflict is detected. The
 	 * expected values are <code>true</code> or <code>false</code>.
@@ -84,6 +92,14 @@ public interface EMFCompareUIPreferences {
 	String EDITOR_TREE_HIGHLIGHT_RELATED_CHANGES = EMFCompareIDEUIPlugin.PLUGIN_ID
 			+ ".preference.editor.tree.highlight"; //$NON-NLS-1$
 
+	/**
+	 * Preference key holding the number of milliseconds after which a comparison still in progress is
+	 * previewed in the comparison editor, as soon as its differences are known and before the later phases
+	 * such as the detection of conflicts are done. Zero or less disables the preview.
+	 */
+	String EDITOR_PROGRESSIVE_RESULTS_DELAY = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.editor.progressiveResults.delay"; //$NON-NLS-1$
+
 	/**
 	 * Preference indicating whether the next unresolved diff should be selected after a merge action. The
 	 * expected values are <code>true</code> or <code>false</code>.
@@ -97,4 +113,33 @@ public interface EMFCompareUIPreferences {
 	 */
 	String MODEL_PROVIDER_CACHE_TIMEOUT = EMFCompareIDEUIPlugin.PLUGIN_ID
 			+ ".preference.model.provider.cache.timeout"; //$NON-NLS-1$
+
+	/**
+	 * Preference key holding the number of worker threads of the shared computation executor, zero or less
+	 * meaning one per available processor. This can only be changed at startup.
+	 */
+	String EXECUTOR_THREADS_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.executor.threads"; //$NON-NLS-1$
+
+	/**
+	 * Preference key holding the number of tasks that can be queued in the shared computation executor before
+	 * submitters have to wait for room in the queue. This can only be changed at startup.
+	 */
+	String EXECUTOR_QUEUE_CAPACITY_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.executor.queueCapacity"; //$NON-NLS-1$
+
+	/**
+	 * Preference key telling whether the I/O-bound tasks of the shared computation executor should run on
+	 * virtual threads when the JVM supports them. This can only be changed at startup.
+	 */
+	String EXECUTOR_VIRTUAL_THREADS_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.executor.virtualThreads"; //$NON-NLS-1$
+
+	/**
+	 * Preference key holding the share of the maximum heap size, in percent, the opened comparisons can use
+	 * before their caches are evicted and their unused resources unloaded. Zero or less disables the budget.
+	 * This can only be changed at startup.
+	 */
+	String MEMORY_BUDGET_PREFERENCE = EMFCompareIDEUIPlugin.PLUGIN_ID
+			+ ".preference.memory.budget"; //$NON-NLS-1$
 }
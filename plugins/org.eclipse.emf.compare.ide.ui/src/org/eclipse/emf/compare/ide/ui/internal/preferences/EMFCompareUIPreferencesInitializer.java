@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2017 Obeo and others.
+ * Copyright (c) 2014, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,8 @@ package org.eclipse.emf.compare.ide.ui.internal.preferences;
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
 import org.eclipse.emf.compare.ide.ui.internal.logical.resolver.CrossReferenceResolutionScope;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonMemoryBudget;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
 import org.eclipse.jface.preference.IPreferenceStore;
 
 /**
@@ -31,13 +33,21 @@ public class EMFCompareUIPreferencesInitializer extends AbstractPreferenceInitia
 		store.setDefault(EMFCompareUIPreferences.DISABLE_THREADING_PREFERENCE, false);
 		store.setDefault(EMFCompareUIPreferences.RESOLUTION_SCOPE_PREFERENCE,
 				CrossReferenceResolutionScope.CONTAINER.name());
+		store.setDefault(EMFCompareUIPreferences.DEPENDENCY_SCANNING_PREFERENCE, false);
 		store.setDefault(EMFCompareUIPreferences.PRE_MERGE_MODELS_WHEN_CONFLICT, false);
 		store.setDefault(EMFCompareUIPreferences.ENABLE_MODEL_RESOLUTION_FROM_CONTAINERS, false);
 		store.setDefault(EMFCompareUIPreferences.EDITOR_TREE_AUTO_EXPAND_LEVEL, 1);
 		store.setDefault(EMFCompareUIPreferences.EDITOR_TREE_EXPAND_TIMEOUT, 5);
 		store.setDefault(EMFCompareUIPreferences.EDITOR_TREE_AUTO_SELECT_FIRST_CHANGE, true);
 		store.setDefault(EMFCompareUIPreferences.EDITOR_TREE_HIGHLIGHT_RELATED_CHANGES, true);
+		store.setDefault(EMFCompareUIPreferences.EDITOR_PROGRESSIVE_RESULTS_DELAY, 2000);
 		store.setDefault(EMFCompareUIPreferences.SELECT_NEXT_UNRESOLVED_DIFF, true);
 		store.setDefault(EMFCompareUIPreferences.MODEL_PROVIDER_CACHE_TIMEOUT, 120L);
+		store.setDefault(EMFCompareUIPreferences.EXECUTOR_THREADS_PREFERENCE, 0);
+		store.setDefault(EMFCompareUIPreferences.EXECUTOR_QUEUE_CAPACITY_PREFERENCE,
+				SharedComputationExecutor.DEFAULT_QUEUE_CAPACITY);
+		store.setDefault(EMFCompareUIPreferences.EXECUTOR_VIRTUAL_THREADS_PREFERENCE, false);
+		store.setDefault(EMFCompareUIPreferences.MEMORY_BUDGET_PREFERENCE,
+				ComparisonMemoryBudget.DEFAULT_HEAP_PERCENTAGE);
 	}
 }
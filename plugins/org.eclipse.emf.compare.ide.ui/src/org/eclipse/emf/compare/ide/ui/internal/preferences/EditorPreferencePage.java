@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 EclipseSource Services GmbH and others.
+ * Copyright (c) 2017, 2026 EclipseSource Services GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
 package org.eclipse.emf.compare.ide.ui.internal.preferences;
 
 import static org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIMessages.getString;
+import static org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences.EDITOR_PROGRESSIVE_RESULTS_DELAY;
 import static org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences.EDITOR_TREE_AUTO_EXPAND_LEVEL;
 import static org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences.EDITOR_TREE_AUTO_SELECT_FIRST_CHANGE;
 import static org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences.EDITOR_TREE_EXPAND_TIMEOUT;
@@ -69,6 +70,9 @@ public class EditorPreferencePage extends FieldEditorPreferencePage implements I
 	/** Editor for preference {@link EMFCompareUIPreferences#EDITOR_TREE_EXPAND_TIMEOUT}. */
 	protected IntegerFieldEditor treeExpandTimeout;
 
+	/** Editor for preference {@link EMFCompareUIPreferences#EDITOR_PROGRESSIVE_RESULTS_DELAY}. */
+	protected IntegerFieldEditor progressiveResultsDelay;
+
 	/** Editor for preference {@link EMFCompareUIPreferences#EDITOR_TREE_HIGHLIGHT_RELATED_CHANGES}. */
 	protected BooleanFieldEditor treeHighlightRelatedChanges;
 
@@ -173,6 +177,7 @@ public class EditorPreferencePage extends FieldEditorPreferencePage implements I
 	protected void createTreeTabContent() {
 		createAutoExpandTreeLevel(getTreeTab());
 		createExpandTreeTimeout(getTreeTab());
+		createProgressiveResultsDelay(getTreeTab());
 		createAutoSelectFirstChange(getTreeTab());
 		createHighlightRelatedChanges(getTreeTab());
 		createSelectNextUnresolvedDiff(getTreeTab());
@@ -180,6 +185,7 @@ public class EditorPreferencePage extends FieldEditorPreferencePage implements I
 		GridLayoutFactory.swtDefaults().numColumns(2).applyTo(getTreeTab());
 		treeAutoSelectFirstChange.fillIntoGrid(getTreeTab(), 2);
 		treeExpandTimeout.fillIntoGrid(getTreeTab(), 2);
+		progressiveResultsDelay.fillIntoGrid(getTreeTab(), 2);
 		treeHighlightRelatedChanges.fillIntoGrid(getTreeTab(), 2);
 		selectNextUnresolvedDiff.fillIntoGrid(getTreeTab(), 2);
 	}
@@ -232,6 +238,22 @@ public class EditorPreferencePage extends FieldEditorPreferencePage implements I
 		return treeExpandTimeout;
 	}
 
+	/**
+	 * Creates an editor for the {@link EMFCompareUIPreferences#EDITOR_PROGRESSIVE_RESULTS_DELAY} preference.
+	 * 
+	 * @param parent
+	 *            editor parent
+	 * @return editor
+	 */
+	protected IntegerFieldEditor createProgressiveResultsDelay(Composite parent) {
+		progressiveResultsDelay = new IntegerFieldEditor(EDITOR_PROGRESSIVE_RESULTS_DELAY,
+				getString("EditorPreferencesPage.treeTab.progressiveResultsDelay"), //$NON-NLS-1$
+				parent, 6);
+		progressiveResultsDelay.setValidRange(0, 999999);
+		addField(progressiveResultsDelay);
+		return progressiveResultsDelay;
+	}
+
 	/**
 	 * Creates an editor for the {@link EMFCompareUIPreferences#EDITOR_TREE_AUTO_SELECT_FIRST_CHANGE}
 	 * preference.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 Obeo.
+ * Copyright (c) 2013, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -312,6 +312,10 @@ public class EMFCompareDiffTreeRuler extends Canvas {
 
 			currentNode = pathToTarget.next();
 			for (TreeItem child : children) {
+				if (child.getData() == null) {
+					// Items of a virtual tree only get their data when first accessed
+					child.getText();
+				}
 				TreeNode childNode = getTreeNodeFromAdapter(child.getData());
 				if (childNode == currentNode) {
 					currentItem = child;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2022 Obeo and others.
+ * Copyright (c) 2013, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,7 +28,6 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.eventbus.Subscribe;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -40,8 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.eclipse.compare.CompareUI;
@@ -69,6 +67,7 @@ import org.eclipse.emf.common.command.CommandStack;
 import org.eclipse.emf.common.command.CommandStackListener;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.ui.CommonUIPlugin;
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.BasicMonitor;
@@ -79,6 +78,7 @@ import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.DifferenceState;
 import org.eclipse.emf.compare.EMFCompare;
 import org.eclipse.emf.compare.EMFCompare.Builder;
+import org.eclipse.emf.compare.IComparisonPhaseListener;
 import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.MatchResource;
 import org.eclipse.emf.compare.adapterfactory.context.IContextTester;
@@ -115,14 +115,18 @@ import org.eclipse.emf.compare.ide.ui.internal.structuremergeviewer.actions.Reve
 import org.eclipse.emf.compare.ide.ui.internal.structuremergeviewer.provider.TreeCompareInputAdapterFactory;
 import org.eclipse.emf.compare.ide.ui.internal.structuremergeviewer.provider.TreeNodeCompareInput;
 import org.eclipse.emf.compare.ide.ui.internal.util.CompareHandlerService;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonMemoryBudget;
 import org.eclipse.emf.compare.ide.ui.internal.util.JFaceUtil;
 import org.eclipse.emf.compare.ide.ui.internal.util.PlatformElementUtil;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
 import org.eclipse.emf.compare.internal.merge.MergeDataImpl;
 import org.eclipse.emf.compare.internal.merge.MergeMode;
 import org.eclipse.emf.compare.merge.AbstractMerger;
 import org.eclipse.emf.compare.merge.CachingDiffRelationshipComputer;
 import org.eclipse.emf.compare.merge.IMergeOptionAware;
 import org.eclipse.emf.compare.merge.IMerger;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
 import org.eclipse.emf.compare.rcp.internal.extension.impl.EMFCompareBuilderConfigurator;
 import org.eclipse.emf.compare.rcp.ui.internal.configuration.ICompareEditingDomainChange;
@@ -143,6 +147,7 @@ import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGro
 import org.eclipse.emf.compare.scope.IComparisonScope;
 import org.eclipse.emf.compare.utils.EMFComparePredicates;
 import org.eclipse.emf.compare.utils.IDiagnosable;
+import org.eclipse.emf.compare.utils.IEqualityHelper;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -270,13 +275,7 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 			if (comparison != null) {
 				fDiffRelationshipComputer.invalidate();
 
-				int availableProcessors = Runtime.getRuntime().availableProcessors();
-				ThreadFactory computingThreadFactory = new ThreadFactoryBuilder()
-						.setNameFormat("EMFCompareDiffRelationshipComputer--%d") //$NON-NLS-1$
-						.build();
-
-				ExecutorService pool = Executors.newFixedThreadPool(availableProcessors,
-						computingThreadFactory);
+				ExecutorService pool = SharedComputationExecutor.getShared().newView(Priority.NORMAL, false);
 
 				List<Diff> differences = comparison.getDifferences();
 				for (final Diff diff : differences) {
@@ -289,16 +288,15 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 
 				pool.shutdown();
 
-				while (!pool.isTerminated()) {
-					if (monitor.isCanceled()) {
-						pool.shutdownNow();
-					}
-
-					try {
-						Thread.sleep(1000);
-					} catch (InterruptedException e) {
-						Thread.currentThread().interrupt();
+				try {
+					while (!pool.awaitTermination(CANCELLATION_POLLING_DELAY, TimeUnit.MILLISECONDS)) {
+						if (monitor.isCanceled()) {
+							pool.shutdownNow();
+						}
 					}
+				} catch (InterruptedException e) {
+					pool.shutdownNow();
+					Thread.currentThread().interrupt();
 				}
 			}
 
@@ -309,6 +307,9 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 	/** The width of the tree ruler. */
 	private static final int TREE_RULER_WIDTH = 17;
 
+	/** Delay between two checks of the cancellation of the diff relationship computation, in milliseconds. */
+	private static final long CANCELLATION_POLLING_DELAY = 200L;
+
 	private static final Function<TreeNode, Diff> TREE_NODE_AS_DIFF = new Function<TreeNode, Diff>() {
 		public Diff apply(TreeNode input) {
 			if (input.getData() instanceof Diff) {
@@ -390,6 +391,27 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 
 	private boolean inChange;
 
+	/**
+	 * Whether we are currently displaying a snapshot of a comparison still in progress, in which case no
+	 * editing domain is to be created for the displayed comparison.
+	 */
+	private boolean previewing;
+
+	/** Whether the left side was editable before we started displaying a snapshot of the comparison. */
+	private boolean leftEditableBeforePreview;
+
+	/** Whether the right side was editable before we started displaying a snapshot of the comparison. */
+	private boolean rightEditableBeforePreview;
+
+	/**
+	 * The listener {@link #hookAdapters(ICompareInput, Comparison) hooked} on the configuration for the
+	 * snapshot we're displaying, if any. It references the snapshot and must be removed along with it.
+	 */
+	private IPropertyChangeListener previewMirroredListener;
+
+	/** Accounts for the memory retained by the displayed comparison, <code>null</code> if none. */
+	private ComparisonMemoryBudget.Account memoryAccount;
+
 	private final ForwardingCompareConfiguration.MirroredPropertyChangeListener mirroredPropertyChangeListener;
 
 	/**
@@ -434,6 +456,9 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 
 		selectionChangeListener = new ISelectionChangedListener() {
 			public void selectionChanged(SelectionChangedEvent event) {
+				if (memoryAccount != null) {
+					memoryAccount.touch();
+				}
 				handleSelectionChangedEvent(event);
 			}
 		};
@@ -912,8 +937,9 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 		progressInfoItem.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 2, 1));
 		progressInfoItem.setBackground(Display.getDefault().getSystemColor(SWT.COLOR_LIST_BACKGROUND));
 
+		// The tree is virtual so that items are only created, and their labels computed, when shown
 		final WrappableTreeViewer treeViewer = new WrappableTreeViewer(control,
-				SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL) {
+				SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL) {
 			/**
 			 * {@inheritDoc}
 			 * 
@@ -1345,6 +1371,7 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 		if (monitor.isCanceled()) {
 			return;
 		}
+		final long start = System.currentTimeMillis();
 		IComparisonScope comparisonScope = input.getComparisonScope();
 		EMFCompareConfiguration compareConfiguration = getCompareConfiguration();
 
@@ -1369,8 +1396,13 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 		}
 
 		SubMonitor subMonitor = SubMonitor.convert(monitor, 10);
-		final Comparison comparison = comparator.compare(comparisonScope,
-				BasicMonitor.toMonitor(subMonitor.newChild(10)));
+		final Comparison comparison;
+		try {
+			comparison = comparator.compare(comparisonScope, BasicMonitor.toMonitor(subMonitor.newChild(10)),
+					createPreviewListener(input, comparisonScope, start, monitor));
+		} finally {
+			endPreview();
+		}
 
 		// Bug 458802: NPE when synchronizing SMV & CMV if comparison is empty
 		hookAdapters(input, comparison);
@@ -1392,9 +1424,10 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 			final IProgressMonitor monitor) {
 		if (!getControl().isDisposed() && !monitor.isCanceled()) { // guard against disposal
 			final EMFCompareConfiguration config = getCompareConfiguration();
+			final boolean preview = previewing;
 
-			// setup defaults
-			if (config.getEditingDomain() == null) {
+			// setup defaults. The resource sets are still being compared if we're only displaying a preview
+			if (config.getEditingDomain() == null && !preview) {
 				ICompareEditingDomain domain = EMFCompareEditingDomain.create(scope.getLeft(),
 						scope.getRight(), scope.getOrigin());
 				if (domain instanceof IDisposable) {
@@ -1455,6 +1488,12 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 
 			config.setComparisonAndScope(comparison, scope);
 
+			if (!preview) {
+				releaseMemoryAccount();
+				memoryAccount = ComparisonMemoryBudget.getShared().register(comparison, scope,
+						fDiffRelationshipComputer);
+			}
+
 			SWTUtil.safeAsyncExec(new Runnable() {
 				public void run() {
 					if (!getControl().isDisposed()) {
@@ -1482,7 +1521,9 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 						getNavigatable().refresh();
 
 						// Selects the first difference once the tree has been filled.
-						selectFirstDiffOrDisplayLabelViewer(comparison);
+						if (!preview) {
+							selectFirstDiffOrDisplayLabelViewer(comparison);
+						}
 					}
 				}
 			});
@@ -1498,7 +1539,7 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 				}
 			});
 
-			if (fDiffRelationshipComputer != null) {
+			if (fDiffRelationshipComputer != null && !preview) {
 				diffRelationshipComputer.schedule();
 			}
 
@@ -1531,6 +1572,7 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 				initToolbar(monitor);
 			} else {
 				resourceSetShouldBeDisposed = true;
+				final long start = System.currentTimeMillis();
 				SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
 
 				final ITypedElement left = input.getLeft();
@@ -1604,8 +1646,14 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 				EMFCompareBuilderConfigurator.createDefault().configure(comparisonBuilder);
 
 				SubMonitor subMonitorChild = SubMonitor.convert(subMonitor.newChild(14), 10);
-				final Comparison compareResult = comparisonBuilder.build().compare(scope,
-						BasicMonitor.toMonitor(subMonitorChild));
+				final Comparison compareResult;
+				try {
+					compareResult = comparisonBuilder.build().compare(scope,
+							BasicMonitor.toMonitor(subMonitorChild),
+							createPreviewListener(input, scope, start, monitor));
+				} finally {
+					endPreview();
+				}
 
 				SubMonitor finalSubMonitorChild = subMonitor.newChild(1);
 				finalSubMonitorChild.subTask("Updating view..."); //$NON-NLS-1$
@@ -1656,6 +1704,110 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 		inChange = false;
 	}
 
+	/**
+	 * Creates the listener that will display a snapshot of the comparison of the given scope as soon as its
+	 * differences are known, if computing them took longer than the
+	 * {@link EMFCompareUIPreferences#EDITOR_PROGRESSIVE_RESULTS_DELAY preferred delay}. This allows users to
+	 * start browsing the differences of large models while the requirements, equivalences and conflicts are
+	 * still being computed.
+	 * 
+	 * @param input
+	 *            The compare input we're computing the comparison of.
+	 * @param scope
+	 *            The scope being compared.
+	 * @param start
+	 *            Time at which we started computing the comparison of this input, in milliseconds.
+	 * @param monitor
+	 *            The monitor of the comparison.
+	 * @return The listener that will display the snapshot, <code>null</code> if previews are disabled.
+	 */
+	private IComparisonPhaseListener createPreviewListener(final ICompareInput input,
+			final IComparisonScope scope, final long start, final IProgressMonitor monitor) {
+		final int delay = preferenceStore.getInt(EMFCompareUIPreferences.EDITOR_PROGRESSIVE_RESULTS_DELAY);
+		if (delay <= 0) {
+			return null;
+		}
+		return new IComparisonPhaseListener() {
+			public void phaseCompleted(Comparison comparison, Phase phase) {
+				if (phase == Phase.DIFF && !monitor.isCanceled()
+						&& System.currentTimeMillis() - start >= delay
+						&& !comparison.getDifferences().isEmpty()) {
+					// The comparison will be modified as soon as we return, only display a copy of it
+					previewComparison(input, scope, createSnapshot(comparison), monitor);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Displays the given snapshot of a comparison that is still in progress. Both sides are read-only, and no
+	 * editing domain is created, until {@link #endPreview()} is called.
+	 * 
+	 * @param input
+	 *            The compare input we're computing the comparison of.
+	 * @param scope
+	 *            The scope being compared.
+	 * @param snapshot
+	 *            Copy of the comparison in progress.
+	 * @param monitor
+	 *            The monitor of the comparison.
+	 */
+	private void previewComparison(ICompareInput input, IComparisonScope scope, Comparison snapshot,
+			IProgressMonitor monitor) {
+		final EMFCompareConfiguration config = getCompareConfiguration();
+		if (!previewing) {
+			leftEditableBeforePreview = config.isLeftEditable();
+			rightEditableBeforePreview = config.isRightEditable();
+			config.setLeftEditable(false);
+			config.setRightEditable(false);
+			previewing = true;
+		}
+		hookAdapters(input, snapshot);
+		compareInputChanged(scope, snapshot, monitor);
+	}
+
+	/**
+	 * Copies the given comparison in progress. The matches and differences found so far are copied, but not
+	 * the compared models. The copy forwards to the equality helper of the original comparison so that
+	 * custom equality helpers keep being used while the snapshot is displayed.
+	 * 
+	 * @param comparison
+	 *            The comparison in progress.
+	 * @return The copy of that comparison.
+	 */
+	private static Comparison createSnapshot(Comparison comparison) {
+		final Comparison snapshot = EcoreUtil.copy(comparison);
+		snapshot.eAdapters().add(new SnapshotEqualityHelper(comparison.getEqualityHelper()));
+		return snapshot;
+	}
+
+	/**
+	 * Restores the editability of both sides if we've been displaying a snapshot of the comparison, so that
+	 * the actual comparison can replace it, and drops the listeners referencing that snapshot.
+	 */
+	private void endPreview() {
+		if (previewing) {
+			final EMFCompareConfiguration config = getCompareConfiguration();
+			if (previewMirroredListener != null) {
+				config.removePropertyChangeListener(previewMirroredListener);
+				previewMirroredListener = null;
+			}
+			config.setLeftEditable(leftEditableBeforePreview);
+			config.setRightEditable(rightEditableBeforePreview);
+			previewing = false;
+		}
+	}
+
+	/**
+	 * Stops accounting for the memory retained by the displayed comparison, if we were.
+	 */
+	private void releaseMemoryAccount() {
+		if (memoryAccount != null) {
+			memoryAccount.release();
+			memoryAccount = null;
+		}
+	}
+
 	/**
 	 * Hooks the adapters required for handling UI properly.
 	 * 
@@ -1697,18 +1849,25 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 		// Add a MergeData to handle status decorations on Diffs
 		final MergeDataImpl mergeData = new MergeDataImpl(compareConfiguration.isLeftEditable(),
 				compareConfiguration.isRightEditable(), compareConfiguration.isMirrored());
-		compareConfiguration.addPropertyChangeListener(
-				new ForwardingCompareConfiguration.MirroredPropertyChangeListener() {
-					@Override
-					protected void mirroredPropertyChanged(boolean mirrored) {
-						mergeData.setMirrored(mirrored);
-						WrappableTreeViewer viewer = getViewer();
-						viewer.refresh();
-
-						// So that tool bar actions can update.
-						viewer.fireSelectionChanged(new SelectionChangedEvent(viewer, viewer.getSelection()));
-					}
-				});
+		final IPropertyChangeListener mirroredListener;
+		mirroredListener = new ForwardingCompareConfiguration.MirroredPropertyChangeListener() {
+			@Override
+			protected void mirroredPropertyChanged(boolean mirrored) {
+				mergeData.setMirrored(mirrored);
+				WrappableTreeViewer viewer = getViewer();
+				viewer.refresh();
+
+				// So that tool bar actions can update.
+				viewer.fireSelectionChanged(new SelectionChangedEvent(viewer, viewer.getSelection()));
+			}
+		};
+		compareConfiguration.addPropertyChangeListener(mirroredListener);
+		if (previewing) {
+			if (previewMirroredListener != null) {
+				compareConfiguration.removePropertyChangeListener(previewMirroredListener);
+			}
+			previewMirroredListener = mirroredListener;
+		}
 		compareResult.eAdapters().add(mergeData);
 	}
 
@@ -1890,6 +2049,7 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 	protected void compareInputChangedToNull() {
 		stopJob(inputChangedTask);
 		stopJob(titleBuilderJob);
+		releaseMemoryAccount();
 
 		if (getCompareConfiguration() != null) {
 			if (resourceSetShouldBeDisposed) {
@@ -2333,4 +2493,64 @@ public class EMFCompareStructureMergeViewer extends AbstractStructuredViewerWrap
 			return titleArgument;
 		}
 	}
+
+	/**
+	 * Equality helper of the snapshots displayed while a comparison is in progress, forwarding to the
+	 * equality helper of the original comparison. Both comparisons reference the same models, so that the
+	 * original helper gives the same answers for the snapshot.
+	 */
+	private static class SnapshotEqualityHelper extends AdapterImpl implements IEqualityHelper {
+		/** The equality helper of the comparison in progress. */
+		private final IEqualityHelper delegate;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param delegate
+		 *            The equality helper of the comparison in progress.
+		 */
+		SnapshotEqualityHelper(IEqualityHelper delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#getTarget()
+		 */
+		@Override
+		public Comparison getTarget() {
+			return (Comparison)super.getTarget();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#isAdapterForType(java.lang.Object)
+		 */
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == IEqualityHelper.class;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.compare.utils.IEqualityHelper#matchingValues(java.lang.Object,
+		 *      java.lang.Object)
+		 */
+		public boolean matchingValues(Object object1, Object object2) {
+			return delegate.matchingValues(object1, object2);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.compare.utils.IEqualityHelper#matchingAttributeValues(java.lang.Object,
+		 *      java.lang.Object)
+		 */
+		public boolean matchingAttributeValues(Object object1, Object object2) {
+			return delegate.matchingAttributeValues(object1, object2);
+		}
+	}
 }
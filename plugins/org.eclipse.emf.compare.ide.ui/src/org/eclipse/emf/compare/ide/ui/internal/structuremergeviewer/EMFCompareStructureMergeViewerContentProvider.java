@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -137,6 +137,9 @@ public class EMFCompareStructureMergeViewerContentProvider extends AdapterFactor
 	 */
 	private static class EMFCompareStructureMergeViewerContentProviderDeferredAdapter implements IDeferredWorkbenchAdapter {
 
+		/** Number of children we publish to the viewer at once. */
+		private static final int PUBLICATION_CHUNK_SIZE = 32;
+
 		private final EMFCompareStructureMergeViewerContentProvider contentProvider;
 
 		public EMFCompareStructureMergeViewerContentProviderDeferredAdapter(
@@ -197,7 +200,18 @@ public class EMFCompareStructureMergeViewerContentProvider extends AdapterFactor
 				if (object instanceof CompareInputAdapter) {
 					Notifier target = ((Adapter)object).getTarget();
 					Object[] children = contentProvider.getChildren(target);
-					collector.add(children, monitor);
+					// Publish the children by chunks so that the first ones are displayed while we prepare
+					// the next, checking whether they have children from here rather than from the UI thread
+					int start = 0;
+					while (start < children.length && !monitor.isCanceled()) {
+						int end = Math.min(children.length, start + PUBLICATION_CHUNK_SIZE);
+						Object[] chunk = Arrays.copyOfRange(children, start, end);
+						for (Object child : chunk) {
+							contentProvider.hasChildren(child);
+						}
+						collector.add(chunk, monitor);
+						start = end;
+					}
 				}
 			}
 
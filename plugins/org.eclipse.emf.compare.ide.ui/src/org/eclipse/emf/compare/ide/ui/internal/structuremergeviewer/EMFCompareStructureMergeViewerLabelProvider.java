@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2019 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,16 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.ide.ui.internal.structuremergeviewer;
 
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.eclipse.compare.structuremergeviewer.ICompareInput;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.AdapterFactory;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.DifferenceState;
 import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIMessages;
 import org.eclipse.emf.compare.ide.ui.internal.util.StyledStringConverter;
 import org.eclipse.emf.compare.provider.EMFCompareEditPlugin;
@@ -32,6 +39,11 @@ import org.eclipse.ui.progress.PendingUpdateAdapter;
 
 /**
  * A specialized {@link AdapterFactoryLabelProvider.FontAndColorProvider} for the structure merge viewer.
+ * <p>
+ * Styled labels and images are only computed when the viewer asks for them, and kept in a bounded cache
+ * keyed by the element and the state of its difference. This cache is cleared whenever the adapter factory
+ * notifies us of a change.
+ * </p>
  * 
  * @author <a href="mailto:mikael.barbero@obeo.fr">Mikael Barbero</a>
  */
@@ -41,6 +53,17 @@ public class EMFCompareStructureMergeViewerLabelProvider extends AdapterFactoryL
 
 	private OverlayImageProvider overlayImageProvider;
 
+	/** Maximum number of labels and images we'll keep in our caches. */
+	private static final int LABEL_CACHE_SIZE = 4096;
+
+	/** The styled labels we've already computed. */
+	private final Cache<LabelKey, StyledString> styledTexts = CacheBuilder.newBuilder()
+			.maximumSize(LABEL_CACHE_SIZE).build();
+
+	/** The images we've already computed. */
+	private final Cache<LabelKey, Image> images = CacheBuilder.newBuilder().maximumSize(LABEL_CACHE_SIZE)
+			.build();
+
 	/**
 	 * Constructor calling super {@link #FontAndColorProvider(AdapterFactory, Viewer)}.
 	 * 
@@ -110,6 +133,28 @@ public class EMFCompareStructureMergeViewerLabelProvider extends AdapterFactoryL
 	 */
 	@Override
 	public Image getImage(Object element) {
+		if (element == null || element instanceof PendingUpdateAdapter) {
+			return computeImage(element);
+		}
+		final LabelKey key = new LabelKey(element);
+		Image ret = images.getIfPresent(key);
+		if (ret == null) {
+			ret = computeImage(element);
+			if (ret != null) {
+				images.put(key, ret);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the image of the given element.
+	 * 
+	 * @param element
+	 *            The element which image we need.
+	 * @return The image of the given element.
+	 */
+	private Image computeImage(Object element) {
 		final Image ret;
 		if (element instanceof ItemProviderAdapter) {
 			ret = super.getImage(element);
@@ -135,6 +180,28 @@ public class EMFCompareStructureMergeViewerLabelProvider extends AdapterFactoryL
 	 */
 	@Override
 	public StyledString getStyledText(Object element) {
+		if (element == null || element instanceof PendingUpdateAdapter) {
+			return computeStyledText(element);
+		}
+		final LabelKey key = new LabelKey(element);
+		StyledString ret = styledTexts.getIfPresent(key);
+		if (ret == null) {
+			ret = computeStyledText(element);
+			if (ret != null) {
+				styledTexts.put(key, ret);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes the styled text of the given element.
+	 * 
+	 * @param element
+	 *            The element which styled text we need.
+	 * @return The styled text of the given element.
+	 */
+	private StyledString computeStyledText(Object element) {
 		final StyledString ret;
 		if (element instanceof ItemProviderAdapter) {
 			ret = getStyledTextFromObject(element);
@@ -151,6 +218,40 @@ public class EMFCompareStructureMergeViewerLabelProvider extends AdapterFactoryL
 		return ret;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Any change may impact the labels of other elements than the notifier, we thus forget about all the
+	 * labels we've computed.
+	 * </p>
+	 * 
+	 * @see org.eclipse.emf.edit.ui.provider.AdapterFactoryLabelProvider#notifyChanged(org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void notifyChanged(Notification notification) {
+		clearCaches();
+		super.notifyChanged(notification);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.edit.ui.provider.AdapterFactoryLabelProvider#setAdapterFactory(org.eclipse.emf.common.notify.AdapterFactory)
+	 */
+	@Override
+	public void setAdapterFactory(AdapterFactory adapterFactory) {
+		clearCaches();
+		super.setAdapterFactory(adapterFactory);
+	}
+
+	/**
+	 * Forgets about all the labels and images we've computed.
+	 */
+	public void clearCaches() {
+		styledTexts.invalidateAll();
+		images.invalidateAll();
+	}
+
 	/**
 	 * Returns the styled text string of the given <code>object</code> by adapting it to
 	 * {@link IItemStyledLabelProvider} and asking for its
@@ -193,4 +294,59 @@ public class EMFCompareStructureMergeViewerLabelProvider extends AdapterFactoryL
 		}
 		return styledStringConverter;
 	}
+
+	/**
+	 * Key of our label caches: the element for which we computed a label, along with the state of its
+	 * difference if any.
+	 */
+	private static final class LabelKey {
+		/** The element for which we computed a label. */
+		private final Object element;
+
+		/** The state of the difference represented by this element, <code>null</code> if none. */
+		private final DifferenceState state;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param element
+		 *            The element for which we compute a label.
+		 */
+		LabelKey(Object element) {
+			this.element = element;
+			final Object data = EMFCompareStructureMergeViewer.getDataOfTreeNodeOfAdapter(element);
+			if (data instanceof Diff) {
+				this.state = ((Diff)data).getState();
+			} else {
+				this.state = null;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(element, state);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof LabelKey)) {
+				return false;
+			}
+			final LabelKey other = (LabelKey)obj;
+			return element.equals(other.element) && state == other.state;
+		}
+	}
 }
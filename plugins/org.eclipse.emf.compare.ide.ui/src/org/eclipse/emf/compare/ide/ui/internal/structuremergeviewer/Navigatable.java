@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2017 Obeo and others.
+ * Copyright (c) 2013, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,6 +55,9 @@ public class Navigatable implements INavigatable {
 
 	private final Map<Object, Object> allAncestors = Maps.newHashMap();
 
+	/** The index of each item we've met amongst the children of its ancestor. */
+	private final Map<Object, Integer> allIndexes = Maps.newHashMap();
+
 	public Navigatable(WrappableTreeViewer viewer,
 			EMFCompareStructureMergeViewerContentProvider contentProvider) {
 		this.viewer = viewer;
@@ -444,8 +447,9 @@ public class Navigatable implements INavigatable {
 			// We can already cache all the ancestors given we know the input in the ancestor of each of these
 			// children. This is also helpful for the case that the content provider doesn't return the
 			// correct parent, although we handle that case in getAncestor too.
-			for (Object child : children) {
-				allAncestors.put(child, input);
+			for (int i = 0; i < children.length; i++) {
+				allAncestors.put(children[i], input);
+				allIndexes.put(children[i], Integer.valueOf(i));
 			}
 		}
 		return children;
@@ -460,14 +464,9 @@ public class Navigatable implements INavigatable {
 	 */
 	private Object getPreviousSibling(Object item) {
 		Object[] siblings = getSiblings(item);
-		for (int i = 0; i < siblings.length; ++i) {
-			if (siblings[i] == item) {
-				if (--i >= 0) {
-					return siblings[i];
-				} else {
-					return null;
-				}
-			}
+		int index = indexOf(item, siblings);
+		if (index > 0) {
+			return siblings[index - 1];
 		}
 		return null;
 	}
@@ -481,16 +480,35 @@ public class Navigatable implements INavigatable {
 	 */
 	private Object getNextSibling(Object item) {
 		Object[] siblings = getSiblings(item);
+		int index = indexOf(item, siblings);
+		if (index >= 0 && index + 1 < siblings.length) {
+			return siblings[index + 1];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the index of the given item amongst its siblings. This relies on the indexes we've cached when
+	 * computing the {@link #getChildren(Object) children} of its ancestor, so that navigating through large
+	 * lists of siblings does not require to go through them all.
+	 * 
+	 * @param item
+	 *            the item which index we need.
+	 * @param siblings
+	 *            the siblings of this item, including itself.
+	 * @return the index of the given item in <code>siblings</code>, <code>-1</code> if it isn't in there.
+	 */
+	private int indexOf(Object item, Object[] siblings) {
+		Integer index = allIndexes.get(item);
+		if (index != null && index.intValue() < siblings.length && siblings[index.intValue()] == item) {
+			return index.intValue();
+		}
 		for (int i = 0; i < siblings.length; ++i) {
 			if (siblings[i] == item) {
-				if (++i < siblings.length) {
-					return siblings[i];
-				} else {
-					return null;
-				}
+				return i;
 			}
 		}
-		return null;
+		return -1;
 	}
 
 	/**
@@ -552,6 +570,7 @@ public class Navigatable implements INavigatable {
 		public void reset() {
 			allChildren.clear();
 			allAncestors.clear();
+			allIndexes.clear();
 			visitor = new AbstractTreeIterator<Object>(getFirstItem(), true) {
 				private static final long serialVersionUID = 1L;
 
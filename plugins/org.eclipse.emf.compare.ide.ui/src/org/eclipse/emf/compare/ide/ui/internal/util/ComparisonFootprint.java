@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An estimate of the heap retained by a comparison, split among the components of that comparison. This is
+ * computed from the number of objects in each component rather than measured, and is only meant to tell
+ * which comparisons and caches weigh the most.
+ *
+ * @see ComparisonMemoryBudget
+ */
+public final class ComparisonFootprint {
+	/** The estimated size of each component, in bytes. */
+	private final Map<Component, Long> sizes;
+
+	/**
+	 * Creates a footprint.
+	 *
+	 * @param sizes
+	 *            The estimated size of each component, in bytes. Missing components are considered empty.
+	 */
+	ComparisonFootprint(Map<Component, Long> sizes) {
+		this.sizes = new EnumMap<Component, Long>(Component.class);
+		this.sizes.putAll(sizes);
+	}
+
+	/**
+	 * Returns the estimated size of the given component.
+	 *
+	 * @param component
+	 *            The component which size we need.
+	 * @return The estimated size of that component, in bytes.
+	 */
+	public long get(Component component) {
+		final Long size = sizes.get(component);
+		if (size == null) {
+			return 0L;
+		}
+		return size.longValue();
+	}
+
+	/**
+	 * Returns the estimated size of the whole comparison.
+	 *
+	 * @return The sum of the estimated sizes of all components, in bytes.
+	 */
+	public long getTotal() {
+		long total = 0L;
+		for (Long size : sizes.values()) {
+			total += size.longValue();
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the estimated size of the components that can be evicted.
+	 *
+	 * @return The sum of the estimated sizes of the {@link Component#isEvictable() evictable} components, in
+	 *         bytes.
+	 */
+	public long getEvictable() {
+		long evictable = 0L;
+		for (Map.Entry<Component, Long> entry : sizes.entrySet()) {
+			if (entry.getKey().isEvictable()) {
+				evictable += entry.getValue().longValue();
+			}
+		}
+		return evictable;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ComparisonFootprint[total=" + getTotal() + ", " + sizes + ']'; //$NON-NLS-1$
+	}
+
+	/**
+	 * The components of a comparison which retained size we estimate.
+	 */
+	public static enum Component {
+		/** The elements of the compared resources. */
+		MODELS(false),
+
+		/**
+		 * The elements of the resources that were loaded in the compared resource sets without being part of
+		 * the comparison, such as resources minimized out of the logical model or loaded afterwards to
+		 * resolve proxies. These can be unloaded and will be reloaded if needed.
+		 */
+		UNUSED_RESOURCES(true),
+
+		/** The matches, differences, conflicts and equivalences of the comparison itself. */
+		COMPARISON(false),
+
+		/** The cross referencers installed on the comparison. */
+		CROSS_REFERENCERS(false),
+
+		/** The relationships between differences cached to speed up the merge and its previews. */
+		RELATIONSHIP_CACHE(true),
+
+		/** The URIs of the compared elements cached by the equality helper of the comparison. */
+		URI_CACHE(true),
+
+		/** The labels of the comparison's elements cached by the item providers. */
+		LABEL_CACHE(true);
+
+		/** Whether this component can be evicted from memory. */
+		private final boolean evictable;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param evictable
+		 *            Whether this component can be evicted from memory.
+		 */
+		Component(boolean evictable) {
+			this.evictable = evictable;
+		}
+
+		/**
+		 * Tells whether this component can be evicted from memory, to be recomputed or reloaded when needed.
+		 *
+		 * @return <code>true</code> if this component can be evicted.
+		 */
+		public boolean isEvictable() {
+			return evictable;
+		}
+	}
+}
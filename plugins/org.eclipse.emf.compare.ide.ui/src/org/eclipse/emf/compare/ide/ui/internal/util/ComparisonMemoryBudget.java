@@ -0,0 +1,925 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.MatchResource;
+import org.eclipse.emf.compare.ReferenceChange;
+import org.eclipse.emf.compare.ide.internal.utils.NotLoadingResourceSet;
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences;
+import org.eclipse.emf.compare.ide.ui.internal.util.ComparisonFootprint.Component;
+import org.eclipse.emf.compare.ide.ui.internal.util.SharedComputationExecutor.Priority;
+import org.eclipse.emf.compare.merge.CachingDiffRelationshipComputer;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
+import org.eclipse.emf.compare.rcp.ui.internal.util.SWTUtil;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.compare.utils.EqualityHelper;
+import org.eclipse.emf.compare.utils.IEqualityHelper;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Keeps track of the memory retained by the comparisons opened in the IDE, and bounds it to a budget.
+ * <p>
+ * Each opened comparison is {@link #register(Comparison, IComparisonScope, CachingDiffRelationshipComputer)
+ * registered} with this budget, which can then {@link Account#getFootprint() estimate} the size of its
+ * models, of the comparison itself and of its caches. Whenever the estimated footprint of all comparisons
+ * exceeds the budget, or when the heap is still above the same share of its maximum size after a garbage
+ * collection, the caches of the least recently used comparisons are evicted first: labels, URIs, then the
+ * relationships between differences. If that is not enough, we unload the resources that were loaded in the
+ * compared resource sets without being part of the comparison, and remove them from their resource set so
+ * that the proxies to their elements load them again when resolved. All of these are recomputed or reloaded
+ * when needed.
+ * </p>
+ * <p>
+ * Only the resources that can be loaded again are unloaded : those which URI exists, or which storage is
+ * known to their {@link NotLoadingResourceSet}. These must also be unmodified, which is why we start
+ * tracking the modifications of the resources that are not part of a comparison as soon as it is registered,
+ * before anything is merged. Resources which modifications we don't track are kept.
+ * </p>
+ * <p>
+ * Evictions modify the compared resource sets and the caches read by the viewers: they are run through the
+ * eviction executor of this budget, which for the shared instance is the UI thread. The resources of the
+ * compared resource sets are listed through that same executor, then estimating the footprint of the
+ * comparisons walks the content of these resources through the estimation executor of this budget, in the
+ * background for the shared instance.
+ * </p>
+ */
+public final class ComparisonMemoryBudget {
+	/** Default share of the maximum heap size the comparisons can use, in percent. */
+	public static final int DEFAULT_HEAP_PERCENTAGE = 70;
+
+	/** Estimated size of a model element, its feature values and adapters included, in bytes. */
+	private static final long MODEL_ELEMENT_BYTES = 200L;
+
+	/** Estimated size of an element of the comparison (match, difference, conflict...), in bytes. */
+	private static final long COMPARISON_ELEMENT_BYTES = 160L;
+
+	/** Estimated size of the entries a cross referencer keeps for each element of the comparison. */
+	private static final long CROSS_REFERENCE_BYTES = 120L;
+
+	/** Estimated size of a cached relationship between differences, in bytes. */
+	private static final long RELATIONSHIP_BYTES = 96L;
+
+	/** Estimated size of a cached URI, in bytes. */
+	private static final long URI_BYTES = 160L;
+
+	/** Estimated size of a cached label, in bytes. */
+	private static final long LABEL_BYTES = 240L;
+
+	/** Order in which we evict components, those that are cheaper to recompute first. */
+	private static final List<Component> EVICTION_ORDER = ImmutableList.of(Component.LABEL_CACHE,
+			Component.URI_CACHE, Component.RELATIONSHIP_CACHE, Component.UNUSED_RESOURCES);
+
+	/** Sorts accounts from the least to the most recently used. */
+	private static final Comparator<Account> LEAST_RECENTLY_USED = new Comparator<Account>() {
+		public int compare(Account o1, Account o2) {
+			return Long.compare(o1.lastAccess, o2.lastAccess);
+		}
+	};
+
+	/** The shared instance, lazily created. */
+	private static ComparisonMemoryBudget shared;
+
+	/** Number of bytes the registered comparisons can use. */
+	private final long budget;
+
+	/** The executor running our estimations of the footprint of the registered comparisons. */
+	private final Executor estimationExecutor;
+
+	/** The executor running our evictions. */
+	private final Executor evictionExecutor;
+
+	/** The accounts of the registered comparisons. */
+	private final List<Account> accounts;
+
+	/** Used to order accounts by last access. */
+	private final AtomicLong accessSequence;
+
+	/** Estimated number of bytes evicted so far. */
+	private final AtomicLong evictedBytes;
+
+	/** The heap pools on which we've set a collection usage threshold. */
+	private final List<MemoryPoolMXBean> watchedPools;
+
+	/** Listens to the heap staying above its threshold after a collection, <code>null</code> if none. */
+	private NotificationListener heapListener;
+
+	/**
+	 * Creates a memory budget estimating the footprint of the registered comparisons on the thread that
+	 * registers them.
+	 *
+	 * @param budget
+	 *            Number of bytes the registered comparisons can use. Must be positive.
+	 * @param evictionExecutor
+	 *            The executor running our evictions. Must run them on the thread that owns the compared
+	 *            resource sets.
+	 */
+	public ComparisonMemoryBudget(long budget, Executor evictionExecutor) {
+		this(budget, MoreExecutors.directExecutor(), evictionExecutor);
+	}
+
+	/**
+	 * Creates a memory budget.
+	 *
+	 * @param budget
+	 *            Number of bytes the registered comparisons can use. Must be positive.
+	 * @param estimationExecutor
+	 *            The executor running our estimations of the footprint of the registered comparisons.
+	 * @param evictionExecutor
+	 *            The executor running our evictions. Must run them on the thread that owns the compared
+	 *            resource sets.
+	 */
+	public ComparisonMemoryBudget(long budget, Executor estimationExecutor, Executor evictionExecutor) {
+		checkArgument(budget > 0);
+		this.budget = budget;
+		this.estimationExecutor = checkNotNull(estimationExecutor);
+		this.evictionExecutor = checkNotNull(evictionExecutor);
+		this.accounts = new CopyOnWriteArrayList<Account>();
+		this.accessSequence = new AtomicLong();
+		this.evictedBytes = new AtomicLong();
+		this.watchedPools = new ArrayList<MemoryPoolMXBean>();
+	}
+
+	/**
+	 * Returns the budget shared by all of the comparisons opened in the IDE, creating it according to the
+	 * preferences if needed.
+	 *
+	 * @return The shared budget.
+	 */
+	public static synchronized ComparisonMemoryBudget getShared() {
+		if (shared == null) {
+			int percentage = DEFAULT_HEAP_PERCENTAGE;
+			final EMFCompareIDEUIPlugin plugin = EMFCompareIDEUIPlugin.getDefault();
+			if (plugin != null) {
+				percentage = plugin.getPreferenceStore()
+						.getInt(EMFCompareUIPreferences.MEMORY_BUDGET_PREFERENCE);
+			}
+			final Executor backgroundExecutor = new Executor() {
+				public void execute(Runnable command) {
+					SharedComputationExecutor.getShared().execute(command, Priority.LOW, false);
+				}
+			};
+			final Executor uiExecutor = new Executor() {
+				public void execute(Runnable command) {
+					SWTUtil.safeAsyncExec(command);
+				}
+			};
+			if (percentage > 0) {
+				shared = new ComparisonMemoryBudget(Runtime.getRuntime().maxMemory() / 100 * percentage,
+						backgroundExecutor, uiExecutor);
+				shared.watchHeap(percentage);
+			} else {
+				shared = new ComparisonMemoryBudget(Long.MAX_VALUE, backgroundExecutor, uiExecutor);
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Stops watching the heap for the shared budget, if it has been created.
+	 */
+	public static synchronized void disposeShared() {
+		if (shared != null) {
+			shared.dispose();
+			shared = null;
+		}
+	}
+
+	/**
+	 * Starts accounting for the given comparison. The resources of the registered comparisons are listed on
+	 * our eviction executor, their footprint is estimated on our estimation executor, then the budget is
+	 * enforced on our eviction executor.
+	 *
+	 * @param comparison
+	 *            The comparison to account for.
+	 * @param scope
+	 *            The scope of this comparison.
+	 * @param relationshipComputer
+	 *            The computer caching the relationships between the differences of this comparison, may be
+	 *            <code>null</code>.
+	 * @return The account of this comparison, which should be {@link Account#release() released} when the
+	 *         comparison is closed.
+	 */
+	public Account register(Comparison comparison, IComparisonScope scope,
+			CachingDiffRelationshipComputer relationshipComputer) {
+		final Account account = new Account(checkNotNull(comparison), checkNotNull(scope),
+				relationshipComputer);
+		accounts.add(account);
+		evictLater(0L);
+		return account;
+	}
+
+	/**
+	 * Returns the number of bytes the registered comparisons can use.
+	 *
+	 * @return The budget, in bytes.
+	 */
+	public long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Returns the accounts of the comparisons currently registered.
+	 *
+	 * @return The accounts of the registered comparisons.
+	 */
+	public List<Account> getAccounts() {
+		return ImmutableList.copyOf(accounts);
+	}
+
+	/**
+	 * Returns the estimated number of bytes we've evicted so far.
+	 *
+	 * @return The estimated number of evicted bytes.
+	 */
+	public long getEvictedBytes() {
+		return evictedBytes.get();
+	}
+
+	/**
+	 * Estimates the memory retained by all registered comparisons. This should be called from the thread
+	 * owning the compared resource sets.
+	 *
+	 * @return The sum of the estimated footprints of the registered comparisons, in bytes.
+	 * @see Account#getFootprint()
+	 */
+	public long getEstimatedFootprint() {
+		long total = 0L;
+		for (Account account : accounts) {
+			total += account.getFootprint().getTotal();
+		}
+		return total;
+	}
+
+	/**
+	 * Evicts the caches, then the unused resources, of the least recently used comparisons first, until we've
+	 * evicted at least the given number of bytes or there is nothing left to evict. This should be called
+	 * from the thread owning the compared resource sets.
+	 *
+	 * @param bytesToFree
+	 *            Estimated number of bytes we need to free.
+	 * @return The estimated number of bytes that were evicted.
+	 */
+	public long evict(long bytesToFree) {
+		final List<Account> leastRecentlyUsed = new ArrayList<Account>(accounts);
+		Collections.sort(leastRecentlyUsed, LEAST_RECENTLY_USED);
+		long freed = 0L;
+		for (int i = 0; i < EVICTION_ORDER.size() && freed < bytesToFree; i++) {
+			final Component component = EVICTION_ORDER.get(i);
+			final Iterator<Account> accountIterator = leastRecentlyUsed.iterator();
+			while (accountIterator.hasNext() && freed < bytesToFree) {
+				freed += accountIterator.next().evict(component);
+			}
+		}
+		evictedBytes.addAndGet(freed);
+		return freed;
+	}
+
+	/**
+	 * Sets a collection usage threshold on the heap pools that support it so that we're told when they are
+	 * still above the given share of their maximum size after a garbage collection, at which point we'll
+	 * evict what we can. We leave alone the pools on which someone else already set a threshold.
+	 *
+	 * @param percentage
+	 *            Share of the maximum size of the heap pools above which we need to evict, in percent.
+	 */
+	private void watchHeap(final int percentage) {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+					&& pool.getCollectionUsageThreshold() == 0L) {
+				final long max = pool.getUsage().getMax();
+				if (max > 0L) {
+					pool.setCollectionUsageThreshold(max / 100 * percentage);
+					watchedPools.add(pool);
+				}
+			}
+		}
+		if (!watchedPools.isEmpty()) {
+			heapListener = new NotificationListener() {
+				public void handleNotification(Notification notification, Object handback) {
+					if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED
+							.equals(notification.getType())) {
+						final MemoryUsage usage = MemoryNotificationInfo
+								.from((CompositeData)notification.getUserData()).getUsage();
+						final long overshoot = usage.getUsed() - usage.getMax() / 100 * percentage;
+						if (overshoot > 0L) {
+							evictLater(overshoot);
+						}
+					}
+				}
+			};
+			((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(heapListener,
+					null, null);
+		}
+	}
+
+	/**
+	 * Lists the resources of the registered comparisons through our eviction executor, estimates their
+	 * footprint through our estimation executor, then evicts what is necessary for them to fit in our budget
+	 * through our eviction executor.
+	 *
+	 * @param minimumBytesToFree
+	 *            Estimated number of bytes we need to free even if the registered comparisons fit in our
+	 *            budget.
+	 */
+	private void evictLater(final long minimumBytesToFree) {
+		evictionExecutor.execute(new Runnable() {
+			public void run() {
+				for (Account account : accounts) {
+					account.listResources();
+				}
+				estimateLater(minimumBytesToFree);
+			}
+		});
+	}
+
+	/**
+	 * Estimates the footprint of the registered comparisons from the resources they last listed through our
+	 * estimation executor, then evicts what is necessary for them to fit in our budget through our eviction
+	 * executor.
+	 *
+	 * @param minimumBytesToFree
+	 *            Estimated number of bytes we need to free even if the registered comparisons fit in our
+	 *            budget.
+	 */
+	private void estimateLater(final long minimumBytesToFree) {
+		estimationExecutor.execute(new Runnable() {
+			public void run() {
+				long overshoot = -budget;
+				try {
+					for (Account account : accounts) {
+						overshoot += account.estimateFootprint().getTotal();
+					}
+				} catch (ConcurrentModificationException e) {
+					// A model was modified while we walked it, we'll estimate again on the next registration
+					overshoot = 0L;
+				}
+				final long bytesToFree = Math.max(minimumBytesToFree, overshoot);
+				if (bytesToFree > 0L) {
+					evictionExecutor.execute(new Runnable() {
+						public void run() {
+							evict(bytesToFree);
+						}
+					});
+				}
+			}
+		});
+	}
+
+	/**
+	 * Stops watching the heap and forgets about all registered comparisons.
+	 */
+	private void dispose() {
+		if (heapListener != null) {
+			try {
+				((NotificationEmitter)ManagementFactory.getMemoryMXBean())
+						.removeNotificationListener(heapListener);
+			} catch (ListenerNotFoundException e) {
+				// already removed
+			}
+			heapListener = null;
+		}
+		for (MemoryPoolMXBean pool : watchedPools) {
+			pool.setCollectionUsageThreshold(0L);
+		}
+		watchedPools.clear();
+		accounts.clear();
+	}
+
+	/**
+	 * Accounts for the memory retained by one of the comparisons registered with this budget.
+	 */
+	public final class Account {
+		/** The comparison we account for. */
+		private final Comparison comparison;
+
+		/** The scope of {@link #comparison}. */
+		private final IComparisonScope scope;
+
+		/** The computer caching the relationships between differences, may be <code>null</code>. */
+		private final CachingDiffRelationshipComputer relationshipComputer;
+
+		/** Number of elements counted in each loaded resource, so that we only walk each resource once. */
+		private final Map<Resource, Long> elementCounts;
+
+		/**
+		 * The compared and unused resources as last listed on the thread owning them, keyed by the component
+		 * they account for. <code>null</code> until first listed.
+		 */
+		private volatile Map<Component, Set<Resource>> listedResources;
+
+		/**
+		 * Whether we track the modifications of the resources of the compared resource sets. Only accessed
+		 * from the thread owning these resource sets.
+		 */
+		private boolean tracking;
+
+		/** Number of elements of the comparison, <code>-1</code> until counted. */
+		private volatile long comparisonElements;
+
+		/** Sequence number of the last access to this comparison. */
+		private volatile long lastAccess;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param comparison
+		 *            The comparison we account for.
+		 * @param scope
+		 *            The scope of that comparison.
+		 * @param relationshipComputer
+		 *            The computer caching the relationships between differences, may be <code>null</code>.
+		 */
+		Account(Comparison comparison, IComparisonScope scope,
+				CachingDiffRelationshipComputer relationshipComputer) {
+			this.comparison = comparison;
+			this.scope = scope;
+			this.relationshipComputer = relationshipComputer;
+			this.elementCounts = Collections.synchronizedMap(new WeakHashMap<Resource, Long>());
+			this.comparisonElements = -1L;
+			touch();
+		}
+
+		/**
+		 * Returns the comparison we account for.
+		 *
+		 * @return The comparison we account for.
+		 */
+		public Comparison getComparison() {
+			return comparison;
+		}
+
+		/**
+		 * Records that the comparison has just been used, so that its caches are evicted after those of the
+		 * comparisons that haven't been used for longer.
+		 */
+		public void touch() {
+			lastAccess = accessSequence.incrementAndGet();
+		}
+
+		/**
+		 * Stops accounting for this comparison.
+		 */
+		public void release() {
+			accounts.remove(this);
+		}
+
+		/**
+		 * Estimates the memory retained by this comparison. This lists the resources of the compared
+		 * resource sets and should thus be called from the thread owning them. The first estimation also
+		 * walks the compared models.
+		 *
+		 * @return The estimated footprint of this comparison.
+		 */
+		public ComparisonFootprint getFootprint() {
+			listResources();
+			return estimateFootprint();
+		}
+
+		/**
+		 * Lists the compared and unused resources of this comparison, which the next estimations will walk.
+		 * This must be called from the thread owning the compared resource sets.
+		 */
+		void listResources() {
+			if (!tracking) {
+				trackModifications();
+				tracking = true;
+			}
+			final Set<Resource> compared = getComparedResources();
+			final Map<Component, Set<Resource>> resources = new EnumMap<Component, Set<Resource>>(
+					Component.class);
+			resources.put(Component.MODELS, compared);
+			resources.put(Component.UNUSED_RESOURCES, getUnusedResources(compared));
+			listedResources = resources;
+		}
+
+		/**
+		 * Estimates the memory retained by this comparison from the resources we last listed. This can be
+		 * called from any thread.
+		 *
+		 * @return The estimated footprint of this comparison.
+		 */
+		ComparisonFootprint estimateFootprint() {
+			final Map<Component, Long> sizes = new EnumMap<Component, Long>(Component.class);
+			for (Component component : Component.values()) {
+				sizes.put(component, Long.valueOf(estimate(component)));
+			}
+			return new ComparisonFootprint(sizes);
+		}
+
+		/**
+		 * Estimates the memory retained by the given component of this comparison.
+		 *
+		 * @param component
+		 *            The component to estimate.
+		 * @return The estimated size of this component, in bytes.
+		 */
+		private long estimate(Component component) {
+			final long size;
+			switch (component) {
+				case MODELS:
+				case UNUSED_RESOURCES:
+					final Map<Component, Set<Resource>> resources = listedResources;
+					if (resources != null) {
+						size = countElements(resources.get(component)) * MODEL_ELEMENT_BYTES;
+					} else {
+						size = 0L;
+					}
+					break;
+				case COMPARISON:
+					size = countComparisonElements() * COMPARISON_ELEMENT_BYTES;
+					break;
+				case CROSS_REFERENCERS:
+					size = countCrossReferencers() * countComparisonElements() * CROSS_REFERENCE_BYTES;
+					break;
+				case RELATIONSHIP_CACHE:
+					if (relationshipComputer != null) {
+						size = relationshipComputer.getCacheSize() * RELATIONSHIP_BYTES;
+					} else {
+						size = 0L;
+					}
+					break;
+				case URI_CACHE:
+					final Object equalityHelper = EcoreUtil.getExistingAdapter(comparison,
+							IEqualityHelper.class);
+					if (equalityHelper instanceof EqualityHelper) {
+						size = ((EqualityHelper)equalityHelper).getCache().size() * URI_BYTES;
+					} else {
+						size = 0L;
+					}
+					break;
+				case LABEL_CACHE:
+					final Object labelCache = EcoreUtil.getExistingAdapter(comparison, LabelCache.class);
+					if (labelCache instanceof LabelCache) {
+						size = ((LabelCache)labelCache).size() * LABEL_BYTES;
+					} else {
+						size = 0L;
+					}
+					break;
+				default:
+					size = 0L;
+			}
+			return size;
+		}
+
+		/**
+		 * Evicts the given component of this comparison if it can be.
+		 *
+		 * @param component
+		 *            The component to evict.
+		 * @return The estimated number of bytes that were evicted.
+		 */
+		long evict(Component component) {
+			if (!component.isEvictable()) {
+				return 0L;
+			}
+			Set<Resource> unused = Collections.emptySet();
+			final long size;
+			if (component == Component.UNUSED_RESOURCES) {
+				// We're on the thread owning the resources, don't rely on a stale listing
+				unused = getUnusedResources(getComparedResources());
+				size = countElements(unused) * MODEL_ELEMENT_BYTES;
+			} else {
+				size = estimate(component);
+			}
+			if (size == 0L) {
+				return 0L;
+			}
+			switch (component) {
+				case UNUSED_RESOURCES:
+					for (Resource resource : unused) {
+						unload(resource);
+					}
+					break;
+				case RELATIONSHIP_CACHE:
+					relationshipComputer.invalidate();
+					break;
+				case URI_CACHE:
+					((EqualityHelper)EcoreUtil.getExistingAdapter(comparison, IEqualityHelper.class))
+							.getCache().invalidateAll();
+					break;
+				case LABEL_CACHE:
+					((LabelCache)EcoreUtil.getExistingAdapter(comparison, LabelCache.class)).clear();
+					break;
+				default:
+					// not evictable
+			}
+			return size;
+		}
+
+		/**
+		 * Unloads the given resource and removes it from its resource set. The elements of an unloaded
+		 * resource become proxies, which can only be resolved if their resource set loads this resource
+		 * again instead of returning the unloaded instance.
+		 *
+		 * @param resource
+		 *            The resource to unload.
+		 */
+		private void unload(Resource resource) {
+			final ResourceSet resourceSet = resource.getResourceSet();
+			resource.unload();
+			elementCounts.remove(resource);
+			if (resourceSet != null) {
+				resourceSet.getResources().remove(resource);
+				if (resourceSet instanceof ResourceSetImpl) {
+					final Map<URI, Resource> uriResourceMap = ((ResourceSetImpl)resourceSet)
+							.getURIResourceMap();
+					if (uriResourceMap != null) {
+						uriResourceMap.values().removeAll(Collections.singleton(resource));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the loaded resources that are part of this comparison. This includes the resources
+		 * containing the values of the reference changes, which must not be unloaded either.
+		 *
+		 * @return The resources that are part of this comparison.
+		 */
+		private Set<Resource> getComparedResources() {
+			final Set<Resource> compared = Sets.newLinkedHashSet();
+			for (MatchResource matchResource : comparison.getMatchedResources()) {
+				addIfLoaded(compared, matchResource.getLeft());
+				addIfLoaded(compared, matchResource.getRight());
+				addIfLoaded(compared, matchResource.getOrigin());
+			}
+			for (Diff diff : comparison.getDifferences()) {
+				if (diff instanceof ReferenceChange && ((ReferenceChange)diff).getValue() != null) {
+					addIfLoaded(compared, ((ReferenceChange)diff).getValue().eResource());
+				}
+			}
+			for (Notifier notifier : getScopeNotifiers()) {
+				if (notifier instanceof Resource) {
+					addIfLoaded(compared, (Resource)notifier);
+				} else if (notifier instanceof EObject) {
+					addIfLoaded(compared, ((EObject)notifier).eResource());
+				}
+			}
+			return compared;
+		}
+
+		/**
+		 * Returns the loaded resources of the compared resource sets that are not part of this comparison
+		 * and that can be unloaded : we've tracked their modifications, they have none, and they can be
+		 * loaded again.
+		 *
+		 * @param compared
+		 *            The resources that are part of this comparison.
+		 * @return The resources that can be unloaded.
+		 */
+		private Set<Resource> getUnusedResources(Set<Resource> compared) {
+			final Set<Resource> unused = Sets.newLinkedHashSet();
+			for (Notifier notifier : getScopeNotifiers()) {
+				if (notifier instanceof ResourceSet) {
+					for (Resource resource : ((ResourceSet)notifier).getResources()) {
+						if (resource.isLoaded() && !compared.contains(resource)
+								&& resource.isTrackingModification() && !resource.isModified()
+								&& isReloadable(resource)) {
+							unused.add(resource);
+						}
+					}
+				}
+			}
+			return unused;
+		}
+
+		/**
+		 * Tells whether the given resource can be loaded again once unloaded, either from its URI or from
+		 * the storage its {@link NotLoadingResourceSet} knows for it.
+		 *
+		 * @param resource
+		 *            The resource.
+		 * @return <code>true</code> if the proxies to the elements of this resource can be resolved after we
+		 *         unload it.
+		 */
+		private boolean isReloadable(Resource resource) {
+			final ResourceSet resourceSet = resource.getResourceSet();
+			if (resource.getURI() == null || resourceSet == null) {
+				return false;
+			}
+			final URIConverter uriConverter = resourceSet.getURIConverter();
+			final URI uri = uriConverter.normalize(resource.getURI());
+			if (resourceSet instanceof NotLoadingResourceSet
+					&& ((NotLoadingResourceSet)resourceSet).getStorageToURI().containsKey(uri)) {
+				return true;
+			}
+			return uriConverter.exists(uri, null);
+		}
+
+		/**
+		 * Starts tracking the modifications of the resources of the compared resource sets that are not
+		 * part of this comparison, along with those of the resources that will be added to these resource
+		 * sets, so that we know which of them can be unloaded without losing anything.
+		 */
+		private void trackModifications() {
+			final Set<Resource> compared = getComparedResources();
+			for (Notifier notifier : getScopeNotifiers()) {
+				if (notifier instanceof ResourceSet) {
+					final ResourceSet resourceSet = (ResourceSet)notifier;
+					if (EcoreUtil.getExistingAdapter(resourceSet, ModificationTracker.class) == null) {
+						resourceSet.eAdapters().add(new ModificationTracker());
+					}
+					for (Resource resource : resourceSet.getResources()) {
+						if (!compared.contains(resource)) {
+							ModificationTracker.track(resource);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the non-null notifiers of our scope.
+		 *
+		 * @return The compared notifiers.
+		 */
+		private List<Notifier> getScopeNotifiers() {
+			final List<Notifier> notifiers = new ArrayList<Notifier>(3);
+			for (Notifier notifier : new Notifier[] {scope.getLeft(), scope.getRight(),
+					scope.getOrigin(), }) {
+				if (notifier != null) {
+					notifiers.add(notifier);
+				}
+			}
+			return notifiers;
+		}
+
+		/**
+		 * Counts the elements of the given resources, reusing the counts of the resources we've already
+		 * walked through.
+		 *
+		 * @param resources
+		 *            The resources which elements we need to count.
+		 * @return The number of elements in these resources.
+		 */
+		private long countElements(Set<Resource> resources) {
+			long count = 0L;
+			for (Resource resource : resources) {
+				Long resourceCount = elementCounts.get(resource);
+				if (resourceCount == null) {
+					long elements = 0L;
+					// Don't resolve containment proxies, that would load resources from this thread
+					final Iterator<EObject> contents = EcoreUtil.getAllProperContents(resource, false);
+					while (contents.hasNext()) {
+						contents.next();
+						elements++;
+					}
+					resourceCount = Long.valueOf(elements);
+					elementCounts.put(resource, resourceCount);
+				}
+				count += resourceCount.longValue();
+			}
+			return count;
+		}
+
+		/**
+		 * Counts the elements of the comparison, only walking through it the first time.
+		 *
+		 * @return The number of elements of the comparison.
+		 */
+		private long countComparisonElements() {
+			if (comparisonElements < 0L) {
+				long elements = 1L;
+				final Iterator<EObject> contents = comparison.eAllContents();
+				while (contents.hasNext()) {
+					contents.next();
+					elements++;
+				}
+				comparisonElements = elements;
+			}
+			return comparisonElements;
+		}
+
+		/**
+		 * Counts the cross referencers installed on the comparison.
+		 *
+		 * @return The number of cross referencers of the comparison.
+		 */
+		private long countCrossReferencers() {
+			long count = 0L;
+			for (Adapter adapter : comparison.eAdapters()) {
+				if (adapter instanceof ECrossReferenceAdapter) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Adds the given resource to the given set if it is loaded.
+		 *
+		 * @param resources
+		 *            The set to add to.
+		 * @param resource
+		 *            The resource to add, may be <code>null</code>.
+		 */
+		private void addIfLoaded(Set<Resource> resources, Resource resource) {
+			if (resource != null && resource.isLoaded()) {
+				resources.add(resource);
+			}
+		}
+	}
+
+	/**
+	 * Tracks the modifications of the resources added to the resource set it is installed on.
+	 */
+	private static final class ModificationTracker extends AdapterImpl {
+		/**
+		 * Starts tracking the modifications of the given resource if we aren't yet.
+		 *
+		 * @param resource
+		 *            The resource which modifications we need to track.
+		 */
+		static void track(Resource resource) {
+			if (!resource.isTrackingModification()) {
+				resource.setTrackingModification(true);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#notifyChanged(org.eclipse.emf.common.notify.Notification)
+		 */
+		@Override
+		public void notifyChanged(org.eclipse.emf.common.notify.Notification msg) {
+			if (msg.getFeatureID(ResourceSet.class) != ResourceSet.RESOURCE_SET__RESOURCES) {
+				return;
+			}
+			if (msg.getEventType() == org.eclipse.emf.common.notify.Notification.ADD
+					&& msg.getNewValue() instanceof Resource) {
+				track((Resource)msg.getNewValue());
+			} else if (msg.getEventType() == org.eclipse.emf.common.notify.Notification.ADD_MANY) {
+				for (Object added : (Collection<?>)msg.getNewValue()) {
+					if (added instanceof Resource) {
+						track((Resource)added);
+					}
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#isAdapterForType(java.lang.Object)
+		 */
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == ModificationTracker.class;
+		}
+	}
+}
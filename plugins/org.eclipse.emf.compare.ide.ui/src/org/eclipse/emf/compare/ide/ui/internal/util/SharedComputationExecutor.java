@@ -0,0 +1,713 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.ui.internal.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.AbstractListeningExecutorService;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.compare.ide.ui.internal.EMFCompareIDEUIPlugin;
+import org.eclipse.emf.compare.ide.ui.internal.preferences.EMFCompareUIPreferences;
+import org.eclipse.jface.preference.IPreferenceStore;
+
+/**
+ * A long-lived executor shared by all of the EMF Compare computations (model resolution, resource unloading,
+ * viewer jobs...) so that we do not create and tear down thread pools for each of them.
+ * <p>
+ * The tasks are queued according to their {@link Priority}, then in submission order. The queue is bounded:
+ * when it is full, the submitting thread waits for room in the queue, which slows producers down instead of
+ * accumulating tasks in memory. Tasks submitted by tasks of this executor (such as the loading of a resource
+ * triggered while resolving the proxies of another) are queued regardless of that bound: blocking the worker
+ * threads on the queue they are supposed to drain could dead-lock the executor. Submitted tasks are never run
+ * by their submitter.
+ * </p>
+ * <p>
+ * Tasks flagged as I/O-bound can be run on virtual threads instead when the running JVM supports them and
+ * this has been enabled through the preferences. These tasks go through the same bounded, prioritized queue,
+ * and only a limited number of them run at the same time.
+ * </p>
+ * <p>
+ * Clients should not shut this executor down. Instead, they should obtain a
+ * {@link #newView(Priority, boolean) view} of it: views can be shut down (and their running tasks
+ * interrupted) independently of the tasks submitted by others.
+ * </p>
+ */
+public final class SharedComputationExecutor {
+	/** Default capacity of the task queue. */
+	public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+	/** Time after which idle worker threads are stopped, in seconds. */
+	private static final long KEEP_ALIVE_SECONDS = 60L;
+
+	/** Number of virtual threads that can run I/O-bound tasks at the same time, per worker thread. */
+	private static final int VIRTUAL_THREADS_PER_WORKER = 4;
+
+	/** The shared instance, lazily created. */
+	private static SharedComputationExecutor shared;
+
+	/** The pool running our tasks. */
+	private final ThreadPoolExecutor pool;
+
+	/** The executor running I/O-bound tasks on virtual threads, <code>null</code> if disabled. */
+	private final ExecutorService virtualThreadExecutor;
+
+	/** The I/O-bound tasks waiting for a virtual thread. */
+	private final PriorityBlockingQueue<PrioritizedTask> virtualThreadQueue;
+
+	/** Number of I/O-bound tasks that can still be started on virtual threads. */
+	private final Semaphore virtualThreadSlots;
+
+	/** Free slots of our bounded queue. */
+	private final Semaphore queueSlots;
+
+	/** Tells whether the current thread is running one of our tasks. */
+	private final ThreadLocal<Boolean> runningTask;
+
+	/** Used to keep the submission order among tasks of the same priority. */
+	private final AtomicLong sequence;
+
+	/** Number of tasks submitted to this executor. */
+	private final AtomicLong submittedCount;
+
+	/** Number of submissions that had to wait for room in our queue. */
+	private final AtomicLong blockedCount;
+
+	/** Number of tasks that have finished running. */
+	private final AtomicLong completedCount;
+
+	/** Whether this executor has been shut down. */
+	private volatile boolean isShutdown;
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param parallelism
+	 *            Number of worker threads. Must be positive.
+	 * @param queueCapacity
+	 *            Number of tasks that can be waiting to run before submitters have to wait for room in the
+	 *            queue. Must be positive.
+	 * @param useVirtualThreads
+	 *            Whether I/O-bound tasks should be run on virtual threads if the running JVM supports them.
+	 */
+	public SharedComputationExecutor(int parallelism, int queueCapacity, boolean useVirtualThreads) {
+		checkArgument(parallelism > 0);
+		checkArgument(queueCapacity > 0);
+		this.queueSlots = new Semaphore(queueCapacity);
+		this.runningTask = new ThreadLocal<Boolean>();
+		this.sequence = new AtomicLong();
+		this.submittedCount = new AtomicLong();
+		this.blockedCount = new AtomicLong();
+		this.completedCount = new AtomicLong();
+		this.pool = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new PriorityBlockingQueue<Runnable>(),
+				new ThreadFactoryBuilder().setNameFormat("EMFCompare-Worker-%d") //$NON-NLS-1$
+						.setDaemon(true).build());
+		this.pool.allowCoreThreadTimeOut(true);
+		if (useVirtualThreads) {
+			this.virtualThreadExecutor = createVirtualThreadExecutor();
+		} else {
+			this.virtualThreadExecutor = null;
+		}
+		this.virtualThreadQueue = new PriorityBlockingQueue<PrioritizedTask>();
+		this.virtualThreadSlots = new Semaphore(parallelism * VIRTUAL_THREADS_PER_WORKER);
+	}
+
+	/**
+	 * Returns the executor shared by all of EMF Compare, creating it according to the preferences if needed.
+	 *
+	 * @return The shared executor.
+	 */
+	public static synchronized SharedComputationExecutor getShared() {
+		if (shared == null) {
+			int parallelism = 0;
+			int capacity = DEFAULT_QUEUE_CAPACITY;
+			boolean useVirtualThreads = false;
+			final EMFCompareIDEUIPlugin plugin = EMFCompareIDEUIPlugin.getDefault();
+			if (plugin != null) {
+				final IPreferenceStore store = plugin.getPreferenceStore();
+				parallelism = store.getInt(EMFCompareUIPreferences.EXECUTOR_THREADS_PREFERENCE);
+				capacity = store.getInt(EMFCompareUIPreferences.EXECUTOR_QUEUE_CAPACITY_PREFERENCE);
+				useVirtualThreads = store
+						.getBoolean(EMFCompareUIPreferences.EXECUTOR_VIRTUAL_THREADS_PREFERENCE);
+			}
+			if (parallelism <= 0) {
+				parallelism = Runtime.getRuntime().availableProcessors();
+			}
+			if (capacity <= 0) {
+				capacity = DEFAULT_QUEUE_CAPACITY;
+			}
+			shared = new SharedComputationExecutor(parallelism, capacity, useVirtualThreads);
+		}
+		return shared;
+	}
+
+	/**
+	 * Shuts down the shared executor if it has been created. This should only be called when stopping the
+	 * plugin.
+	 */
+	public static synchronized void disposeShared() {
+		if (shared != null) {
+			shared.shutdown();
+			shared = null;
+		}
+	}
+
+	/**
+	 * Creates an executor service backed by this shared executor. Shutting the view down will only prevent
+	 * new submissions through this view and, in the case of {@link ExecutorService#shutdownNow()}, interrupt
+	 * the tasks it submitted that are currently running and cancel those that did not start yet.
+	 *
+	 * @param priority
+	 *            Priority of the tasks submitted through this view.
+	 * @param ioBound
+	 *            Whether the tasks submitted through this view spend most of their time waiting for I/O.
+	 *            These will be run on virtual threads if enabled.
+	 * @return The created view.
+	 */
+	public ListeningExecutorService newView(Priority priority, boolean ioBound) {
+		return new ExecutorView(checkNotNull(priority), ioBound);
+	}
+
+	/**
+	 * Submits the given task to this executor. If our queue is full, this will wait for room in the queue
+	 * unless the current thread is itself running one of our tasks.
+	 *
+	 * @param task
+	 *            The task to run.
+	 * @param priority
+	 *            Priority of this task.
+	 * @param ioBound
+	 *            Whether the task spends most of its time waiting for I/O.
+	 * @throws RejectedExecutionException
+	 *             if this executor has been shut down, or if the current thread was interrupted while waiting
+	 *             for room in the queue (the interruption status of the thread is kept).
+	 */
+	public void execute(Runnable task, Priority priority, boolean ioBound) {
+		checkNotNull(task);
+		checkNotNull(priority);
+		if (isShutdown) {
+			throw new RejectedExecutionException();
+		}
+		submittedCount.incrementAndGet();
+		final boolean holdsSlot = acquireQueueSlot();
+		final PrioritizedTask prioritizedTask = new PrioritizedTask(task, priority,
+				sequence.getAndIncrement(), holdsSlot);
+		try {
+			if (ioBound && virtualThreadExecutor != null) {
+				virtualThreadQueue.add(prioritizedTask);
+				startVirtualThreads();
+			} else {
+				pool.execute(prioritizedTask);
+			}
+		} catch (RejectedExecutionException e) {
+			if (holdsSlot) {
+				queueSlots.release();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Reserves a slot of our bounded queue for a new task, waiting for one to be freed if needed.
+	 *
+	 * @return <code>true</code> if a slot has been reserved, <code>false</code> if the task is submitted by
+	 *         one of our tasks and needs to be queued beyond our capacity.
+	 * @throws RejectedExecutionException
+	 *             if the current thread is interrupted while waiting.
+	 */
+	private boolean acquireQueueSlot() {
+		if (queueSlots.tryAcquire()) {
+			return true;
+		} else if (runningTask.get() != null) {
+			// Our workers are the ones freeing slots, they cannot wait for one
+			return false;
+		}
+		blockedCount.incrementAndGet();
+		try {
+			queueSlots.acquire();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(e);
+		}
+	}
+
+	/**
+	 * Starts as many of the queued I/O-bound tasks as allowed on virtual threads. This is called whenever a
+	 * task is queued or a virtual thread finishes its task.
+	 */
+	private void startVirtualThreads() {
+		while (!virtualThreadQueue.isEmpty() && virtualThreadSlots.tryAcquire()) {
+			final PrioritizedTask next = virtualThreadQueue.poll();
+			if (next == null) {
+				virtualThreadSlots.release();
+			} else {
+				virtualThreadExecutor.execute(new Runnable() {
+					public void run() {
+						try {
+							next.run();
+						} finally {
+							virtualThreadSlots.release();
+							startVirtualThreads();
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the metrics of this executor.
+	 *
+	 * @return A snapshot of the metrics of this executor.
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(pool.getPoolSize(), pool.getActiveCount(),
+				pool.getQueue().size() + virtualThreadQueue.size(), submittedCount.get(),
+				completedCount.get(), blockedCount.get());
+	}
+
+	/**
+	 * Indicates whether I/O-bound tasks are run on virtual threads.
+	 *
+	 * @return <code>true</code> if I/O-bound tasks are run on virtual threads.
+	 */
+	public boolean isUsingVirtualThreads() {
+		return virtualThreadExecutor != null;
+	}
+
+	/**
+	 * Shuts down this executor, letting the already submitted tasks finish. The virtual thread executor is
+	 * left running since it still needs to start the queued I/O-bound tasks, and it does not hold on to any
+	 * thread once they are done.
+	 */
+	public void shutdown() {
+		isShutdown = true;
+		pool.shutdown();
+	}
+
+	/**
+	 * Creates an executor starting a new virtual thread for each task if the running JVM supports them (Java
+	 * 21 and later). This is done reflectively since we must still run on older JVMs.
+	 *
+	 * @return The created executor, <code>null</code> if virtual threads are not available.
+	 */
+	private static ExecutorService createVirtualThreadExecutor() {
+		try {
+			final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+			return (ExecutorService)factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			// Either too old a JVM or virtual threads are still a preview feature
+			return null;
+		}
+	}
+
+	/**
+	 * Priorities of the tasks submitted to the shared executor.
+	 */
+	public static enum Priority {
+		/** Tasks the user is actively waiting for. */
+		HIGH,
+		/** Default priority. */
+		NORMAL,
+		/** Housekeeping or speculative tasks. */
+		LOW;
+	}
+
+	/**
+	 * Snapshot of the metrics of a {@link SharedComputationExecutor}.
+	 */
+	public static final class Statistics {
+		/** Number of worker threads. */
+		private final int poolSize;
+
+		/** Number of worker threads currently running a task. */
+		private final int activeCount;
+
+		/** Number of tasks waiting to run. */
+		private final int queuedCount;
+
+		/** Number of submitted tasks. */
+		private final long submittedCount;
+
+		/** Number of finished tasks. */
+		private final long completedCount;
+
+		/** Number of submissions that had to wait for room in the queue. */
+		private final long blockedCount;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param poolSize
+		 *            Number of worker threads.
+		 * @param activeCount
+		 *            Number of worker threads currently running a task.
+		 * @param queuedCount
+		 *            Number of tasks waiting to run.
+		 * @param submittedCount
+		 *            Number of submitted tasks.
+		 * @param completedCount
+		 *            Number of finished tasks.
+		 * @param blockedCount
+		 *            Number of submissions that had to wait for room in the queue.
+		 */
+		Statistics(int poolSize, int activeCount, int queuedCount, long submittedCount, long completedCount,
+				long blockedCount) {
+			this.poolSize = poolSize;
+			this.activeCount = activeCount;
+			this.queuedCount = queuedCount;
+			this.submittedCount = submittedCount;
+			this.completedCount = completedCount;
+			this.blockedCount = blockedCount;
+		}
+
+		/**
+		 * Returns the number of worker threads.
+		 *
+		 * @return The number of worker threads.
+		 */
+		public int getPoolSize() {
+			return poolSize;
+		}
+
+		/**
+		 * Returns the number of worker threads currently running a task.
+		 *
+		 * @return The number of worker threads currently running a task.
+		 */
+		public int getActiveCount() {
+			return activeCount;
+		}
+
+		/**
+		 * Returns the number of tasks waiting to run.
+		 *
+		 * @return The number of tasks waiting to run.
+		 */
+		public int getQueuedCount() {
+			return queuedCount;
+		}
+
+		/**
+		 * Returns the number of submitted tasks.
+		 *
+		 * @return The number of submitted tasks.
+		 */
+		public long getSubmittedCount() {
+			return submittedCount;
+		}
+
+		/**
+		 * Returns the number of finished tasks.
+		 *
+		 * @return The number of finished tasks.
+		 */
+		public long getCompletedCount() {
+			return completedCount;
+		}
+
+		/**
+		 * Returns the number of submissions that had to wait for room in the queue.
+		 *
+		 * @return The number of submissions that had to wait for room in the queue.
+		 */
+		public long getBlockedCount() {
+			return blockedCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "pool=" + poolSize + ", active=" + activeCount //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", queued=" + queuedCount //$NON-NLS-1$
+					+ ", submitted=" + submittedCount //$NON-NLS-1$
+					+ ", completed=" + completedCount //$NON-NLS-1$
+					+ ", blocked=" + blockedCount; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Wraps the tasks queued in our pool so that they are ordered by priority, then by submission order.
+	 */
+	private final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+		/** The wrapped task. */
+		private final Runnable task;
+
+		/** Priority of the task. */
+		private final Priority priority;
+
+		/** Submission order of the task. */
+		private final long order;
+
+		/** Whether this task holds a slot of our bounded queue until it starts. */
+		private final boolean holdsSlot;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param task
+		 *            The wrapped task.
+		 * @param priority
+		 *            Priority of the task.
+		 * @param order
+		 *            Submission order of the task.
+		 * @param holdsSlot
+		 *            Whether this task holds a slot of our bounded queue until it starts.
+		 */
+		PrioritizedTask(Runnable task, Priority priority, long order, boolean holdsSlot) {
+			this.task = task;
+			this.priority = priority;
+			this.order = order;
+			this.holdsSlot = holdsSlot;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			if (holdsSlot) {
+				queueSlots.release();
+			}
+			runningTask.set(Boolean.TRUE);
+			try {
+				task.run();
+			} finally {
+				runningTask.remove();
+				completedCount.incrementAndGet();
+				// Do not leak an interruption aimed at this task to the next one run by this worker
+				Thread.interrupted();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		public int compareTo(PrioritizedTask other) {
+			final int result = priority.compareTo(other.priority);
+			if (result == 0) {
+				if (order < other.order) {
+					return -1;
+				} else if (order > other.order) {
+					return 1;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * An executor service submitting its tasks to the shared executor while keeping track of them, so that
+	 * it can be shut down on its own.
+	 */
+	private final class ExecutorView extends AbstractListeningExecutorService {
+		/** Priority of the tasks submitted through this view. */
+		private final Priority priority;
+
+		/** Whether the tasks submitted through this view are I/O-bound. */
+		private final boolean ioBound;
+
+		/** The tasks submitted through this view that did not start yet. */
+		private final Set<Runnable> pending;
+
+		/**
+		 * The threads currently running tasks submitted through this view. These are always threads of the
+		 * shared executor, never the threads that submitted the tasks.
+		 */
+		private final Set<Thread> runningThreads;
+
+		/** Number of tasks submitted through this view that are either pending or running. */
+		private int taskCount;
+
+		/** Whether this view has been shut down. */
+		private boolean shutdown;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param priority
+		 *            Priority of the tasks submitted through this view.
+		 * @param ioBound
+		 *            Whether the tasks submitted through this view are I/O-bound.
+		 */
+		ExecutorView(Priority priority, boolean ioBound) {
+			this.priority = priority;
+			this.ioBound = ioBound;
+			this.pending = new LinkedHashSet<Runnable>();
+			this.runningThreads = new HashSet<Thread>();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+		 */
+		public void execute(final Runnable command) {
+			checkNotNull(command);
+			synchronized(this) {
+				if (shutdown) {
+					throw new RejectedExecutionException();
+				}
+				pending.add(command);
+				taskCount++;
+			}
+			try {
+				SharedComputationExecutor.this.execute(new Runnable() {
+					public void run() {
+						runTask(command);
+					}
+				}, priority, ioBound);
+			} catch (RejectedExecutionException e) {
+				synchronized(this) {
+					pending.remove(command);
+					taskDone();
+				}
+				throw e;
+			}
+		}
+
+		/**
+		 * Runs the given task unless it has been removed from the pending tasks by a call to
+		 * {@link #shutdownNow()}.
+		 *
+		 * @param command
+		 *            The task to run.
+		 */
+		private void runTask(Runnable command) {
+			final Thread current = Thread.currentThread();
+			synchronized(this) {
+				if (!pending.remove(command)) {
+					return;
+				}
+				runningThreads.add(current);
+			}
+			try {
+				command.run();
+			} finally {
+				synchronized(this) {
+					runningThreads.remove(current);
+					taskDone();
+				}
+			}
+		}
+
+		/**
+		 * Decrements the number of tasks of this view and wakes up the threads awaiting termination if it was
+		 * the last one. Must be called with the lock on this view.
+		 */
+		private void taskDone() {
+			taskCount--;
+			if (taskCount == 0) {
+				notifyAll();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.ExecutorService#shutdown()
+		 */
+		public synchronized void shutdown() {
+			shutdown = true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.ExecutorService#shutdownNow()
+		 */
+		public List<Runnable> shutdownNow() {
+			final List<Runnable> notStarted;
+			synchronized(this) {
+				shutdown = true;
+				notStarted = new ArrayList<Runnable>(pending);
+				pending.clear();
+				taskCount -= notStarted.size();
+				if (taskCount == 0) {
+					notifyAll();
+				}
+				for (Thread thread : runningThreads) {
+					thread.interrupt();
+				}
+			}
+			// Outside of the lock since this will trigger the callbacks of these futures
+			for (Runnable command : notStarted) {
+				if (command instanceof Future<?>) {
+					((Future<?>)command).cancel(false);
+				}
+			}
+			return notStarted;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.ExecutorService#isShutdown()
+		 */
+		public synchronized boolean isShutdown() {
+			return shutdown;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.ExecutorService#isTerminated()
+		 */
+		public synchronized boolean isTerminated() {
+			return shutdown && taskCount == 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.util.concurrent.ExecutorService#awaitTermination(long, java.util.concurrent.TimeUnit)
+		 */
+		public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+				throws InterruptedException {
+			final long deadline = System.nanoTime() + unit.toNanos(timeout);
+			while (!isTerminated()) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			return true;
+		}
+	}
+}
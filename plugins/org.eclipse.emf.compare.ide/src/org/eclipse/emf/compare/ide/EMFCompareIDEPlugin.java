@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Obeo.
+ * Copyright (c) 2011, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.compare.ide.internal.hook.ResourceSetHookRegistry;
 import org.eclipse.emf.compare.ide.internal.hook.ResourceSetHookRegistryListener;
 import org.eclipse.emf.compare.ide.internal.logical.ModelInclusionTesterRegistryListener;
+import org.eclipse.emf.compare.ide.internal.utils.BlobModelCache;
 import org.eclipse.emf.compare.ide.logical.IModelInclusionTester;
 import org.eclipse.emf.compare.ide.logical.ModelInclusionTesterRegistry;
 import org.osgi.framework.BundleContext;
@@ -31,6 +32,12 @@ public class EMFCompareIDEPlugin extends Plugin {
 	/** The plug-in ID. */
 	public static final String PLUGIN_ID = "org.eclipse.emf.compare.ide"; //$NON-NLS-1$
 
+	/** Name of the preference enabling the cache of the models parsed from Git blobs. */
+	private static final String MODEL_CACHE_PREFERENCE = "modelCache.enabled"; //$NON-NLS-1$
+
+	/** Name of the folder, under our state location, in which the model cache spills its entries. */
+	private static final String MODEL_CACHE_FOLDER = "modelCache"; //$NON-NLS-1$
+
 	/** This plugin's shared instance. */
 	private static EMFCompareIDEPlugin plugin;
 
@@ -46,6 +53,9 @@ public class EMFCompareIDEPlugin extends Plugin {
 	/** The registry listener that will fill the {@link modelInclusionTesterRegistry}. */
 	private ModelInclusionTesterRegistryListener modelInclusionTesterRegistryListener;
 
+	/** Cache of the models parsed from immutable contents, lazily created. */
+	private BlobModelCache modelCache;
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -123,6 +133,24 @@ public class EMFCompareIDEPlugin extends Plugin {
 		return resourceSetHookRegistry;
 	}
 
+	/**
+	 * Returns the cache of the models parsed from immutable contents such as Git blobs, if enabled.
+	 * <p>
+	 * This cache is disabled by default, it can be enabled through the
+	 * <code>org.eclipse.emf.compare.ide/modelCache.enabled</code> preference.
+	 * </p>
+	 * 
+	 * @return The model cache, <code>null</code> if it is disabled.
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized BlobModelCache getModelCache() {
+		if (modelCache == null && Platform.getPreferencesService().getBoolean(PLUGIN_ID,
+				MODEL_CACHE_PREFERENCE, false, null)) {
+			modelCache = new BlobModelCache(getStateLocation().append(MODEL_CACHE_FOLDER).toFile());
+		}
+		return modelCache;
+	}
+
 	/**
 	 * Sets up the {@link ResourceSetHookRegistry}.
 	 * 
@@ -0,0 +1,687 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.internal.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * A cache of the models parsed from immutable contents, such as Git blobs, keyed by the identifier of said
+ * content.
+ * <p>
+ * Parsed resources cannot be shared between comparisons since they belong to a resource set and may be
+ * modified by merges. This caches the parsed content of the resources in EMF's binary format instead, which
+ * is much faster to load than the original XML. These binary forms are held in memory through soft
+ * references, and spilled to disk so that they survive both the garbage collector and restarts. Only
+ * {@link XMLResource}s that loaded without errors are cached, along with their identifiers.
+ * </p>
+ * <p>
+ * Since the cross-references of a resource are stored as absolute URIs, entries are keyed by both the
+ * content identifier and the URI of the resource, along with the options it is loaded with. Entries also
+ * record a signature of the metamodels they were created with, and are discarded when loaded against another
+ * version of these metamodels. Resources which metamodels do not come from the package registry are not
+ * cached.
+ * </p>
+ */
+public final class BlobModelCache {
+	/** Marks the beginning of our cache entries. */
+	private static final int MAGIC = 0x454d4643;
+
+	/** Version of our entries' format. Entries with another version are ignored. */
+	private static final int VERSION = 2;
+
+	/** Extension of the files we spill our entries to. */
+	private static final String SPILL_EXTENSION = ".bin"; //$NON-NLS-1$
+
+	/** Once our spilled entries exceed this size, the least recently used are deleted. */
+	private static final long DEFAULT_MAX_SPILL_SIZE = 256L * 1024 * 1024;
+
+	/** Options with which we save and load the cached contents. */
+	private static final Map<Object, Object> BINARY_OPTIONS;
+
+	static {
+		final Map<Object, Object> options = new HashMap<Object, Object>();
+		options.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+		BINARY_OPTIONS = options;
+	}
+
+	/** Signatures of the metamodels our entries are created with. */
+	private static final LoadingCache<EPackage, String> PACKAGE_SIGNATURES = CacheBuilder.newBuilder()
+			.weakKeys().build(new CacheLoader<EPackage, String>() {
+				@Override
+				public String load(EPackage key) {
+					return computeSignature(key);
+				}
+			});
+
+	/** Binary forms of the cached resources, released under memory pressure. */
+	private final Cache<String, byte[]> entries;
+
+	/** Directory in which we spill our entries. <code>null</code> if we only cache in memory. */
+	private final File spillDirectory;
+
+	/** Size under which we keep our spilled entries. */
+	private final long maxSpillSize;
+
+	/** Total size of our spilled entries, <code>-1</code> until first computed. */
+	private final AtomicLong spillSize;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param spillDirectory
+	 *            Directory in which entries are spilled, <code>null</code> to keep this cache in memory only.
+	 */
+	public BlobModelCache(File spillDirectory) {
+		this(spillDirectory, DEFAULT_MAX_SPILL_SIZE);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param spillDirectory
+	 *            Directory in which entries are spilled, <code>null</code> to keep this cache in memory only.
+	 * @param maxSpillSize
+	 *            Size, in bytes, over which we start deleting the least recently used spilled entries.
+	 */
+	public BlobModelCache(File spillDirectory, long maxSpillSize) {
+		this.entries = CacheBuilder.newBuilder().softValues().build();
+		this.spillDirectory = spillDirectory;
+		this.maxSpillSize = maxSpillSize;
+		this.spillSize = new AtomicLong(-1L);
+	}
+
+	/**
+	 * Tries and load the given resource from this cache.
+	 *
+	 * @param resource
+	 *            The resource to load. It must be attached to its resource set so that its packages can be
+	 *            found.
+	 * @param contentId
+	 *            Identifier of the content we are to load in this resource.
+	 * @param options
+	 *            The options with which this resource would have been loaded.
+	 * @param proxyListener
+	 *            Will be notified of the proxies loaded in the resource, as a parser pool would have. May be
+	 *            <code>null</code>.
+	 * @return <code>true</code> if the resource has been loaded from this cache, <code>false</code> if it
+	 *         needs to be parsed.
+	 */
+	public boolean load(Resource resource, String contentId, Map<?, ?> options,
+			IProxyCreationListener proxyListener) {
+		if (!(resource instanceof XMLResource)) {
+			return false;
+		}
+		final String key = keyFor(contentId, resource, options);
+		final byte[] entry = getEntry(key);
+		if (entry == null) {
+			return false;
+		}
+		try {
+			loadEntry((XMLResource)resource, entry, options);
+		} catch (IOException | RuntimeException e) {
+			// Corrupted or outdated entry : forget about it and parse the resource instead
+			resource.unload();
+			invalidate(key);
+			return false;
+		}
+		if (proxyListener != null) {
+			notifyProxies(resource, proxyListener);
+		}
+		return true;
+	}
+
+	/**
+	 * Caches the content of the given resource, freshly loaded from the content with the given identifier.
+	 * Resources which are not {@link XMLResource}s or which loaded with errors will not be cached.
+	 *
+	 * @param resource
+	 *            The resource which content we are to cache.
+	 * @param contentId
+	 *            Identifier of the content this resource has been loaded from.
+	 * @param options
+	 *            The options with which this resource has been loaded.
+	 */
+	public void store(Resource resource, String contentId, Map<?, ?> options) {
+		if (!(resource instanceof XMLResource) || !resource.isLoaded() || !resource.getErrors().isEmpty()) {
+			return;
+		}
+		final String key = keyFor(contentId, resource, options);
+		if (entries.getIfPresent(key) != null) {
+			return;
+		}
+		final Set<EPackage> packages = getRegisteredPackages(resource);
+		if (packages == null) {
+			// We could not tell whether these metamodels changed when loading the entry
+			return;
+		}
+		final byte[] entry;
+		try {
+			entry = createEntry((XMLResource)resource, packages);
+		} catch (IOException e) {
+			// This resource cannot be saved in binary form, we'll parse it each time
+			return;
+		}
+		entries.put(key, entry);
+		spill(key, entry);
+	}
+
+	/**
+	 * Discards all entries of this cache, including the spilled ones.
+	 */
+	public void clear() {
+		entries.invalidateAll();
+		if (spillDirectory != null) {
+			final File[] files = spillDirectory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					if (file.getName().endsWith(SPILL_EXTENSION) && !file.delete()) {
+						file.deleteOnExit();
+					}
+				}
+			}
+			spillSize.set(-1L);
+		}
+	}
+
+	/**
+	 * Retrieves an entry from memory, or from its spill file if it has been released.
+	 *
+	 * @param key
+	 *            Key of the entry we seek.
+	 * @return The entry, <code>null</code> if none.
+	 */
+	private byte[] getEntry(String key) {
+		byte[] entry = entries.getIfPresent(key);
+		if (entry == null && spillDirectory != null) {
+			final File file = new File(spillDirectory, key + SPILL_EXTENSION);
+			if (file.isFile()) {
+				try (InputStream stream = new FileInputStream(file)) {
+					entry = ByteStreams.toByteArray(stream);
+					entries.put(key, entry);
+					// Keep track of the recently used entries, only a hint for the eviction of spill files
+					file.setLastModified(System.currentTimeMillis());
+				} catch (IOException e) {
+					entry = null;
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Discards an entry.
+	 *
+	 * @param key
+	 *            Key of the entry to discard.
+	 */
+	private void invalidate(String key) {
+		entries.invalidate(key);
+		if (spillDirectory != null) {
+			final File file = new File(spillDirectory, key + SPILL_EXTENSION);
+			if (file.isFile() && file.delete()) {
+				spillSize.set(-1L);
+			}
+		}
+	}
+
+	/**
+	 * Serializes the given resource.
+	 * <p>
+	 * An entry holds a header (magic number, version, namespace URI and signature of each of the resource's
+	 * metamodels, encoding and XML version of the resource), the length of the resource's binary form
+	 * followed by this binary form, then the identifiers of all of the resource's contents in tree order.
+	 * </p>
+	 *
+	 * @param resource
+	 *            The resource to serialize.
+	 * @param packages
+	 *            The metamodels of this resource's contents.
+	 * @return The entry corresponding to this resource.
+	 * @throws IOException
+	 *             if the resource cannot be saved in binary form.
+	 */
+	private static byte[] createEntry(XMLResource resource, Set<EPackage> packages) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		resource.save(content, BINARY_OPTIONS);
+		final ByteArrayOutputStream entry = new ByteArrayOutputStream(content.size() + 1024);
+		final DataOutputStream output = new DataOutputStream(entry);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(packages.size());
+		for (EPackage ePackage : packages) {
+			output.writeUTF(ePackage.getNsURI());
+			output.writeUTF(PACKAGE_SIGNATURES.getUnchecked(ePackage));
+		}
+		writeNullableString(output, resource.getEncoding());
+		writeNullableString(output, resource.getXMLVersion());
+		output.writeInt(content.size());
+		content.writeTo(output);
+		final List<String> ids = new ArrayList<String>();
+		final TreeIterator<EObject> contents = resource.getAllContents();
+		while (contents.hasNext()) {
+			ids.add(resource.getID(contents.next()));
+		}
+		output.writeInt(ids.size());
+		for (String id : ids) {
+			writeNullableString(output, id);
+		}
+		output.flush();
+		return entry.toByteArray();
+	}
+
+	/**
+	 * Loads the given resource from a cache entry.
+	 *
+	 * @param resource
+	 *            The resource to load.
+	 * @param entry
+	 *            The cache entry to load this resource from.
+	 * @param options
+	 *            The options with which this resource would have been loaded.
+	 * @throws IOException
+	 *             if this entry cannot be read, or has been created with other versions of its metamodels.
+	 */
+	private static void loadEntry(XMLResource resource, byte[] entry, Map<?, ?> options) throws IOException {
+		final DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry));
+		if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+			throw new IOException("Unknown cache entry format"); //$NON-NLS-1$
+		}
+		final EPackage.Registry registry = getPackageRegistry(resource);
+		final int packageCount = input.readInt();
+		for (int i = 0; i < packageCount; i++) {
+			final String nsURI = input.readUTF();
+			final String signature = input.readUTF();
+			final EPackage ePackage = registry.getEPackage(nsURI);
+			if (ePackage == null || !signature.equals(PACKAGE_SIGNATURES.getUnchecked(ePackage))) {
+				throw new IOException("Cache entry of " + resource.getURI() //$NON-NLS-1$
+						+ " was created with another version of " + nsURI); //$NON-NLS-1$
+			}
+		}
+		final String encoding = readNullableString(input);
+		final String xmlVersion = readNullableString(input);
+		final byte[] content = new byte[input.readInt()];
+		input.readFully(content);
+
+		final Map<Object, Object> loadOptions = new HashMap<Object, Object>();
+		if (options != null) {
+			loadOptions.putAll(options);
+		}
+		loadOptions.putAll(BINARY_OPTIONS);
+		resource.load(new ByteArrayInputStream(content), loadOptions);
+		if (!resource.getErrors().isEmpty()) {
+			throw new IOException("Cannot load cache entry of " + resource.getURI()); //$NON-NLS-1$
+		}
+		if (encoding != null) {
+			resource.setEncoding(encoding);
+		}
+		if (xmlVersion != null) {
+			resource.setXMLVersion(xmlVersion);
+		}
+
+		final int idCount = input.readInt();
+		final TreeIterator<EObject> contents = resource.getAllContents();
+		for (int i = 0; i < idCount; i++) {
+			if (!contents.hasNext()) {
+				throw new IOException("Cache entry does not match its content"); //$NON-NLS-1$
+			}
+			final EObject next = contents.next();
+			final String id = readNullableString(input);
+			if (id != null) {
+				resource.setID(next, id);
+			}
+		}
+	}
+
+	/**
+	 * Returns the package registry the given resource's metamodels are looked up in.
+	 *
+	 * @param resource
+	 *            The resource which metamodels we need.
+	 * @return The package registry of this resource's resource set, the global one if none.
+	 */
+	private static EPackage.Registry getPackageRegistry(Resource resource) {
+		final ResourceSet resourceSet = resource.getResourceSet();
+		if (resourceSet != null) {
+			return resourceSet.getPackageRegistry();
+		}
+		return EPackage.Registry.INSTANCE;
+	}
+
+	/**
+	 * Returns the metamodels of the given resource's contents, provided they can all be found again in the
+	 * package registry.
+	 *
+	 * @param resource
+	 *            The resource which metamodels we need.
+	 * @return The metamodels of this resource, <code>null</code> if one of them is not registered.
+	 */
+	private static Set<EPackage> getRegisteredPackages(Resource resource) {
+		final EPackage.Registry registry = getPackageRegistry(resource);
+		final Set<EPackage> packages = new LinkedHashSet<EPackage>();
+		final TreeIterator<EObject> contents = resource.getAllContents();
+		while (contents.hasNext()) {
+			final EPackage ePackage = contents.next().eClass().getEPackage();
+			if (packages.add(ePackage)) {
+				final String nsURI = ePackage.getNsURI();
+				if (nsURI == null || registry.getEPackage(nsURI) != ePackage) {
+					return null;
+				}
+			}
+		}
+		return packages;
+	}
+
+	/**
+	 * Computes a signature of the given metamodel, which changes whenever one of its classifiers or features
+	 * is added, removed or renamed, or changes type.
+	 *
+	 * @param ePackage
+	 *            The metamodel which signature we need.
+	 * @return The signature of this metamodel.
+	 */
+	private static String computeSignature(EPackage ePackage) {
+		final MessageDigest digest = createDigest();
+		for (EClassifier classifier : ePackage.getEClassifiers()) {
+			update(digest, classifier.getName());
+			if (classifier instanceof EClass) {
+				for (EStructuralFeature feature : ((EClass)classifier).getEAllStructuralFeatures()) {
+					update(digest, feature.getName());
+					if (feature.getEType() != null) {
+						update(digest, EcoreUtil.getURI(feature.getEType()).toString());
+					}
+					update(digest, String.valueOf(feature.getUpperBound()));
+					update(digest, String.valueOf(
+							feature instanceof EReference && ((EReference)feature).isContainment()));
+				}
+			} else if (classifier instanceof EEnum) {
+				for (EEnumLiteral literal : ((EEnum)classifier).getELiterals()) {
+					update(digest, literal.getLiteral());
+					update(digest, String.valueOf(literal.getValue()));
+				}
+			}
+		}
+		return toHexString(digest.digest());
+	}
+
+	/**
+	 * Notifies the given listener of all proxies contained in the given resource.
+	 *
+	 * @param resource
+	 *            The freshly loaded resource.
+	 * @param proxyListener
+	 *            The listener to notify.
+	 */
+	private static void notifyProxies(Resource resource, IProxyCreationListener proxyListener) {
+		final Map<EObject, Collection<Setting>> proxies = EcoreUtil.ProxyCrossReferencer.find(resource);
+		for (Map.Entry<EObject, Collection<Setting>> proxy : proxies.entrySet()) {
+			for (Setting setting : proxy.getValue()) {
+				proxyListener.proxyCreated(resource, setting.getEObject(), setting.getEStructuralFeature(),
+						proxy.getKey(), -1);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given entry to its spill file. The least recently used spilled entries are deleted if we
+	 * exceed our {@link #maxSpillSize}.
+	 *
+	 * @param key
+	 *            Key of the entry to spill.
+	 * @param entry
+	 *            The entry to spill.
+	 */
+	private void spill(String key, byte[] entry) {
+		if (spillDirectory == null || (!spillDirectory.isDirectory() && !spillDirectory.mkdirs())) {
+			return;
+		}
+		final File file = new File(spillDirectory, key + SPILL_EXTENSION);
+		File temp = null;
+		try {
+			// Write to a temporary file first so that no other thread ever sees a partial entry
+			temp = File.createTempFile(key, ".tmp", spillDirectory); //$NON-NLS-1$
+			try (OutputStream stream = new FileOutputStream(temp)) {
+				stream.write(entry);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// The entry stays in memory only
+			if (temp != null && !temp.delete()) {
+				temp.deleteOnExit();
+			}
+			return;
+		}
+		if (spillSize.get() < 0L) {
+			spillSize.compareAndSet(-1L, computeSpillSize());
+		} else {
+			spillSize.addAndGet(entry.length);
+		}
+		if (spillSize.get() > maxSpillSize) {
+			trimSpill();
+		}
+	}
+
+	/**
+	 * Computes the total size of our spill files.
+	 *
+	 * @return The total size of our spill files.
+	 */
+	private long computeSpillSize() {
+		long size = 0L;
+		final File[] files = spillDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().endsWith(SPILL_EXTENSION)) {
+					size += file.length();
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Deletes the least recently used spill files until we're back under three quarters of our
+	 * {@link #maxSpillSize}.
+	 */
+	private synchronized void trimSpill() {
+		final File[] files = spillDirectory.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+			public int compare(File o1, File o2) {
+				return Long.compare(o1.lastModified(), o2.lastModified());
+			}
+		});
+		long size = computeSpillSize();
+		final long target = maxSpillSize / 4 * 3;
+		final Iterator<File> oldestFirst = Arrays.asList(files).iterator();
+		while (size > target && oldestFirst.hasNext()) {
+			final File file = oldestFirst.next();
+			final long length = file.length();
+			if (file.getName().endsWith(SPILL_EXTENSION) && file.delete()) {
+				size -= length;
+			}
+		}
+		spillSize.set(size);
+	}
+
+	/**
+	 * Computes the key of the entry for the given content and resource.
+	 *
+	 * @param contentId
+	 *            Identifier of the resource's content.
+	 * @param resource
+	 *            The resource.
+	 * @param options
+	 *            The options with which this resource is loaded.
+	 * @return The key of this resource's cache entry.
+	 */
+	private static String keyFor(String contentId, Resource resource, Map<?, ?> options) {
+		final MessageDigest digest = createDigest();
+		update(digest, contentId);
+		update(digest, String.valueOf(resource.getURI()));
+		for (String option : describe(options)) {
+			update(digest, option);
+		}
+		return toHexString(digest.digest());
+	}
+
+	/**
+	 * Describes the given load options in a form that does not change from one session to the next. Options
+	 * which value is not a simple value are only described by the type of this value.
+	 *
+	 * @param options
+	 *            The load options to describe.
+	 * @return The description of these options, sorted.
+	 */
+	private static List<String> describe(Map<?, ?> options) {
+		if (options == null) {
+			return Collections.emptyList();
+		}
+		final List<String> descriptions = new ArrayList<String>(options.size());
+		for (Map.Entry<?, ?> option : options.entrySet()) {
+			final Object value = option.getValue();
+			final String description;
+			if (value == null || value instanceof String || value instanceof Boolean
+					|| value instanceof Number || value instanceof Enum<?> || value instanceof URI) {
+				description = String.valueOf(value);
+			} else {
+				description = value.getClass().getName();
+			}
+			descriptions.add(option.getKey() + "=" + description); //$NON-NLS-1$
+		}
+		Collections.sort(descriptions);
+		return descriptions;
+	}
+
+	/**
+	 * Creates the digest we use for our keys and signatures.
+	 *
+	 * @return A new SHA-1 digest.
+	 */
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-1 is mandatory for all JVMs
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Feeds the given string to the given digest, followed by a separator.
+	 *
+	 * @param digest
+	 *            The digest to update.
+	 * @param value
+	 *            The string to digest, may be <code>null</code>.
+	 */
+	private static void update(MessageDigest digest, String value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte)0);
+	}
+
+	/**
+	 * Converts the given digest to its hexadecimal representation.
+	 *
+	 * @param bytes
+	 *            The digest to convert.
+	 * @return The hexadecimal representation of these bytes.
+	 */
+	private static String toHexString(byte[] bytes) {
+		final StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Writes a string that may be <code>null</code>.
+	 *
+	 * @param output
+	 *            The stream to write to.
+	 * @param value
+	 *            The string to write.
+	 * @throws IOException
+	 *             if the stream cannot be written to.
+	 */
+	private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a string written by {@link #writeNullableString(DataOutputStream, String)}.
+	 *
+	 * @param input
+	 *            The stream to read from.
+	 * @return The read string.
+	 * @throws IOException
+	 *             if the stream cannot be read.
+	 */
+	private static String readNullableString(DataInputStream input) throws IOException {
+		if (input.readBoolean()) {
+			return input.readUTF();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Utilities to access the content of storages that are backed by a file of the local file system through
+ * {@link FileChannel}s rather than through their input streams.
+ * <p>
+ * Files are read by chunks and compared through {@link ByteBuffer#equals(Object)}, which the JVM implements
+ * as a vectorized mismatch. Large files are read in direct buffers so that their content is not copied on the
+ * heap. Files are never memory-mapped : mapped files stay locked on some platforms until their buffers are
+ * garbage collected, which would prevent saving the merged models over them.
+ * </p>
+ */
+public final class LocalFileContent {
+	/** Files smaller than this number of bytes are read in heap buffers rather than direct ones. */
+	private static final long DIRECT_BUFFER_THRESHOLD = 1024 * 1024;
+
+	/** Size of the buffers we read small files with. */
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	/** Size of the direct buffers we read large files with. */
+	private static final int DIRECT_BUFFER_SIZE = 256 * 1024;
+
+	/**
+	 * Utility classes don't need a default constructor.
+	 */
+	private LocalFileContent() {
+		// hides default constructor
+	}
+
+	/**
+	 * Returns the local file backing the given storage, if any.
+	 *
+	 * @param storage
+	 *            The storage which local file we need.
+	 * @return The file of the local file system holding the content of this storage, <code>null</code> if
+	 *         this storage is not a local file or if its content might not be that of the local file.
+	 */
+	public static File getLocalFile(IStorage storage) {
+		File file = null;
+		if (storage instanceof IFile) {
+			final IFile workspaceFile = (IFile)storage;
+			final IPath location = workspaceFile.getLocation();
+			// An out of sync file could not be read through its stream : let the caller fail the same way
+			if (location != null && workspaceFile.isSynchronized(IResource.DEPTH_ZERO)) {
+				file = location.toFile();
+			}
+		} else if (storage instanceof URIStorage) {
+			final URI uri = ((URIStorage)storage).getURI();
+			if (uri.isFile()) {
+				file = new File(uri.toFileString());
+			}
+		}
+		if (file != null && file.isFile()) {
+			return file;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the two given files are binary identical.
+	 *
+	 * @param first
+	 *            First of the two files which content we are testing.
+	 * @param second
+	 *            Second of the two files which content we are testing.
+	 * @return <code>true</code> if {@code first} and {@code second} are binary identical.
+	 * @throws IOException
+	 *             if one of the files cannot be read.
+	 */
+	public static boolean identical(File first, File second) throws IOException {
+		try (RandomAccessFile firstFile = new RandomAccessFile(first, "r"); //$NON-NLS-1$
+				RandomAccessFile secondFile = new RandomAccessFile(second, "r")) { //$NON-NLS-1$
+			final FileChannel firstChannel = firstFile.getChannel();
+			final FileChannel secondChannel = secondFile.getChannel();
+			final long size = firstChannel.size();
+			if (size != secondChannel.size()) {
+				return false;
+			}
+			return readIdentical(firstChannel, secondChannel, allocate(size), allocate(size));
+		}
+	}
+
+	/**
+	 * Feeds the whole content of the given file to the given digest.
+	 *
+	 * @param file
+	 *            The file which content is to be digested.
+	 * @param digest
+	 *            The digest to update.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 */
+	public static void digest(File file, MessageDigest digest) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+			final FileChannel channel = randomAccessFile.getChannel();
+			final ByteBuffer buffer = allocate(channel.size());
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+	}
+
+	/**
+	 * Allocates the buffer we'll read a file of the given size with.
+	 *
+	 * @param size
+	 *            Size of the file we are about to read.
+	 * @return A heap buffer for small files, a direct buffer for large ones.
+	 */
+	private static ByteBuffer allocate(long size) {
+		if (size < DIRECT_BUFFER_THRESHOLD) {
+			return ByteBuffer.allocate(READ_BUFFER_SIZE);
+		}
+		return ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Reads the two given channels, known to have the same size, and checks that their content is identical.
+	 *
+	 * @param first
+	 *            First of the two channels which content we are testing.
+	 * @param second
+	 *            Second of the two channels which content we are testing.
+	 * @param firstBuffer
+	 *            The buffer to read the first channel with.
+	 * @param secondBuffer
+	 *            The buffer to read the second channel with. Must have the same capacity as
+	 *            {@code firstBuffer}.
+	 * @return <code>true</code> if {@code first} and {@code second} have identical content.
+	 * @throws IOException
+	 *             if one of the channels cannot be read.
+	 */
+	private static boolean readIdentical(FileChannel first, FileChannel second, ByteBuffer firstBuffer,
+			ByteBuffer secondBuffer) throws IOException {
+		boolean identical = true;
+		boolean firstEnded = false;
+		while (identical && !firstEnded) {
+			firstEnded = fill(first, firstBuffer);
+			final boolean secondEnded = fill(second, secondBuffer);
+			firstBuffer.flip();
+			secondBuffer.flip();
+			identical = firstEnded == secondEnded && firstBuffer.equals(secondBuffer);
+			firstBuffer.clear();
+			secondBuffer.clear();
+		}
+		return identical;
+	}
+
+	/**
+	 * Reads from the given channel until either the buffer is full or the channel has no more content.
+	 *
+	 * @param channel
+	 *            The channel to read.
+	 * @param buffer
+	 *            The buffer to fill.
+	 * @return <code>true</code> if we reached the end of the channel.
+	 * @throws IOException
+	 *             if the channel cannot be read.
+	 */
+	private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) == -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2018 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -41,6 +41,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.notify.Notifier;
@@ -52,6 +53,7 @@ import org.eclipse.emf.compare.ide.EMFCompareIDEPlugin;
 import org.eclipse.emf.compare.ide.hook.IResourceSetHook;
 import org.eclipse.emf.compare.ide.internal.EMFCompareIDEMessages;
 import org.eclipse.emf.compare.ide.internal.hook.ResourceSetHookRegistry;
+import org.eclipse.emf.compare.ide.utils.IStorageContentIdProvider;
 import org.eclipse.emf.compare.ide.utils.ResourceUtil;
 import org.eclipse.emf.compare.ide.utils.StorageTraversal;
 import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
@@ -102,6 +104,12 @@ public final class NotLoadingResourceSet extends ResourceSetImpl implements Disp
 	/** Turn from not loading resource set into loading resource set. */
 	private boolean allowResourceLoad;
 
+	/**
+	 * Holds <code>true</code> if resource set hooks were applied on this resource set. Hooks can change the
+	 * way resources are loaded in ways the model cache cannot account for.
+	 */
+	private boolean hooked;
+
 	/**
 	 * Constructor.
 	 * 
@@ -250,11 +258,53 @@ public final class NotLoadingResourceSet extends ResourceSetImpl implements Disp
 	 */
 	private void loadFromStorage(Resource resource, IStorage storage) throws IOException {
 		ResourceUtil.setAssociatedStorage(resource, storage);
+		final Map<Object, Object> options = getLoadOptions();
+		final BlobModelCache modelCache = getModelCache();
+		String contentId = null;
+		if (modelCache != null && !hooked) {
+			contentId = getContentId(storage);
+			if (contentId != null && modelCache.load(resource, contentId, options, this)) {
+				return;
+			}
+		}
 		try (InputStream stream = storage.getContents()) {
-			resource.load(stream, getLoadOptions());
+			resource.load(stream, options);
 		} catch (CoreException | WrappedException e) {
 			logLoadingFromStorageFailed(resource, storage, e);
 		}
+		if (contentId != null) {
+			modelCache.store(resource, contentId, options);
+		}
+	}
+
+	/**
+	 * Returns the model cache we'll use for the storages that have a known content identifier, if enabled.
+	 * 
+	 * @return The model cache, <code>null</code> if disabled.
+	 */
+	private static BlobModelCache getModelCache() {
+		final EMFCompareIDEPlugin idePlugin = EMFCompareIDEPlugin.getDefault();
+		if (idePlugin != null) {
+			return idePlugin.getModelCache();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the identifier of the given storage's content, if it is known without reading it. This is only
+	 * the case of immutable storages such as Git blobs.
+	 * 
+	 * @param storage
+	 *            The storage which content identifier we need.
+	 * @return The identifier of this storage's content, <code>null</code> if unknown.
+	 */
+	private static String getContentId(IStorage storage) {
+		final Object provider = Platform.getAdapterManager().loadAdapter(storage,
+				IStorageContentIdProvider.class.getName());
+		if (provider instanceof IStorageContentIdProvider) {
+			return ((IStorageContentIdProvider)provider).getContentId(storage);
+		}
+		return null;
 	}
 
 	/**
@@ -387,6 +437,7 @@ public final class NotLoadingResourceSet extends ResourceSetImpl implements Disp
 		final Collection<IResourceSetHook> hooks = getMatchingHooks(urisToLoad);
 
 		for (IResourceSetHook hook : hooks) {
+			hooked = true;
 			hook.preLoadingHook(this, urisToLoad);
 		}
 
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.internal.utils;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Finds the resources an XML or XMI file depends upon by streaming through its content, without building any
+ * EObject.
+ * <p>
+ * Loading a resource through a {@link NotifyingParserPool} only to be told about the proxies it contains
+ * instantiates the whole model. This scanner only looks at the attributes of the XML elements and reports the
+ * resources referenced from:
+ * <ul>
+ * <li><code>href</code> attributes, which is how EMF serializes cross-document references as elements,</li>
+ * <li>attribute values made of <code>resource#fragment</code> tokens, which is how EMF serializes
+ * cross-document references as attributes (optionally prefixed by the type of the referenced object, as in
+ * <code>ecore:EClass other.ecore#//Type</code>).</li>
+ * </ul>
+ * Resources declared through the <code>xsi:schemaLocation</code> of the root element are metamodels of the
+ * scanned resource rather than dependencies: references towards them are not reported, as they would not be
+ * proxies once loaded either.
+ * </p>
+ * <p>
+ * Since the scanner does not know the metamodel, it cannot tell a reference feature from a string feature
+ * which value looks like a reference. To limit these false positives, attribute values are only considered
+ * when every one of their tokens is either a reference or a type prefix (which excludes free text such as
+ * documentation), the referenced URI has a file extension, and the referenced resource is accepted by the
+ * predicate this scanner has been created with (typically, it exists in the workspace).
+ * <code>href</code> attributes always hold references and are not filtered. This class can be used
+ * concurrently from multiple threads.
+ * </p>
+ */
+public class XMLDependencyScanner {
+	/** Name of the attribute EMF uses to serialize cross-document references. */
+	private static final String HREF = "href"; //$NON-NLS-1$
+
+	/** Namespace of the XML namespace declarations. */
+	private static final String XMLNS_URI = "http://www.w3.org/2000/xmlns/"; //$NON-NLS-1$
+
+	/** Feature telling the SAX parsers not to load external DTDs. */
+	private static final String LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/" //$NON-NLS-1$
+			+ "nonvalidating/load-external-dtd"; //$NON-NLS-1$
+
+	/** Feature telling the SAX parsers not to resolve external entities. */
+	private static final String EXTERNAL_ENTITIES = "http://xml.org/sax/features/" //$NON-NLS-1$
+			+ "external-general-entities"; //$NON-NLS-1$
+
+	/** The factory of our SAX parsers. */
+	private final SAXParserFactory parserFactory;
+
+	/** Tells whether a resource referenced from an attribute value can actually be a dependency. */
+	private final Predicate<URI> attributeReferenceFilter;
+
+	/**
+	 * Creates a scanner reporting all of the references it finds.
+	 */
+	public XMLDependencyScanner() {
+		this(Predicates.<URI> alwaysTrue());
+	}
+
+	/**
+	 * Creates a scanner which only reports the references found in attribute values if they are accepted by
+	 * the given filter.
+	 *
+	 * @param attributeReferenceFilter
+	 *            Tells whether a resource referenced from an attribute value can actually be a dependency,
+	 *            for example because it exists. References held by <code>href</code> attributes are not
+	 *            filtered.
+	 */
+	public XMLDependencyScanner(Predicate<URI> attributeReferenceFilter) {
+		this.attributeReferenceFilter = checkNotNull(attributeReferenceFilter);
+		this.parserFactory = SAXParserFactory.newInstance();
+		this.parserFactory.setNamespaceAware(true);
+		this.parserFactory.setValidating(false);
+		try {
+			this.parserFactory.setFeature(LOAD_EXTERNAL_DTD, false);
+			this.parserFactory.setFeature(EXTERNAL_ENTITIES, false);
+		} catch (ParserConfigurationException e) {
+			// This parser does not know about these features, it will not load anything we don't ask for
+		} catch (SAXException e) {
+			// same as above
+		}
+	}
+
+	/**
+	 * Scans the given XML content for references towards other resources.
+	 *
+	 * @param resourceURI
+	 *            URI of the scanned resource, against which the relative references will be resolved.
+	 * @param input
+	 *            Stream on the content of this resource. It will not be closed by this method.
+	 * @return The URIs, without fragments, of the resources referenced from the given content. This will
+	 *         never contain <code>resourceURI</code> itself.
+	 * @throws IOException
+	 *             if the content cannot be read or is not well-formed XML.
+	 */
+	public Set<URI> scan(URI resourceURI, InputStream input) throws IOException {
+		final ScanningHandler handler = new ScanningHandler(resourceURI, attributeReferenceFilter);
+		try {
+			createParser().parse(new InputSource(input), handler);
+		} catch (SAXException e) {
+			throw new IOException(e);
+		}
+		final Set<URI> dependencies = handler.getReferences();
+		dependencies.removeAll(handler.getSchemaLocations());
+		dependencies.remove(resourceURI);
+		return dependencies;
+	}
+
+	/**
+	 * Creates a new parser from our factory, which is not guaranteed to be thread-safe.
+	 *
+	 * @return The created parser.
+	 * @throws IOException
+	 *             if the parser cannot be created.
+	 */
+	private synchronized SAXParser createParser() throws IOException {
+		try {
+			return parserFactory.newSAXParser();
+		} catch (ParserConfigurationException e) {
+			throw new IOException(e);
+		} catch (SAXException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * The SAX handler recording the references found in a single document.
+	 */
+	private static final class ScanningHandler extends DefaultHandler {
+		/** URI of the scanned resource. */
+		private final URI resourceURI;
+
+		/** Tells whether a resource referenced from an attribute value can actually be a dependency. */
+		private final Predicate<URI> attributeReferenceFilter;
+
+		/** The referenced resources. */
+		private final Set<URI> references;
+
+		/** The resources declared as schema locations. */
+		private final Set<URI> schemaLocations;
+
+		/** <code>true</code> only until we've seen the root element. */
+		private boolean isRoot;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param resourceURI
+		 *            URI of the scanned resource.
+		 * @param attributeReferenceFilter
+		 *            Tells whether a resource referenced from an attribute value can actually be a dependency.
+		 */
+		ScanningHandler(URI resourceURI, Predicate<URI> attributeReferenceFilter) {
+			this.resourceURI = resourceURI;
+			this.attributeReferenceFilter = attributeReferenceFilter;
+			this.references = new LinkedHashSet<URI>();
+			this.schemaLocations = new LinkedHashSet<URI>();
+			this.isRoot = true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see org.xml.sax.helpers.DefaultHandler#startElement(java.lang.String, java.lang.String,
+		 *      java.lang.String, org.xml.sax.Attributes)
+		 */
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) {
+			if (isRoot) {
+				final String xsiSchemaLocation = attributes.getValue(ExtendedMetaData.XSI_URI,
+						XMLResource.SCHEMA_LOCATION);
+				if (xsiSchemaLocation != null) {
+					declareSchemaLocation(xsiSchemaLocation);
+				}
+				isRoot = false;
+			}
+			for (int i = 0; i < attributes.getLength(); i++) {
+				final String attributeNamespace = attributes.getURI(i);
+				if (attributeNamespace == null || attributeNamespace.length() == 0) {
+					if (HREF.equals(attributes.getLocalName(i))) {
+						addReference(attributes.getValue(i));
+					} else {
+						scanAttributeValue(attributes.getValue(i));
+					}
+				} else if (!ExtendedMetaData.XSI_URI.equals(attributeNamespace)
+						&& !XMLResource.XMI_URI.equals(attributeNamespace)
+						&& !XMLNS_URI.equals(attributeNamespace)) {
+					scanAttributeValue(attributes.getValue(i));
+				}
+			}
+		}
+
+		/**
+		 * Looks for <code>resource#fragment</code> tokens in the given attribute value. The value is ignored
+		 * unless all of its tokens are references, optionally preceded by the type of the referenced object.
+		 *
+		 * @param value
+		 *            The attribute value.
+		 */
+		private void scanAttributeValue(String value) {
+			if (value.indexOf('#') == -1) {
+				return;
+			}
+			final List<URI> found = new ArrayList<URI>();
+			final StringTokenizer tokenizer = new StringTokenizer(value);
+			boolean expectReference = false;
+			while (tokenizer.hasMoreTokens()) {
+				final String token = tokenizer.nextToken();
+				final int fragmentStart = token.indexOf('#');
+				if (fragmentStart > 0) {
+					final URI reference = toResourceURI(token.substring(0, fragmentStart));
+					if (reference == null) {
+						return;
+					} else if (reference.fileExtension() != null
+							&& attributeReferenceFilter.apply(reference)) {
+						found.add(reference);
+					}
+					expectReference = false;
+				} else if (fragmentStart == 0) {
+					// Reference towards the scanned resource itself
+					expectReference = false;
+				} else if (!expectReference && isTypePrefix(token)) {
+					expectReference = true;
+				} else {
+					// Free text rather than a list of references
+					return;
+				}
+			}
+			if (!expectReference) {
+				references.addAll(found);
+			}
+		}
+
+		/**
+		 * Checks whether the given token is a qualified type name, as EMF serializes before references
+		 * which type differs from the type of the feature (<code>ecore:EClass</code>).
+		 *
+		 * @param token
+		 *            The token to check.
+		 * @return <code>true</code> if this token looks like a prefixed type name.
+		 */
+		private static boolean isTypePrefix(String token) {
+			final int colon = token.indexOf(':');
+			if (colon <= 0 || colon == token.length() - 1 || token.indexOf('/') != -1) {
+				return false;
+			}
+			for (int i = 0; i < token.length(); i++) {
+				final char c = token.charAt(i);
+				if (i != colon && !Character.isJavaIdentifierPart(c) && c != '.' && c != '-') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Records the reference held by an <code>href</code> attribute.
+		 *
+		 * @param value
+		 *            The value of the attribute.
+		 */
+		private void addReference(String value) {
+			final URI reference = toResourceURI(value);
+			if (reference != null) {
+				references.add(reference);
+			}
+		}
+
+		/**
+		 * Records the URIs declared in the given <code>xsi:schemaLocation</code> value.
+		 *
+		 * @param xsiSchemaLocation
+		 *            The pairs of namespace and location declared by the root element.
+		 */
+		private void declareSchemaLocation(String xsiSchemaLocation) {
+			final StringTokenizer tokenizer = new StringTokenizer(xsiSchemaLocation);
+			while (tokenizer.hasMoreTokens()) {
+				// Skip the namespace, we only care for the location
+				tokenizer.nextToken();
+				if (tokenizer.hasMoreTokens()) {
+					final URI location = toResourceURI(tokenizer.nextToken());
+					if (location != null) {
+						schemaLocations.add(location);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Converts the given serialized reference in the URI of the referenced resource.
+		 *
+		 * @param value
+		 *            The serialized reference, possibly relative to the scanned resource.
+		 * @return The absolute URI of the referenced resource, without fragment. <code>null</code> if
+		 *         <code>value</code> is not a valid URI or only holds a fragment of the scanned resource.
+		 */
+		private URI toResourceURI(String value) {
+			if (value.length() == 0 || value.charAt(0) == '#') {
+				return null;
+			}
+			try {
+				URI uri = URI.createURI(value).trimFragment();
+				if (uri.isRelative()) {
+					uri = uri.resolve(resourceURI);
+				}
+				return uri;
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		/**
+		 * Returns the referenced resources.
+		 *
+		 * @return The referenced resources.
+		 */
+		public Set<URI> getReferences() {
+			return references;
+		}
+
+		/**
+		 * Returns the resources declared as schema locations.
+		 *
+		 * @return The resources declared as schema locations.
+		 */
+		public Set<URI> getSchemaLocations() {
+			return schemaLocations;
+		}
+	}
+}
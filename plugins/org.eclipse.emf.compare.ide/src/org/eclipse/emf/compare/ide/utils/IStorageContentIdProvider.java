@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.ide.utils;
+
+import org.eclipse.core.resources.IStorage;
+
+/**
+ * Some implementations of IStorage already know an identifier of their content, such as the id of a Git blob.
+ * <p>
+ * Implementers can provide an adapter from a given IStorage implementation to this interface to allow EMF
+ * Compare to tell whether storages are identical without reading their content.
+ * </p>
+ *
+ * @since 3.5
+ */
+public interface IStorageContentIdProvider {
+	/**
+	 * Returns the identifier of the given storage's content, if it can be known without reading the said
+	 * content.
+	 * <p>
+	 * So that identifiers can be compared across storage implementations, this must be the identifier Git
+	 * would give to this content as a blob: the lower case hexadecimal representation of the SHA-1 digest of
+	 * <code>"blob " + length + '\0'</code> followed by the bytes of the content.
+	 * </p>
+	 *
+	 * @param storage
+	 *            The storage which content identifier we seek.
+	 * @return The identifier of the given storage's content, <code>null</code> if it is not known.
+	 */
+	String getContentId(IStorage storage);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -47,6 +47,7 @@ import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.compare.ide.EMFCompareIDEPlugin;
+import org.eclipse.emf.compare.ide.internal.utils.LocalFileContent;
 import org.eclipse.emf.compare.ide.internal.utils.StoragePathAdapter;
 import org.eclipse.emf.compare.ide.internal.utils.URIStorage;
 import org.eclipse.emf.compare.merge.ResourceChangeAdapter;
@@ -193,7 +194,8 @@ public final class ResourceUtil {
 	}
 
 	/**
-	 * Checks whether the two given storages point to binary identical data.
+	 * Checks whether the two given storages point to binary identical data. Storages backed by files of the
+	 * local file system are compared through the channels of these files rather than through their streams.
 	 * 
 	 * @param left
 	 *            First of the two storages which content we are testing.
@@ -202,8 +204,19 @@ public final class ResourceUtil {
 	 * @return <code>true</code> if {@code left} and {@code right} are binary identical.
 	 */
 	public static boolean binaryIdentical(IStorage left, IStorage right) {
+		final File leftFile = LocalFileContent.getLocalFile(left);
+		final File rightFile = LocalFileContent.getLocalFile(right);
+		if (leftFile != null && rightFile != null) {
+			try {
+				return LocalFileContent.identical(leftFile, rightFile);
+			} catch (IOException e) {
+				logError(e);
+				return false;
+			}
+		}
 		final int maxBufferSize = 8192;
 		final byte[] buffer = new byte[maxBufferSize];
+		final byte[] verificationBuffer = new byte[maxBufferSize];
 		try (BufferedInputStream leftStream = new BufferedInputStream(left.getContents(), maxBufferSize);
 				BufferedInputStream rightStream = new BufferedInputStream(right.getContents(),
 						maxBufferSize);) {
@@ -216,7 +229,7 @@ public final class ResourceUtil {
 					identical = rightStream.read() == -1;
 					break;
 				}
-				if (!verifyNextBytes(rightStream, buffer, 0, readLeft)) {
+				if (!verifyNextBytes(rightStream, buffer, verificationBuffer, readLeft)) {
 					identical = false;
 					break;
 				}
@@ -243,8 +256,21 @@ public final class ResourceUtil {
 	 * @return <code>true</code> if {@code left}, {@code right} and {@code origin} are binary identical.
 	 */
 	public static boolean binaryIdentical(IStorage left, IStorage right, IStorage origin) {
+		final File leftFile = LocalFileContent.getLocalFile(left);
+		final File rightFile = LocalFileContent.getLocalFile(right);
+		final File originFile = LocalFileContent.getLocalFile(origin);
+		if (leftFile != null && rightFile != null && originFile != null) {
+			try {
+				return LocalFileContent.identical(leftFile, rightFile)
+						&& LocalFileContent.identical(leftFile, originFile);
+			} catch (IOException e) {
+				logError(e);
+				return false;
+			}
+		}
 		final int maxBufferSize = 8192;
 		final byte[] buffer = new byte[maxBufferSize];
+		final byte[] verificationBuffer = new byte[maxBufferSize];
 		try (InputStream leftStream = new BufferedInputStream(left.getContents(), maxBufferSize);
 				InputStream rightStream = new BufferedInputStream(right.getContents(), maxBufferSize);
 				InputStream originStream = new BufferedInputStream(origin.getContents(), maxBufferSize);) {
@@ -257,8 +283,8 @@ public final class ResourceUtil {
 					identical = rightStream.read() == -1 && originStream.read() == -1;
 					break;
 				}
-				if (!verifyNextBytes(rightStream, buffer, 0, readLeft)
-						|| !verifyNextBytes(originStream, buffer, 0, readLeft)) {
+				if (!verifyNextBytes(rightStream, buffer, verificationBuffer, readLeft)
+						|| !verifyNextBytes(originStream, buffer, verificationBuffer, readLeft)) {
 					identical = false;
 					break;
 				}
@@ -272,15 +298,15 @@ public final class ResourceUtil {
 	}
 
 	/**
-	 * Verifies whether the next <code>length</code> bytes coming from <code>stream</code> equal
-	 * <code>bytes</code> at offset <code>offset</code>.
+	 * Verifies whether the next <code>length</code> bytes coming from <code>stream</code> equal the first
+	 * <code>length</code> bytes of <code>bytes</code>.
 	 * 
 	 * @param stream
 	 *            The stream to read bytes from
 	 * @param bytes
-	 *            The array of bytes to compare to (from offset of <code>offset</code> bytes)
-	 * @param offset
-	 *            The offset in the byte array to use
+	 *            The array of bytes to compare to
+	 * @param buffer
+	 *            The array in which to read the bytes of the stream, at least <code>length</code> long
 	 * @param length
 	 *            The amount of bytes to verify
 	 * @return <code>true</code> if there are at least <code>length</code> bytes in the stream and they equal
@@ -288,13 +314,12 @@ public final class ResourceUtil {
 	 * @throws IOException
 	 *             If an I/O problem occurs
 	 */
-	private static boolean verifyNextBytes(InputStream stream, byte[] bytes, int offset, int length)
+	private static boolean verifyNextBytes(InputStream stream, byte[] bytes, byte[] buffer, int length)
 			throws IOException {
 		int done = 0;
-		byte[] buffer = new byte[offset + length];
 		while (done < length) {
-			int read = stream.read(buffer, offset + done, length - done);
-			if (read == -1 || !equalArrays(offset + done, read, bytes, buffer)) {
+			int read = stream.read(buffer, done, length - done);
+			if (read == -1 || !equalArrays(done, read, bytes, buffer)) {
 				return false;
 			}
 			done += read;
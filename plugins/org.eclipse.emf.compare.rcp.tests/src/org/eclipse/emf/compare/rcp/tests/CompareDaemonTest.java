@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.rcp.internal.application.CompareDaemon;
+import org.eclipse.emf.compare.rcp.internal.application.CompareRequest;
+import org.eclipse.emf.compare.rcp.internal.application.CompareRunner;
+import org.eclipse.emf.compare.rcp.tests.data.EcoreInputData;
+import org.eclipse.emf.compare.report.ComparisonReportWriter.Format;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the parsing of command line comparison requests and their handling by a {@link CompareDaemon}.
+ */
+@SuppressWarnings({"restriction", "nls" })
+public class CompareDaemonTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CompareDaemon daemon;
+
+	private Thread daemonThread;
+
+	@Before
+	public void setUp() throws IOException {
+		daemon = new CompareDaemon(new CompareRunner(), 0, 1000);
+		daemonThread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					daemon.run();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		daemonThread.start();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		daemon.stop();
+		daemonThread.join(10000);
+	}
+
+	@Test
+	public void testParseRequest() {
+		final CompareRequest request = CompareRequest.parse(Arrays.asList("-left", "left.ecore", "-right",
+				"platform:/resource/project/right.ecore", "-format", "jsonl", "-output", "report.jsonl"));
+		assertEquals(URI.createFileURI(new File("left.ecore").getAbsolutePath()), request.getLeft());
+		assertEquals(URI.createURI("platform:/resource/project/right.ecore"), request.getRight());
+		assertNull(request.getOrigin());
+		assertEquals(Format.JSON_LINES, request.getFormat());
+		assertEquals(new File("report.jsonl"), request.getOutput());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseRequestMissingSide() {
+		CompareRequest.parse(Arrays.asList("-left", "left.ecore"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseRequestMissingValue() {
+		CompareRequest.parse(Arrays.asList("-left", "left.ecore", "-right"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseRequestUnknownFormat() {
+		CompareRequest.parse(Arrays.asList("-left", "left.ecore", "-right", "right.ecore", "-format", "xml"));
+	}
+
+	@Test
+	public void testDaemonServesSeveralRequests() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+		final File right = save(input.getRight(), "right.ecore");
+		final File origin = save(input.getOrigin(), "origin.ecore");
+
+		final String[] response = send("-left\t" + left + "\t-right\t" + right + "\t-origin\t" + origin
+				+ "\t-format\tjsonl");
+		assertEquals(CompareDaemon.STATUS_DIFFERENCES, response[0]);
+		assertTrue(response[1].startsWith("{\"type\":\"comparison\",\"threeWay\":true}"));
+
+		final String[] identical = send("-left\t" + left + "\t-right\t" + left);
+		assertEquals(CompareDaemon.STATUS_IDENTICAL, identical[0]);
+		assertTrue(identical[1].startsWith("{\"threeWay\":false"));
+
+		final String[] error = send("-left\t" + left);
+		assertTrue(error[0].startsWith(CompareDaemon.STATUS_ERROR));
+
+		send(CompareDaemon.SHUTDOWN);
+		try {
+			daemonThread.join(10000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		assertFalse(daemonThread.isAlive());
+		assertFalse(daemon.getSecretFile().exists());
+	}
+
+	@Test
+	public void testDaemonRequiresSecret() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+
+		final String[] response = send("invalid", "-left\t" + left + "\t-right\t" + left);
+		assertTrue(response[0].startsWith(CompareDaemon.STATUS_ERROR));
+		assertNull(response[1]);
+
+		send("invalid", CompareDaemon.SHUTDOWN);
+		assertTrue(daemonThread.isAlive());
+	}
+
+	@Test
+	public void testDaemonRejectsOutputFiles() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+		final File output = new File(folder.getRoot(), "report.json");
+
+		final String[] response = send("-left\t" + left + "\t-right\t" + left + "\t-output\t" + output);
+		assertTrue(response[0].startsWith(CompareDaemon.STATUS_ERROR));
+		assertFalse(output.exists());
+	}
+
+	@Test
+	public void testDaemonRejectsNonFileURIs() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+
+		final String[] response = send("-left\t" + left + "\t-right\thttp://localhost/right.ecore");
+		assertTrue(response[0].startsWith(CompareDaemon.STATUS_ERROR));
+	}
+
+	@Test
+	public void testIdleClientDisconnected() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+
+		final Socket idle = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+		try {
+			final String[] response = send("-left\t" + left + "\t-right\t" + left);
+			assertEquals(CompareDaemon.STATUS_IDENTICAL, response[0]);
+			assertEquals(-1, idle.getInputStream().read());
+		} finally {
+			idle.close();
+		}
+	}
+
+	@Test
+	public void testDisconnectedClientDoesNotStopDaemon() throws IOException {
+		final EcoreInputData input = new EcoreInputData();
+		final File left = save(input.getLeft(), "left.ecore");
+
+		final Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+		socket.getOutputStream().write("secret\n".getBytes(StandardCharsets.UTF_8));
+		socket.close();
+
+		final String[] response = send("-left\t" + left + "\t-right\t" + left);
+		assertEquals(CompareDaemon.STATUS_IDENTICAL, response[0]);
+		assertTrue(daemonThread.isAlive());
+	}
+
+	private File save(Resource resource, String fileName) throws IOException {
+		final File file = new File(folder.getRoot(), fileName);
+		resource.setURI(URI.createFileURI(file.getAbsolutePath()));
+		resource.save(null);
+		return file;
+	}
+
+	/**
+	 * Sends the given request to the daemon along with its secret and returns the response's status line and
+	 * first report line.
+	 */
+	private String[] send(String request) throws IOException {
+		final String secret = new String(Files.readAllBytes(daemon.getSecretFile().toPath()),
+				StandardCharsets.UTF_8);
+		return send(secret, request);
+	}
+
+	/**
+	 * Sends the given secret and request to the daemon and returns the response's status line and first
+	 * report line.
+	 */
+	private String[] send(String secret, String request) throws IOException {
+		final Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+		try {
+			final OutputStream out = socket.getOutputStream();
+			out.write((secret + '\n' + request + '\n').getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			final String status = reader.readLine();
+			final String report = reader.readLine();
+			if (!CompareDaemon.SHUTDOWN.equals(request)) {
+				assertNotNull(status);
+			}
+			return new String[] {status, report };
+		} finally {
+			socket.close();
+		}
+	}
+}
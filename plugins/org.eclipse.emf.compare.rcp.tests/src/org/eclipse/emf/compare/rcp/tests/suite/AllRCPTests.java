@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.rcp.tests.suite;
 
+import org.eclipse.emf.compare.rcp.tests.CompareDaemonTest;
 import org.eclipse.emf.compare.rcp.tests.ItemRegistryTest;
 import org.eclipse.emf.compare.rcp.tests.MatchEngineFactoryRegistryWrapperTest;
 import org.junit.runner.RunWith;
@@ -20,7 +21,8 @@ import org.junit.runners.Suite.SuiteClasses;
  * @author <a href="mailto:arthur.daussy@obeo.fr">Arthur Daussy</a>
  */
 @RunWith(Suite.class)
-@SuiteClasses({ItemRegistryTest.class, MatchEngineFactoryRegistryWrapperTest.class })
+@SuiteClasses({ItemRegistryTest.class, MatchEngineFactoryRegistryWrapperTest.class,
+		CompareDaemonTest.class })
 public class AllRCPTests {
 
 }
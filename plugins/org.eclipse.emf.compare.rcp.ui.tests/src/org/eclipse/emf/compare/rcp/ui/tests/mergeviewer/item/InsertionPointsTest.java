@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.ui.tests.mergeviewer.item;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.compare.CompareFactory;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.internal.utils.DiffUtil;
+import org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl.InsertionPoints;
+import org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl.MergeViewerItem;
+import org.eclipse.emf.compare.rcp.ui.mergeviewer.IMergeViewer.MergeViewerSide;
+import org.eclipse.emf.compare.rcp.ui.mergeviewer.item.IMergeViewerItem;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that {@link InsertionPoints} places the insertion points exactly where inserting them one by one
+ * would.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class InsertionPointsTest {
+
+	private Comparison comparison;
+
+	@Before
+	public void setUp() {
+		comparison = CompareFactory.eINSTANCE.createComparison();
+	}
+
+	@Test
+	public void testFindInsertionIndex() {
+		final List<Object> source = Arrays.<Object> asList("a", "x", "b", "c", "y", "d", "z");
+		final List<Object> target = Arrays.<Object> asList("a", "b", "w", "c", "d");
+		final InsertionPoints insertionPoints = new InsertionPoints(comparison, source, target,
+				Collections.<IMergeViewerItem> emptyList());
+		for (String value : Arrays.asList("x", "y", "z", "a", "unknown")) {
+			assertEquals(value, DiffUtil.findInsertionIndex(comparison, source, target, value),
+					insertionPoints.findInsertionIndex(value));
+		}
+	}
+
+	@Test
+	public void testInsertionOrder() {
+		final List<IMergeViewerItem> values = Arrays.asList(real("a"), insertionPoint(), real("b"), real("c"),
+				insertionPoint());
+		final int[] insertionIndices = new int[] {0, 1, 1, 3, 5, 0, 3, 2, -1, 4, 3 };
+
+		final InsertionPoints insertionPoints = new InsertionPoints(comparison,
+				Collections.<Object> emptyList(), Collections.<Object> emptyList(), values);
+		final List<IMergeViewerItem> expected = Lists.newArrayList(values);
+		for (int insertionIndex : insertionIndices) {
+			final IMergeViewerItem insertionPoint = insertionPoint();
+			insertionPoints.add(insertionIndex, insertionPoint);
+			insertOneByOne(expected, insertionIndex, insertionPoint);
+			assertEquals(expected.size(), insertionPoints.size());
+		}
+
+		assertEquals(expected, insertionPoints.toList());
+	}
+
+	/**
+	 * The way insertion points used to be inserted, one after the other.
+	 */
+	private static void insertOneByOne(List<IMergeViewerItem> items, int insertionIndex,
+			IMergeViewerItem insertionPoint) {
+		int realIndex = 0;
+		for (int index = 0; index < insertionIndex && realIndex < items.size(); realIndex++) {
+			if (!items.get(realIndex).isInsertionPoint()) {
+				index++;
+			}
+		}
+		items.add(realIndex, insertionPoint);
+	}
+
+	private IMergeViewerItem real(String value) {
+		return new MergeViewerItem(comparison, null, value, value, value, MergeViewerSide.LEFT, null);
+	}
+
+	private IMergeViewerItem insertionPoint() {
+		return new MergeViewerItem(comparison, CompareFactory.eINSTANCE.createReferenceChange(), null,
+				"right", null, MergeViewerSide.LEFT, null);
+	}
+}
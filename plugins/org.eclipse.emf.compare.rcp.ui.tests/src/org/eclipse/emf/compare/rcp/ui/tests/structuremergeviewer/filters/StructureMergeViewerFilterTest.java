@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.ui.tests.structuremergeviewer.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.emf.compare.CompareFactory;
+import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.filters.StructureMergeViewerFilter;
+import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.filters.AbstractDifferenceFilter;
+import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.filters.IDifferenceFilter;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.edit.tree.TreeFactory;
+import org.eclipse.emf.edit.tree.TreeNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the filters' verdicts by the {@link StructureMergeViewerFilter}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class StructureMergeViewerFilterTest {
+
+	private TreeNode first;
+
+	private TreeNode second;
+
+	private TreeNode third;
+
+	private CountingFilter firstFilter;
+
+	private CountingFilter secondFilter;
+
+	private StructureMergeViewerFilter filter;
+
+	@Before
+	public void setUp() {
+		first = createDiffNode();
+		second = createDiffNode();
+		third = createDiffNode();
+		firstFilter = new CountingFilter(ImmutableSet.<EObject> of(first));
+		secondFilter = new CountingFilter(ImmutableSet.<EObject> of(second));
+		filter = new StructureMergeViewerFilter(new EventBus());
+		filter.init(Collections.<IDifferenceFilter> emptySet(),
+				ImmutableSet.<IDifferenceFilter> of(firstFilter, secondFilter),
+				ImmutableSet.<IDifferenceFilter> of(firstFilter, secondFilter));
+	}
+
+	@Test
+	public void testSelectedFiltersHideNodes() {
+		filter.addFilter(firstFilter);
+		assertFalse(filter.select(null, null, first));
+		assertTrue(filter.select(null, null, second));
+		assertTrue(filter.select(null, null, third));
+
+		filter.addFilter(secondFilter);
+		assertFalse(filter.select(null, null, first));
+		assertFalse(filter.select(null, null, second));
+		assertTrue(filter.select(null, null, third));
+
+		filter.removeFilter(firstFilter);
+		assertTrue(filter.select(null, null, first));
+		assertFalse(filter.select(null, null, second));
+		assertTrue(filter.select(null, null, third));
+	}
+
+	@Test
+	public void testPredicatesEvaluatedOncePerNode() {
+		for (int i = 0; i < 3; i++) {
+			filter.addFilter(firstFilter);
+			filter.addFilter(secondFilter);
+			filter.select(null, null, first);
+			filter.select(null, null, second);
+			filter.select(null, null, third);
+			filter.removeFilter(firstFilter);
+			filter.removeFilter(secondFilter);
+			filter.select(null, null, first);
+			filter.select(null, null, second);
+			filter.select(null, null, third);
+		}
+
+		// "first" hides its node, so the second filter never needs to check it
+		assertEquals(3, firstFilter.evaluations);
+		assertEquals(2, secondFilter.evaluations);
+	}
+
+	@Test
+	public void testAggregatedPredicateIsStable() {
+		filter.addFilter(firstFilter);
+		final Predicate<? super EObject> firstOnly = filter.getAggregatedPredicate();
+		filter.addFilter(secondFilter);
+		final Predicate<? super EObject> both = filter.getAggregatedPredicate();
+
+		assertFalse(firstOnly.apply(first));
+		assertTrue(firstOnly.apply(second));
+		assertFalse(both.apply(first));
+		assertFalse(both.apply(second));
+		assertTrue(both.apply(third));
+	}
+
+	@Test
+	public void testInitForgetsVerdicts() {
+		filter.addFilter(firstFilter);
+		filter.select(null, null, first);
+		filter.init(ImmutableSet.<IDifferenceFilter> of(firstFilter),
+				Collections.<IDifferenceFilter> emptySet(),
+				ImmutableSet.<IDifferenceFilter> of(firstFilter, secondFilter));
+		assertFalse(filter.select(null, null, first));
+
+		assertEquals(2, firstFilter.evaluations);
+	}
+
+	private static TreeNode createDiffNode() {
+		final TreeNode node = TreeFactory.eINSTANCE.createTreeNode();
+		node.setData(CompareFactory.eINSTANCE.createReferenceChange());
+		return node;
+	}
+
+	/**
+	 * A filter hiding a fixed set of nodes and counting how many times its predicate has been evaluated.
+	 */
+	private static class CountingFilter extends AbstractDifferenceFilter {
+		private final Set<EObject> hidden;
+
+		private int evaluations;
+
+		private final Predicate<EObject> predicate = new Predicate<EObject>() {
+			public boolean apply(EObject input) {
+				evaluations++;
+				return hidden.contains(input);
+			}
+		};
+
+		CountingFilter(Set<EObject> hidden) {
+			this.hidden = hidden;
+		}
+
+		@Override
+		public Predicate<? super EObject> getPredicateWhenSelected() {
+			return predicate;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@ package org.eclipse.emf.compare.rcp.ui.tests.structuremergeviewer.groups;
 
 import static com.google.common.base.Predicates.alwaysTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Collection;
@@ -19,13 +21,17 @@ import java.util.List;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.provider.spec.CompareItemProviderAdapterFactorySpec;
 import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.groups.impl.BasicDifferenceGroupImpl;
+import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.nodes.MatchNode;
 import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroup;
 import org.eclipse.emf.compare.rcp.ui.tests.structuremergeviewer.groups.data.nodes.addconflict.NodesAddConflictInputData;
 import org.eclipse.emf.compare.rcp.ui.tests.structuremergeviewer.groups.provider.AbstractTestTreeNodeItemProviderAdapter;
+import org.eclipse.emf.compare.tests.edit.data.ResourceScopeProvider;
 import org.eclipse.emf.compare.tests.edit.data.ecore.a1.EcoreA1InputData;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
 import org.eclipse.emf.ecore.provider.EcoreItemProviderAdapterFactory;
 import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
 import org.eclipse.emf.edit.provider.AdapterFactoryItemDelegator;
@@ -35,6 +41,7 @@ import org.eclipse.emf.edit.tree.TreeNode;
 import org.eclipse.emf.edit.tree.TreePackage;
 import org.junit.Test;
 
+import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
 
 @SuppressWarnings("restriction")
@@ -432,4 +439,77 @@ public class TestBasicDifferenceGroupImpl extends AbstractTestTreeNodeItemProvid
 	protected void checkText(TreeNode childNode, String expected) {
 		assertEquals(expected, itemDelegator.getText(childNode));
 	}
+
+	@Test
+	public void testLazyEcoreA1() throws IOException {
+		checkLazyTree(new EcoreA1InputData());
+	}
+
+	@Test
+	public void testLazyNodesRealAddConflict() throws IOException {
+		checkLazyTree(new NodesAddConflictInputData());
+	}
+
+	private void checkLazyTree(ResourceScopeProvider inputData) throws IOException {
+		Comparison comparison = getComparison(inputData);
+		IDifferenceGroup eagerGroup = new BasicDifferenceGroupImpl(comparison, alwaysTrue(),
+				new ECrossReferenceAdapter());
+		IDifferenceGroup lazyGroup = new LazyDifferenceGroup(comparison, alwaysTrue(),
+				new ECrossReferenceAdapter());
+
+		List<? extends TreeNode> lazyRoots = lazyGroup.getChildren();
+		for (TreeNode root : lazyRoots) {
+			if (root instanceof MatchNode) {
+				// Walking the tree through its contents must not populate it
+				assertTrue(root.eContents().isEmpty());
+			}
+		}
+		checkSameTrees(eagerGroup.getChildren(), lazyRoots);
+	}
+
+	@Test
+	public void testLazyTreeNodesBuiltPerDiff() throws IOException {
+		Comparison comparison = getComparison(new EcoreA1InputData());
+		ECrossReferenceAdapter eagerReferences = new ECrossReferenceAdapter();
+		IDifferenceGroup eagerGroup = new BasicDifferenceGroupImpl(comparison, alwaysTrue(), eagerReferences);
+		eagerGroup.getChildren();
+		ECrossReferenceAdapter lazyReferences = new ECrossReferenceAdapter();
+		LazyDifferenceGroup lazyGroup = new LazyDifferenceGroup(comparison, alwaysTrue(), lazyReferences);
+		lazyGroup.getChildren();
+
+		for (Diff diff : comparison.getDifferences()) {
+			lazyGroup.buildTreeNodes(diff);
+			assertEquals(countTreeNodes(eagerReferences, diff), countTreeNodes(lazyReferences, diff));
+		}
+	}
+
+	private static int countTreeNodes(ECrossReferenceAdapter crossReferenceAdapter, Diff diff) {
+		int count = 0;
+		for (Setting setting : crossReferenceAdapter.getNonNavigableInverseReferences(diff)) {
+			if (setting.getEStructuralFeature() == TreePackage.Literals.TREE_NODE__DATA) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void checkSameTrees(List<? extends TreeNode> expected, List<? extends TreeNode> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i).getData(), actual.get(i).getData());
+			checkSameTrees(expected.get(i).getChildren(), actual.get(i).getChildren());
+		}
+	}
+
+	private static class LazyDifferenceGroup extends BasicDifferenceGroupImpl {
+		LazyDifferenceGroup(Comparison comparison, Predicate<? super Diff> filter,
+				ECrossReferenceAdapter crossReferenceAdapter) {
+			super(comparison, filter, crossReferenceAdapter);
+		}
+
+		@Override
+		protected boolean isLazy() {
+			return true;
+		}
+	}
 }
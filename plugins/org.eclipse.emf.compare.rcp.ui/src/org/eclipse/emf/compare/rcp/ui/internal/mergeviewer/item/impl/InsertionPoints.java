@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.ui.internal.mergeviewer.item.impl;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.internal.utils.DiffUtil;
+import org.eclipse.emf.compare.rcp.ui.mergeviewer.item.IMergeViewerItem;
+import org.eclipse.emf.compare.utils.IEqualityHelper;
+
+/**
+ * Computes the position of the insertion points among the children of a merge viewer item.
+ * <p>
+ * Inserting each insertion point one after the other required computing the longest common subsequence of
+ * both sides' children and walking the children list once per insertion point. This computes the longest
+ * common subsequence only once, then records the insertion points before
+ * {@link #toList() inserting} them all in a single pass. The resulting list is the same as the one
+ * we'd get by inserting, one by one and in the order they are {@link #add(int, IMergeViewerItem) added},
+ * each insertion point right after the <code>insertionIndex</code>-th child that is not itself an insertion
+ * point.
+ * </p>
+ */
+public final class InsertionPoints {
+	/** The comparison which differences yield the insertion points. */
+	private final Comparison comparison;
+
+	/** The children of the opposite side, from which values are to be inserted. */
+	private final List<Object> source;
+
+	/** The children of the side in which the insertion points are to be displayed. */
+	private final List<Object> target;
+
+	/** The children between which insertion points are to be inserted. */
+	private final List<? extends IMergeViewerItem> values;
+
+	/** Number of the {@link #values} that are not insertion points themselves. */
+	private final int realValues;
+
+	/** The insertion points to insert after each real value, the key being the index of that value. */
+	private final ListMultimap<Integer, IMergeViewerItem> insertionPoints = ArrayListMultimap.create();
+
+	/** The insertion points to append after all values, in insertion order. */
+	private final List<IMergeViewerItem> trailingInsertionPoints = newArrayList();
+
+	/** The longest common subsequence of {@link #source} and {@link #target}, computed on demand. */
+	private List<Object> lcs;
+
+	/** Indices in {@link #source} of the elements that are part of the {@link #lcs}. */
+	private BitSet lcsIndices;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param comparison
+	 *            The comparison which differences yield the insertion points.
+	 * @param source
+	 *            The children of the opposite side, from which values are to be inserted.
+	 * @param target
+	 *            The children of the side in which the insertion points are to be displayed.
+	 * @param values
+	 *            The merge viewer items between which insertion points are to be inserted.
+	 */
+	public InsertionPoints(Comparison comparison, List<Object> source, List<Object> target,
+			List<? extends IMergeViewerItem> values) {
+		this.comparison = comparison;
+		this.source = source;
+		this.target = target;
+		this.values = values;
+		int count = 0;
+		for (IMergeViewerItem value : values) {
+			if (!value.isInsertionPoint()) {
+				count++;
+			}
+		}
+		this.realValues = count;
+	}
+
+	/**
+	 * Returns the index at which the given value of the source list should be inserted in the target list.
+	 * This yields the same result as {@link DiffUtil#findInsertionIndex(Comparison, List, List, Object)},
+	 * but only computes the longest common subsequence of both lists once.
+	 *
+	 * @param value
+	 *            The value which insertion index we need.
+	 * @return The index at which <code>value</code> should be inserted in the target list.
+	 */
+	public int findInsertionIndex(Object value) {
+		if (lcs == null) {
+			lcs = DiffUtil.longestCommonSubsequence(comparison, source, target);
+			lcsIndices = computeLCSIndices();
+		}
+		final IEqualityHelper equalityHelper = comparison.getEqualityHelper();
+		int currentIndex = -1;
+		for (int i = lcsIndices.nextClearBit(0); i < source.size() && currentIndex == -1; i = lcsIndices
+				.nextClearBit(i + 1)) {
+			if (equalityHelper.matchingValues(source.get(i), value)) {
+				currentIndex = i;
+			}
+		}
+		return DiffUtil.findInsertionIndexForElementAt(comparison, source, target, lcs, currentIndex);
+	}
+
+	/**
+	 * Computes the indices of the source elements that are part of the longest common subsequence, walking
+	 * the source list the same way {@link DiffUtil#findInsertionIndex(Comparison, List, List, Object)} does.
+	 *
+	 * @return The indices of the source elements that are part of the longest common subsequence.
+	 */
+	private BitSet computeLCSIndices() {
+		final IEqualityHelper equalityHelper = comparison.getEqualityHelper();
+		final BitSet indices = new BitSet(source.size());
+		int lcsIndex = 0;
+		for (int i = 0; i < source.size() && lcsIndex < lcs.size(); i++) {
+			if (equalityHelper.matchingValues(source.get(i), lcs.get(lcsIndex))) {
+				indices.set(i);
+				lcsIndex++;
+			}
+		}
+		return indices;
+	}
+
+	/**
+	 * Returns the size the children list would have if we had inserted all insertion points added so far.
+	 *
+	 * @return The current size of the children list.
+	 */
+	public int size() {
+		return values.size() + insertionPoints.size() + trailingInsertionPoints.size();
+	}
+
+	/**
+	 * Records an insertion point to be inserted right after the <code>insertionIndex</code>-th child that is
+	 * not an insertion point. Insertion points added later for the same index will end up before this one.
+	 *
+	 * @param insertionIndex
+	 *            Number of real children that should precede this insertion point.
+	 * @param insertionPoint
+	 *            The insertion point to insert.
+	 */
+	public void add(int insertionIndex, IMergeViewerItem insertionPoint) {
+		if (insertionIndex > realValues) {
+			trailingInsertionPoints.add(insertionPoint);
+		} else {
+			insertionPoints.put(Integer.valueOf(Math.max(insertionIndex, 0)), insertionPoint);
+		}
+	}
+
+	/**
+	 * Creates the list of children with all recorded insertion points.
+	 *
+	 * @return The children, insertion points included.
+	 */
+	public List<IMergeViewerItem> toList() {
+		final List<IMergeViewerItem> ret = newArrayListWithCapacity(size());
+		int realIndex = 0;
+		ret.addAll(Lists.reverse(insertionPoints.get(Integer.valueOf(realIndex))));
+		for (IMergeViewerItem value : values) {
+			ret.add(value);
+			if (!value.isInsertionPoint()) {
+				realIndex++;
+				ret.addAll(Lists.reverse(insertionPoints.get(Integer.valueOf(realIndex))));
+			}
+		}
+		ret.addAll(trailingInsertionPoints);
+		return ret;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -52,7 +52,6 @@ import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.ResourceAttachmentChange;
 import org.eclipse.emf.compare.graph.IGraphView;
 import org.eclipse.emf.compare.internal.spec.EObjectUtil;
-import org.eclipse.emf.compare.internal.utils.DiffUtil;
 import org.eclipse.emf.compare.match.impl.NotLoadedFragmentMatch;
 import org.eclipse.emf.compare.rcp.ui.internal.util.MergeViewerUtil;
 import org.eclipse.emf.compare.rcp.ui.internal.util.ResourceUIUtil;
@@ -352,15 +351,16 @@ public class MergeViewerItem extends AdapterImpl implements IMergeViewerItem {
 	protected final List<IMergeViewerItem> createInsertionPoints(Comparison comparison,
 			EStructuralFeature eStructuralFeature, final List<? extends IMergeViewerItem> values,
 			List<? extends Diff> differences) {
-		final List<IMergeViewerItem> ret = newArrayList(values);
 		if (differences.isEmpty()) {
-			return ret;
+			return newArrayList(values);
 		}
 
 		final List<Object> sideContent = ReferenceUtil.getAsList((EObject)getSideValue(getSide()),
 				eStructuralFeature);
 		final List<Object> oppositeContent = ReferenceUtil
 				.getAsList((EObject)getSideValue(getSide().opposite()), eStructuralFeature);
+		final InsertionPoints insertionPoints = new InsertionPoints(comparison, oppositeContent, sideContent,
+				values);
 
 		for (Diff diff : Lists.reverse(differences)) {
 			EObject value = (EObject)MergeViewerUtil.getDiffValue(diff);
@@ -387,26 +387,17 @@ public class MergeViewerItem extends AdapterImpl implements IMergeViewerItem {
 										eStructuralFeature)
 								.indexOf(value);
 					} else {
-						insertionIndex = Math.min(
-								DiffUtil.findInsertionIndex(comparison, oppositeContent, sideContent, value),
-								ret.size());
+						insertionIndex = Math.min(insertionPoints.findInsertionIndex(value),
+								insertionPoints.size());
 					}
 
-					// offset the insertion by the number of previous insertion points in the list
-					// Cannot be improved by keeping the number of created insertion points because the given
-					// "values" parameter may already contains some insertion points.
-					int realIndex = 0;
-					for (int index = 0; index < insertionIndex && realIndex < ret.size(); realIndex++) {
-						if (!ret.get(realIndex).isInsertionPoint()) {
-							index++;
-						}
-					}
-
-					ret.add(realIndex, insertionPoint);
+					// the given "values" may already contain some insertion points, the insertion index only
+					// counts the other values
+					insertionPoints.add(insertionIndex, insertionPoint);
 				}
 			}
 		}
-		return ret;
+		return insertionPoints.toList();
 	}
 
 	private boolean isAddOnOppositeSide(Diff diff) {
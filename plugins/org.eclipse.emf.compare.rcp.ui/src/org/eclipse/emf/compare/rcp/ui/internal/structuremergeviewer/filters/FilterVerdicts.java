@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.filters;
+
+import static com.google.common.collect.Maps.newHashMap;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Caches the verdicts of the difference filters' predicates on the nodes of the structure merge viewer.
+ * <p>
+ * Each node is given a dense ordinal the first time it is met, and the verdict of each predicate on that node
+ * is stored in bit sets indexed by these ordinals. Predicates are thus only ever evaluated once per node, and
+ * {@link #aggregate(Collection) aggregating} the predicates of the currently selected filters is only a
+ * matter of combining their bit sets.
+ * </p>
+ */
+final class FilterVerdicts {
+	/** The ordinals of all nodes we've met since the last {@link #clear()}. */
+	private final Map<Object, Integer> ordinals = newHashMap();
+
+	/** The verdicts of each predicate we've been asked to evaluate. */
+	private final Map<Predicate<? super EObject>, Verdicts> verdicts = newHashMap();
+
+	/**
+	 * The ordinal of the next node we'll meet. This is never reset so that the aggregations created before a
+	 * {@link #clear()} cannot mistake new nodes for the old ones.
+	 */
+	private int nextOrdinal;
+
+	/**
+	 * Returns the ordinal of the given node, assigning it one if it is the first time we meet it.
+	 *
+	 * @param node
+	 *            The node which ordinal we need.
+	 * @return The ordinal of the given node.
+	 */
+	synchronized int ordinal(Object node) {
+		final Integer ordinal = ordinals.get(node);
+		if (ordinal != null) {
+			return ordinal.intValue();
+		}
+		final int newOrdinal = nextOrdinal++;
+		ordinals.put(node, Integer.valueOf(newOrdinal));
+		return newOrdinal;
+	}
+
+	/**
+	 * Returns the verdict of the given predicate on the given node, only evaluating the predicate if it has
+	 * never been evaluated on this node before.
+	 *
+	 * @param predicate
+	 *            The predicate to evaluate.
+	 * @param node
+	 *            The node on which to evaluate the predicate.
+	 * @param ordinal
+	 *            Ordinal of <code>node</code>.
+	 * @return The verdict of the given predicate on the given node.
+	 */
+	private boolean apply(Predicate<? super EObject> predicate, EObject node, int ordinal) {
+		Verdicts predicateVerdicts = verdicts.get(predicate);
+		if (predicateVerdicts == null) {
+			predicateVerdicts = new Verdicts();
+			verdicts.put(predicate, predicateVerdicts);
+		}
+		if (predicateVerdicts.evaluated.get(ordinal)) {
+			return predicateVerdicts.matched.get(ordinal);
+		}
+		final boolean matched = predicate.apply(node);
+		predicateVerdicts.evaluated.set(ordinal);
+		if (matched) {
+			predicateVerdicts.matched.set(ordinal);
+		}
+		return matched;
+	}
+
+	/**
+	 * Creates a predicate accepting the nodes that none of the given predicates match. The verdicts that
+	 * have already been cached for these predicates are combined right away.
+	 *
+	 * @param predicates
+	 *            The predicates to aggregate.
+	 * @return A predicate that acts as <code>not(or(predicates))</code>.
+	 */
+	synchronized Predicate<EObject> aggregate(Collection<Predicate<? super EObject>> predicates) {
+		final BitSet filteredOut = new BitSet();
+		BitSet evaluated = null;
+		for (Predicate<? super EObject> predicate : predicates) {
+			final Verdicts predicateVerdicts = verdicts.get(predicate);
+			if (predicateVerdicts == null) {
+				evaluated = new BitSet();
+			} else {
+				filteredOut.or(predicateVerdicts.matched);
+				if (evaluated == null) {
+					evaluated = (BitSet)predicateVerdicts.evaluated.clone();
+				} else {
+					evaluated.and(predicateVerdicts.evaluated);
+				}
+			}
+		}
+		if (evaluated == null) {
+			evaluated = new BitSet();
+		}
+		return new Aggregation(ImmutableList.copyOf(predicates), filteredOut, evaluated);
+	}
+
+	/**
+	 * Forgets about all nodes and verdicts, typically because we're about to filter a new comparison.
+	 */
+	synchronized void clear() {
+		ordinals.clear();
+		verdicts.clear();
+	}
+
+	/**
+	 * The verdicts of a single predicate.
+	 */
+	private static final class Verdicts {
+		/** The ordinals of the nodes on which the predicate has been evaluated. */
+		private final BitSet evaluated = new BitSet();
+
+		/** The ordinals of the nodes the predicate matched. */
+		private final BitSet matched = new BitSet();
+	}
+
+	/**
+	 * A predicate accepting the nodes that none of a set of predicates match.
+	 */
+	private final class Aggregation implements Predicate<EObject> {
+		/** The aggregated predicates. */
+		private final ImmutableList<Predicate<? super EObject>> predicates;
+
+		/** The ordinals of the nodes one of our predicates matched. */
+		private final BitSet filteredOut;
+
+		/** The ordinals of the nodes we know none of our predicates match. */
+		private final BitSet accepted;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param predicates
+		 *            The aggregated predicates.
+		 * @param filteredOut
+		 *            The ordinals of the nodes one of these predicates is known to match.
+		 * @param accepted
+		 *            The ordinals of the nodes none of these predicates is known to match.
+		 */
+		Aggregation(ImmutableList<Predicate<? super EObject>> predicates, BitSet filteredOut,
+				BitSet accepted) {
+			this.predicates = predicates;
+			this.filteredOut = filteredOut;
+			this.accepted = accepted;
+			this.accepted.andNot(filteredOut);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see com.google.common.base.Predicate#apply(java.lang.Object)
+		 */
+		public boolean apply(EObject input) {
+			synchronized (FilterVerdicts.this) {
+				final int ordinal = ordinal(input);
+				if (filteredOut.get(ordinal)) {
+					return false;
+				} else if (accepted.get(ordinal)) {
+					return true;
+				}
+				for (Predicate<? super EObject> predicate : predicates) {
+					if (FilterVerdicts.this.apply(predicate, input, ordinal)) {
+						filteredOut.set(ordinal);
+						return false;
+					}
+				}
+				accepted.set(ordinal);
+				return true;
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,7 @@
 package org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.filters;
 
 import static com.google.common.base.Predicates.alwaysFalse;
-import static com.google.common.base.Predicates.not;
-import static com.google.common.base.Predicates.or;
 import static com.google.common.collect.Iterables.any;
-import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 
 import com.google.common.base.Predicate;
@@ -23,8 +20,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.eventbus.EventBus;
 
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.emf.common.notify.Adapter;
@@ -51,6 +48,10 @@ import org.eclipse.ui.progress.PendingUpdateAdapter;
  * that act as "AND" predicates for "include" filters, forcing any displayed element to meet the criterion of
  * all provided filters.
  * </p>
+ * <p>
+ * The verdict of each filter's predicate on a given node is only computed once per comparison and cached in
+ * bit sets, selecting or unselecting a filter only combines the cached verdicts of the new set of predicates.
+ * </p>
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  * @since 4.0
@@ -75,14 +76,24 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 	/** The {@link EventBus} associated with this filter. */
 	private final EventBus eventBus;
 
-	/** The cached values for {@link #select(Viewer, Object, Object)}. */
-	private final Map<Object, Boolean> selectedObjects;
+	/** The cached verdicts of our predicates, also giving an ordinal to each filtered element. */
+	private final FilterVerdicts verdicts;
+
+	/** The ordinals of the elements for which {@link #select(Viewer, Object, Object)} is cached. */
+	private final BitSet selectionComputed;
+
+	/** The ordinals of the elements {@link #select(Viewer, Object, Object)} accepted. */
+	private final BitSet selected;
 
 	/**
 	 * The predicate used by this StructureMergeViewerFilter.
 	 */
 	private final Predicate<? super EObject> viewerPredicate = new Predicate<EObject>() {
 		public boolean apply(EObject eObject) {
+			final int ordinal = verdicts.ordinal(eObject);
+			if (selectionComputed.get(ordinal)) {
+				return selected.get(ordinal);
+			}
 			final boolean ret;
 			if (aggregatedPredicate.apply(eObject)) {
 				Collection<EObject> eContents = eObject.eContents();
@@ -99,6 +110,7 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 			} else {
 				ret = false;
 			}
+			cacheSelection(ordinal, ret);
 			return ret;
 		}
 	};
@@ -122,7 +134,9 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 		this.unselectedDifferenceFilters = newLinkedHashSet();
 		this.activeDifferenceFilters = newLinkedHashSet();
 		this.aggregatedPredicate = DEFAULT_PREDICATE;
-		this.selectedObjects = newHashMap();
+		this.verdicts = new FilterVerdicts();
+		this.selectionComputed = new BitSet();
+		this.selected = new BitSet();
 	}
 
 	/**
@@ -137,15 +151,15 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 			return true;
 		}
 
-		Boolean cachedResult = selectedObjects.get(element);
-		if (cachedResult != null) {
-			return cachedResult.booleanValue();
-		}
-
 		final boolean result;
 		if (element instanceof GroupItemProviderAdapter) {
+			final int ordinal = verdicts.ordinal(element);
+			if (selectionComputed.get(ordinal)) {
+				return selected.get(ordinal);
+			}
 			Collection<?> children = ((GroupItemProviderAdapter)element).getChildren(element);
 			result = any(Iterables.filter(children, EObject.class), viewerPredicate);
+			cacheSelection(ordinal, result);
 		} else if (element instanceof PendingUpdateAdapter) {
 			result = true;
 		} else if (element instanceof Adapter) {
@@ -161,11 +175,24 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 		} else {
 			result = true;
 		}
-
-		selectedObjects.put(element, Boolean.valueOf(result));
 		return result;
 	}
 
+	/**
+	 * Caches the result of {@link #select(Viewer, Object, Object)} for the element of the given ordinal.
+	 * 
+	 * @param ordinal
+	 *            Ordinal of the element.
+	 * @param result
+	 *            Whether this element is selected.
+	 */
+	private void cacheSelection(int ordinal, boolean result) {
+		selectionComputed.set(ordinal);
+		if (result) {
+			selected.set(ordinal);
+		}
+	}
+
 	/**
 	 * Add the predicate of the given {@link IDifferenceFilter}.
 	 * 
@@ -196,14 +223,16 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 	 */
 	private Predicate<? super EObject> computeAggregatedPredicate() {
 		clearCache();
-		return not(or(predicates));
+		return verdicts.aggregate(predicates);
 	}
 
 	/**
-	 * Clears the cached results.
+	 * Clears the cached results of {@link #select(Viewer, Object, Object)}. The verdicts of the individual
+	 * predicates are kept since they do not depend on the selected filters.
 	 */
 	private void clearCache() {
-		selectedObjects.clear();
+		selectionComputed.clear();
+		selected.clear();
 	}
 
 	/**
@@ -241,6 +270,10 @@ public class StructureMergeViewerFilter extends ViewerFilter {
 			Collection<IDifferenceFilter> unselectedFilters, Collection<IDifferenceFilter> activeFilters) {
 		boolean changed = false;
 
+		// We're about to filter a new comparison, forget about the previous one's nodes
+		verdicts.clear();
+		clearCache();
+
 		if (!predicates.isEmpty()) {
 			predicates.clear();
 			changed = true;
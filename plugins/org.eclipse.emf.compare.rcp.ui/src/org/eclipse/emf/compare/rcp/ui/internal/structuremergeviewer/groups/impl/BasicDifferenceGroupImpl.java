@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import static com.google.common.collect.Iterators.any;
 import static com.google.common.collect.Iterators.concat;
 import static com.google.common.collect.Iterators.transform;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 import static org.eclipse.emf.compare.utils.EMFComparePredicates.hasState;
 
 import com.google.common.base.Function;
@@ -25,15 +26,22 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.Conflict;
 import org.eclipse.emf.compare.Diff;
@@ -52,6 +60,7 @@ import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.nodes.DiffNo
 import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.nodes.MatchNode;
 import org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.nodes.MatchResourceNode;
 import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroup;
+import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroup2;
 import org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.extender.IDifferenceGroupExtender;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
@@ -64,11 +73,26 @@ import org.eclipse.swt.graphics.Image;
  * <p>
  * This can be subclasses or used directly instead of {@link IDifferenceGroup}.
  * </p>
+ * <p>
+ * When the <code>lazyGroupTrees</code> preference of this plugin is set, the match nodes of this group are
+ * only populated when their children are first requested, typically when they are expanded in the UI. Whether
+ * a match node has children is then computed from the Match tree without creating any node, so that the
+ * first level of the group can be displayed without building its whole tree.
+ * </p>
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  * @since 4.0
  */
-public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifferenceGroup {
+public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifferenceGroup2 {
+
+	/**
+	 * Predicate telling whether {@link #addDiffNode(MatchNode, Diff)} creates a node for a difference.
+	 */
+	private static final Predicate<Diff> IS_DISPLAYED_IN_MATCH = new Predicate<Diff>() {
+		public boolean apply(Diff diff) {
+			return !(diff instanceof ResourceAttachmentChange);
+		}
+	};
 
 	/**
 	 * Function that returns all contents of the given EObject.
@@ -79,6 +103,9 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		}
 	};
 
+	/** Key of the preference telling whether the match nodes of the groups should be populated lazily. */
+	private static final String LAZY_GROUP_TREES_PREFERENCE = "lazyGroupTrees"; //$NON-NLS-1$
+
 	/** The filter we'll use in order to filter the differences that are part of this group. */
 	protected final Predicate<? super Diff> filter;
 
@@ -101,6 +128,12 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 	/** The cross reference adapter that will be added to this group's children. */
 	private final ECrossReferenceAdapter crossReferenceAdapter;
 
+	/** Whether the match nodes of this group are only populated when their children are first requested. */
+	private final boolean lazy;
+
+	/** Remembers whether each match we've looked at has content to display in this group. */
+	private final Map<Match, Boolean> matchesWithContent = newHashMap();
+
 	/**
 	 * Instantiates this group given the comparison and filter that should be used in order to determine its
 	 * list of differences.
@@ -163,6 +196,18 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		this.name = name;
 		this.image = image;
 		this.crossReferenceAdapter = crossReferenceAdapter;
+		this.lazy = Platform.getPreferencesService().getBoolean(EMFCompareRCPUIPlugin.PLUGIN_ID,
+				LAZY_GROUP_TREES_PREFERENCE, false, null);
+	}
+
+	/**
+	 * Tells whether the match nodes of this group are only populated when their children are first requested.
+	 * 
+	 * @return <code>true</code> if the match nodes of this group are populated lazily.
+	 * @since 4.5
+	 */
+	protected boolean isLazy() {
+		return lazy;
 	}
 
 	/**
@@ -200,10 +245,16 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 	 */
 	public IStyledString.IComposedStyledString getStyledName() {
 		final IStyledString.IComposedStyledString ret = new ComposedStyledString();
-		Iterator<EObject> eAllContents = concat(transform(getChildren().iterator(), E_ALL_CONTENTS));
-		Iterator<EObject> eAllData = transform(eAllContents, TREE_NODE_DATA);
-		boolean unresolvedDiffs = any(Iterators.filter(eAllData, Diff.class),
-				hasState(DifferenceState.UNRESOLVED));
+		final boolean unresolvedDiffs;
+		if (isLazy()) {
+			// Don't go through the tree, this would populate all of its nodes
+			unresolvedDiffs = hasUnresolvedDiffs();
+		} else {
+			Iterator<EObject> eAllContents = concat(transform(getChildren().iterator(), E_ALL_CONTENTS));
+			Iterator<EObject> eAllData = transform(eAllContents, TREE_NODE_DATA);
+			unresolvedDiffs = any(Iterators.filter(eAllData, Diff.class),
+					hasState(DifferenceState.UNRESOLVED));
+		}
 		if (unresolvedDiffs) {
 			ret.append("> ", Style.DECORATIONS_STYLER); //$NON-NLS-1$
 		}
@@ -211,6 +262,43 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		return ret;
 	}
 
+	/**
+	 * Checks whether this group displays unresolved differences, looking at the differences of the comparison
+	 * rather than at the nodes of this group.
+	 * 
+	 * @return <code>true</code> if this group displays at least one unresolved difference.
+	 */
+	private boolean hasUnresolvedDiffs() {
+		for (Diff diff : filter(comparison.getDifferences(), filter)) {
+			if (mustDisplayAsDirectChildOfMatch(diff)
+					&& (diff instanceof ResourceAttachmentChange || getTargetMatch(diff) != null)
+					&& isUnresolved(diff)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the given difference or one of the differences that refine it, recursively, is
+	 * unresolved.
+	 * 
+	 * @param diff
+	 *            The difference to check.
+	 * @return <code>true</code> if the node of this difference or one of its children is unresolved.
+	 */
+	private static boolean isUnresolved(Diff diff) {
+		if (diff.getState() == DifferenceState.UNRESOLVED) {
+			return true;
+		}
+		for (Diff refiningDiff : diff.getRefinedBy()) {
+			if (isUnresolved(refiningDiff)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -232,6 +320,90 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		return children;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This populates the lazy match nodes leading to the matches under which the given difference, or the
+	 * differences it refines, are displayed. This is a no-op unless this group {@link #isLazy() is lazy}.
+	 * </p>
+	 * 
+	 * @see org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroup2#buildTreeNodes(org.eclipse.emf.ecore.EObject)
+	 * @since 4.5
+	 */
+	public void buildTreeNodes(EObject data) {
+		if (!isLazy()) {
+			return;
+		}
+		final Set<Match> matches = new LinkedHashSet<Match>();
+		if (data instanceof Match) {
+			matches.add((Match)data);
+		} else if (data instanceof Diff) {
+			collectDisplayingMatches((Diff)data, matches, Sets.<Diff> newHashSet());
+		}
+		for (Match match : matches) {
+			populatePathTo(match);
+		}
+	}
+
+	/**
+	 * Collects the matches under which the nodes of the given difference may be displayed. Refining
+	 * differences are displayed under the differences they refine.
+	 * 
+	 * @param diff
+	 *            The difference which nodes we seek.
+	 * @param matches
+	 *            The set in which to collect the matches.
+	 * @param visited
+	 *            The differences we've already looked at.
+	 */
+	private void collectDisplayingMatches(Diff diff, Set<Match> matches, Set<Diff> visited) {
+		if (!visited.add(diff)) {
+			return;
+		}
+		if (diff.getMatch() != null) {
+			matches.add(diff.getMatch());
+		}
+		final Match targetMatch = getTargetMatch(diff);
+		if (targetMatch != null) {
+			matches.add(targetMatch);
+		}
+		for (Diff refined : diff.getRefines()) {
+			collectDisplayingMatches(refined, matches, visited);
+		}
+	}
+
+	/**
+	 * Populates the match nodes of this group from the root of the given match's tree down to the node of
+	 * this match, if it has one in this group.
+	 * 
+	 * @param match
+	 *            The match which node we need populated.
+	 */
+	private void populatePathTo(Match match) {
+		final Deque<Match> path = new ArrayDeque<Match>();
+		EObject current = match;
+		while (current instanceof Match) {
+			path.push((Match)current);
+			current = current.eContainer();
+		}
+		List<? extends TreeNode> nodes = getChildren();
+		while (!path.isEmpty()) {
+			final Match step = path.pop();
+			TreeNode next = null;
+			for (TreeNode node : nodes) {
+				if (node instanceof MatchNode && ((MatchNode)node).getMatch() == step) {
+					next = node;
+					break;
+				}
+			}
+			if (next == null) {
+				return;
+			}
+			// Populates this node if it hasn't been yet
+			nodes = next.getChildren();
+		}
+	}
+
 	/**
 	 * Registers the CrossReferenceAdapter to all given notifiers.
 	 * 
@@ -268,6 +440,9 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 			unregisterCrossReferenceAdapter(children);
 			children = null;
 		}
+		synchronized (this) {
+			matchesWithContent.clear();
+		}
 	}
 
 	/**
@@ -322,6 +497,12 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 	 * @return a list of subTree for this match, must not be <code>null</code>
 	 */
 	protected MatchNode buildTree(Match match) {
+		if (isLazy()) {
+			if (hasContent(match)) {
+				return new LazyMatchNode(match, Collections.<Diff> emptyList());
+			}
+			return null;
+		}
 		MatchNode result = null;
 		MatchNode matchNode = createMatchNode(match);
 		populateMatchNode(matchNode);
@@ -359,6 +540,13 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 			}
 		}
 		for (Match subMatch : match.getSubmatches()) {
+			if (isLazy()) {
+				Collection<Diff> subMatchDiffs = diffsBySubMatch.removeAll(subMatch);
+				if (hasContent(subMatch) || any(subMatchDiffs.iterator(), IS_DISPLAYED_IN_MATCH)) {
+					matchNode.addSubMatchNode(new LazyMatchNode(subMatch, subMatchDiffs));
+				}
+				continue;
+			}
 			MatchNode subMatchNode = createMatchNode(subMatch);
 			for (Diff subMatchDiff : diffsBySubMatch.get(subMatch)) {
 				addDiffNode(subMatchNode, subMatchDiff);
@@ -371,6 +559,51 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		}
 	}
 
+	/**
+	 * Checks whether populating a node for the given match would give it children, without creating any node.
+	 * This mirrors {@link #populateMatchNode(MatchNode)}. The result is memorized for each match.
+	 * 
+	 * @param match
+	 *            The match to check.
+	 * @return <code>true</code> if the node of this match would have children in this group.
+	 */
+	private synchronized boolean hasContent(Match match) {
+		Boolean hasContent = matchesWithContent.get(match);
+		if (hasContent == null) {
+			hasContent = Boolean.valueOf(computeHasContent(match));
+			matchesWithContent.put(match, hasContent);
+		}
+		return hasContent.booleanValue();
+	}
+
+	/**
+	 * Computes whether populating a node for the given match would give it children.
+	 * 
+	 * @param match
+	 *            The match to check.
+	 * @return <code>true</code> if the node of this match would have children in this group.
+	 */
+	private boolean computeHasContent(Match match) {
+		for (Diff diff : filter(match.getDifferences(), filter)) {
+			if (mustDisplayAsDirectChildOfMatch(diff)) {
+				Match targetMatch = getTargetMatch(diff);
+				if (match == targetMatch || match.getSubmatches().contains(targetMatch)) {
+					if (IS_DISPLAYED_IN_MATCH.apply(diff)) {
+						return true;
+					}
+				} else if (targetMatch != null) {
+					return true;
+				}
+			}
+		}
+		for (Match subMatch : match.getSubmatches()) {
+			if (hasContent(subMatch)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Provide the Match that should directly contain the given diff. If the given diff should not be a direct
 	 * child of a Match, the method must return <code>null</code>. For a given strategy, a diff should only be
@@ -546,6 +779,10 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 	 */
 	protected void customize(List<? extends TreeNode> nodes) {
 		for (TreeNode node : nodes) {
+			if (node instanceof LazyMatchNode && !((LazyMatchNode)node).isPopulated()) {
+				// This node will be customized when populated
+				continue;
+			}
 			customize(node.getChildren());
 			customize(node);
 		}
@@ -582,4 +819,96 @@ public class BasicDifferenceGroupImpl extends AdapterImpl implements IDifference
 		}
 	}
 
+	/**
+	 * A match node that is only populated when its children are first requested. Until then, it does not
+	 * expose any content so that adapters walking the tree do not populate it either.
+	 */
+	private final class LazyMatchNode extends MatchNode {
+		/** The differences of the parent match that must be displayed under this node. */
+		private Collection<Diff> pendingDiffs;
+
+		/** Whether this node has been populated. */
+		private volatile boolean populated;
+
+		/** Whether this node is currently being populated. */
+		private boolean populating;
+
+		/**
+		 * Constructor.
+		 * 
+		 * @param match
+		 *            The match represented by this node.
+		 * @param pendingDiffs
+		 *            The differences of the parent match that must be displayed under this node.
+		 */
+		LazyMatchNode(Match match, Collection<Diff> pendingDiffs) {
+			super(match);
+			this.pendingDiffs = pendingDiffs;
+			eAdapters().add(BasicDifferenceGroupImpl.this);
+		}
+
+		/**
+		 * Tells whether this node has been populated.
+		 * 
+		 * @return <code>true</code> if the children of this node have been created.
+		 */
+		boolean isPopulated() {
+			return populated;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * This will populate this node if it hasn't been yet.
+		 * </p>
+		 * 
+		 * @see org.eclipse.emf.compare.rcp.ui.internal.structuremergeviewer.nodes.TreeNodeImpl#getChildren()
+		 */
+		@Override
+		public EList<TreeNode> getChildren() {
+			if (!populated) {
+				populate();
+			}
+			return super.getChildren();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see org.eclipse.emf.ecore.impl.BasicEObjectImpl#eContents()
+		 */
+		@Override
+		public EList<EObject> eContents() {
+			if (!populated) {
+				return ECollections.emptyEList();
+			}
+			return super.eContents();
+		}
+
+		/**
+		 * Creates the children of this node, in the same way as {@link #buildSubTree()} would have.
+		 */
+		private void populate() {
+			synchronized (BasicDifferenceGroupImpl.this) {
+				// Adding our children calls getChildren() again from this thread
+				if (populated || populating) {
+					return;
+				}
+				populating = true;
+				try {
+					final BasicDifferenceGroupImpl group = BasicDifferenceGroupImpl.this;
+					for (Diff diff : pendingDiffs) {
+						group.addDiffNode(this, diff);
+					}
+					pendingDiffs = null;
+					group.populateMatchNode(this);
+					group.customize(super.getChildren());
+					group.customize(this);
+				} finally {
+					populated = true;
+					populating = false;
+				}
+			}
+		}
+	}
 }
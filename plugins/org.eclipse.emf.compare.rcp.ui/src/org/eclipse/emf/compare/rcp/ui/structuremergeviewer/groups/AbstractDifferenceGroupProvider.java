@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 Obeo.
+ * Copyright (c) 2013, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -142,6 +142,14 @@ public abstract class AbstractDifferenceGroupProvider extends AdapterImpl implem
 	 * @see org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups.IDifferenceGroupProvider#getTreeNodes(java.lang.Object)
 	 */
 	public List<TreeNode> getTreeNodes(EObject eObject) {
+		if (groups != null) {
+			// Lazy groups only reference the data of the nodes they've already created
+			for (IDifferenceGroup group : groups) {
+				if (group instanceof IDifferenceGroup2) {
+					((IDifferenceGroup2)group).buildTreeNodes(eObject);
+				}
+			}
+		}
 		Collection<Setting> inverseReferences = crossReferenceAdapter
 				.getNonNavigableInverseReferences(eObject);
 		List<TreeNode> ret = newArrayListWithCapacity(inverseReferences.size());
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.ui.structuremergeviewer.groups;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Extended interface of {@link IDifferenceGroup} for groups that do not build their whole tree up front, but
+ * create their nodes as they are needed.
+ * 
+ * @since 4.5
+ */
+public interface IDifferenceGroup2 extends IDifferenceGroup {
+
+	/**
+	 * Creates the nodes of this group that represent the given object if they have not been created yet, so
+	 * that they can be found through the cross reference adapter of this group. Only the nodes leading to
+	 * the given object are created, the rest of the tree is left as is.
+	 * 
+	 * @param data
+	 *            The object which nodes we need, typically a difference or a match.
+	 */
+	void buildTreeNodes(EObject data);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2016 Obeo and others.
+ * Copyright (c) 2013, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,8 +26,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
@@ -67,6 +69,7 @@ import org.eclipse.emf.compare.rcp.internal.policy.LoadOnDemandPolicyRegistryLis
 import org.eclipse.emf.compare.rcp.internal.postprocessor.PostProcessorFactoryRegistryListener;
 import org.eclipse.emf.compare.rcp.internal.postprocessor.PostProcessorRegistryImpl;
 import org.eclipse.emf.compare.rcp.internal.preferences.EMFComparePreferences;
+import org.eclipse.emf.compare.rcp.internal.tracer.TracingConstant;
 import org.eclipse.emf.compare.rcp.policy.ILoadOnDemandPolicy;
 import org.eclipse.emf.compare.req.IReqEngine;
 import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
@@ -118,50 +121,57 @@ public class EMFCompareRCPPlugin extends Plugin {
 	/** This plugin is a singleton, so it's quite ok to keep the plugin in a static field. */
 	private static EMFCompareRCPPlugin plugin;
 
+	/**
+	 * The extension registry from which our registries are read, <code>null</code> if this plugin is not
+	 * started.
+	 */
+	private volatile IExtensionRegistry extensionRegistry;
+
 	/** The registry that will hold references to all mergers. */
-	private IMerger.Registry mergerRegistry;
+	private volatile IMerger.Registry mergerRegistry;
 
 	/** The registry that will hold references to all differences engines. */
-	private ItemRegistry<IDiffEngine> diffEngineRegistry;
+	private volatile ItemRegistry<IDiffEngine> diffEngineRegistry;
 
 	/** The registry that will hold references to all equivalences engines. */
-	private ItemRegistry<IEquiEngine> equiEngineRegistry;
+	private volatile ItemRegistry<IEquiEngine> equiEngineRegistry;
 
 	/** The registry that will hold references to all requirements engines. */
-	private ItemRegistry<IReqEngine> reqEngineRegistry;
+	private volatile ItemRegistry<IReqEngine> reqEngineRegistry;
 
 	/** The registry that will hold references to all conflicts detector. */
-	private ItemRegistry<IConflictDetector> conflictDetectorRegistry;
+	private volatile ItemRegistry<IConflictDetector> conflictDetectorRegistry;
 
 	/** The registry that will hold references to all weight providers. */
-	private WeightProvider.Descriptor.Registry weightProviderRegistry;
+	private volatile WeightProvider.Descriptor.Registry weightProviderRegistry;
 
 	/** The registry that will hold references to all equality helper extension providers. */
-	private EqualityHelperExtensionProvider.Descriptor.Registry equalityHelperExtensionProviderRegistry;
+	private volatile EqualityHelperExtensionProvider.Descriptor.Registry
+			equalityHelperExtensionProviderRegistry;
 
 	/** The registry listener that will be used to react to merger changes. */
 	private AbstractRegistryEventListener mergerRegistryListener;
 
 	/** The registry that will hold references to all {@link ILoadOnDemandPolicy}. **/
-	private ILoadOnDemandPolicy.Registry loadOnDemandRegistry;
+	private volatile ILoadOnDemandPolicy.Registry loadOnDemandRegistry;
 
 	/** The registry listener that will be used to react to load on demand policy changes. */
 	private AbstractRegistryEventListener loadOnDemandRegistryListener;
 
 	/** The registry that will hold references to all post processors. */
-	private IPostProcessor.Descriptor.Registry<String> postProcessorDescriptorsRegistry;
+	private volatile IPostProcessor.Descriptor.Registry<String> postProcessorDescriptorsRegistry;
 
 	/** The registry that will hold reference to all post processors descriptors. */
-	private IItemRegistry<IPostProcessor.Descriptor> postProcessorItemDescriptorsRegistry;
+	private volatile IItemRegistry<IPostProcessor.Descriptor> postProcessorItemDescriptorsRegistry;
 
 	/** The registry listener that will be used to react to post processor changes. */
 	private AbstractRegistryEventListener postProcessorFactoryRegistryListener;
 
 	/** The registry that will hold references to all match engine factories. */
-	private IItemRegistry<IMatchEngine.Factory> matchEngineFactoryRegistry;
+	private volatile IItemRegistry<IMatchEngine.Factory> matchEngineFactoryRegistry;
 
 	/** The registry that will hold references to all match engine factories. */
-	private MatchEngineFactoryRegistryWrapper matchEngineFactoryRegistryWrapped;
+	private volatile MatchEngineFactoryRegistryWrapper matchEngineFactoryRegistryWrapped;
 
 	/** The registry listener that will be used to react to match engine changes. */
 	private MatchEngineFactoryRegistryListener matchEngineFactoryRegistryListener;
@@ -170,7 +180,7 @@ public class EMFCompareRCPPlugin extends Plugin {
 	private Multimap<Collection<?>, RankedAdapterFactoryDescriptor> adapterFactoryRegistryBackingMultimap;
 
 	/** Adapter factory registry that references all the EMF Compare adapter factories descriptors. */
-	private RankedAdapterFactoryDescriptorRegistryImpl rankedAdapterFactoryRegistry;
+	private volatile RankedAdapterFactoryDescriptorRegistryImpl rankedAdapterFactoryRegistry;
 
 	/** The registry listener that will be used to react to adapter factory descriptor changes. */
 	private AbstractRegistryEventListener adapterFactoryRegistryListener;
@@ -193,6 +203,43 @@ public class EMFCompareRCPPlugin extends Plugin {
 	/** The registry listener that will be used to react to equality helper extension provider changes. */
 	private EqualityHelperExtensionProviderDescriptorRegistryListener equalityHelperExtensionProviderListener;
 
+	/**
+	 * Guards the set up and disposal of the adapter factory registry. Each registry is read under its own
+	 * lock rather than this plugin's monitor : reading a registry calls into the contributing bundles, which
+	 * must not block the readers of the other registries.
+	 */
+	private final Object adapterFactoryRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the match engine factory registries. */
+	private final Object matchEngineFactoryRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the merger registry. */
+	private final Object mergerRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the post processor registries. */
+	private final Object postProcessorRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the load on demand policy registry. */
+	private final Object loadOnDemandRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the differences engine registry. */
+	private final Object diffEngineRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the equivalences engine registry. */
+	private final Object equiEngineRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the requirements engine registry. */
+	private final Object reqEngineRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the conflict detector registry. */
+	private final Object conflictDetectorRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the weight provider registry. */
+	private final Object weightProviderRegistryLock = new Object();
+
+	/** Guards the set up and disposal of the equality helper extension provider registry. */
+	private final Object equalityHelperExtensionProviderRegistryLock = new Object();
+
 	/** Will listen to preference changes and update log4j configuration accordingly. */
 	private LoggingPreferenceChangeListener preferenceChangeListener;
 
@@ -210,29 +257,8 @@ public class EMFCompareRCPPlugin extends Plugin {
 		super.start(bundleContext);
 		EMFCompareRCPPlugin.plugin = this;
 
-		final IExtensionRegistry registry = Platform.getExtensionRegistry();
-
-		setUpAdapterFactoryRegistry(registry);
-
-		setUpWeightProviderRegistry(registry);
-
-		setUpMatchEngineFactoryRegistry(registry);
-
-		setUpMergerRegistry(registry);
-
-		setUpPostProcessorRegisty(registry);
-
-		setUpLoadOnDemandRegistry(registry);
-
-		setUpDiffEngineRegistry(registry);
-
-		setUpEquiEngineRegistry(registry);
-
-		setUpReqEngineRegistry(registry);
-
-		setUpConflictDetectorRegistry(registry);
-
-		setUpEqualityHelperExtensionProviderRegistry(registry);
+		// The registries are only read when first needed, see the corresponding getters
+		extensionRegistry = Platform.getExtensionRegistry();
 
 		initLogging();
 	}
@@ -244,6 +270,7 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpAdapterFactoryRegistry(final IExtensionRegistry registry) {
+		final long start = System.nanoTime();
 		adapterFactoryRegistryBackingMultimap = Multimaps.synchronizedListMultimap(
 				ArrayListMultimap.<Collection<?>, RankedAdapterFactoryDescriptor> create());
 		adapterFactoryRegistryListener = new AdapterFactoryDescriptorRegistryListener(
@@ -255,6 +282,7 @@ public class EMFCompareRCPPlugin extends Plugin {
 		rankedAdapterFactoryRegistry = new RankedAdapterFactoryDescriptorRegistryImpl(
 				ComposedAdapterFactory.Descriptor.Registry.INSTANCE,
 				Multimaps.unmodifiableMultimap(adapterFactoryRegistryBackingMultimap));
+		traceRegistrySetUp(FACTORY_PPID, start);
 	}
 
 	/**
@@ -264,11 +292,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpMatchEngineFactoryRegistry(final IExtensionRegistry registry) {
-		matchEngineFactoryRegistry = new ItemRegistry<IMatchEngine.Factory>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IMatchEngine.Factory> factories = new ItemRegistry<IMatchEngine.Factory>();
 		matchEngineFactoryRegistryListener = new MatchEngineFactoryRegistryListener(PLUGIN_ID,
-				MATCH_ENGINE_PPID, getLog(), matchEngineFactoryRegistry);
+				MATCH_ENGINE_PPID, getLog(), factories);
 		matchEngineFactoryRegistryListener.readRegistry(registry);
-		matchEngineFactoryRegistryWrapped = new MatchEngineFactoryRegistryWrapper(matchEngineFactoryRegistry);
+		matchEngineFactoryRegistry = factories;
+		matchEngineFactoryRegistryWrapped = new MatchEngineFactoryRegistryWrapper(factories);
+		traceRegistrySetUp(MATCH_ENGINE_PPID, start);
 	}
 
 	/**
@@ -278,11 +309,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpMergerRegistry(final IExtensionRegistry registry) {
-		mergerRegistry = new IMerger.RegistryImpl();
+		final long start = System.nanoTime();
+		final IMerger.Registry mergers = new IMerger.RegistryImpl();
 		mergerRegistryListener = new MergerExtensionRegistryListener(PLUGIN_ID, MERGER_PPID, getLog(),
-				mergerRegistry);
+				mergers);
 		registry.addListener(mergerRegistryListener, PLUGIN_ID + '.' + MERGER_PPID);
 		mergerRegistryListener.readRegistry(registry);
+		mergerRegistry = mergers;
+		traceRegistrySetUp(MERGER_PPID, start);
 	}
 
 	/**
@@ -292,14 +326,17 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpPostProcessorRegisty(final IExtensionRegistry registry) {
-		postProcessorItemDescriptorsRegistry = new ItemRegistry<IPostProcessor.Descriptor>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IPostProcessor.Descriptor> descriptors =
+				new ItemRegistry<IPostProcessor.Descriptor>();
 
 		postProcessorFactoryRegistryListener = new PostProcessorFactoryRegistryListener(PLUGIN_ID,
-				POST_PROCESSOR_PPID, getLog(), postProcessorItemDescriptorsRegistry);
+				POST_PROCESSOR_PPID, getLog(), descriptors);
 		registry.addListener(postProcessorFactoryRegistryListener, PLUGIN_ID + '.' + POST_PROCESSOR_PPID);
 		postProcessorFactoryRegistryListener.readRegistry(registry);
-		postProcessorDescriptorsRegistry = new PostProcessorRegistryImpl(
-				postProcessorItemDescriptorsRegistry);
+		postProcessorItemDescriptorsRegistry = descriptors;
+		postProcessorDescriptorsRegistry = new PostProcessorRegistryImpl(descriptors);
+		traceRegistrySetUp(POST_PROCESSOR_PPID, start);
 	}
 
 	/**
@@ -309,11 +346,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpLoadOnDemandRegistry(final IExtensionRegistry registry) {
-		loadOnDemandRegistry = new LoadOnDemandPolicyRegistryImpl();
-		loadOnDemandRegistryListener = new LoadOnDemandPolicyRegistryListener(loadOnDemandRegistry, PLUGIN_ID,
+		final long start = System.nanoTime();
+		final ILoadOnDemandPolicy.Registry policies = new LoadOnDemandPolicyRegistryImpl();
+		loadOnDemandRegistryListener = new LoadOnDemandPolicyRegistryListener(policies, PLUGIN_ID,
 				LOAD_ON_DEMAND_POLICY_PPID, getLog());
 		registry.addListener(loadOnDemandRegistryListener, PLUGIN_ID + '.' + LOAD_ON_DEMAND_POLICY_PPID);
 		loadOnDemandRegistryListener.readRegistry(registry);
+		loadOnDemandRegistry = policies;
+		traceRegistrySetUp(LOAD_ON_DEMAND_POLICY_PPID, start);
 	}
 
 	/**
@@ -323,11 +363,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpDiffEngineRegistry(final IExtensionRegistry registry) {
-		diffEngineRegistry = new ItemRegistry<IDiffEngine>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IDiffEngine> engines = new ItemRegistry<IDiffEngine>();
 		diffEngineListener = new DescriptorRegistryEventListener<IDiffEngine>(PLUGIN_ID, DIFF_ENGINE_PPID,
-				getLog(), diffEngineRegistry);
+				getLog(), engines);
 		registry.addListener(diffEngineListener);
 		diffEngineListener.readRegistry(registry);
+		diffEngineRegistry = engines;
+		traceRegistrySetUp(DIFF_ENGINE_PPID, start);
 	}
 
 	/**
@@ -337,11 +380,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpEquiEngineRegistry(final IExtensionRegistry registry) {
-		equiEngineRegistry = new ItemRegistry<IEquiEngine>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IEquiEngine> engines = new ItemRegistry<IEquiEngine>();
 		equiEngineListener = new DescriptorRegistryEventListener<IEquiEngine>(PLUGIN_ID, EQUI_ENGINE_PPID,
-				getLog(), equiEngineRegistry);
+				getLog(), engines);
 		registry.addListener(equiEngineListener);
 		equiEngineListener.readRegistry(registry);
+		equiEngineRegistry = engines;
+		traceRegistrySetUp(EQUI_ENGINE_PPID, start);
 	}
 
 	/**
@@ -351,11 +397,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpReqEngineRegistry(final IExtensionRegistry registry) {
-		reqEngineRegistry = new ItemRegistry<IReqEngine>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IReqEngine> engines = new ItemRegistry<IReqEngine>();
 		reqEngineListener = new DescriptorRegistryEventListener<IReqEngine>(PLUGIN_ID, REQ_ENGINE_PPID,
-				getLog(), reqEngineRegistry);
+				getLog(), engines);
 		registry.addListener(reqEngineListener);
 		reqEngineListener.readRegistry(registry);
+		reqEngineRegistry = engines;
+		traceRegistrySetUp(REQ_ENGINE_PPID, start);
 	}
 
 	/**
@@ -365,11 +414,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpConflictDetectorRegistry(final IExtensionRegistry registry) {
-		conflictDetectorRegistry = new ItemRegistry<IConflictDetector>();
+		final long start = System.nanoTime();
+		final ItemRegistry<IConflictDetector> detectors = new ItemRegistry<IConflictDetector>();
 		conflictDetectorListener = new DescriptorRegistryEventListener<IConflictDetector>(PLUGIN_ID,
-				CONFLICT_DETECTOR_PPID, getLog(), conflictDetectorRegistry);
+				CONFLICT_DETECTOR_PPID, getLog(), detectors);
 		registry.addListener(conflictDetectorListener);
 		conflictDetectorListener.readRegistry(registry);
+		conflictDetectorRegistry = detectors;
+		traceRegistrySetUp(CONFLICT_DETECTOR_PPID, start);
 	}
 
 	/**
@@ -379,11 +431,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpWeightProviderRegistry(final IExtensionRegistry registry) {
-		weightProviderRegistry = new WeightProviderDescriptorRegistryImpl();
+		final long start = System.nanoTime();
+		final WeightProvider.Descriptor.Registry providers = new WeightProviderDescriptorRegistryImpl();
 		weightProviderListener = new WeightProviderDescriptorRegistryListener(PLUGIN_ID, WEIGHT_PROVIDER_PPID,
-				getLog(), weightProviderRegistry);
+				getLog(), providers);
 		registry.addListener(weightProviderListener);
 		weightProviderListener.readRegistry(registry);
+		weightProviderRegistry = providers;
+		traceRegistrySetUp(WEIGHT_PROVIDER_PPID, start);
 	}
 
 	/**
@@ -393,12 +448,32 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            {@link IExtensionRegistry} to listen in order to fill the registry
 	 */
 	private void setUpEqualityHelperExtensionProviderRegistry(final IExtensionRegistry registry) {
-		equalityHelperExtensionProviderRegistry = new EqualityHelperExtensionProviderDescriptorRegistryImpl();
+		final long start = System.nanoTime();
+		final EqualityHelperExtensionProvider.Descriptor.Registry providers =
+				new EqualityHelperExtensionProviderDescriptorRegistryImpl();
 		equalityHelperExtensionProviderListener = new EqualityHelperExtensionProviderDescriptorRegistryListener(
-				PLUGIN_ID, EQUALITY_HELPER_EXTENSION_PROVIDER_PPID, getLog(),
-				equalityHelperExtensionProviderRegistry);
+				PLUGIN_ID, EQUALITY_HELPER_EXTENSION_PROVIDER_PPID, getLog(), providers);
 		registry.addListener(equalityHelperExtensionProviderListener);
 		equalityHelperExtensionProviderListener.readRegistry(registry);
+		equalityHelperExtensionProviderRegistry = providers;
+		traceRegistrySetUp(EQUALITY_HELPER_EXTENSION_PROVIDER_PPID, start);
+	}
+
+	/**
+	 * Traces the time it took to read the registry of the given extension point, if registry tracing is
+	 * activated.
+	 * 
+	 * @param extensionPointID
+	 *            ID of the extension point which registry has been read.
+	 * @param start
+	 *            Value of {@link System#nanoTime()} when we started reading the registry.
+	 */
+	private void traceRegistrySetUp(String extensionPointID, long start) {
+		if (TracingConstant.REGISTRY_TRACING_ACTIVATED) {
+			final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			log(IStatus.INFO, "Read the " + extensionPointID //$NON-NLS-1$
+					+ " registry in " + elapsed + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 	}
 
 	/*
@@ -412,6 +487,8 @@ public class EMFCompareRCPPlugin extends Plugin {
 					.removePreferenceChangeListener(preferenceChangeListener);
 		}
 
+		extensionRegistry = null;
+
 		final IExtensionRegistry registry = Platform.getExtensionRegistry();
 
 		discardConflictDetectorRegistry(registry);
@@ -444,9 +521,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardReqEngineRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(reqEngineListener);
-		reqEngineListener = null;
-		reqEngineRegistry = null;
+		synchronized(reqEngineRegistryLock) {
+			if (reqEngineListener != null) {
+				registry.removeListener(reqEngineListener);
+			}
+			reqEngineListener = null;
+			reqEngineRegistry = null;
+		}
 	}
 
 	/**
@@ -456,9 +537,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardConflictDetectorRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(conflictDetectorListener);
-		conflictDetectorListener = null;
-		conflictDetectorRegistry = null;
+		synchronized(conflictDetectorRegistryLock) {
+			if (conflictDetectorListener != null) {
+				registry.removeListener(conflictDetectorListener);
+			}
+			conflictDetectorListener = null;
+			conflictDetectorRegistry = null;
+		}
 	}
 
 	/**
@@ -468,9 +553,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardWeightProviderRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(weightProviderListener);
-		weightProviderListener = null;
-		weightProviderRegistry = null;
+		synchronized(weightProviderRegistryLock) {
+			if (weightProviderListener != null) {
+				registry.removeListener(weightProviderListener);
+			}
+			weightProviderListener = null;
+			weightProviderRegistry = null;
+		}
 	}
 
 	/**
@@ -480,9 +569,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardEquiEngineRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(equiEngineListener);
-		equiEngineListener = null;
-		equiEngineRegistry = null;
+		synchronized(equiEngineRegistryLock) {
+			if (equiEngineListener != null) {
+				registry.removeListener(equiEngineListener);
+			}
+			equiEngineListener = null;
+			equiEngineRegistry = null;
+		}
 	}
 
 	/**
@@ -492,9 +585,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardDiffEngineRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(diffEngineListener);
-		diffEngineListener = null;
-		diffEngineRegistry = null;
+		synchronized(diffEngineRegistryLock) {
+			if (diffEngineListener != null) {
+				registry.removeListener(diffEngineListener);
+			}
+			diffEngineListener = null;
+			diffEngineRegistry = null;
+		}
 	}
 
 	/**
@@ -504,10 +601,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardAdapterFactoryRegistry(final IExtensionRegistry registry) {
-		rankedAdapterFactoryRegistry = null;
-		registry.removeListener(adapterFactoryRegistryListener);
-		adapterFactoryRegistryListener = null;
-		adapterFactoryRegistryBackingMultimap = null;
+		synchronized(adapterFactoryRegistryLock) {
+			rankedAdapterFactoryRegistry = null;
+			if (adapterFactoryRegistryListener != null) {
+				registry.removeListener(adapterFactoryRegistryListener);
+			}
+			adapterFactoryRegistryListener = null;
+			adapterFactoryRegistryBackingMultimap = null;
+		}
 	}
 
 	/**
@@ -517,10 +618,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardMatchEngineRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(matchEngineFactoryRegistryListener);
-		matchEngineFactoryRegistryListener = null;
-		matchEngineFactoryRegistry = null;
-		matchEngineFactoryRegistryWrapped = null;
+		synchronized(matchEngineFactoryRegistryLock) {
+			if (matchEngineFactoryRegistryListener != null) {
+				registry.removeListener(matchEngineFactoryRegistryListener);
+			}
+			matchEngineFactoryRegistryListener = null;
+			matchEngineFactoryRegistry = null;
+			matchEngineFactoryRegistryWrapped = null;
+		}
 	}
 
 	/**
@@ -530,9 +635,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardMergerRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(mergerRegistryListener);
-		mergerRegistryListener = null;
-		mergerRegistry = null;
+		synchronized(mergerRegistryLock) {
+			if (mergerRegistryListener != null) {
+				registry.removeListener(mergerRegistryListener);
+			}
+			mergerRegistryListener = null;
+			mergerRegistry = null;
+		}
 	}
 
 	/**
@@ -542,10 +651,14 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardPostProcessorfactoryRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(postProcessorFactoryRegistryListener);
-		postProcessorFactoryRegistryListener = null;
-		postProcessorDescriptorsRegistry = null;
-		postProcessorItemDescriptorsRegistry = null;
+		synchronized(postProcessorRegistryLock) {
+			if (postProcessorFactoryRegistryListener != null) {
+				registry.removeListener(postProcessorFactoryRegistryListener);
+			}
+			postProcessorFactoryRegistryListener = null;
+			postProcessorDescriptorsRegistry = null;
+			postProcessorItemDescriptorsRegistry = null;
+		}
 	}
 
 	/**
@@ -555,9 +668,13 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 *            IExtensionRegistry to remove listener
 	 */
 	private void discardLoadOnDemandeRegistry(final IExtensionRegistry registry) {
-		registry.removeListener(loadOnDemandRegistryListener);
-		loadOnDemandRegistryListener = null;
-		loadOnDemandRegistry = null;
+		synchronized(loadOnDemandRegistryLock) {
+			if (loadOnDemandRegistryListener != null) {
+				registry.removeListener(loadOnDemandRegistryListener);
+			}
+			loadOnDemandRegistryListener = null;
+			loadOnDemandRegistry = null;
+		}
 	}
 
 	/**
@@ -567,7 +684,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @since 3.0
 	 */
 	public RankedAdapterFactoryDescriptor.Registry getAdapterFactoryRegistry() {
-		return rankedAdapterFactoryRegistry;
+		RankedAdapterFactoryDescriptor.Registry result = rankedAdapterFactoryRegistry;
+		if (result == null) {
+			synchronized(adapterFactoryRegistryLock) {
+				result = rankedAdapterFactoryRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpAdapterFactoryRegistry(registry);
+					result = rankedAdapterFactoryRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -597,6 +725,8 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 */
 	public RankedAdapterFactoryDescriptor.Registry createFilteredAdapterFactoryRegistry(
 			Map<Object, Object> context) {
+		// Makes sure the adapter factories have been read
+		getAdapterFactoryRegistry();
 		final List<String> disabledAdapterFactories = EMFComparePreferences
 				.getDisabledAdapterFactoryDescriptorIds();
 		// Filters disabled adapter factories
@@ -619,7 +749,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @since 3.0
 	 */
 	public IMerger.Registry getMergerRegistry() {
-		return mergerRegistry;
+		IMerger.Registry result = mergerRegistry;
+		if (result == null) {
+			synchronized(mergerRegistryLock) {
+				result = mergerRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpMergerRegistry(registry);
+					result = mergerRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -628,7 +769,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the post processor registry to which extension will be registered
 	 */
 	public IPostProcessor.Descriptor.Registry<String> getPostProcessorRegistry() {
-		return postProcessorDescriptorsRegistry;
+		IPostProcessor.Descriptor.Registry<String> result = postProcessorDescriptorsRegistry;
+		if (result == null) {
+			synchronized(postProcessorRegistryLock) {
+				result = postProcessorDescriptorsRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpPostProcessorRegisty(registry);
+					result = postProcessorDescriptorsRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -638,7 +790,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @since 2.2.0
 	 */
 	public IItemRegistry<IPostProcessor.Descriptor> getPostProcessorDescriptorRegistry() {
-		return postProcessorItemDescriptorsRegistry;
+		IItemRegistry<IPostProcessor.Descriptor> result = postProcessorItemDescriptorsRegistry;
+		if (result == null) {
+			synchronized(postProcessorRegistryLock) {
+				result = postProcessorItemDescriptorsRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpPostProcessorRegisty(registry);
+					result = postProcessorItemDescriptorsRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -647,7 +810,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of load on demand policies.
 	 */
 	public ILoadOnDemandPolicy.Registry getLoadOnDemandPolicyRegistry() {
-		return loadOnDemandRegistry;
+		ILoadOnDemandPolicy.Registry result = loadOnDemandRegistry;
+		if (result == null) {
+			synchronized(loadOnDemandRegistryLock) {
+				result = loadOnDemandRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpLoadOnDemandRegistry(registry);
+					result = loadOnDemandRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -656,7 +830,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of Differences engines
 	 */
 	public IItemRegistry<IDiffEngine> getDiffEngineDescriptorRegistry() {
-		return diffEngineRegistry;
+		IItemRegistry<IDiffEngine> result = diffEngineRegistry;
+		if (result == null) {
+			synchronized(diffEngineRegistryLock) {
+				result = diffEngineRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpDiffEngineRegistry(registry);
+					result = diffEngineRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -665,7 +850,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of Equivalences engines
 	 */
 	public IItemRegistry<IEquiEngine> getEquiEngineDescriptorRegistry() {
-		return equiEngineRegistry;
+		IItemRegistry<IEquiEngine> result = equiEngineRegistry;
+		if (result == null) {
+			synchronized(equiEngineRegistryLock) {
+				result = equiEngineRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpEquiEngineRegistry(registry);
+					result = equiEngineRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -674,7 +870,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of Requirements engines
 	 */
 	public IItemRegistry<IReqEngine> getReqEngineDescriptorRegistry() {
-		return reqEngineRegistry;
+		IItemRegistry<IReqEngine> result = reqEngineRegistry;
+		if (result == null) {
+			synchronized(reqEngineRegistryLock) {
+				result = reqEngineRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpReqEngineRegistry(registry);
+					result = reqEngineRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -683,7 +890,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of Conflict detector
 	 */
 	public IItemRegistry<IConflictDetector> getConflictDetectorDescriptorRegistry() {
-		return conflictDetectorRegistry;
+		IItemRegistry<IConflictDetector> result = conflictDetectorRegistry;
+		if (result == null) {
+			synchronized(conflictDetectorRegistryLock) {
+				result = conflictDetectorRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpConflictDetectorRegistry(registry);
+					result = conflictDetectorRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -692,7 +910,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of weight providers
 	 */
 	public WeightProvider.Descriptor.Registry getWeightProviderRegistry() {
-		return weightProviderRegistry;
+		WeightProvider.Descriptor.Registry result = weightProviderRegistry;
+		if (result == null) {
+			synchronized(weightProviderRegistryLock) {
+				result = weightProviderRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpWeightProviderRegistry(registry);
+					result = weightProviderRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -701,7 +930,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @return the registry of equality helper extension providers
 	 */
 	public EqualityHelperExtensionProvider.Descriptor.Registry getEqualityHelperExtensionProviderRegistry() {
-		return equalityHelperExtensionProviderRegistry;
+		EqualityHelperExtensionProvider.Descriptor.Registry result = equalityHelperExtensionProviderRegistry;
+		if (result == null) {
+			synchronized(equalityHelperExtensionProviderRegistryLock) {
+				result = equalityHelperExtensionProviderRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpEqualityHelperExtensionProviderRegistry(registry);
+					result = equalityHelperExtensionProviderRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -711,7 +951,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @since 3.0
 	 */
 	public IMatchEngine.Factory.Registry getMatchEngineFactoryRegistry() {
-		return matchEngineFactoryRegistryWrapped;
+		IMatchEngine.Factory.Registry result = matchEngineFactoryRegistryWrapped;
+		if (result == null) {
+			synchronized(matchEngineFactoryRegistryLock) {
+				result = matchEngineFactoryRegistryWrapped;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpMatchEngineFactoryRegistry(registry);
+					result = matchEngineFactoryRegistryWrapped;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -721,7 +972,18 @@ public class EMFCompareRCPPlugin extends Plugin {
 	 * @since 3.0
 	 */
 	public IItemRegistry<IMatchEngine.Factory> getMatchEngineFactoryDescriptorRegistry() {
-		return matchEngineFactoryRegistry;
+		IItemRegistry<IMatchEngine.Factory> result = matchEngineFactoryRegistry;
+		if (result == null) {
+			synchronized(matchEngineFactoryRegistryLock) {
+				result = matchEngineFactoryRegistry;
+				final IExtensionRegistry registry = extensionRegistry;
+				if (result == null && registry != null) {
+					setUpMatchEngineFactoryRegistry(registry);
+					result = matchEngineFactoryRegistry;
+				}
+			}
+		}
+		return result;
 	}
 
 	/**
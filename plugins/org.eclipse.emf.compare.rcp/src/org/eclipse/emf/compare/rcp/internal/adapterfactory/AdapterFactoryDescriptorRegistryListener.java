@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2016 Obeo.
+ * Copyright (c) 2013, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,7 +19,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
 
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
@@ -132,13 +131,8 @@ public class AdapterFactoryDescriptorRegistryListener extends AbstractRegistryEv
 		int ranking = Integer.parseInt(element.getAttribute(ATT_RANKING));
 		IContextTester contextTester = null;
 		if (element.getAttribute(ATT_CONTEXT) != null) {
-			try {
-				contextTester = (IContextTester)element.createExecutableExtension(ATT_CONTEXT);
-			} catch (CoreException e) {
-				log(IStatus.WARNING, element,
-						EMFCompareRCPMessages.getString("malformed.extension.executable", //$NON-NLS-1$
-								ATT_CONTEXT, element.getAttribute(ATT_CONTEXT)));
-			}
+			// Only load the tester's class when it is first needed
+			contextTester = new LazyContextTester(element, ATT_CONTEXT);
 		}
 		RankedAdapterFactoryDescriptor descriptor = new RankedAdapterFactoryDescriptorImpl(element, ranking,
 				contextTester);
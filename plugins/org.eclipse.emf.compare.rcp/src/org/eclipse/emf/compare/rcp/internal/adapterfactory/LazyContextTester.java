@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.internal.adapterfactory;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.emf.compare.adapterfactory.context.IContextTester;
+import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
+import org.eclipse.emf.compare.rcp.extension.PluginClassDescriptor;
+import org.eclipse.emf.compare.rcp.internal.EMFCompareRCPMessages;
+
+/**
+ * A context tester that only instantiates the tester contributed through the adapter factory extension point
+ * the first time it is used. This avoids loading the classes, and starting the bundles, of the context
+ * testers of all contributed adapter factories as soon as the adapter factory registry is read.
+ * <p>
+ * If the contributed tester cannot be instantiated, this tester accepts all contexts, as if the adapter
+ * factory had no context tester.
+ * </p>
+ */
+public class LazyContextTester extends PluginClassDescriptor<IContextTester> implements IContextTester {
+	/** The contributed tester, <code>null</code> until first used. */
+	private IContextTester delegate;
+
+	/** Whether we've already tried to instantiate the contributed tester. */
+	private boolean initialized;
+
+	/**
+	 * Creates a lazy tester for the context tester contributed through the given element.
+	 *
+	 * @param element
+	 *            The configuration element contributing an adapter factory.
+	 * @param attributeName
+	 *            Name of the attribute holding the class of the context tester.
+	 */
+	public LazyContextTester(IConfigurationElement element, String attributeName) {
+		super(element, attributeName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.emf.compare.adapterfactory.context.IContextTester#apply(java.util.Map)
+	 */
+	public boolean apply(Map<Object, Object> context) {
+		final IContextTester tester = getDelegate();
+		return tester == null || tester.apply(context);
+	}
+
+	/**
+	 * Returns the contributed tester, instantiating it on first call.
+	 *
+	 * @return The contributed tester, <code>null</code> if it could not be instantiated.
+	 */
+	private synchronized IContextTester getDelegate() {
+		if (!initialized) {
+			initialized = true;
+			try {
+				delegate = createInstance();
+			} catch (RuntimeException e) {
+				// createInstance wraps the CoreException, and the class may not implement IContextTester
+				EMFCompareRCPPlugin.getDefault().log(IStatus.WARNING,
+						EMFCompareRCPMessages.getString("malformed.extension.executable", //$NON-NLS-1$
+								attributeName, element.getAttribute(attributeName)));
+			}
+		}
+		return delegate;
+	}
+}
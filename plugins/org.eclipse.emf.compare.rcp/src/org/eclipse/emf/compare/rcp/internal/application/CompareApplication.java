@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.internal.application;
+
+import com.google.common.collect.Lists;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.rcp.internal.EMFCompareRCPMessages;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Headless application running comparisons from the command line.
+ * <p>
+ * Given {@link CompareRequest request arguments}, a single comparison is run and its report written, the exit
+ * code being {@link #EXIT_OK} if the models are identical, {@link #EXIT_DIFFERENCES} if they are different
+ * and {@link #EXIT_ERROR} if they could not be compared. Given <code>-daemon [-port &lt;port&gt;]</code>, a
+ * {@link CompareDaemon} is started instead and serves comparisons until asked to shut down.
+ * </p>
+ */
+public class CompareApplication implements IApplication {
+	/** Exit code of a comparison which models are different. */
+	public static final Integer EXIT_DIFFERENCES = Integer.valueOf(1);
+
+	/** Exit code of a comparison that could not be run. */
+	public static final Integer EXIT_ERROR = Integer.valueOf(2);
+
+	/** Argument starting a daemon instead of running a single comparison. */
+	private static final String DAEMON = "-daemon"; //$NON-NLS-1$
+
+	/** Argument preceding the port the daemon is to listen on. */
+	private static final String PORT = "-port"; //$NON-NLS-1$
+
+	/** The daemon we've started, if any. */
+	private volatile CompareDaemon daemon;
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.equinox.app.IApplication#start(org.eclipse.equinox.app.IApplicationContext)
+	 */
+	public Object start(IApplicationContext context) throws Exception {
+		final Object applicationArgs = context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		final List<String> arguments;
+		if (applicationArgs instanceof String[]) {
+			arguments = Lists.newArrayList(Arrays.asList((String[])applicationArgs));
+		} else {
+			arguments = Lists.newArrayList();
+		}
+		context.applicationRunning();
+
+		try {
+			if (arguments.remove(DAEMON)) {
+				return runDaemon(arguments);
+			}
+			return runOnce(CompareRequest.parse(arguments));
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(EMFCompareRCPMessages.getString("CompareApplication.usage")); //$NON-NLS-1$
+			return EXIT_ERROR;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.eclipse.equinox.app.IApplication#stop()
+	 */
+	public void stop() {
+		final CompareDaemon current = daemon;
+		if (current != null) {
+			current.stop();
+		}
+	}
+
+	/**
+	 * Runs the given comparison and writes its report.
+	 *
+	 * @param request
+	 *            The comparison to run.
+	 * @return The exit code of the application.
+	 * @throws IOException
+	 *             If we cannot write the report.
+	 */
+	private Integer runOnce(CompareRequest request) throws IOException {
+		final CompareRunner runner = new CompareRunner();
+		final Comparison comparison;
+		try {
+			comparison = runner.compare(request);
+		} catch (RuntimeException e) {
+			// Models we could not load
+			System.err.println(e.getMessage());
+			return EXIT_ERROR;
+		}
+		try {
+			if (request.getOutput() != null) {
+				final OutputStream out = new FileOutputStream(request.getOutput());
+				try {
+					runner.writeReport(request, comparison, out);
+				} finally {
+					out.close();
+				}
+			} else {
+				runner.writeReport(request, comparison, System.out);
+			}
+			if (comparison.getDifferences().isEmpty()) {
+				return EXIT_OK;
+			}
+			return EXIT_DIFFERENCES;
+		} finally {
+			runner.release(comparison);
+		}
+	}
+
+	/**
+	 * Starts a daemon and serves comparisons until it is stopped.
+	 *
+	 * @param arguments
+	 *            The remaining arguments of the application.
+	 * @return The exit code of the application.
+	 * @throws IOException
+	 *             If the daemon cannot listen for connections.
+	 */
+	private Integer runDaemon(List<String> arguments) throws IOException {
+		int port = 0;
+		if (arguments.size() == 2 && PORT.equals(arguments.get(0))) {
+			try {
+				port = Integer.parseInt(arguments.get(1));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(EMFCompareRCPMessages
+						.getString("CompareApplication.invalidPort", arguments.get(1)), e); //$NON-NLS-1$
+			}
+		} else if (!arguments.isEmpty()) {
+			throw new IllegalArgumentException(EMFCompareRCPMessages
+					.getString("CompareRequest.unknownArgument", arguments.get(0))); //$NON-NLS-1$
+		}
+
+		daemon = new CompareDaemon(new CompareRunner(), port);
+		System.out.println(EMFCompareRCPMessages.getString("CompareApplication.daemonStarted", //$NON-NLS-1$
+				String.valueOf(daemon.getPort()), daemon.getSecretFile().getAbsolutePath()));
+		try {
+			daemon.run();
+		} finally {
+			daemon = null;
+		}
+		return EXIT_OK;
+	}
+}
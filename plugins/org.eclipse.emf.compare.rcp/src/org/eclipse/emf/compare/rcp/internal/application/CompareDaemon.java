@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.internal.application;
+
+import com.google.common.base.Splitter;
+import com.google.common.io.BaseEncoding;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
+import org.eclipse.emf.compare.rcp.internal.EMFCompareRCPMessages;
+
+/**
+ * Keeps a platform running and serves comparisons to clients connecting on a local socket, so that the
+ * startup costs of the platform and the registries are only paid once.
+ * <p>
+ * The daemon only listens on the loopback interface, and only serves the clients that know the secret it
+ * generated when started. That secret is written in a {@link #getSecretFile() file} only readable by the user
+ * running the daemon. Each connection serves a single request: the client sends a line holding the secret,
+ * then a line holding the {@link CompareRequest request arguments} separated by tabulations. The daemon
+ * answers with a status line, either <code>differences</code>, <code>identical</code> or
+ * <code>error: </code> followed by a message, then with the report. The daemon then closes the connection. A
+ * client sending the line <code>shutdown</code> instead of request arguments stops the daemon.
+ * </p>
+ * <p>
+ * Since clients may not have the same rights as the user running the daemon, requests can only compare
+ * files of the local file system and cannot ask for their report to be written to a file.
+ * </p>
+ * <p>
+ * Requests are served one after the other, in the thread calling {@link #run()}. A client that does not
+ * send its request or read the response within the {@link #DEFAULT_CLIENT_TIMEOUT timeout} is disconnected so
+ * that it cannot block the others, and the failure of a request never stops the daemon.
+ * </p>
+ */
+public class CompareDaemon {
+	/** Status line sent when the compared models are different. */
+	public static final String STATUS_DIFFERENCES = "differences"; //$NON-NLS-1$
+
+	/** Status line sent when the compared models are identical. */
+	public static final String STATUS_IDENTICAL = "identical"; //$NON-NLS-1$
+
+	/** Prefix of the status line sent when the request could not be served. */
+	public static final String STATUS_ERROR = "error: "; //$NON-NLS-1$
+
+	/** Request that stops the daemon. */
+	public static final String SHUTDOWN = "shutdown"; //$NON-NLS-1$
+
+	/** Default number of milliseconds we wait for a client to send or read data before disconnecting it. */
+	public static final int DEFAULT_CLIENT_TIMEOUT = 30000;
+
+	/** Separates the arguments of a request. */
+	private static final Splitter ARGUMENT_SPLITTER = Splitter.on('\t').omitEmptyStrings();
+
+	/** Number of random bytes of the secret clients must send. */
+	private static final int SECRET_LENGTH = 32;
+
+	/** Prefix of the name of the files holding the secret of a daemon. */
+	private static final String SECRET_FILE_PREFIX = "emfcompare-daemon"; //$NON-NLS-1$
+
+	/** Suffix of the name of the files holding the secret of a daemon. */
+	private static final String SECRET_FILE_SUFFIX = ".secret"; //$NON-NLS-1$
+
+	/** Name of the file attribute view supporting posix permissions. */
+	private static final String POSIX_VIEW = "posix"; //$NON-NLS-1$
+
+	/** Runs the requested comparisons. */
+	private final CompareRunner runner;
+
+	/** The socket we're listening on. */
+	private final ServerSocket serverSocket;
+
+	/** The secret clients must send before their request, encoded in UTF-8. */
+	private final byte[] secret;
+
+	/** The file holding our secret. */
+	private final File secretFile;
+
+	/** Number of milliseconds we wait for a client to send or read data before disconnecting it. */
+	private final int clientTimeout;
+
+	/** Whether we've been asked to stop. */
+	private volatile boolean stopped;
+
+	/**
+	 * Creates a daemon listening on the given port of the loopback interface, and writes the secret its
+	 * clients must send in a new temporary file.
+	 *
+	 * @param runner
+	 *            Runs the requested comparisons.
+	 * @param port
+	 *            The port to listen on, <code>0</code> to let the system choose one.
+	 * @throws IOException
+	 *             If we cannot listen on the given port or write our secret.
+	 */
+	public CompareDaemon(CompareRunner runner, int port) throws IOException {
+		this(runner, port, DEFAULT_CLIENT_TIMEOUT);
+	}
+
+	/**
+	 * Creates a daemon listening on the given port of the loopback interface, and writes the secret its
+	 * clients must send in a new temporary file.
+	 *
+	 * @param runner
+	 *            Runs the requested comparisons.
+	 * @param port
+	 *            The port to listen on, <code>0</code> to let the system choose one.
+	 * @param clientTimeout
+	 *            Number of milliseconds we wait for a client to send or read data before disconnecting it.
+	 * @throws IOException
+	 *             If we cannot listen on the given port or write our secret.
+	 */
+	public CompareDaemon(CompareRunner runner, int port, int clientTimeout) throws IOException {
+		this.runner = runner;
+		this.clientTimeout = clientTimeout;
+		final byte[] randomBytes = new byte[SECRET_LENGTH];
+		new SecureRandom().nextBytes(randomBytes);
+		final String encodedSecret = BaseEncoding.base16().lowerCase().encode(randomBytes);
+		this.secret = encodedSecret.getBytes(StandardCharsets.UTF_8);
+		this.secretFile = createSecretFile(secret);
+		try {
+			this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+		} catch (IOException e) {
+			Files.deleteIfExists(secretFile.toPath());
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the port this daemon listens on.
+	 *
+	 * @return The port this daemon listens on.
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Returns the file holding the secret clients must send before their request. This file is deleted when
+	 * the daemon stops.
+	 *
+	 * @return The file holding the secret of this daemon.
+	 */
+	public File getSecretFile() {
+		return secretFile;
+	}
+
+	/**
+	 * Serves requests until this daemon is {@link #stop() stopped}.
+	 *
+	 * @throws IOException
+	 *             If we can no longer accept connections.
+	 */
+	public void run() throws IOException {
+		try {
+			while (!stopped) {
+				final Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (SocketException e) {
+					if (stopped) {
+						// We've been stopped while waiting for a connection
+						break;
+					}
+					throw e;
+				}
+				try {
+					socket.setSoTimeout(clientTimeout);
+					serve(socket);
+				} catch (SocketTimeoutException e) {
+					log(IStatus.INFO, "CompareDaemon.clientTimeout", e); //$NON-NLS-1$
+				} catch (IOException e) {
+					// The client went away, or we could not write the report
+					log(IStatus.WARNING, "CompareDaemon.requestFailed", e); //$NON-NLS-1$
+				} catch (RuntimeException e) {
+					log(IStatus.ERROR, "CompareDaemon.requestFailed", e); //$NON-NLS-1$
+				} finally {
+					closeQuietly(socket);
+				}
+			}
+		} finally {
+			stop();
+		}
+	}
+
+	/**
+	 * Stops this daemon. The request currently being served, if any, is completed first.
+	 */
+	public void stop() {
+		stopped = true;
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			// We're shutting down anyway
+		}
+		try {
+			Files.deleteIfExists(secretFile.toPath());
+		} catch (IOException e) {
+			// We're shutting down anyway
+		}
+	}
+
+	/**
+	 * Serves the request sent over the given connection.
+	 *
+	 * @param socket
+	 *            The client connection.
+	 * @throws IOException
+	 *             If we cannot communicate with the client.
+	 */
+	private void serve(Socket socket) throws IOException {
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		final OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+		final String clientSecret = reader.readLine();
+		final String line = reader.readLine();
+		if (clientSecret == null || line == null) {
+			return;
+		} else if (!MessageDigest.isEqual(secret, clientSecret.trim().getBytes(StandardCharsets.UTF_8))) {
+			final String message = EMFCompareRCPMessages
+					.getString("CompareDaemon.unauthorized"); //$NON-NLS-1$
+			writeStatus(out, STATUS_ERROR + message);
+			out.flush();
+			return;
+		} else if (SHUTDOWN.equals(line.trim())) {
+			stopped = true;
+			return;
+		}
+
+		final List<String> arguments = ARGUMENT_SPLITTER.splitToList(line);
+		final CompareRequest request;
+		final Comparison comparison;
+		try {
+			request = CompareRequest.parse(arguments);
+			checkAllowed(request);
+			comparison = runner.compare(request);
+		} catch (RuntimeException e) {
+			// Invalid arguments, or models we could not load
+			writeStatus(out, STATUS_ERROR + String.valueOf(e.getMessage()).replace('\n', ' '));
+			out.flush();
+			return;
+		}
+
+		try {
+			if (comparison.getDifferences().isEmpty()) {
+				writeStatus(out, STATUS_IDENTICAL);
+			} else {
+				writeStatus(out, STATUS_DIFFERENCES);
+			}
+			runner.writeReport(request, comparison, out);
+			out.flush();
+		} finally {
+			runner.release(comparison);
+		}
+	}
+
+	/**
+	 * Checks that the given request only accesses what any client may access: the report cannot be written
+	 * to a file, and only files of the local file system can be compared.
+	 *
+	 * @param request
+	 *            The request to check.
+	 * @throws IllegalArgumentException
+	 *             If the given request is not allowed.
+	 */
+	private static void checkAllowed(CompareRequest request) {
+		if (request.getOutput() != null) {
+			throw new IllegalArgumentException(
+					EMFCompareRCPMessages.getString("CompareDaemon.outputForbidden")); //$NON-NLS-1$
+		}
+		for (URI uri : new URI[] {request.getLeft(), request.getRight(), request.getOrigin() }) {
+			if (uri != null && !uri.isFile()) {
+				throw new IllegalArgumentException(EMFCompareRCPMessages
+						.getString("CompareDaemon.unsupportedURI", uri.toString())); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Creates a temporary file only readable and writable by the current user, holding the given secret.
+	 *
+	 * @param secret
+	 *            The secret to write.
+	 * @return The created file.
+	 * @throws IOException
+	 *             If we cannot create the file.
+	 */
+	private static File createSecretFile(byte[] secret) throws IOException {
+		final Path path;
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains(POSIX_VIEW)) {
+			path = Files.createTempFile(SECRET_FILE_PREFIX, SECRET_FILE_SUFFIX,
+					PosixFilePermissions.asFileAttribute(
+							EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+		} else {
+			// The temporary folder is private to the current user on other systems
+			path = Files.createTempFile(SECRET_FILE_PREFIX, SECRET_FILE_SUFFIX);
+		}
+		Files.write(path, secret);
+		return path.toFile();
+	}
+
+	/**
+	 * Closes the given client connection, ignoring failures since we're done with this client anyway.
+	 *
+	 * @param socket
+	 *            The client connection to close.
+	 */
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// We're done with this client
+		}
+	}
+
+	/**
+	 * Logs the failure of a request, if the plugin is running.
+	 *
+	 * @param severity
+	 *            Severity of the failure.
+	 * @param messageKey
+	 *            Key of the message describing the failure.
+	 * @param cause
+	 *            Cause of the failure.
+	 */
+	private static void log(int severity, String messageKey, Throwable cause) {
+		final EMFCompareRCPPlugin plugin = EMFCompareRCPPlugin.getDefault();
+		if (plugin != null) {
+			final String message = EMFCompareRCPMessages.getString(messageKey);
+			plugin.getLog().log(new Status(severity, EMFCompareRCPPlugin.PLUGIN_ID, message, cause));
+		}
+	}
+
+	/**
+	 * Writes the given status line.
+	 *
+	 * @param out
+	 *            The stream to write to.
+	 * @param status
+	 *            The status to write.
+	 * @throws IOException
+	 *             If we cannot write to the given stream.
+	 */
+	private static void writeStatus(OutputStream out, String status) throws IOException {
+		out.write((status + '\n').getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.internal.application;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.rcp.internal.EMFCompareRCPMessages;
+import org.eclipse.emf.compare.report.ComparisonReportWriter.Format;
+
+/**
+ * A comparison requested from the command line or from a {@link CompareDaemon daemon} client. Requests are
+ * parsed from arguments of the form <code>-left &lt;path&gt; -right &lt;path&gt; [-origin &lt;path&gt;]
+ * [-format json|jsonl] [-output &lt;file&gt;]</code> where paths are either file system paths or URIs.
+ */
+public final class CompareRequest {
+	/** Argument preceding the left side of the comparison. */
+	public static final String LEFT = "-left"; //$NON-NLS-1$
+
+	/** Argument preceding the right side of the comparison. */
+	public static final String RIGHT = "-right"; //$NON-NLS-1$
+
+	/** Argument preceding the common ancestor of both sides of the comparison. */
+	public static final String ORIGIN = "-origin"; //$NON-NLS-1$
+
+	/** Argument preceding the format of the report. */
+	public static final String FORMAT = "-format"; //$NON-NLS-1$
+
+	/** Argument preceding the file the report is to be written to. */
+	public static final String OUTPUT = "-output"; //$NON-NLS-1$
+
+	/** Value of the {@link #FORMAT} argument for the JSON format. */
+	private static final String FORMAT_JSON = "json"; //$NON-NLS-1$
+
+	/** Value of the {@link #FORMAT} argument for the JSON lines format. */
+	private static final String FORMAT_JSON_LINES = "jsonl"; //$NON-NLS-1$
+
+	/** URI of the left side of the comparison. */
+	private final URI left;
+
+	/** URI of the right side of the comparison. */
+	private final URI right;
+
+	/** URI of the common ancestor of both sides, <code>null</code> for two-way comparisons. */
+	private final URI origin;
+
+	/** Format of the report. */
+	private final Format format;
+
+	/** File the report is to be written to, <code>null</code> to write it to the standard output. */
+	private final File output;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param left
+	 *            URI of the left side of the comparison.
+	 * @param right
+	 *            URI of the right side of the comparison.
+	 * @param origin
+	 *            URI of the common ancestor of both sides, <code>null</code> for two-way comparisons.
+	 * @param format
+	 *            Format of the report.
+	 * @param output
+	 *            File the report is to be written to, <code>null</code> to write it to the standard output.
+	 */
+	private CompareRequest(URI left, URI right, URI origin, Format format, File output) {
+		this.left = left;
+		this.right = right;
+		this.origin = origin;
+		this.format = format;
+		this.output = output;
+	}
+
+	/**
+	 * Parses a request from the given arguments. Arguments that this request does not know about are
+	 * rejected.
+	 *
+	 * @param arguments
+	 *            The arguments to parse.
+	 * @return The parsed request.
+	 * @throws IllegalArgumentException
+	 *             If the given arguments do not describe a valid request.
+	 */
+	public static CompareRequest parse(List<String> arguments) {
+		URI left = null;
+		URI right = null;
+		URI origin = null;
+		Format format = Format.JSON;
+		File output = null;
+		final Iterator<String> iterator = arguments.iterator();
+		while (iterator.hasNext()) {
+			final String argument = iterator.next();
+			if (LEFT.equals(argument)) {
+				left = toURI(nextValue(argument, iterator));
+			} else if (RIGHT.equals(argument)) {
+				right = toURI(nextValue(argument, iterator));
+			} else if (ORIGIN.equals(argument)) {
+				origin = toURI(nextValue(argument, iterator));
+			} else if (FORMAT.equals(argument)) {
+				format = toFormat(nextValue(argument, iterator));
+			} else if (OUTPUT.equals(argument)) {
+				output = new File(nextValue(argument, iterator));
+			} else {
+				throw new IllegalArgumentException(EMFCompareRCPMessages
+						.getString("CompareRequest.unknownArgument", argument)); //$NON-NLS-1$
+			}
+		}
+		if (left == null || right == null) {
+			throw new IllegalArgumentException(
+					EMFCompareRCPMessages.getString("CompareRequest.missingSide")); //$NON-NLS-1$
+		}
+		return new CompareRequest(left, right, origin, format, output);
+	}
+
+	/**
+	 * Returns the value following the given argument.
+	 *
+	 * @param argument
+	 *            The argument which value we need.
+	 * @param iterator
+	 *            Iterator over the remaining arguments.
+	 * @return The value of <code>argument</code>.
+	 * @throws IllegalArgumentException
+	 *             If there are no more arguments.
+	 */
+	private static String nextValue(String argument, Iterator<String> iterator) {
+		if (!iterator.hasNext()) {
+			throw new IllegalArgumentException(
+					EMFCompareRCPMessages.getString("CompareRequest.missingValue", argument)); //$NON-NLS-1$
+		}
+		return iterator.next();
+	}
+
+	/**
+	 * Converts the given path into an URI. Paths that are not already URIs are considered as file system
+	 * paths, relative to the current working directory.
+	 *
+	 * @param path
+	 *            The path to convert.
+	 * @return The URI corresponding to the given path.
+	 */
+	static URI toURI(String path) {
+		final File file = new File(path);
+		// A scheme of a single letter is a windows drive
+		final int schemeEnd = path.indexOf(':');
+		if (schemeEnd > 1 && !file.isAbsolute()) {
+			return URI.createURI(path);
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+	/**
+	 * Converts the given value into a report format.
+	 *
+	 * @param value
+	 *            Value of the {@link #FORMAT} argument.
+	 * @return The corresponding report format.
+	 * @throws IllegalArgumentException
+	 *             If <code>value</code> is not a known format.
+	 */
+	private static Format toFormat(String value) {
+		if (FORMAT_JSON.equals(value)) {
+			return Format.JSON;
+		} else if (FORMAT_JSON_LINES.equals(value)) {
+			return Format.JSON_LINES;
+		}
+		throw new IllegalArgumentException(
+				EMFCompareRCPMessages.getString("CompareRequest.unknownFormat", value)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the URI of the left side of the comparison.
+	 *
+	 * @return The URI of the left side of the comparison.
+	 */
+	public URI getLeft() {
+		return left;
+	}
+
+	/**
+	 * Returns the URI of the right side of the comparison.
+	 *
+	 * @return The URI of the right side of the comparison.
+	 */
+	public URI getRight() {
+		return right;
+	}
+
+	/**
+	 * Returns the URI of the common ancestor of both sides.
+	 *
+	 * @return The URI of the common ancestor of both sides, <code>null</code> for two-way comparisons.
+	 */
+	public URI getOrigin() {
+		return origin;
+	}
+
+	/**
+	 * Returns the format of the report.
+	 *
+	 * @return The format of the report.
+	 */
+	public Format getFormat() {
+		return format;
+	}
+
+	/**
+	 * Returns the file the report is to be written to.
+	 *
+	 * @return The file the report is to be written to, <code>null</code> to write it to the standard output.
+	 */
+	public File getOutput() {
+		return output;
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.rcp.internal.application;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.EMFCompare;
+import org.eclipse.emf.compare.MatchResource;
+import org.eclipse.emf.compare.adapterfactory.context.IContextTester;
+import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
+import org.eclipse.emf.compare.rcp.internal.extension.IEMFCompareBuilderConfigurator;
+import org.eclipse.emf.compare.rcp.internal.extension.impl.EMFCompareBuilderConfigurator;
+import org.eclipse.emf.compare.report.ComparisonReportWriter;
+import org.eclipse.emf.compare.scope.DefaultComparisonScope;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
+
+/**
+ * Runs the comparisons described by {@link CompareRequest}s with the engines, post-processors and adapter
+ * factories registered against {@link EMFCompareRCPPlugin}, then writes their report.
+ * <p>
+ * A new {@link EMFCompare} is built for each comparison so that changes to the preferences are taken into
+ * account, but the registries it is built from, like the registered packages and resource factories, are
+ * only initialized once for the whole lifetime of the platform. This is what makes a long-running
+ * {@link CompareDaemon daemon} cheaper than starting a new application for each comparison.
+ * </p>
+ */
+public class CompareRunner {
+	/** Configures the builders of the {@link EMFCompare} instances we use. */
+	private final IEMFCompareBuilderConfigurator configurator;
+
+	/**
+	 * Creates a runner configured with the registries and preferences of {@link EMFCompareRCPPlugin}.
+	 */
+	public CompareRunner() {
+		this(EMFCompareBuilderConfigurator.createDefault());
+	}
+
+	/**
+	 * Creates a runner with the given configurator.
+	 *
+	 * @param configurator
+	 *            Configures the builders of the {@link EMFCompare} instances we use.
+	 */
+	public CompareRunner(IEMFCompareBuilderConfigurator configurator) {
+		this.configurator = configurator;
+	}
+
+	/**
+	 * Loads the models described by the given request and compares them.
+	 *
+	 * @param request
+	 *            The comparison to run.
+	 * @return The result of the comparison. Its models should be {@link #release(Comparison) released} once
+	 *         we're done with it.
+	 */
+	public Comparison compare(CompareRequest request) {
+		final ResourceSet left = load(request.getLeft());
+		final ResourceSet right = load(request.getRight());
+		final ResourceSet origin;
+		if (request.getOrigin() != null) {
+			origin = load(request.getOrigin());
+		} else {
+			origin = null;
+		}
+		final IComparisonScope scope = new DefaultComparisonScope(left, right, origin);
+
+		final EMFCompare.Builder builder = EMFCompare.builder();
+		configurator.configure(builder);
+		return builder.build().compare(scope);
+	}
+
+	/**
+	 * Writes the report of the given comparison in the format requested by the given request.
+	 *
+	 * @param request
+	 *            The request that yielded the given comparison.
+	 * @param comparison
+	 *            The comparison to report.
+	 * @param out
+	 *            The stream to write the report to. It will be flushed but not closed.
+	 * @throws IOException
+	 *             If we cannot write to the given stream.
+	 */
+	public void writeReport(CompareRequest request, Comparison comparison, OutputStream out)
+			throws IOException {
+		final ComposedAdapterFactory adapterFactory = new ComposedAdapterFactory(EMFCompareRCPPlugin
+				.getDefault().createFilteredAdapterFactoryRegistry(
+						ImmutableMap.<Object, Object> of(IContextTester.CTX_COMPARISON, comparison)));
+		try {
+			new ComparisonReportWriter(adapterFactory, request.getFormat()).write(comparison, out);
+		} finally {
+			adapterFactory.dispose();
+		}
+	}
+
+	/**
+	 * Unloads the models of the given comparison, so that a long running process does not hold onto them.
+	 *
+	 * @param comparison
+	 *            The comparison which models are to be released.
+	 */
+	public void release(Comparison comparison) {
+		final Set<ResourceSet> resourceSets = Sets.newLinkedHashSet();
+		for (MatchResource matchResource : comparison.getMatchedResources()) {
+			addResourceSet(resourceSets, matchResource.getLeft());
+			addResourceSet(resourceSets, matchResource.getRight());
+			addResourceSet(resourceSets, matchResource.getOrigin());
+		}
+		for (ResourceSet resourceSet : resourceSets) {
+			for (Resource resource : resourceSet.getResources()) {
+				resource.unload();
+			}
+			resourceSet.getResources().clear();
+		}
+	}
+
+	/**
+	 * Adds the resource set of the given resource to the given set, if any.
+	 *
+	 * @param resourceSets
+	 *            The set in which to add the resource set of <code>resource</code>.
+	 * @param resource
+	 *            The resource which resource set we need, may be <code>null</code>.
+	 */
+	private static void addResourceSet(Set<ResourceSet> resourceSets, Resource resource) {
+		if (resource != null && resource.getResourceSet() != null) {
+			resourceSets.add(resource.getResourceSet());
+		}
+	}
+
+	/**
+	 * Loads the model at the given URI in a new resource set.
+	 *
+	 * @param uri
+	 *            URI of the model to load.
+	 * @return The resource set in which the model was loaded.
+	 */
+	private static ResourceSet load(URI uri) {
+		final ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResource(uri, true);
+		return resourceSet;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,14 +14,13 @@ import static com.google.common.base.Predicates.in;
 import static com.google.common.base.Predicates.not;
 
 import com.google.common.collect.Collections2;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
 
+import org.eclipse.emf.compare.internal.postprocessor.PostProcessorSelectionCache;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor;
 import org.eclipse.emf.compare.rcp.EMFCompareRCPPlugin;
@@ -47,6 +46,9 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 	/** {@link IItemRegistry} of descriptor of {@link IItemDescriptor}. */
 	private final IItemRegistry<IPostProcessor.Descriptor> baseRegisty;
 
+	/** Post processors previously selected for the URIs of the compared scopes. */
+	private final PostProcessorSelectionCache selectionCache;
+
 	/**
 	 * Constructor.
 	 * 
@@ -57,6 +59,7 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 	public PostProcessorRegistryImpl(IItemRegistry<IPostProcessor.Descriptor> baseRegisty) {
 		super();
 		this.baseRegisty = baseRegisty;
+		this.selectionCache = new PostProcessorSelectionCache();
 	}
 
 	/**
@@ -67,6 +70,7 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 				EMPTY_STRING, EMPTY_STRING, descriptor.getOrdinal(), descriptor.getInstanceClassName(),
 				descriptor);
 		IItemDescriptor<IPostProcessor.Descriptor> oldDescriptor = baseRegisty.add(newDescriptor);
+		selectionCache.invalidate();
 		if (oldDescriptor != null) {
 			return oldDescriptor.getItem();
 		}
@@ -78,7 +82,7 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 	 */
 	public void clear() {
 		baseRegisty.clear();
-
+		selectionCache.invalidate();
 	}
 
 	/**
@@ -115,6 +119,7 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 	 */
 	public Descriptor remove(String key) {
 		IItemDescriptor<IPostProcessor.Descriptor> oldDescriptor = baseRegisty.remove(key);
+		selectionCache.invalidate();
 		if (oldDescriptor != null) {
 			return oldDescriptor.getItem();
 		}
@@ -127,29 +132,9 @@ public class PostProcessorRegistryImpl implements IPostProcessor.Descriptor.Regi
 	 * @see org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor.Registry#getPostProcessors(org.eclipse.emf.compare.scope.IComparisonScope)
 	 */
 	public List<IPostProcessor> getPostProcessors(IComparisonScope scope) {
-		final ImmutableList.Builder<IPostProcessor> processors = ImmutableList.builder();
-		for (IPostProcessor.Descriptor factory : getDescriptors()) {
-			Pattern nsURIPattern = factory.getNsURI();
-			if (nsURIPattern != null) {
-				for (String nsURI : scope.getNsURIs()) {
-					if (nsURIPattern.matcher(nsURI).matches()) {
-						processors.add(factory.getPostProcessor());
-						break;
-					}
-				}
-			}
-			// Should probably use two loops here to prioritize NsURI matching
-			Pattern resourceURIPattern = factory.getResourceURI();
-			if (resourceURIPattern != null) {
-				for (String resourceURI : scope.getResourceURIs()) {
-					if (resourceURIPattern.matcher(resourceURI).matches()) {
-						processors.add(factory.getPostProcessor());
-						break;
-					}
-				}
-			}
-		}
-		return processors.build();
+		// The active descriptors are part of the cache key, so that toggling a post processor in the
+		// preferences does not require any explicit invalidation
+		return selectionCache.getPostProcessors(getDescriptors(), scope);
 	}
 
 }
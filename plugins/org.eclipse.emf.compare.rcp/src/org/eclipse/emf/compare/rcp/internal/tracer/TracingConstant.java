@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 Obeo.
+ * Copyright (c) 2014, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,13 @@ public final class TracingConstant {
 			&& "true".equalsIgnoreCase(Platform //$NON-NLS-1$ // Not in a constant to avoid checkstyke error.
 					.getDebugOption("org.eclipse.emf.compare.rcp/debug/comparisonConfiguration")); //$NON-NLS-1$
 
+	/**
+	 * If true trace the time it takes to read the registries of EMF Compare's extension points.
+	 */
+	public static final boolean REGISTRY_TRACING_ACTIVATED = EMFCompareRCPPlugin.getDefault().isDebugging()
+			&& "true".equalsIgnoreCase( //$NON-NLS-1$
+					Platform.getDebugOption("org.eclipse.emf.compare.rcp/debug/registries")); //$NON-NLS-1$
+
 	/**
 	 * Private constructor. Not to be call.
 	 */
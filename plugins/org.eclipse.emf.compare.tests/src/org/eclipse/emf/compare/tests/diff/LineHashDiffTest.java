@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.diff;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.compare.internal.dmp.LineBasedDiff;
+import org.eclipse.emf.compare.internal.dmp.LineHashDiff;
+import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Diff;
+import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Operation;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LineHashDiff} engine against the line mode of the reference diff_match_patch.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class LineHashDiffTest {
+
+	private static final String NL = "\n";
+
+	@Test
+	public void testSimpleChanges() {
+		final LineHashDiff lineDiff = new LineHashDiff();
+		assertSameAsReference(lineDiff, "", "");
+		assertSameAsReference(lineDiff, "", "a" + NL + "b");
+		assertSameAsReference(lineDiff, "a" + NL + "b", "");
+		assertSameAsReference(lineDiff, "a" + NL + "b" + NL + "c", "a" + NL + "x" + NL + "c");
+		assertSameAsReference(lineDiff, "a" + NL + "b" + NL + "c", "a" + NL + "b" + NL + "c" + NL);
+		assertSameAsReference(lineDiff, "a" + NL + "b" + NL + "a" + NL, "b" + NL + "a" + NL + "b" + NL);
+		assertSameAsReference(lineDiff, "a\r\nb\r\n", "a\r\nc\r\n");
+	}
+
+	@Test
+	public void testRandomChanges() {
+		final Random random = new Random(42);
+		final LineHashDiff lineDiff = new LineHashDiff();
+		for (int i = 0; i < 500; i++) {
+			final String text1 = createRandomText(random, random.nextInt(30));
+			final String text2 = createRandomText(random, random.nextInt(30));
+			assertSameAsReference(lineDiff, text1, text2);
+		}
+	}
+
+	@Test
+	public void testMaxCost() {
+		final LineHashDiff lineDiff = new LineHashDiff();
+		lineDiff.setMaxCost(1);
+		final List<Diff> diffs = lineDiff.diff("a" + NL + "b" + NL + "c" + NL + "d" + NL,
+				"a" + NL + "x" + NL + "c" + NL + "y" + NL, Long.MAX_VALUE);
+		// Too costly, the changed range is reported as a whole
+		assertEquals(3, diffs.size());
+		assertEquals(Operation.EQUAL, diffs.get(0).operation);
+		assertEquals(Operation.DELETE, diffs.get(1).operation);
+		assertEquals("b" + NL + "c" + NL + "d" + NL, diffs.get(1).text);
+		assertEquals(Operation.INSERT, diffs.get(2).operation);
+		assertEquals("x" + NL + "c" + NL + "y" + NL, diffs.get(2).text);
+	}
+
+	private static String createRandomText(Random random, int lineCount) {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			builder.append("line ").append(random.nextInt(8));
+			if (i < lineCount - 1 || random.nextBoolean()) {
+				builder.append(NL);
+			}
+		}
+		return builder.toString();
+	}
+
+	private static void assertSameAsReference(LineHashDiff lineDiff, String text1, String text2) {
+		final List<Diff> expected = new LineBasedDiff().computeLineBasedDiff(text1, text2);
+		final List<Diff> actual = lineDiff.diff(text1, text2, System.currentTimeMillis() + 1000L);
+		assertEquals(expected, actual);
+	}
+}
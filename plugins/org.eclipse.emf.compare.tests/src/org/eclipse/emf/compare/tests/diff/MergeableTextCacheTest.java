@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.diff;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.emf.compare.internal.MergeableTextCache;
+import org.eclipse.emf.compare.internal.ThreeWayTextDiff;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link MergeableTextCache} agrees with the {@link ThreeWayTextDiff}.
+ */
+@SuppressWarnings({"nls", "restriction" })
+public class MergeableTextCacheTest {
+
+	private static final String NL = "\n";
+
+	@Test
+	public void testTrivialCases() {
+		final String origin = "a" + NL + "b" + NL + "c";
+		final String changed = "a" + NL + "x" + NL + "c";
+
+		assertAgreesWithThreeWayTextDiff(origin, origin, changed);
+		assertAgreesWithThreeWayTextDiff(origin, changed, origin);
+		assertAgreesWithThreeWayTextDiff(origin, changed, new String(changed));
+		assertAgreesWithThreeWayTextDiff(null, changed, null);
+		assertAgreesWithThreeWayTextDiff(origin, null, changed);
+	}
+
+	@Test
+	public void testSmallTexts() {
+		final String origin = "a" + NL + "b" + NL + "c";
+
+		assertAgreesWithThreeWayTextDiff(origin, "x" + NL + "b" + NL + "c", "a" + NL + "b" + NL + "y");
+		assertAgreesWithThreeWayTextDiff(origin, "a" + NL + "x" + NL + "c", "a" + NL + "y" + NL + "c");
+		assertAgreesWithThreeWayTextDiff(origin, "a" + NL + "c", "a" + NL + "y" + NL + "c");
+	}
+
+	@Test
+	public void testLargeTextsAreMemoizedSymmetrically() {
+		final String origin = createText(500, -1, null);
+		final String left = createText(500, 10, "left");
+		final String right = createText(500, 450, "right");
+		final String conflicting = createText(500, 10, "other");
+
+		final MergeableTextCache cache = new MergeableTextCache();
+		assertTrue(cache.isMergeable(left, right, origin));
+		assertTrue(cache.isMergeable(right, left, origin));
+		assertFalse(cache.isMergeable(left, conflicting, origin));
+		assertFalse(cache.isMergeable(conflicting, left, origin));
+
+		assertAgreesWithThreeWayTextDiff(origin, left, right);
+		assertAgreesWithThreeWayTextDiff(origin, left, conflicting);
+	}
+
+	private static String createText(int lineCount, int changedLine, String change) {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			if (i == changedLine) {
+				builder.append(change);
+			} else {
+				builder.append("line ").append(i);
+			}
+			builder.append(NL);
+		}
+		return builder.toString();
+	}
+
+	private static void assertAgreesWithThreeWayTextDiff(String origin, String left, String right) {
+		final boolean expected = !new ThreeWayTextDiff(origin, left, right).isConflicting();
+		assertEquals(expected, new MergeableTextCache().isMergeable(left, right, origin));
+		assertEquals(expected, new MergeableTextCache(0).isMergeable(left, right, origin));
+		assertEquals(expected, new MergeableTextCache(0).isMergeable(right, left, origin));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,7 +19,8 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({TestComparisonItemProviderSpec.class, TestMatchItemProviderSpec.class,
-		TestAttributeChangeItemProviderSpec.class, TestReferenceChangeItemProviderSpec.class })
+		TestAttributeChangeItemProviderSpec.class, TestReferenceChangeItemProviderSpec.class,
+		LabelCacheTest.class, ComparisonReportWriterTest.class })
 public class AllEditTests {
 
 }
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.edit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.Match;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
+import org.eclipse.emf.compare.report.ComparisonReportWriter;
+import org.eclipse.emf.compare.report.ComparisonReportWriter.Format;
+import org.eclipse.emf.compare.tests.edit.data.ecore.a1.EcoreA1InputData;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+/**
+ * Tests the reports written by the {@link ComparisonReportWriter}.
+ */
+@SuppressWarnings("nls")
+public class ComparisonReportWriterTest extends AbstractTestCompareItemProviderAdapter {
+
+	@Test
+	public void testJSONLines() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final String report = write(comparison, Format.JSON_LINES);
+
+		assertTrue(report.endsWith("\n"));
+		final String[] lines = report.split("\n");
+		assertTrue(lines[0].startsWith("{\"type\":\"comparison\""));
+		int diffs = 0;
+		int matches = 0;
+		for (String line : lines) {
+			assertTrue(line.startsWith("{"));
+			assertTrue(line.endsWith("}"));
+			assertBalanced(line);
+			if (line.startsWith("{\"type\":\"diff\"")) {
+				diffs++;
+			} else if (line.startsWith("{\"type\":\"match\"")) {
+				matches++;
+			}
+		}
+		assertEquals(comparison.getDifferences().size(), diffs);
+		assertEquals(countMatches(comparison.getMatches()), matches);
+		assertEquals(1 + diffs + matches + comparison.getConflicts().size()
+				+ comparison.getEquivalences().size(), lines.length);
+	}
+
+	@Test
+	public void testJSON() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final String report = write(comparison, Format.JSON);
+
+		assertTrue(report.startsWith("{\"threeWay\":" + comparison.isThreeWay() + ",\"matches\":["));
+		assertTrue(report.endsWith("}\n"));
+		assertEquals(report.length() - 1, report.indexOf('\n'));
+		assertBalanced(report);
+		assertFalse(report.contains(",,"));
+		assertFalse(report.contains(",]"));
+		assertFalse(report.contains(",}"));
+	}
+
+	@Test
+	public void testIdentifiersArePositions() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final String report = write(comparison, Format.JSON_LINES);
+
+		final Match match = comparison.getMatches().get(0);
+		assertTrue(report.contains("{\"type\":\"match\",\"id\":\"m0\",\"parent\":null,"));
+		if (!match.getSubmatches().isEmpty()) {
+			assertTrue(report.contains("{\"type\":\"match\",\"id\":\"m0.0\",\"parent\":\"m0\","));
+		}
+		if (!match.getDifferences().isEmpty()) {
+			assertTrue(report.contains("{\"type\":\"diff\",\"id\":\"d0.0\",\"match\":\"m0\","));
+		}
+	}
+
+	@Test
+	public void testLabelCacheRemoved() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		write(comparison, Format.JSON);
+
+		assertNull(EcoreUtil.getExistingAdapter(comparison, LabelCache.class));
+		for (Diff diff : comparison.getDifferences()) {
+			assertNull(EcoreUtil.getExistingAdapter(diff, LabelCache.class));
+		}
+	}
+
+	@Test
+	public void testExistingLabelCacheKept() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final LabelCache cache = LabelCache.getCache(comparison);
+		write(comparison, Format.JSON);
+
+		assertSame(cache, EcoreUtil.getExistingAdapter(comparison, LabelCache.class));
+	}
+
+	private String write(Comparison comparison, Format format) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ComparisonReportWriter(compareItemProviderAdapterFactory, format).write(comparison, out);
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static int countMatches(Iterable<Match> matches) {
+		int count = 0;
+		for (Match match : matches) {
+			count += 1 + countMatches(match.getSubmatches());
+		}
+		return count;
+	}
+
+	/**
+	 * Checks that the braces and brackets of the given JSON text, outside of string literals, are balanced.
+	 */
+	private static void assertBalanced(String json) {
+		int depth = 0;
+		boolean inString = false;
+		for (int i = 0; i < json.length(); i++) {
+			final char c = json.charAt(i);
+			if (inString) {
+				if (c == '\\') {
+					i++;
+				} else if (c == '"') {
+					inString = false;
+				}
+			} else if (c == '"') {
+				inString = true;
+			} else if (c == '{' || c == '[') {
+				depth++;
+			} else if (c == '}' || c == ']') {
+				depth--;
+				assertTrue(depth >= 0);
+			}
+		}
+		assertFalse(inString);
+		assertEquals(0, depth);
+	}
+}
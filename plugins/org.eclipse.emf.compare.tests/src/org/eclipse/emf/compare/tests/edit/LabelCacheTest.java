@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.edit;
+
+import static com.google.common.collect.Iterables.filter;
+import static com.google.common.collect.Iterables.getFirst;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.DifferenceState;
+import org.eclipse.emf.compare.ReferenceChange;
+import org.eclipse.emf.compare.provider.IItemDescriptionProvider;
+import org.eclipse.emf.compare.provider.IItemStyledLabelProvider;
+import org.eclipse.emf.compare.provider.utils.IStyledString;
+import org.eclipse.emf.compare.provider.utils.LabelCache;
+import org.eclipse.emf.compare.tests.edit.data.ecore.a1.EcoreA1InputData;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the labels computed by the item providers.
+ */
+@SuppressWarnings("nls")
+public class LabelCacheTest extends AbstractTestCompareItemProviderAdapter {
+
+	@Test
+	public void testCacheIsSharedByComparison() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final ReferenceChange diff = getFirst(filter(comparison.getDifferences(), ReferenceChange.class),
+				null);
+		assertNotNull(diff);
+
+		assertSame(LabelCache.getCache(comparison), LabelCache.getCache(diff));
+		assertSame(LabelCache.getCache(comparison), LabelCache.getCache(comparison));
+	}
+
+	@Test
+	public void testStyledTextIsCachedAsCopies() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final ReferenceChange diff = getFirst(filter(comparison.getDifferences(), ReferenceChange.class),
+				null);
+		final Object adapter = compareItemProviderAdapterFactory.adapt(diff, IItemStyledLabelProvider.class);
+		final IItemStyledLabelProvider labelProvider = (IItemStyledLabelProvider)adapter;
+
+		final IStyledString.IComposedStyledString first = labelProvider.getStyledText(diff);
+		final String expected = first.getString();
+		first.append("modified");
+
+		final IStyledString.IComposedStyledString second = labelProvider.getStyledText(diff);
+		assertNotSame(first, second);
+		assertEquals(expected, second.getString());
+	}
+
+	@Test
+	public void testStateChangeClearsCache() throws IOException {
+		final Comparison comparison = getComparison(new EcoreA1InputData());
+		final ReferenceChange diff = getFirst(filter(comparison.getDifferences(), ReferenceChange.class),
+				null);
+		final LabelCache cache = LabelCache.getCache(comparison);
+		final Object labelProvider = compareItemProviderAdapterFactory.adapt(diff,
+				IItemStyledLabelProvider.class);
+		((IItemStyledLabelProvider)labelProvider).getStyledText(diff);
+		final Object descriptionProvider = compareItemProviderAdapterFactory.adapt(diff,
+				IItemDescriptionProvider.class);
+		((IItemDescriptionProvider)descriptionProvider).getDescription(diff);
+		assertNotNull(cache.getStyledText(compareItemProviderAdapterFactory, diff));
+		assertNotNull(cache.getText(compareItemProviderAdapterFactory, diff, LabelCache.DESCRIPTION));
+
+		diff.setState(diff.getState());
+		assertNotNull(cache.getStyledText(compareItemProviderAdapterFactory, diff));
+
+		diff.setState(DifferenceState.MERGED);
+		assertNull(cache.getStyledText(compareItemProviderAdapterFactory, diff));
+		assertNull(cache.getText(compareItemProviderAdapterFactory, diff, LabelCache.DESCRIPTION));
+
+		final String description = ((IItemDescriptionProvider)descriptionProvider).getDescription(diff);
+		assertEquals(description,
+				cache.getText(compareItemProviderAdapterFactory, diff, LabelCache.DESCRIPTION));
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ */
+package org.eclipse.emf.compare.tests.fullcomparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.EMFCompare;
+import org.eclipse.emf.compare.EMFCompareSessionPool;
+import org.eclipse.emf.compare.diff.DefaultDiffEngine;
+import org.eclipse.emf.compare.diff.DiffBuilder;
+import org.eclipse.emf.compare.scope.DefaultComparisonScope;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.compare.tests.fullcomparison.data.distance.DistanceMatchInputData;
+import org.eclipse.emf.compare.tests.suite.AllTests;
+import org.eclipse.emf.compare.utils.IResettable;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("nls")
+public class EMFCompareSessionPoolTest {
+	@Before
+	public void setUp() throws Exception {
+		AllTests.fillEMFRegistries();
+	}
+
+	@Test
+	public void testSequentialComparisonsReuseSession() {
+		final EMFCompareSessionPool pool = EMFCompareSessionPool.createStandalone(2);
+
+		final Comparison first = pool.compare(createScope("renamed1"));
+		final Comparison second = pool.compare(createScope("renamed2"));
+
+		assertEquals(1, pool.getCreatedSessionCount());
+		assertEquals(1, pool.getIdleSessionCount());
+		assertEquals(first.getDifferences().size(), second.getDifferences().size());
+	}
+
+	@Test
+	public void testPooledResultsMatchFreshSession() {
+		final EMFCompareSessionPool pool = EMFCompareSessionPool.createStandalone(1);
+		// Warm up the session with an unrelated comparison
+		pool.compare(createScope("warmup"));
+
+		final Comparison pooled = pool.compare(createScope("renamed"));
+		final Comparison fresh = EMFCompare.builder().build().compare(createScope("renamed"));
+
+		assertEquals(fresh.getMatches().size(), pooled.getMatches().size());
+		assertEquals(fresh.getDifferences().size(), pooled.getDifferences().size());
+	}
+
+	@Test
+	public void testSessionKeepsMatchingByContent() throws IOException {
+		final EMFCompareSessionPool pool = EMFCompareSessionPool.createStandalone(1);
+		final EMFCompare session = pool.acquire();
+		final DistanceMatchInputData inputData = new DistanceMatchInputData();
+		// The same session and distance are used for all comparisons, each must find the known matches
+		for (int i = 0; i < 3; i++) {
+			final Comparison renamed = session.compare(new DefaultComparisonScope(
+					inputData.getCompareLeft(), inputData.getCompareRight(), null));
+			assertEquals(1, renamed.getDifferences().size());
+
+			final Comparison closest = session.compare(new DefaultComparisonScope(
+					inputData.getVerySmallLeft(), inputData.getVerySmallRight(), null));
+			assertEquals(1, closest.getDifferences().size());
+
+			final Comparison packages = session.compare(new DefaultComparisonScope(
+					inputData.getPackageAddDeleteLeft(), inputData.getPackageAddDeleteRight(), null));
+			assertEquals(2, packages.getDifferences().size());
+		}
+		pool.release(session);
+	}
+
+	@Test
+	public void testGivenEnginesNotReset() {
+		final ResettableDiffEngine sharedEngine = new ResettableDiffEngine();
+		final EMFCompareSessionPool pool = new EMFCompareSessionPool(new Supplier<EMFCompare>() {
+			public EMFCompare get() {
+				return EMFCompare.builder().setDiffEngine(sharedEngine).build();
+			}
+		}, 1);
+
+		pool.compare(createScope("renamed"));
+
+		// The engine may be used by other instances at the same time
+		assertEquals(0, sharedEngine.resetCount);
+	}
+
+	@Test
+	public void testConcurrentAcquireCreatesNewSessions() {
+		final EMFCompareSessionPool pool = EMFCompareSessionPool.createStandalone(1);
+
+		final EMFCompare session1 = pool.acquire();
+		final EMFCompare session2 = pool.acquire();
+		assertEquals(2, pool.getCreatedSessionCount());
+
+		pool.release(session1);
+		// The pool is full, this session will be dropped
+		pool.release(session2);
+		assertEquals(1, pool.getIdleSessionCount());
+		assertSame(session1, pool.acquire());
+
+		pool.clear();
+		assertEquals(0, pool.getIdleSessionCount());
+	}
+
+	private static IComparisonScope createScope(String newName) {
+		EPackage left = EcoreUtil.copy(EcorePackage.eINSTANCE);
+		EPackage right = EcoreUtil.copy(EcorePackage.eINSTANCE);
+		((EClass)left.getEClassifier("EAttribute")).setName(newName);
+		return new DefaultComparisonScope(left, right, null);
+	}
+
+	private static final class ResettableDiffEngine extends DefaultDiffEngine implements IResettable {
+		private int resetCount;
+
+		ResettableDiffEngine() {
+			super(new DiffBuilder());
+		}
+
+		public void reset() {
+			resetCount++;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2012, 2014 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipse.emf.compare.AttributeChange;
+import org.eclipse.emf.compare.CompareFactory;
 import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.DifferenceKind;
@@ -33,6 +34,7 @@ import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.ResourceAttachmentChange;
 import org.eclipse.emf.compare.match.IMatchEngine;
 import org.eclipse.emf.compare.match.eobject.EcoreWeightProvider;
+import org.eclipse.emf.compare.match.eobject.EditionDistance;
 import org.eclipse.emf.compare.match.eobject.WeightProvider;
 import org.eclipse.emf.compare.match.eobject.WeightProviderDescriptorRegistryImpl;
 import org.eclipse.emf.compare.match.eobject.internal.WeightProviderDescriptorImpl;
@@ -46,6 +48,8 @@ import org.eclipse.emf.compare.tests.fullcomparison.data.distance.DistanceMatchI
 import org.eclipse.emf.compare.tests.suite.AllTests;
 import org.eclipse.emf.compare.utils.EMFComparePrettyPrinter;
 import org.eclipse.emf.compare.utils.UseIdentifiers;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcorePackage;
@@ -76,6 +80,29 @@ public class ProximityComparisonTest extends EMFCompareTestBase {
 		assertEquals("We are supposed to have zero diffs", 0, result.getDifferences().size());
 	}
 
+	@Test
+	public void distanceDoesNotDependOnPreviousMeasures() throws Exception {
+		EPackage v1 = EcoreUtil.copy(EcorePackage.eINSTANCE);
+		EPackage v2 = EcoreUtil.copy(EcorePackage.eINSTANCE);
+		EClass renamed = (EClass)v2.getEClassifier("EAttribute");
+		renamed.setName("EAttributeRenamed");
+		EditionDistance distance = new EditionDistance();
+		Comparison comparison = CompareFactory.eINSTANCE.createComparison();
+
+		double expected = distance.distance(comparison, v1.getEClassifier("EAttribute"), renamed);
+		for (EClassifier classifier : v1.getEClassifiers()) {
+			EClassifier other = v2.getEClassifier(classifier.getName());
+			if (other != null) {
+				distance.distance(comparison, classifier, other);
+			}
+		}
+
+		assertTrue(expected < Double.MAX_VALUE);
+		assertEquals(expected, distance.distance(comparison, v1.getEClassifier("EAttribute"), renamed), 0d);
+		assertTrue(distance.areIdentic(comparison, v1.getEClassifier("EString"),
+				v2.getEClassifier("EString")));
+	}
+
 	@Test
 	public void matchingSmallRenameChanges() throws Exception {
 		Resource left = inputData.getCompareLeft();
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.tests.monitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.BasicMonitor;
+import org.eclipse.emf.common.util.Monitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.ComparisonCanceledException;
+import org.eclipse.emf.compare.EMFCompare;
+import org.eclipse.emf.compare.IComparisonPhaseListener;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
+import org.eclipse.emf.compare.req.IReqEngine;
+import org.eclipse.emf.compare.scope.DefaultComparisonScope;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Test;
+
+/**
+ * Checks that {@link IComparisonPhaseListener}s are told of each completed phase of a comparison.
+ */
+@SuppressWarnings("nls")
+public class ComparisonPhaseListenerTest {
+
+	@Test
+	public void testAllPhasesNotifiedInOrder() {
+		final RecordingListener listener = new RecordingListener();
+		final Comparison comparison = EMFCompare.builder().build().compare(createScope(),
+				new BasicMonitor(), listener);
+
+		assertEquals(Arrays.asList(Phase.MATCH, Phase.DIFF, Phase.REQUIREMENTS, Phase.EQUIVALENCES,
+				Phase.CONFLICTS, Phase.COMPARISON), listener.phases);
+		for (Comparison notified : listener.comparisons) {
+			assertSame(comparison, notified);
+		}
+	}
+
+	@Test
+	public void testDifferencesAvailableAfterDiff() {
+		final List<Integer> differenceCounts = Lists.newArrayList();
+		EMFCompare.builder().build().compare(createScope(), new BasicMonitor(),
+				new IComparisonPhaseListener() {
+					public void phaseCompleted(Comparison comparison, Phase phase) {
+						if (phase == Phase.DIFF) {
+							differenceCounts.add(Integer.valueOf(comparison.getDifferences().size()));
+						}
+					}
+				});
+
+		assertEquals(1, differenceCounts.size());
+		assertTrue(differenceCounts.get(0).intValue() > 0);
+	}
+
+	@Test
+	public void testNoNotificationAfterCancel() {
+		final RecordingListener listener = new RecordingListener();
+		EMFCompare.builder().setRequirementEngine(new IReqEngine() {
+			public void computeRequirements(Comparison comparison, Monitor monitor) {
+				throw new ComparisonCanceledException();
+			}
+		}).build().compare(createScope(), new BasicMonitor(), listener);
+
+		assertEquals(Arrays.asList(Phase.MATCH, Phase.DIFF), listener.phases);
+	}
+
+	private static IComparisonScope createScope() {
+		return new DefaultComparisonScope(createResourceSet("left"), createResourceSet("right"), null);
+	}
+
+	private static ResourceSet createResourceSet(String packageName) {
+		final ResourceSet resourceSet = new ResourceSetImpl();
+		final Resource resource = new XMIResourceImpl(URI.createURI("test.ecore"));
+		final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName(packageName);
+		resource.getContents().add(ePackage);
+		resourceSet.getResources().add(resource);
+		return resourceSet;
+	}
+
+	private static class RecordingListener implements IComparisonPhaseListener {
+		private final List<Phase> phases = Lists.newArrayList();
+
+		private final List<Comparison> comparisons = Lists.newArrayList();
+
+		public void phaseCompleted(Comparison comparison, Phase phase) {
+			phases.add(phase);
+			comparisons.add(comparison);
+		}
+	}
+}
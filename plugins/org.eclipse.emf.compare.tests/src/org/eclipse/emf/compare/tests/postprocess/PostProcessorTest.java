@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,15 +11,19 @@
 package org.eclipse.emf.compare.tests.postprocess;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import org.eclipse.emf.common.util.Monitor;
 import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.EMFCompare;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.postprocessor.PostProcessorDescriptorRegistryImpl;
 import org.eclipse.emf.compare.scope.DefaultComparisonScope;
 import org.eclipse.emf.compare.scope.IComparisonScope;
@@ -229,6 +233,81 @@ public class PostProcessorTest {
 		assertTrue(postProcessors.get(2) instanceof TestPostProcessor4);
 	}
 
+	@Test
+	public void testSelectionIsRecomputedOnRegistryChange() throws IOException {
+		final Resource left = input.getLeft();
+		final Resource right = input.getRight();
+		final IComparisonScope scope = new DefaultComparisonScope(left, right, null);
+
+		PostProcessorDescriptorRegistryImpl<String> registry = new PostProcessorDescriptorRegistryImpl<String>();
+		final TestPostProcessor1 postProcessor1 = new TestPostProcessor1();
+		registry.put(TestPostProcessor1.class.getName(), new TestPostProcessorDescriptor(
+				Pattern.compile(".*/nodes"), null, postProcessor1, 1));
+
+		// Populate nsURIs of the scope.
+		EMFCompare.builder().setPostProcessorRegistry(registry).build().compare(scope);
+
+		List<IPostProcessor> postProcessors = registry.getPostProcessors(scope);
+		assertEquals(1, postProcessors.size());
+		assertSame(postProcessor1, postProcessors.get(0));
+		// Same selection on a second call
+		assertEquals(postProcessors, registry.getPostProcessors(scope));
+
+		registry.put(TestPostProcessor2.class.getName(), new TestPostProcessorDescriptor(
+				Pattern.compile(".*/nodes"), null, new TestPostProcessor2(), 2));
+		postProcessors = registry.getPostProcessors(scope);
+		assertEquals(2, postProcessors.size());
+		assertTrue(postProcessors.get(1) instanceof TestPostProcessor2);
+
+		registry.remove(TestPostProcessor1.class.getName());
+		postProcessors = registry.getPostProcessors(scope);
+		assertEquals(1, postProcessors.size());
+		assertTrue(postProcessors.get(0) instanceof TestPostProcessor2);
+	}
+
+	@Test
+	public void testSelectionIsSharedAcrossResources() throws IOException {
+		final Resource left = input.getLeft();
+		final Resource right = input.getRight();
+		final IComparisonScope scope1 = new DefaultComparisonScope(left, right, null);
+		final IComparisonScope scope2 = new DefaultComparisonScope(left, left, null);
+
+		PostProcessorDescriptorRegistryImpl<String> registry = new PostProcessorDescriptorRegistryImpl<String>();
+		final CountingDescriptor descriptor = new CountingDescriptor(Pattern.compile(".*/nodes"), null,
+				new TestPostProcessor1());
+		registry.put(TestPostProcessor1.class.getName(), descriptor);
+
+		// Populate nsURIs of the scopes.
+		EMFCompare.builder().setPostProcessorRegistry(registry).build().compare(scope1);
+		EMFCompare.builder().setPostProcessorRegistry(registry).build().compare(scope2);
+		assertFalse(scope1.getResourceURIs().equals(scope2.getResourceURIs()));
+		assertEquals(scope1.getNsURIs(), scope2.getNsURIs());
+
+		// The resources do not matter since no descriptor matches against them
+		assertEquals(1, descriptor.nsURICalls);
+		assertEquals(registry.getPostProcessors(scope1), registry.getPostProcessors(scope2));
+		assertEquals(1, descriptor.nsURICalls);
+	}
+
+	@Test
+	public void testPhasesAnnotation() throws IOException {
+		final Resource left = input.getLeft();
+		final Resource right = input.getRight();
+		final IComparisonScope scope = new DefaultComparisonScope(left, right, null);
+
+		PostProcessorDescriptorRegistryImpl<String> registry = new PostProcessorDescriptorRegistryImpl<String>();
+		final DiffOnlyPostProcessor diffOnly = new DiffOnlyPostProcessor();
+		registry.put(DiffOnlyPostProcessor.class.getName(),
+				new TestPostProcessorDescriptor(Pattern.compile(".*/nodes"), null, diffOnly, 1));
+
+		final Comparison comparison = EMFCompare.builder().setPostProcessorRegistry(registry).build()
+				.compare(scope);
+
+		// postMatch has not been called, it would have added a match
+		assertEquals(1, comparison.getMatches().size());
+		assertEquals(1, diffOnly.postDiffCalls);
+	}
+
 	private Comparison compareWithPostProcessing(Resource left, Resource right, Pattern nsURI,
 			Pattern resourceURI) {
 		PostProcessorDescriptorRegistryImpl<String> registry = new PostProcessorDescriptorRegistryImpl<String>();
@@ -266,4 +345,34 @@ public class PostProcessorTest {
 	private class TestPostProcessor4 extends TestPostProcessor {
 
 	}
+
+	/**
+	 * Counts the number of times its namespace URI pattern is requested.
+	 */
+	private class CountingDescriptor extends TestPostProcessorDescriptor {
+		private int nsURICalls;
+
+		CountingDescriptor(Pattern nsURI, Pattern resourceURI, IPostProcessor postProcessor) {
+			super(nsURI, resourceURI, postProcessor, 1);
+		}
+
+		@Override
+		public Pattern getNsURI() {
+			nsURICalls++;
+			return super.getNsURI();
+		}
+	}
+
+	/**
+	 * Only declares the diff phase, postMatch should never be called.
+	 */
+	@IPostProcessor.Phases(Phase.DIFF)
+	private class DiffOnlyPostProcessor extends TestPostProcessor {
+		private int postDiffCalls;
+
+		@Override
+		public void postDiff(Comparison comparison, Monitor monitor) {
+			postDiffCalls++;
+		}
+	}
 }
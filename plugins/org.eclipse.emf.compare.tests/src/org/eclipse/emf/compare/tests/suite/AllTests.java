@@ -28,6 +28,8 @@ import org.eclipse.emf.compare.tests.diff.DiffUtilTest;
 import org.eclipse.emf.compare.tests.diff.FeatureFilterTest;
 import org.eclipse.emf.compare.tests.diff.FeatureMapMoveDiffTest;
 import org.eclipse.emf.compare.tests.diff.LCSPerformanceTest;
+import org.eclipse.emf.compare.tests.diff.LineHashDiffTest;
+import org.eclipse.emf.compare.tests.diff.MergeableTextCacheTest;
 import org.eclipse.emf.compare.tests.diff.NonUniqueMultiValuedAttributeTest;
 import org.eclipse.emf.compare.tests.diff.SingleValuedAttributePseudoConflictTest;
 import org.eclipse.emf.compare.tests.diff.ThreeWayTextDiffTest;
@@ -37,6 +39,7 @@ import org.eclipse.emf.compare.tests.equi.EquiComputingTest;
 import org.eclipse.emf.compare.tests.fragmentation.FragmentationTest;
 import org.eclipse.emf.compare.tests.fragmentation.ResourceAttachmentChangeBug492261;
 import org.eclipse.emf.compare.tests.fullcomparison.DynamicInstanceComparisonTest;
+import org.eclipse.emf.compare.tests.fullcomparison.EMFCompareSessionPoolTest;
 import org.eclipse.emf.compare.tests.fullcomparison.ExtLibraryTest;
 import org.eclipse.emf.compare.tests.fullcomparison.IdentifierComparisonTest;
 import org.eclipse.emf.compare.tests.fullcomparison.ProximityComparisonTest;
@@ -64,6 +67,7 @@ import org.eclipse.emf.compare.tests.merge.PseudoConflictMergeTest;
 import org.eclipse.emf.compare.tests.merge.RefineMergeTest;
 import org.eclipse.emf.compare.tests.merge.ThreeWayBatchMergingTest;
 import org.eclipse.emf.compare.tests.merge.TwoWayBatchMergingTest;
+import org.eclipse.emf.compare.tests.monitor.ComparisonPhaseListenerTest;
 import org.eclipse.emf.compare.tests.monitor.MonitorCancelTest;
 import org.eclipse.emf.compare.tests.nodes.NodesPackage;
 import org.eclipse.emf.compare.tests.nodes.util.NodesResourceFactoryImpl;
@@ -109,7 +113,9 @@ import org.junit.runners.Suite.SuiteClasses;
 		EMFComparePredicatesTest.class, ImplicationsMergeTest.class, GraphTest.class,
 		ConflictImplicationsTest_Bug484579.class, PseudoConflictDetectionTest.class, ComplexMergeTest.class,
 		ConflictSearchTest.class, DiffRelationshipComputerTest.class,
-		SingleValuedAttributePseudoConflictTest.class, NonUniqueMultiValuedAttributeTest.class, })
+		SingleValuedAttributePseudoConflictTest.class, NonUniqueMultiValuedAttributeTest.class,
+		EMFCompareSessionPoolTest.class, MergeableTextCacheTest.class, LineHashDiffTest.class,
+		ComparisonPhaseListenerTest.class, })
 public class AllTests {
 
 	@BeforeClass
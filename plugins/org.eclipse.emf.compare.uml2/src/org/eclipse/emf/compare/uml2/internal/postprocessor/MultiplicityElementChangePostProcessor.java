@@ -35,6 +35,7 @@ import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.uml2.internal.MultiplicityElementChange;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
@@ -46,6 +47,7 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
  * 
  * @author Alexandra Buzila <abuzila@eclipsesource.com>
  */
+@IPostProcessor.Phases(Phase.COMPARISON)
 public class MultiplicityElementChangePostProcessor implements IPostProcessor {
 
 	/** {@inheritDoc} */
@@ -26,6 +26,7 @@ import org.eclipse.emf.compare.DifferenceSource;
 import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.conflict.DefaultConflictDetector;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.uml2.internal.OpaqueElementBodyChange;
 import org.eclipse.emf.compare.uml2.internal.postprocessor.util.UMLCompareUtil;
 import org.eclipse.emf.ecore.EObject;
@@ -35,6 +36,7 @@ import org.eclipse.emf.ecore.EObject;
  * 
  * @author Philip Langer <planger@eclipsesource.com>
  */
+@IPostProcessor.Phases(Phase.COMPARISON)
 public class OpaqueElementBodyChangePostProcessor extends DefaultConflictDetector implements IPostProcessor {
 
 	/**
@@ -24,6 +24,7 @@ import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.diff.DefaultDiffEngine;
 import org.eclipse.emf.compare.diff.FeatureFilter;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.uml2.internal.postprocessor.extension.stereotype.UMLStereotypedElementChangeFactory;
 import org.eclipse.emf.compare.uml2.internal.postprocessor.util.UMLCompareUtil;
 import org.eclipse.emf.ecore.EAttribute;
@@ -38,6 +39,7 @@ import org.eclipse.uml2.uml.Element;
  * 
  * @author <a href="mailto:arthur.daussy@obeo.fr">Arthur Daussy</a>
  */
+@IPostProcessor.Phases({Phase.MATCH, Phase.DIFF, Phase.COMPARISON })
 public class StereotypedElementChangePostProcessor implements IPostProcessor {
 
 	/**
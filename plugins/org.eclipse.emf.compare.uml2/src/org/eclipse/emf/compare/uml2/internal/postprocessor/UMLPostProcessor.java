@@ -10,6 +10,7 @@
  *     Martin Fleck - Consider profile definition changes on origin (bug 495259)
  *     Philip Langer - bug 508665, progress reporting
  *     Christian W. Damus - bug 522064
+ *     Obeo - index the implications computation on subsets
  *******************************************************************************/
 package org.eclipse.emf.compare.uml2.internal.postprocessor;
 
@@ -44,11 +45,12 @@ import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.internal.postprocessor.factories.IChangeFactory;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.uml2.internal.UMLCompareMessages;
 import org.eclipse.emf.compare.uml2.internal.UMLComparePlugin;
 import org.eclipse.emf.compare.uml2.internal.UMLDiff;
 import org.eclipse.emf.compare.uml2.internal.postprocessor.extension.UMLExtensionFactoryRegistry;
-import org.eclipse.emf.compare.uml2.internal.postprocessor.util.UMLCompareUtil;
+import org.eclipse.emf.compare.uml2.internal.postprocessor.util.SubsetImplicationIndex;
 import org.eclipse.emf.compare.utils.ReferenceUtil;
 import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EObject;
@@ -67,6 +69,7 @@ import org.eclipse.uml2.uml.ProfileApplication;
  * 
  * @author <a href="mailto:cedric.notot@obeo.fr">Cedric Notot</a>
  */
+@IPostProcessor.Phases({Phase.MATCH, Phase.COMPARISON })
 public class UMLPostProcessor implements IPostProcessor {
 
 	/**
@@ -326,12 +329,13 @@ public class UMLPostProcessor implements IPostProcessor {
 
 		// Filling implications with subsets
 		// And delete enumeration literal classifier changes, as it is actually a derived feature
+		final SubsetImplicationIndex subsetIndex = new SubsetImplicationIndex(comparison);
 		for (int i = 0; i < diffCount; i++) {
 			final Diff diff = differences.get(i);
 			if (diff instanceof ReferenceChange) {
 				final ReferenceChange referenceChange = (ReferenceChange)diff;
-				fillImplicationsWithUMLSubsets(referenceChange);
-				deleteEnumerationLiteralClassifierChanges(referenceChange);
+				fillImplicationsWithUMLSubsets(referenceChange, subsetIndex);
+				deleteEnumerationLiteralClassifierChanges(referenceChange, subsetIndex);
 			}
 			reportProgress(monitor, "UMLPostProcessor.monitor.fillImplications", i + 1, diffCount); //$NON-NLS-1$
 		}
@@ -392,8 +396,10 @@ public class UMLPostProcessor implements IPostProcessor {
 	 * 
 	 * @param diff
 	 *            The reference change.
+	 * @param subsetIndex
+	 *            The index of the comparison's reference changes.
 	 */
-	private void fillImplicationsWithUMLSubsets(ReferenceChange diff) {
+	private void fillImplicationsWithUMLSubsets(ReferenceChange diff, SubsetImplicationIndex subsetIndex) {
 		boolean isAddOrSet = isAddOrSetDiff(diff);
 		boolean isDeleteOrUnset = isDeleteOrUnsetDiff(diff);
 		if (!isAddOrSet && !isDeleteOrUnset) {
@@ -403,19 +409,12 @@ public class UMLPostProcessor implements IPostProcessor {
 		EReference reference = diff.getReference();
 		// ADD implies ADD on non union supersets
 		// DELETE is implied by DEL on non union supersets
-		for (EReference superSet : UMLCompareUtil.getNonUnionSupersetReferences(reference)) {
-			Comparison comparison = diff.getMatch().getComparison();
-			for (Diff superSetDiff : comparison.getDifferences(superSet)) {
-				// Only keep diffs on the same ref and value where parent matches
-				if (superSetDiff instanceof ReferenceChange && superSetDiff.getSource() == diff.getSource()
-						&& ((ReferenceChange)superSetDiff).getReference() == superSet
-						&& ((ReferenceChange)superSetDiff).getValue() == diff.getValue()
-						&& superSetDiff.getMatch() == diff.getMatch()) {
-					if (isAddOrSet && isAddOrSetDiff(superSetDiff)) {
-						diff.getImplies().add(superSetDiff);
-					} else if (isDeleteOrUnset && isDeleteOrUnsetDiff(superSetDiff)) {
-						diff.getImpliedBy().add(superSetDiff);
-					}
+		// Only keep diffs on the same ref and value where parent matches
+		for (EReference superSet : subsetIndex.getNonUnionSupersetReferences(reference)) {
+			for (ReferenceChange superSetDiff : subsetIndex.getReferenceChanges(diff.getMatch(), superSet,
+					diff.getValue())) {
+				if (superSetDiff.getSource() == diff.getSource()) {
+					fillImplication(diff, superSetDiff, isAddOrSet, isDeleteOrUnset);
 				}
 			}
 		}
@@ -425,18 +424,15 @@ public class UMLPostProcessor implements IPostProcessor {
 		// "InterfaceRealization#client". Adding the InterfaceRealization into a Class#interfaceRealizations
 		// reference implies the setting of this particular realization's "client" reference.
 		if (reference.isContainment() && reference.getEOpposite() != null) {
-			for (EReference superSet : UMLCompareUtil
-					.getNonUnionSupersetReferences(reference.getEOpposite())) {
-				Comparison comparison = diff.getMatch().getComparison();
-				for (Diff superSetDiff : comparison.getDifferences(superSet)) {
-					if (superSetDiff instanceof ReferenceChange
-							&& superSetDiff.getSource() == diff.getSource()
-							&& ((ReferenceChange)superSetDiff).getReference() == superSet
-							&& superSetDiff.getMatch() == comparison.getMatch(diff.getValue())) {
-						if (isAddOrSet && isAddOrSetDiff(superSetDiff)) {
-							diff.getImplies().add(superSetDiff);
-						} else if (isDeleteOrUnset && isDeleteOrUnsetDiff(superSetDiff)) {
-							diff.getImpliedBy().add(superSetDiff);
+			final List<EReference> oppositeSuperSets = subsetIndex
+					.getNonUnionSupersetReferences(reference.getEOpposite());
+			if (!oppositeSuperSets.isEmpty()) {
+				final Match valueMatch = diff.getMatch().getComparison().getMatch(diff.getValue());
+				for (EReference superSet : oppositeSuperSets) {
+					for (ReferenceChange superSetDiff : subsetIndex.getReferenceChanges(valueMatch,
+							superSet)) {
+						if (superSetDiff.getSource() == diff.getSource()) {
+							fillImplication(diff, superSetDiff, isAddOrSet, isDeleteOrUnset);
 						}
 					}
 				}
@@ -444,15 +440,41 @@ public class UMLPostProcessor implements IPostProcessor {
 		}
 	}
 
+	/**
+	 * Links the given diff with the given change on one of its supersets: an addition implies the addition
+	 * on the superset, a deletion is implied by the deletion on the superset.
+	 * 
+	 * @param diff
+	 *            The reference change on the subset.
+	 * @param superSetDiff
+	 *            The reference change on the superset.
+	 * @param isAddOrSet
+	 *            Whether <code>diff</code> is an addition or a set.
+	 * @param isDeleteOrUnset
+	 *            Whether <code>diff</code> is a deletion or an unset.
+	 */
+	private void fillImplication(ReferenceChange diff, Diff superSetDiff, boolean isAddOrSet,
+			boolean isDeleteOrUnset) {
+		if (isAddOrSet && isAddOrSetDiff(superSetDiff)) {
+			diff.getImplies().add(superSetDiff);
+		} else if (isDeleteOrUnset && isDeleteOrUnsetDiff(superSetDiff)) {
+			diff.getImpliedBy().add(superSetDiff);
+		}
+	}
+
 	/**
 	 * Deletes the given <code>referenceChange</code>, if it is an {@link EnumerationLiteral#getClassifier()
 	 * enumeration literal classifier} change.
 	 * 
 	 * @param referenceChange
 	 *            The reference change to check and delete.
+	 * @param subsetIndex
+	 *            The index of the comparison's reference changes, from which the deleted change is removed.
 	 */
-	private void deleteEnumerationLiteralClassifierChanges(ReferenceChange referenceChange) {
+	private void deleteEnumerationLiteralClassifierChanges(ReferenceChange referenceChange,
+			SubsetImplicationIndex subsetIndex) {
 		if (isEnumerationLiteralClassifierChange(referenceChange)) {
+			subsetIndex.remove(referenceChange);
 			delete(referenceChange);
 		}
 	}
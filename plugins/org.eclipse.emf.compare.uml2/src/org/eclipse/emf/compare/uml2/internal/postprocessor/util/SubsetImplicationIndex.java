@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.uml2.internal.postprocessor.util;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.compare.Comparison;
+import org.eclipse.emf.compare.Diff;
+import org.eclipse.emf.compare.Match;
+import org.eclipse.emf.compare.ReferenceChange;
+import org.eclipse.emf.ecore.EReference;
+
+/**
+ * An index of the {@link ReferenceChange reference changes} of a comparison, used to find the differences
+ * on the non union supersets of a given reference without scanning the whole comparison for each diff.
+ * <p>
+ * Reference changes are indexed by their (match, reference, value) triple, as well as by their (match,
+ * reference) couple. The non union supersets of each reference are computed once and memoized.
+ * </p>
+ * <p>
+ * This index is only valid for the comparison it has been built for, and as long as no reference change is
+ * added to this comparison. Reference changes that are deleted from the comparison should be
+ * {@link #remove(ReferenceChange) removed} from the index.
+ * </p>
+ */
+public final class SubsetImplicationIndex {
+
+	/** Reference changes keyed by their match, reference and value. */
+	private final ListMultimap<ChangeKey, ReferenceChange> byValue;
+
+	/** Reference changes keyed by their match and reference only. */
+	private final ListMultimap<ChangeKey, ReferenceChange> byReference;
+
+	/** Memoized non union supersets of the references we've been queried for. */
+	private final Map<EReference, List<EReference>> supersets;
+
+	/**
+	 * Builds the index of all reference changes currently contained by the given comparison.
+	 *
+	 * @param comparison
+	 *            The comparison which differences are to be indexed.
+	 */
+	public SubsetImplicationIndex(Comparison comparison) {
+		this.byValue = ArrayListMultimap.create();
+		this.byReference = ArrayListMultimap.create();
+		this.supersets = Maps.newHashMap();
+		for (Diff diff : comparison.getDifferences()) {
+			if (diff instanceof ReferenceChange) {
+				final ReferenceChange referenceChange = (ReferenceChange)diff;
+				final Match match = referenceChange.getMatch();
+				final EReference reference = referenceChange.getReference();
+				byValue.put(new ChangeKey(match, reference, referenceChange.getValue()), referenceChange);
+				byReference.put(new ChangeKey(match, reference, null), referenceChange);
+			}
+		}
+	}
+
+	/**
+	 * Returns the non union supersets of the given reference. This is a memoized version of
+	 * {@link UMLCompareUtil#getNonUnionSupersetReferences(EReference)}.
+	 *
+	 * @param reference
+	 *            The EReference subset from which is requested the non union superset.
+	 * @return The list of EReference non union superset.
+	 */
+	public List<EReference> getNonUnionSupersetReferences(EReference reference) {
+		List<EReference> result = supersets.get(reference);
+		if (result == null) {
+			result = ImmutableList.copyOf(UMLCompareUtil.getNonUnionSupersetReferences(reference));
+			supersets.put(reference, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the reference changes of the given match on the given reference that have the given value.
+	 *
+	 * @param match
+	 *            The match of the changed object.
+	 * @param reference
+	 *            The changed reference.
+	 * @param value
+	 *            The value of the reference changes.
+	 * @return The indexed reference changes, an empty list if none.
+	 */
+	public List<ReferenceChange> getReferenceChanges(Match match, EReference reference, Object value) {
+		return byValue.get(new ChangeKey(match, reference, value));
+	}
+
+	/**
+	 * Returns all reference changes of the given match on the given reference, whatever their value.
+	 *
+	 * @param match
+	 *            The match of the changed object.
+	 * @param reference
+	 *            The changed reference.
+	 * @return The indexed reference changes, an empty list if none.
+	 */
+	public List<ReferenceChange> getReferenceChanges(Match match, EReference reference) {
+		return byReference.get(new ChangeKey(match, reference, null));
+	}
+
+	/**
+	 * Removes the given reference change from this index.
+	 *
+	 * @param referenceChange
+	 *            The reference change that has been deleted from the comparison.
+	 */
+	public void remove(ReferenceChange referenceChange) {
+		final Match match = referenceChange.getMatch();
+		final EReference reference = referenceChange.getReference();
+		byValue.remove(new ChangeKey(match, reference, referenceChange.getValue()), referenceChange);
+		byReference.remove(new ChangeKey(match, reference, null), referenceChange);
+	}
+
+	/**
+	 * Key of the index. Matches and values are compared by identity, as are the changes themselves in the
+	 * post-processor.
+	 */
+	private static final class ChangeKey {
+		/** The match of the change. */
+		private final Match match;
+
+		/** The changed reference. */
+		private final EReference reference;
+
+		/** The value of the change, <code>null</code> when indexing by reference only. */
+		private final Object value;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param match
+		 *            The match of the change.
+		 * @param reference
+		 *            The changed reference.
+		 * @param value
+		 *            The value of the change, can be <code>null</code>.
+		 */
+		ChangeKey(Match match, EReference reference, Object value) {
+			this.match = match;
+			this.reference = reference;
+			this.value = value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(Integer.valueOf(System.identityHashCode(match)),
+					Integer.valueOf(System.identityHashCode(reference)),
+					Integer.valueOf(System.identityHashCode(value)));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ChangeKey)) {
+				return false;
+			}
+			final ChangeKey other = (ChangeKey)obj;
+			return match == other.match && reference == other.reference && value == other.value;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,8 +13,14 @@ package org.eclipse.emf.compare;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
@@ -30,17 +36,20 @@ import org.eclipse.emf.compare.diff.DiffBuilder;
 import org.eclipse.emf.compare.diff.IDiffEngine;
 import org.eclipse.emf.compare.equi.DefaultEquiEngine;
 import org.eclipse.emf.compare.equi.IEquiEngine;
+import org.eclipse.emf.compare.internal.postprocessor.PostProcessorSelectionCache;
 import org.eclipse.emf.compare.internal.spec.ComparisonSpec;
 import org.eclipse.emf.compare.internal.utils.SafeSubMonitor;
 import org.eclipse.emf.compare.match.IMatchEngine;
 import org.eclipse.emf.compare.match.impl.MatchEngineFactoryRegistryImpl;
 import org.eclipse.emf.compare.merge.ResourceChangeAdapter;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
 import org.eclipse.emf.compare.postprocessor.PostProcessorDescriptorRegistryImpl;
 import org.eclipse.emf.compare.req.DefaultReqEngine;
 import org.eclipse.emf.compare.req.IReqEngine;
 import org.eclipse.emf.compare.scope.DefaultComparisonScope;
 import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -56,10 +65,14 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
  * EMFCompare.builder().setMatchEngine(DefaultMatchEngine.create(UseIdentifiers.NEVER)).build().compare(EMFCompare.createDefaultScope(left, right), new BasicMonitor())
  * </code>.
  * </p>
+ * <p>
+ * An EMFCompare instance can be reused for several comparisons, but not concurrently. Services that run
+ * many comparisons in parallel should rather rely on an {@link EMFCompareSessionPool}.
+ * </p>
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  */
-public class EMFCompare {
+public class EMFCompare implements IResettable {
 
 	/**
 	 * The value for diagnostics coming from EMF compare.
@@ -86,6 +99,15 @@ public class EMFCompare {
 	/** The PostProcessorRegistry to use to find an IPostProcessor. */
 	private final IPostProcessor.Descriptor.Registry<?> postProcessorDescriptorRegistry;
 
+	/** The match engines that have been used by this instance since it was last {@link #reset()}. */
+	private final Set<IMatchEngine> usedMatchEngines;
+
+	/**
+	 * The engines and registries that the {@link Builder} created for this instance alone, as opposed to the
+	 * ones it was given and that may be shared. Only the engines of this set are {@link #reset()}.
+	 */
+	private final Set<Object> ownedEngines;
+
 	/**
 	 * Creates a new EMFCompare object able to compare Notifier with the help of given engines.
 	 * 
@@ -112,6 +134,9 @@ public class EMFCompare {
 		this.equiEngine = checkNotNull(equiEngine);
 		this.conflictDetector = conflictDetector;
 		this.postProcessorDescriptorRegistry = checkNotNull(postProcessorFactoryRegistry);
+		this.usedMatchEngines = Collections.synchronizedSet(
+				Collections.newSetFromMap(new IdentityHashMap<IMatchEngine, Boolean>()));
+		this.ownedEngines = Sets.newIdentityHashSet();
 	}
 
 	/**
@@ -190,14 +215,45 @@ public class EMFCompare {
 	 *             If the comparison is cancelled at any time.
 	 */
 	public Comparison compare(IComparisonScope scope, final Monitor monitor) {
+		return compare(scope, monitor, null);
+	}
+
+	/**
+	 * Launches the comparison with the given scope, reporting progress to the given {@code monitor} and
+	 * telling the given {@code listener} each time a phase of the comparison is complete.
+	 * 
+	 * @param scope
+	 *            the scope to compare, must not be {@code null}.
+	 * @param monitor
+	 *            the monitor to report progress to, must not be {@code null}. {@code done()} will be called
+	 *            on it. If the monitor is cancelled, the result may be {@code null} (in rare cases) or
+	 *            contain a Diagnostic that indicates cancellation. <b>Note:</b> The given monitor is expected
+	 *            to use 10 ticks for 100%.
+	 * @param listener
+	 *            the listener to notify of the completed phases, may be {@code null}.
+	 * @return The result of the comparison, which is never null but may be empty if the monitor has been
+	 *         canceled immediately after entering this method. The returned comparison will contain a
+	 *         relevant diagnostic indicating if the comparison has been canceled or if problems have occurred
+	 *         during its computation. Consequently, it is necessary to check the diagnostic of the returned
+	 *         comparison before using it.
+	 * @throws ComparisonCanceledException
+	 *             If the comparison is cancelled at any time.
+	 * @since 3.6
+	 */
+	public Comparison compare(IComparisonScope scope, final Monitor monitor,
+			IComparisonPhaseListener listener) {
 		checkNotNull(scope);
 		checkNotNull(monitor);
 
 		Comparison comparison = null;
 		try {
 			Monitor subMonitor = new SafeSubMonitor(monitor);
-			comparison = matchEngineFactoryRegistry.getHighestRankingMatchEngineFactory(scope)
-					.getMatchEngine().match(scope, subMonitor);
+			final IMatchEngine matchEngine = matchEngineFactoryRegistry
+					.getHighestRankingMatchEngineFactory(scope).getMatchEngine();
+			if (ownedEngines.contains(matchEngineFactoryRegistry)) {
+				usedMatchEngines.add(matchEngine);
+			}
+			comparison = matchEngine.match(scope, subMonitor);
 
 			installResourceChangeAdapter(comparison, scope);
 
@@ -207,31 +263,37 @@ public class EMFCompare {
 			// CHECKSTYLE:OFF Yes, I want to have ifs here and no constant for "post-processor".
 			postMatch(comparison, postProcessors, subMonitor);
 			monitor.worked(1);
+			notifyPhaseCompleted(listener, comparison, Phase.MATCH, monitor);
 
 			if (!hasToStop(comparison, monitor)) {
 				diffEngine.diff(comparison, subMonitor);
 				monitor.worked(1);
 				postDiff(comparison, postProcessors, subMonitor);
 				monitor.worked(1);
+				notifyPhaseCompleted(listener, comparison, Phase.DIFF, monitor);
 
 				if (!hasToStop(comparison, monitor)) {
 					reqEngine.computeRequirements(comparison, subMonitor);
 					monitor.worked(1);
 					postRequirements(comparison, postProcessors, subMonitor);
 					monitor.worked(1);
+					notifyPhaseCompleted(listener, comparison, Phase.REQUIREMENTS, monitor);
 
 					if (!hasToStop(comparison, monitor)) {
 						equiEngine.computeEquivalences(comparison, subMonitor);
 						monitor.worked(1);
 						postEquivalences(comparison, postProcessors, subMonitor);
 						monitor.worked(1);
+						notifyPhaseCompleted(listener, comparison, Phase.EQUIVALENCES, monitor);
 
 						detectConflicts(comparison, postProcessors, subMonitor);
 						monitor.worked(1);
+						notifyPhaseCompleted(listener, comparison, Phase.CONFLICTS, monitor);
 
 						// CHECKSTYLE:ON
 						postComparison(comparison, postProcessors, subMonitor);
 						monitor.worked(1);
+						notifyPhaseCompleted(listener, comparison, Phase.COMPARISON, monitor);
 					}
 				}
 			}
@@ -259,6 +321,44 @@ public class EMFCompare {
 		return comparison;
 	}
 
+	/**
+	 * Discards the per-comparison state kept by the engines of this instance (the match engines it used
+	 * since the last reset, its diff, requirement and equivalence engines and its conflict detector), as long
+	 * as they implement {@link IResettable}. This must not be called while a comparison is in progress.
+	 * <p>
+	 * Only the engines that the {@link Builder} created for this instance are reset. Engines and match engine
+	 * factory registries given to the builder may be shared with other instances, possibly comparing at the
+	 * same time : they are left untouched and resetting them is up to their owner.
+	 * </p>
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		synchronized(usedMatchEngines) {
+			for (IMatchEngine matchEngine : usedMatchEngines) {
+				resetIfPossible(matchEngine);
+			}
+			usedMatchEngines.clear();
+		}
+		resetIfPossible(diffEngine);
+		resetIfPossible(reqEngine);
+		resetIfPossible(equiEngine);
+		resetIfPossible(conflictDetector);
+	}
+
+	/**
+	 * Resets the given engine if this instance owns it and it is {@link IResettable}.
+	 * 
+	 * @param engine
+	 *            The engine to reset, may be <code>null</code>.
+	 */
+	private void resetIfPossible(Object engine) {
+		if (engine instanceof IResettable && ownedEngines.contains(engine)) {
+			((IResettable)engine).reset();
+		}
+	}
+
 	/**
 	 * Install a new {@link ResourceChangeAdapter} on the given comparison and on all the resources on the
 	 * left and right side of the scope, unless it's already been done. If a {@link ResourceChangeAdapter} is
@@ -322,7 +422,7 @@ public class EMFCompare {
 	 */
 	private void postMatch(final Comparison comparison, List<IPostProcessor> postProcessors,
 			final Monitor monitor) {
-		Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
+		Iterator<IPostProcessor> processorsIterator = filter(postProcessors, Phase.MATCH).iterator();
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
 			final IPostProcessor iPostProcessor = processorsIterator.next();
 			iPostProcessor.postMatch(comparison, monitor);
@@ -341,7 +441,7 @@ public class EMFCompare {
 	 */
 	private void postDiff(final Comparison comparison, List<IPostProcessor> postProcessors,
 			final Monitor monitor) {
-		Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
+		Iterator<IPostProcessor> processorsIterator = filter(postProcessors, Phase.DIFF).iterator();
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
 			final IPostProcessor iPostProcessor = processorsIterator.next();
 			iPostProcessor.postDiff(comparison, monitor);
@@ -360,7 +460,7 @@ public class EMFCompare {
 	 */
 	private void postRequirements(final Comparison comparison, List<IPostProcessor> postProcessors,
 			final Monitor monitor) {
-		Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
+		Iterator<IPostProcessor> processorsIterator = filter(postProcessors, Phase.REQUIREMENTS).iterator();
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
 			final IPostProcessor iPostProcessor = processorsIterator.next();
 			iPostProcessor.postRequirements(comparison, monitor);
@@ -379,7 +479,7 @@ public class EMFCompare {
 	 */
 	private void postEquivalences(final Comparison comparison, List<IPostProcessor> postProcessors,
 			final Monitor monitor) {
-		Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
+		Iterator<IPostProcessor> processorsIterator = filter(postProcessors, Phase.EQUIVALENCES).iterator();
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
 			final IPostProcessor iPostProcessor = processorsIterator.next();
 			iPostProcessor.postEquivalences(comparison, monitor);
@@ -398,7 +498,7 @@ public class EMFCompare {
 	 */
 	private void postConflicts(final Comparison comparison, List<IPostProcessor> postProcessors,
 			final Monitor monitor) {
-		Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
+		Iterator<IPostProcessor> processorsIterator = filter(postProcessors, Phase.CONFLICTS).iterator();
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
 			final IPostProcessor iPostProcessor = processorsIterator.next();
 			iPostProcessor.postConflicts(comparison, monitor);
@@ -410,13 +510,14 @@ public class EMFCompare {
 	 * 
 	 * @param comparison
 	 *            the comparison on which the post processors has to be applied
-	 * @param postProcessors
+	 * @param allPostProcessors
 	 *            the list of post processors to be use
 	 * @param monitor
 	 *            monitor to report progress to or cancellation
 	 */
-	private void postComparison(final Comparison comparison, List<IPostProcessor> postProcessors,
+	private void postComparison(final Comparison comparison, List<IPostProcessor> allPostProcessors,
 			final Monitor monitor) {
+		final List<IPostProcessor> postProcessors = filter(allPostProcessors, Phase.COMPARISON);
 		final Iterator<IPostProcessor> processorsIterator = postProcessors.iterator();
 		int postProcessorIndex = 1;
 		while (!hasToStop(comparison, monitor) && processorsIterator.hasNext()) {
@@ -429,6 +530,46 @@ public class EMFCompare {
 		}
 	}
 
+	/**
+	 * Filters the given list of post processors so as to only keep those that need to be called for the
+	 * given phase, as declared through their {@link IPostProcessor.Phases} annotation.
+	 * 
+	 * @param postProcessors
+	 *            the list of post processors to filter
+	 * @param phase
+	 *            the phase we are about to execute
+	 * @return the post processors to call for this phase, in their original order
+	 */
+	private static List<IPostProcessor> filter(List<IPostProcessor> postProcessors, Phase phase) {
+		final ImmutableList.Builder<IPostProcessor> filtered = ImmutableList.builder();
+		for (IPostProcessor postProcessor : postProcessors) {
+			if (PostProcessorSelectionCache.isCalledFor(postProcessor, phase)) {
+				filtered.add(postProcessor);
+			}
+		}
+		return filtered.build();
+	}
+
+	/**
+	 * Tells the given listener that the given phase of the comparison is complete, unless the comparison has
+	 * to be stopped.
+	 * 
+	 * @param listener
+	 *            The listener to notify, may be <code>null</code>.
+	 * @param comparison
+	 *            The comparison in progress.
+	 * @param phase
+	 *            The phase that has just been completed.
+	 * @param monitor
+	 *            The monitor of the comparison.
+	 */
+	private static void notifyPhaseCompleted(IComparisonPhaseListener listener, Comparison comparison,
+			Phase phase, Monitor monitor) {
+		if (listener != null && !hasToStop(comparison, monitor)) {
+			listener.phaseCompleted(comparison, phase);
+		}
+	}
+
 	/**
 	 * It checks if the comparison has to be stopped.
 	 * 
@@ -563,26 +704,35 @@ public class EMFCompare {
 		 * @return an EMFCompare object configured with the previously given engines
 		 */
 		public EMFCompare build() {
+			// Only the defaults created by this call belong to the built instance alone
+			final Set<Object> created = Sets.newIdentityHashSet();
 			if (matchEngineFactoryRegistry == null) {
 				matchEngineFactoryRegistry = MatchEngineFactoryRegistryImpl.createStandaloneInstance();
+				created.add(matchEngineFactoryRegistry);
 			}
 			if (diffEngine == null) {
 				diffEngine = new DefaultDiffEngine(new DiffBuilder());
+				created.add(diffEngine);
 			}
 			if (reqEngine == null) {
 				reqEngine = new DefaultReqEngine();
+				created.add(reqEngine);
 			}
 			if (equiEngine == null) {
 				equiEngine = new DefaultEquiEngine();
+				created.add(equiEngine);
 			}
 			if (registry == null) {
 				registry = new PostProcessorDescriptorRegistryImpl<Object>();
 			}
 			if (conflictDetector == null) {
 				conflictDetector = new MatchBasedConflictDetector();
+				created.add(conflictDetector);
 			}
-			return new EMFCompare(this.matchEngineFactoryRegistry, this.diffEngine, this.reqEngine,
-					this.equiEngine, this.conflictDetector, this.registry);
+			final EMFCompare result = new EMFCompare(this.matchEngineFactoryRegistry, this.diffEngine,
+					this.reqEngine, this.equiEngine, this.conflictDetector, this.registry);
+			result.ownedEngines.addAll(created);
+			return result;
 		}
 	}
 
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.util.BasicMonitor;
+import org.eclipse.emf.common.util.Monitor;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+
+/**
+ * A thread-safe pool of {@link EMFCompare} instances sharing the same configuration. Building an EMFCompare
+ * instance creates its match engine, distance functions, diff engine... which are costly to instantiate and
+ * warm up; this pool allows services running many small comparisons, possibly concurrently, to reuse those
+ * instances instead of building new ones for every comparison.
+ * <p>
+ * A pooled instance (a "session") is only ever used by a single thread at a time. Once a comparison is done,
+ * the session is {@link EMFCompare#reset() reset} so that it does not retain the compared models, then
+ * returned to the pool for later reuse.
+ * </p>
+ * <p>
+ * Since sessions are used concurrently, the supplier given to this pool must create sessions that do not
+ * share stateful engines with one another. In particular, match engine factories keep and reuse their match
+ * engine : each session should be built with its own match engine factory registry. This is the case of
+ * {@link #createStandalone(int) standalone pools}, which build sessions through the default
+ * {@link EMFCompare.Builder}. A session only resets the engines its builder created for it, engines given
+ * to the builder are never reset by this pool. Post processors, on the other hand, are retrieved from the
+ * post processor registry of the session and must thus be thread-safe if this registry is shared between
+ * sessions.
+ * </p>
+ *
+ * @since 3.6
+ */
+public class EMFCompareSessionPool {
+
+	/** Creates new sessions when none is idle. */
+	private final Supplier<EMFCompare> sessionFactory;
+
+	/** The sessions that are currently not used by any thread. */
+	private final BlockingQueue<EMFCompare> idleSessions;
+
+	/** Number of sessions created by this pool since its creation. */
+	private final AtomicInteger createdSessions;
+
+	/**
+	 * Creates a pool that will use the given supplier to create new sessions when none is available.
+	 *
+	 * @param sessionFactory
+	 *            The supplier of new sessions. Each call must return a new {@link EMFCompare} instance with
+	 *            its own engines.
+	 * @param maxIdleSessions
+	 *            The maximum number of sessions kept idle in this pool. Sessions released while this pool is
+	 *            full are discarded.
+	 */
+	public EMFCompareSessionPool(Supplier<EMFCompare> sessionFactory, int maxIdleSessions) {
+		checkArgument(maxIdleSessions > 0);
+		this.sessionFactory = checkNotNull(sessionFactory);
+		this.idleSessions = new LinkedBlockingQueue<EMFCompare>(maxIdleSessions);
+		this.createdSessions = new AtomicInteger();
+	}
+
+	/**
+	 * Creates a pool of sessions configured with the default, standalone, engines.
+	 *
+	 * @param maxIdleSessions
+	 *            The maximum number of sessions kept idle in this pool.
+	 * @return The new session pool.
+	 */
+	public static EMFCompareSessionPool createStandalone(int maxIdleSessions) {
+		return new EMFCompareSessionPool(() -> EMFCompare.builder().build(), maxIdleSessions);
+	}
+
+	/**
+	 * Compares the given scope with one of the sessions of this pool.
+	 *
+	 * @param scope
+	 *            the scope to compare.
+	 * @return the result of the comparison.
+	 * @see EMFCompare#compare(IComparisonScope)
+	 */
+	public Comparison compare(IComparisonScope scope) {
+		return compare(scope, new BasicMonitor());
+	}
+
+	/**
+	 * Compares the given scope with one of the sessions of this pool, reporting progress to the given
+	 * monitor.
+	 *
+	 * @param scope
+	 *            the scope to compare, must not be {@code null}.
+	 * @param monitor
+	 *            the monitor to report progress to, must not be {@code null}.
+	 * @return the result of the comparison.
+	 * @see EMFCompare#compare(IComparisonScope, Monitor)
+	 */
+	public Comparison compare(IComparisonScope scope, Monitor monitor) {
+		final EMFCompare session = acquire();
+		try {
+			return session.compare(scope, monitor);
+		} finally {
+			release(session);
+		}
+	}
+
+	/**
+	 * Takes an idle session from this pool, or creates a new one if none is available. The returned session
+	 * must be {@link #release(EMFCompare) released} once the caller is done with it, and must not be used by
+	 * any other thread until then.
+	 *
+	 * @return A session ready to be used for comparisons.
+	 */
+	public EMFCompare acquire() {
+		EMFCompare session = idleSessions.poll();
+		if (session == null) {
+			session = checkNotNull(sessionFactory.get());
+			createdSessions.incrementAndGet();
+		}
+		return session;
+	}
+
+	/**
+	 * Resets the given session and returns it to this pool. The caller must not use the session after this
+	 * call.
+	 *
+	 * @param session
+	 *            The session, previously {@link #acquire() acquired} from this pool, to release.
+	 */
+	public void release(EMFCompare session) {
+		session.reset();
+		// If the pool is already full, the session is simply dropped
+		idleSessions.offer(session);
+	}
+
+	/**
+	 * Discards all the idle sessions of this pool.
+	 */
+	public void clear() {
+		idleSessions.clear();
+	}
+
+	/**
+	 * Returns the number of sessions currently idle in this pool.
+	 *
+	 * @return The number of idle sessions.
+	 */
+	public int getIdleSessionCount() {
+		return idleSessions.size();
+	}
+
+	/**
+	 * Returns the number of sessions this pool has had to create since its creation. When this number stays
+	 * close to the number of worker threads, sessions are efficiently reused.
+	 *
+	 * @return The number of sessions created by this pool.
+	 */
+	public int getCreatedSessionCount() {
+		return createdSessions.get();
+	}
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare;
+
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
+
+/**
+ * Listens to the progress of a comparison launched through {@link EMFCompare}, being told each time one of
+ * its phases, post-processors included, is complete. This allows clients to start using the matches and
+ * differences of long comparisons before the later phases, such as the detection of conflicts, are done.
+ * <p>
+ * Listeners are called from the thread running the comparison, in between two phases: the comparison will
+ * not be modified until the listener returns, but will be modified again as soon as it does. Listeners that
+ * need to use the comparison from another thread should do so on a copy of it.
+ * </p>
+ * 
+ * @since 3.6
+ */
+public interface IComparisonPhaseListener {
+	/**
+	 * Called when a phase of the comparison is complete. Phases which are skipped, such as the detection of
+	 * conflicts for two-way comparisons, are still notified. Listeners are not notified of the phases
+	 * following the cancellation of a comparison or an error.
+	 * 
+	 * @param comparison
+	 *            The comparison in progress.
+	 * @param phase
+	 *            The phase that has just been completed, its post-processors included.
+	 */
+	void phaseCompleted(Comparison comparison, Phase phase);
+}
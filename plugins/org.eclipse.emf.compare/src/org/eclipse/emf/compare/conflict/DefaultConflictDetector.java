@@ -1,5 +1,5 @@
 /*******************************************************************************
-( * Copyright (c) 2012, 2016 Obeo and others.
+( * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,6 +43,7 @@ import org.eclipse.emf.compare.ReferenceChange;
 import org.eclipse.emf.compare.ResourceAttachmentChange;
 import org.eclipse.emf.compare.diff.FeatureFilter;
 import org.eclipse.emf.compare.internal.FeatureFilterAdapter;
+import org.eclipse.emf.compare.internal.MergeableTextCache;
 import org.eclipse.emf.compare.internal.ThreeWayTextDiff;
 import org.eclipse.emf.compare.internal.conflict.DiffTreeIterator;
 import org.eclipse.emf.compare.internal.utils.ComparisonUtil;
@@ -68,6 +69,13 @@ import org.eclipse.emf.ecore.util.FeatureMap;
  */
 public class DefaultConflictDetector implements IConflictDetector {
 
+	/**
+	 * Memoizes the mergeability of the string values checked by the detection running on each thread. Each
+	 * {@link #detect(Comparison, Monitor) detection} uses its own cache, so that a detector shared between
+	 * comparisons never mixes their values.
+	 */
+	private final ThreadLocal<MergeableTextCache> mergeableTextCache = new ThreadLocal<MergeableTextCache>();
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -78,18 +86,30 @@ public class DefaultConflictDetector implements IConflictDetector {
 		final List<Diff> differences = comparison.getDifferences();
 		final int diffCount = differences.size();
 
-		for (int i = 0; i < diffCount; i++) {
-			if (i % 100 == 0) {
-				monitor.subTask(EMFCompareMessages.getString("DefaultConflictDetector.monitor.detect", //$NON-NLS-1$
-						Integer.valueOf(i + 1), Integer.valueOf(diffCount)));
+		final MergeableTextCache enclosingCache = mergeableTextCache.get();
+		mergeableTextCache.set(new MergeableTextCache());
+		try {
+			for (int i = 0; i < diffCount; i++) {
+				if (i % 100 == 0) {
+					monitor.subTask(EMFCompareMessages.getString(
+							"DefaultConflictDetector.monitor.detect", Integer.valueOf(i + 1), //$NON-NLS-1$
+							Integer.valueOf(diffCount)));
+				}
+				if (monitor.isCanceled()) {
+					throw new ComparisonCanceledException();
+				}
+				final Diff diff = differences.get(i);
+
+				Stream<Diff> conflictCandidates = differences.stream().filter(possiblyConflictingWith(diff));
+				checkConflict(comparison, diff, conflictCandidates::iterator);
 			}
-			if (monitor.isCanceled()) {
-				throw new ComparisonCanceledException();
+		} finally {
+			// Do not retain the values of this comparison
+			if (enclosingCache != null) {
+				mergeableTextCache.set(enclosingCache);
+			} else {
+				mergeableTextCache.remove();
 			}
-			final Diff diff = differences.get(i);
-
-			Stream<Diff> conflictCandidates = differences.stream().filter(possiblyConflictingWith(diff));
-			checkConflict(comparison, diff, conflictCandidates::iterator);
 		}
 	}
 
@@ -595,6 +615,10 @@ public class DefaultConflictDetector implements IConflictDetector {
 	 * @since 3.2
 	 */
 	protected boolean isMergeableText(final String left, final String right, final String origin) {
+		final MergeableTextCache cache = mergeableTextCache.get();
+		if (cache != null) {
+			return cache.isMergeable(left, right, origin);
+		}
 		ThreeWayTextDiff textDiff = new ThreeWayTextDiff(origin, left, right);
 		return !textDiff.isConflicting();
 	}
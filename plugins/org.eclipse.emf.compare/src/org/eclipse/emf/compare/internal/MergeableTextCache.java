@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.internal;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+import org.eclipse.emf.compare.internal.dmp.LineHashDiff;
+
+/**
+ * Memoizes whether three versions of a text can be merged with a line-based three-way merge, as computed by
+ * {@link ThreeWayTextDiff}.
+ * <p>
+ * Conflict detection asks for the mergeability of the same values repeatedly : once for each couple of
+ * conflict candidates, in both directions. Since a {@link ThreeWayTextDiff} runs two line-based diffs, this
+ * is costly on attributes holding large texts (documentation, opaque bodies...). This cache answers the
+ * trivial cases without any diff, and remembers the result of the others if the texts are large enough for
+ * a diff to cost more than a lookup. Texts are compared by identity, and left and right are interchangeable
+ * since the conflict detection of {@link ThreeWayTextDiff} is symmetric.
+ * </p>
+ * <p>
+ * This cache keeps a reference to the texts it has been queried for; it is meant to be used for the duration
+ * of a single conflict detection, and is not thread-safe.
+ * </p>
+ */
+public class MergeableTextCache {
+
+	/**
+	 * Minimum cumulated length of the three texts for their mergeability to be memoized. Under this size,
+	 * diffing the texts is cheaper than keeping them in memory.
+	 */
+	private static final int DEFAULT_MEMOIZATION_THRESHOLD = 1024;
+
+	/** Minimum cumulated length of the three texts for their mergeability to be memoized. */
+	private final int memoizationThreshold;
+
+	/** The memoized results. */
+	private final Map<TextKey, Boolean> mergeability;
+
+	/** The line diff engine we reuse for all of our three-way diffs. */
+	private final LineHashDiff lineDiff;
+
+	/**
+	 * Creates a cache with the default memoization threshold.
+	 */
+	public MergeableTextCache() {
+		this(DEFAULT_MEMOIZATION_THRESHOLD);
+	}
+
+	/**
+	 * Creates a cache that will only memoize the results for texts of a cumulated length greater than or
+	 * equal to the given threshold.
+	 *
+	 * @param memoizationThreshold
+	 *            Minimum cumulated length of the three texts for their mergeability to be memoized.
+	 */
+	public MergeableTextCache(int memoizationThreshold) {
+		this.memoizationThreshold = memoizationThreshold;
+		this.mergeability = Maps.newHashMap();
+		this.lineDiff = new LineHashDiff();
+	}
+
+	/**
+	 * Specifies whether the given three versions of a text {@code left}, {@code right}, and {@code origin}
+	 * are mergeable with a line-based three-way merge.
+	 *
+	 * @param left
+	 *            The left version.
+	 * @param right
+	 *            The right version.
+	 * @param origin
+	 *            The original version.
+	 * @return <code>true</code> if they are mergeable, <code>false</code> otherwise.
+	 * @see ThreeWayTextDiff#isConflicting()
+	 */
+	public boolean isMergeable(String left, String right, String origin) {
+		if (left != null && right != null && origin != null) {
+			// If one side did not change the text, there cannot be any line changed on both sides.
+			// Likewise, identical changes on both sides yield identical line differences.
+			if (left.equals(origin) || right.equals(origin) || left.equals(right)) {
+				return true;
+			}
+		}
+
+		if (length(left) + length(right) + length(origin) < memoizationThreshold) {
+			return !new ThreeWayTextDiff(origin, left, right, lineDiff).isConflicting();
+		}
+
+		final TextKey key = new TextKey(left, right, origin);
+		Boolean result = mergeability.get(key);
+		if (result == null) {
+			result = Boolean.valueOf(!new ThreeWayTextDiff(origin, left, right, lineDiff).isConflicting());
+			mergeability.put(key, result);
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * Discards all memoized results.
+	 */
+	public void clear() {
+		mergeability.clear();
+	}
+
+	/**
+	 * Returns the length of the given text.
+	 *
+	 * @param text
+	 *            The text, may be <code>null</code>.
+	 * @return The length of the given text, <code>0</code> if it is <code>null</code>.
+	 */
+	private static int length(String text) {
+		if (text == null) {
+			return 0;
+		}
+		return text.length();
+	}
+
+	/**
+	 * Identity-based key of the cache, considering left and right as interchangeable.
+	 */
+	private static final class TextKey {
+		/** The left version. */
+		private final String left;
+
+		/** The right version. */
+		private final String right;
+
+		/** The original version. */
+		private final String origin;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param left
+		 *            The left version.
+		 * @param right
+		 *            The right version.
+		 * @param origin
+		 *            The original version.
+		 */
+		TextKey(String left, String right, String origin) {
+			this.left = left;
+			this.right = right;
+			this.origin = origin;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			// symmetric in left and right
+			return 31 * System.identityHashCode(origin) + System.identityHashCode(left)
+					+ System.identityHashCode(right);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TextKey)) {
+				return false;
+			}
+			final TextKey other = (TextKey)obj;
+			return origin == other.origin && ((left == other.left && right == other.right)
+					|| (left == other.right && right == other.left));
+		}
+	}
+}
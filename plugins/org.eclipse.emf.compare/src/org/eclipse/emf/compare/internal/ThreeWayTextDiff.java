@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2017 EclipseSource Muenchen GmbH, Christian W. Damus, and others.
+ * Copyright (c) 2014, 2026 EclipseSource Muenchen GmbH, Christian W. Damus, and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,7 +25,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.eclipse.emf.compare.internal.dmp.LineBasedDiff;
+import org.eclipse.emf.compare.internal.dmp.LineHashDiff;
 import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Diff;
 import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Operation;
 
@@ -49,6 +49,9 @@ import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Operation;
  */
 public class ThreeWayTextDiff {
 
+	/** Time, in milliseconds, after which we stop looking for an optimal diff of two versions. */
+	private static final long DIFF_TIMEOUT = 1000L;
+
 	/** Specifies whether {@link #left} or {@link #right} has been unset. */
 	private final boolean isLeftOrRightUnset;
 
@@ -76,9 +79,28 @@ public class ThreeWayTextDiff {
 	 *            The potentially modified right-hand side version of the common ancestor.
 	 */
 	public ThreeWayTextDiff(String origin, String left, String right) {
+		this(origin, left, right, new LineHashDiff());
+	}
+
+	/**
+	 * Constructs a {@link ThreeWayTextDiff} for the given {@code origin} version of a plain text and the two
+	 * potentially modified versions of it, {@code left} and {@code right}, reusing the buffers of the given
+	 * line diff engine.
+	 * 
+	 * @param origin
+	 *            The common ancestor version of the plain text.
+	 * @param left
+	 *            The potentially modified left-hand side version of the common ancestor.
+	 * @param right
+	 *            The potentially modified right-hand side version of the common ancestor.
+	 * @param lineDiff
+	 *            The engine to compute line differences with. It must not be used by another thread during
+	 *            this call.
+	 */
+	public ThreeWayTextDiff(String origin, String left, String right, LineHashDiff lineDiff) {
 		this.lineSeparator = determineLineSeparator(origin);
 		this.isLeftOrRightUnset = origin != null && (left == null || right == null);
-		this.threeWayDifferences = computeThreeWayDiffs(origin, left, right);
+		this.threeWayDifferences = computeThreeWayDiffs(origin, left, right, lineDiff);
 	}
 
 	/**
@@ -121,11 +143,14 @@ public class ThreeWayTextDiff {
 	 *            The left-hand side version.
 	 * @param right
 	 *            The right-hand side version.
+	 * @param lineDiff
+	 *            The engine to compute line differences with.
 	 * @return The computed three-way line differences.
 	 */
-	private List<ThreeWayLineDifference> computeThreeWayDiffs(String origin, String left, String right) {
-		final TwoWayTextDiff leftDiffs = new TwoWayTextDiff(origin, left);
-		final TwoWayTextDiff rightDiffs = new TwoWayTextDiff(origin, right);
+	private List<ThreeWayLineDifference> computeThreeWayDiffs(String origin, String left, String right,
+			LineHashDiff lineDiff) {
+		final TwoWayTextDiff leftDiffs = new TwoWayTextDiff(origin, left, lineDiff);
+		final TwoWayTextDiff rightDiffs = new TwoWayTextDiff(origin, right, lineDiff);
 		final LinkedList<ThreeWayLineDifference> threeWayDiffs = new LinkedList<ThreeWayLineDifference>();
 		final LinkedList<Diff> leftDiffQueue = new LinkedList<Diff>(leftDiffs.getDifferences());
 		final LinkedList<Diff> rightDiffQueue = new LinkedList<Diff>(rightDiffs.getDifferences());
@@ -391,9 +416,6 @@ public class ThreeWayTextDiff {
 	 */
 	private class TwoWayTextDiff {
 
-		/** The {@link LineBasedDiff} instance. */
-		private final LineBasedDiff lbDiff = new LineBasedDiff();
-
 		/** The differences between {@link #origin} and {@link #revised}. */
 		private final LinkedList<Diff> diffs;
 
@@ -405,11 +427,14 @@ public class ThreeWayTextDiff {
 		 *            The origin version of the plain text.
 		 * @param revised
 		 *            The revised version of the plain text.
+		 * @param lineDiff
+		 *            The engine to compute line differences with.
 		 */
-		TwoWayTextDiff(String origin, String revised) {
+		TwoWayTextDiff(String origin, String revised, LineHashDiff lineDiff) {
 			final String safeOrigin = nullToEmpty(origin);
 			final String safeRevised = nullToEmpty(revised);
-			final LinkedList<Diff> differences = lbDiff.computeLineBasedDiff(safeOrigin, safeRevised);
+			final long deadline = System.currentTimeMillis() + DIFF_TIMEOUT;
+			final LinkedList<Diff> differences = lineDiff.diff(safeOrigin, safeRevised, deadline);
 			this.diffs = flattenDifferences(differences);
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Obeo and others.
+ * Copyright (c) 2016, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -40,7 +40,6 @@ import org.eclipse.emf.compare.MatchResource;
 import org.eclipse.emf.compare.ResourceAttachmentChange;
 import org.eclipse.emf.compare.diff.FeatureFilter;
 import org.eclipse.emf.compare.internal.FeatureFilterAdapter;
-import org.eclipse.emf.compare.internal.ThreeWayTextDiff;
 import org.eclipse.emf.compare.utils.ReferenceUtil;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
@@ -214,8 +213,7 @@ public abstract class AbstractConflictSearch<T extends Diff> {
 	 * @since 3.2
 	 */
 	protected boolean isMergeableText(final String left, final String right, final String origin) {
-		ThreeWayTextDiff textDiff = new ThreeWayTextDiff(origin, left, right);
-		return !textDiff.isConflicting();
+		return index.getMergeableTextCache().isMergeable(left, right, origin);
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Obeo.
+ * Copyright (c) 2016, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.Diff;
 import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.ReferenceChange;
+import org.eclipse.emf.compare.internal.MergeableTextCache;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 
@@ -42,6 +43,11 @@ public final class ComparisonIndex {
 	 */
 	private final Comparison comparison;
 
+	/**
+	 * Memoized mergeability of the string attribute values of this comparison.
+	 */
+	private final MergeableTextCache mergeableTextCache;
+
 	/**
 	 * Constructor.
 	 * 
@@ -51,6 +57,7 @@ public final class ComparisonIndex {
 	private ComparisonIndex(Comparison comparison) {
 		this.comparison = comparison;
 		refChangeIndex = LinkedHashMultimap.create();
+		mergeableTextCache = new MergeableTextCache();
 		index();
 	}
 
@@ -134,4 +141,13 @@ public final class ComparisonIndex {
 		}
 		return Collections.emptyList();
 	}
+
+	/**
+	 * The cache to use when checking whether the string values of the indexed comparison can be merged.
+	 * 
+	 * @return The mergeable text cache of this index.
+	 */
+	public MergeableTextCache getMergeableTextCache() {
+		return mergeableTextCache;
+	}
 }
@@ -0,0 +1,1051 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.internal.dmp;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Diff;
+import org.eclipse.emf.compare.internal.dmp.diff_match_patch.Operation;
+
+/**
+ * A line-based diff engine producing the same kind of results as the line mode of {@link diff_match_patch},
+ * without its allocations.
+ * <p>
+ * Lines are never copied : they are read as ranges of the compared {@link CharSequence}s and interned into
+ * <code>int</code> identifiers through an open addressing hash table. The differences are computed with the
+ * same bisection algorithm as {@link diff_match_patch#diff_bisect(String, String, long)}, on the arrays of
+ * line identifiers, then normalized as {@link diff_match_patch#diff_cleanupMerge(LinkedList)} would.
+ * </p>
+ * <p>
+ * All working buffers are kept from one call to the next, so that a single instance can be used to diff
+ * many texts without allocating. Instances of this class are thus not thread-safe.
+ * </p>
+ */
+public final class LineHashDiff {
+
+	/** Op code of a deletion, i.e. lines of the first text only. */
+	private static final int DELETE = 0;
+
+	/** Op code of an insertion, i.e. lines of the second text only. */
+	private static final int INSERT = 1;
+
+	/** Op code of an equality, i.e. lines of both texts. */
+	private static final int EQUAL = 2;
+
+	/** Initial size of our buffers. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Maximum edit distance we'll try and find an optimal path for before giving up. */
+	private int maxCost = Integer.MAX_VALUE;
+
+	/** The first text we're currently diffing. */
+	private CharSequence text1;
+
+	/** The second text we're currently diffing. */
+	private CharSequence text2;
+
+	/** Start offsets of the lines of {@link #text1}, with a trailing entry for the end of the text. */
+	private int[] bounds1 = new int[INITIAL_CAPACITY];
+
+	/** Start offsets of the lines of {@link #text2}, with a trailing entry for the end of the text. */
+	private int[] bounds2 = new int[INITIAL_CAPACITY];
+
+	/** Identifiers of the lines of {@link #text1}. */
+	private int[] ids1 = new int[INITIAL_CAPACITY];
+
+	/** Identifiers of the lines of {@link #text2}. */
+	private int[] ids2 = new int[INITIAL_CAPACITY];
+
+	/** Number of lines in {@link #text1}. */
+	private int count1;
+
+	/** Number of lines in {@link #text2}. */
+	private int count2;
+
+	/** Slots of the interning hash table, holding a line identifier plus one, 0 for free slots. */
+	private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+	/** Hash of the line held by each slot of the interning table. */
+	private int[] slotHashes = new int[INITIAL_CAPACITY * 2];
+
+	/** For each line identifier, the start offset of its first occurrence. */
+	private int[] idStarts = new int[INITIAL_CAPACITY];
+
+	/** For each line identifier, the end offset of its first occurrence. */
+	private int[] idEnds = new int[INITIAL_CAPACITY];
+
+	/** For each line identifier, whether its first occurrence is in {@link #text2}. */
+	private boolean[] idInText2 = new boolean[INITIAL_CAPACITY];
+
+	/** Number of distinct lines. */
+	private int idCount;
+
+	/** Forward paths of the bisection. */
+	private int[] v1 = new int[INITIAL_CAPACITY];
+
+	/** Reverse paths of the bisection. */
+	private int[] v2 = new int[INITIAL_CAPACITY];
+
+	/** Op codes of the computed runs of lines. */
+	private int[] runOps = new int[INITIAL_CAPACITY];
+
+	/** Number of lines of each computed run. */
+	private int[] runLengths = new int[INITIAL_CAPACITY];
+
+	/** Number of computed runs. */
+	private int runCount;
+
+	/** Index of the first run of the range being computed, which must not be merged with previous runs. */
+	private int runFloor;
+
+	/** Start, in the first text, of the block of lines found by the last half match. */
+	private int halfMatchStart1;
+
+	/** Start, in the second text, of the block of lines found by the last half match. */
+	private int halfMatchStart2;
+
+	/** Length of the block of lines found by the last half match. */
+	private int halfMatchLength;
+
+	/** Copy of the run op codes used while merging blocks of changes. */
+	private int[] mergeOps = new int[INITIAL_CAPACITY];
+
+	/** Copy of the run lengths used while merging blocks of changes. */
+	private int[] mergeLengths = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Sets the maximum edit distance, in lines, for which we'll look for an optimal diff. Regions of the
+	 * texts that differ more than that are reported as a deletion of all their lines from the first text
+	 * followed by an insertion of all their lines from the second text, as is done when the deadline is
+	 * reached.
+	 *
+	 * @param maxCost
+	 *            The maximum edit distance, must be positive.
+	 */
+	public void setMaxCost(int maxCost) {
+		if (maxCost <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.maxCost = maxCost;
+	}
+
+	/**
+	 * Computes the line differences between the two given texts. The result is equivalent to the line mode of
+	 * {@link diff_match_patch} : each returned {@link Diff} holds a run of whole lines, terminators included.
+	 *
+	 * @param first
+	 *            Version 1 of a text.
+	 * @param second
+	 *            Version 2 of a text.
+	 * @param deadline
+	 *            Time, in milliseconds since the epoch, at which we'll stop looking for an optimal diff.
+	 *            <code>Long.MAX_VALUE</code> for no deadline.
+	 * @return The list of differences.
+	 */
+	public LinkedList<Diff> diff(CharSequence first, CharSequence second, long deadline) {
+		compute(first, second, deadline);
+		final LinkedList<Diff> diffs = new LinkedList<Diff>();
+		int line1 = 0;
+		int line2 = 0;
+		for (int i = 0; i < runCount; i++) {
+			final int length = runLengths[i];
+			switch (runOps[i]) {
+				case DELETE:
+					diffs.add(new Diff(Operation.DELETE, text(text1, bounds1, line1, length)));
+					line1 += length;
+					break;
+				case INSERT:
+					diffs.add(new Diff(Operation.INSERT, text(text2, bounds2, line2, length)));
+					line2 += length;
+					break;
+				default:
+					diffs.add(new Diff(Operation.EQUAL, text(text1, bounds1, line1, length)));
+					line1 += length;
+					line2 += length;
+					break;
+			}
+		}
+		release();
+		return diffs;
+	}
+
+	/**
+	 * Splits and interns the lines of both texts, then computes and normalizes the runs of lines.
+	 *
+	 * @param first
+	 *            Version 1 of a text.
+	 * @param second
+	 *            Version 2 of a text.
+	 * @param deadline
+	 *            Time at which to bail if not yet complete.
+	 */
+	private void compute(CharSequence first, CharSequence second, long deadline) {
+		this.text1 = first;
+		this.text2 = second;
+		if (idCount > 0) {
+			Arrays.fill(slots, 0);
+			idCount = 0;
+		}
+		count1 = splitLines(first, false);
+		count2 = splitLines(second, true);
+		runCount = 0;
+		runFloor = 0;
+		diffRange(0, count1, 0, count2, deadline);
+	}
+
+	/**
+	 * Forgets the texts we just diffed so that we do not retain them.
+	 */
+	private void release() {
+		this.text1 = null;
+		this.text2 = null;
+	}
+
+	/**
+	 * Builds the text of a run of lines.
+	 *
+	 * @param text
+	 *            The text containing the lines.
+	 * @param bounds
+	 *            Start offsets of the lines of this text.
+	 * @param firstLine
+	 *            Index of the first line of the run.
+	 * @param length
+	 *            Number of lines in the run.
+	 * @return The text of these lines.
+	 */
+	private static String text(CharSequence text, int[] bounds, int firstLine, int length) {
+		return text.subSequence(bounds[firstLine], bounds[firstLine + length]).toString();
+	}
+
+	/**
+	 * Splits the given text into lines, each line including its trailing '\n' if any, and interns them.
+	 *
+	 * @param text
+	 *            The text to split.
+	 * @param second
+	 *            <code>true</code> if this is the second text of the diff.
+	 * @return The number of lines in this text.
+	 */
+	private int splitLines(CharSequence text, boolean second) {
+		final int length = text.length();
+		int count = 0;
+		int start = 0;
+		while (start < length) {
+			int end = start;
+			int hash = 0;
+			char c;
+			do {
+				c = text.charAt(end++);
+				hash = 31 * hash + c;
+			} while (c != '\n' && end < length);
+
+			final int id = intern(text, start, end, hash, second);
+			if (second) {
+				ids2 = ensureCapacity(ids2, count + 1);
+				bounds2 = ensureCapacity(bounds2, count + 2);
+				ids2[count] = id;
+				bounds2[count] = start;
+			} else {
+				ids1 = ensureCapacity(ids1, count + 1);
+				bounds1 = ensureCapacity(bounds1, count + 2);
+				ids1[count] = id;
+				bounds1[count] = start;
+			}
+			count++;
+			start = end;
+		}
+		if (second) {
+			bounds2[count] = length;
+		} else {
+			bounds1[count] = length;
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieves the identifier of the given line, creating a new one if this line has never been seen.
+	 *
+	 * @param text
+	 *            The text containing the line.
+	 * @param start
+	 *            Start offset of the line.
+	 * @param end
+	 *            End offset of the line, exclusive.
+	 * @param hash
+	 *            Hash of the line.
+	 * @param second
+	 *            <code>true</code> if the line is in the second text of the diff.
+	 * @return The identifier of the line.
+	 */
+	private int intern(CharSequence text, int start, int end, int hash, boolean second) {
+		if ((idCount + 1) * 2 > slots.length) {
+			rehash(slots.length * 2);
+		}
+		final int mask = slots.length - 1;
+		int slot = mix(hash) & mask;
+		while (slots[slot] != 0) {
+			final int id = slots[slot] - 1;
+			if (slotHashes[slot] == hash && sameLine(id, text, start, end)) {
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		final int id = idCount++;
+		idStarts = ensureCapacity(idStarts, idCount);
+		idEnds = ensureCapacity(idEnds, idCount);
+		if (idInText2.length < idCount) {
+			idInText2 = Arrays.copyOf(idInText2, idCount * 2);
+		}
+		idStarts[id] = start;
+		idEnds[id] = end;
+		idInText2[id] = second;
+		slots[slot] = id + 1;
+		slotHashes[slot] = hash;
+		return id;
+	}
+
+	/**
+	 * Checks whether the line with the given identifier has the same content as the given range of text.
+	 *
+	 * @param id
+	 *            Identifier of the known line.
+	 * @param text
+	 *            The text containing the candidate line.
+	 * @param start
+	 *            Start offset of the candidate line.
+	 * @param end
+	 *            End offset of the candidate line, exclusive.
+	 * @return <code>true</code> if both lines have the same content.
+	 */
+	private boolean sameLine(int id, CharSequence text, int start, int end) {
+		final int knownStart = idStarts[id];
+		if (idEnds[id] - knownStart != end - start) {
+			return false;
+		}
+		final CharSequence known;
+		if (idInText2[id]) {
+			known = text2;
+		} else {
+			known = text1;
+		}
+		for (int i = 0; i < end - start; i++) {
+			if (known.charAt(knownStart + i) != text.charAt(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Grows the interning table to the given capacity.
+	 *
+	 * @param capacity
+	 *            The new capacity, a power of two.
+	 */
+	private void rehash(int capacity) {
+		final int[] oldSlots = slots;
+		final int[] oldHashes = slotHashes;
+		slots = new int[capacity];
+		slotHashes = new int[capacity];
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldSlots.length; i++) {
+			if (oldSlots[i] != 0) {
+				int slot = mix(oldHashes[i]) & mask;
+				while (slots[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				slots[slot] = oldSlots[i];
+				slotHashes[slot] = oldHashes[i];
+			}
+		}
+	}
+
+	/**
+	 * Spreads the bits of the given hash so that similar lines do not cluster in the interning table.
+	 *
+	 * @param hash
+	 *            The hash of a line.
+	 * @return The mixed hash.
+	 */
+	private static int mix(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Ensures that the given array can hold at least the given number of elements.
+	 *
+	 * @param array
+	 *            The array.
+	 * @param capacity
+	 *            The minimum capacity.
+	 * @return The given array if it is large enough, a larger copy of it otherwise.
+	 */
+	private static int[] ensureCapacity(int[] array, int capacity) {
+		if (array.length >= capacity) {
+			return array;
+		}
+		return Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+	}
+
+	/**
+	 * Appends a run of lines to the result, merging it with the previous run if they have the same op code.
+	 *
+	 * @param op
+	 *            Op code of the run.
+	 * @param length
+	 *            Number of lines in the run.
+	 */
+	private void emit(int op, int length) {
+		if (length == 0) {
+			return;
+		}
+		if (runCount > runFloor && runOps[runCount - 1] == op) {
+			runLengths[runCount - 1] += length;
+		} else {
+			runOps = ensureCapacity(runOps, runCount + 1);
+			runLengths = ensureCapacity(runLengths, runCount + 1);
+			runOps[runCount] = op;
+			runLengths[runCount] = length;
+			runCount++;
+		}
+	}
+
+	/**
+	 * Computes the differences between the given ranges of lines, appending them to the result.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @param deadline
+	 *            Time at which to bail if not yet complete.
+	 */
+	private void diffRange(int start1, int end1, int start2, int end2, long deadline) {
+		final int parentFloor = runFloor;
+		runFloor = runCount;
+
+		int from1 = start1;
+		int from2 = start2;
+		while (from1 < end1 && from2 < end2 && ids1[from1] == ids2[from2]) {
+			from1++;
+			from2++;
+		}
+		emit(EQUAL, from1 - start1);
+
+		int to1 = end1;
+		int to2 = end2;
+		while (to1 > from1 && to2 > from2 && ids1[to1 - 1] == ids2[to2 - 1]) {
+			to1--;
+			to2--;
+		}
+
+		if (from1 == to1) {
+			emit(INSERT, to2 - from2);
+		} else if (from2 == to2) {
+			emit(DELETE, to1 - from1);
+		} else {
+			diffChangedRange(from1, to1, from2, to2, deadline);
+		}
+
+		emit(EQUAL, end1 - to1);
+		while (cleanupMerge(start1, start2)) {
+			// Shifting edits may allow further merges
+		}
+		runFloor = parentFloor;
+	}
+
+	/**
+	 * Computes the differences between the given ranges of lines, which are known not to be empty nor to
+	 * share a common prefix or suffix. This follows the same steps as
+	 * {@link diff_match_patch#diff_main(String, String, boolean)} : look for the shorter range inside the
+	 * longer one, then for a common block of lines at least half as long as the longer range, and only then
+	 * bisect.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @param deadline
+	 *            Time at which to bail if not yet complete.
+	 */
+	private void diffChangedRange(int start1, int end1, int start2, int end2, long deadline) {
+		final int length1 = end1 - start1;
+		final int length2 = end2 - start2;
+		final int index;
+		if (length1 > length2) {
+			index = indexOf(ids1, start1, end1, ids2, start2, end2, 0);
+		} else {
+			index = indexOf(ids2, start2, end2, ids1, start1, end1, 0);
+		}
+
+		if (index != -1) {
+			// The shorter range is inside the longer one.
+			if (length1 > length2) {
+				emit(DELETE, index);
+				emit(EQUAL, length2);
+				emit(DELETE, length1 - index - length2);
+			} else {
+				emit(INSERT, index);
+				emit(EQUAL, length1);
+				emit(INSERT, length2 - index - length1);
+			}
+		} else if (length1 == 1 || length2 == 1) {
+			// After the previous check, this single line can't be an equality.
+			emit(DELETE, length1);
+			emit(INSERT, length2);
+		} else if (deadline != Long.MAX_VALUE && halfMatch(start1, end1, start2, end2)) {
+			// Don't risk a non-optimal diff if we have unlimited time.
+			final int common1 = halfMatchStart1;
+			final int common2 = halfMatchStart2;
+			final int common = halfMatchLength;
+			diffRange(start1, common1, start2, common2, deadline);
+			emit(EQUAL, common);
+			diffRange(common1 + common, end1, common2 + common, end2, deadline);
+		} else if (!bisect(start1, end1, start2, end2, deadline)) {
+			emit(DELETE, length1);
+			emit(INSERT, length2);
+		}
+	}
+
+	/**
+	 * Looks for the first occurrence of a range of line identifiers within another.
+	 *
+	 * @param hay
+	 *            The identifiers to search in.
+	 * @param hayStart
+	 *            Start of the range to search in.
+	 * @param hayEnd
+	 *            End of the range to search in, exclusive.
+	 * @param needle
+	 *            The identifiers to search for.
+	 * @param needleStart
+	 *            Start of the range to search for.
+	 * @param needleEnd
+	 *            End of the range to search for, exclusive.
+	 * @param from
+	 *            Index, relative to <code>hayStart</code>, at which to start searching.
+	 * @return The index of the first occurrence relative to <code>hayStart</code>, -1 if none.
+	 */
+	private static int indexOf(int[] hay, int hayStart, int hayEnd, int[] needle, int needleStart,
+			int needleEnd, int from) {
+		final int needleLength = needleEnd - needleStart;
+		final int last = hayEnd - needleLength;
+		for (int i = hayStart + from; i <= last; i++) {
+			if (rangeEquals(hay, i, needle, needleStart, needleLength)) {
+				return i - hayStart;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether the two ranges share a block of lines which is at least half the length of the longer
+	 * range. This is a port of {@link diff_match_patch#diff_halfMatch(String, String)}, and can produce
+	 * non-minimal diffs. When a match is found, it is stored in {@link #halfMatchStart1},
+	 * {@link #halfMatchStart2} and {@link #halfMatchLength}.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @return <code>true</code> if such a block has been found.
+	 */
+	private boolean halfMatch(int start1, int end1, int start2, int end2) {
+		final boolean firstIsLonger = end1 - start1 > end2 - start2;
+		final int[] longIds;
+		final int longStart;
+		final int longEnd;
+		final int[] shortIds;
+		final int shortStart;
+		final int shortEnd;
+		if (firstIsLonger) {
+			longIds = ids1;
+			longStart = start1;
+			longEnd = end1;
+			shortIds = ids2;
+			shortStart = start2;
+			shortEnd = end2;
+		} else {
+			longIds = ids2;
+			longStart = start2;
+			longEnd = end2;
+			shortIds = ids1;
+			shortStart = start1;
+			shortEnd = end1;
+		}
+		final int longLength = longEnd - longStart;
+		if (longLength < 4 || (shortEnd - shortStart) * 2 < longLength) {
+			return false;
+		}
+
+		// First check if the second quarter is the seed for a half-match, then the third quarter.
+		halfMatchLength = 0;
+		halfMatchI(longIds, longStart, longEnd, shortIds, shortStart, shortEnd, (longLength + 3) / 4);
+		final int firstLength = halfMatchLength;
+		final int firstLongStart = halfMatchStart1;
+		final int firstShortStart = halfMatchStart2;
+		halfMatchLength = 0;
+		halfMatchI(longIds, longStart, longEnd, shortIds, shortStart, shortEnd, (longLength + 1) / 2);
+		if (firstLength * 2 < longLength && halfMatchLength * 2 < longLength) {
+			return false;
+		} else if (halfMatchLength * 2 < longLength || firstLength > halfMatchLength) {
+			halfMatchLength = firstLength;
+			halfMatchStart1 = firstLongStart;
+			halfMatchStart2 = firstShortStart;
+		}
+
+		if (!firstIsLonger) {
+			final int swap = halfMatchStart1;
+			halfMatchStart1 = halfMatchStart2;
+			halfMatchStart2 = swap;
+		}
+		return true;
+	}
+
+	/**
+	 * Looks for the longest block of lines of the shorter range containing the seed starting at the given
+	 * index of the longer range. This is a port of {@code diff_match_patch#diff_halfMatchI}, storing the
+	 * longest block in {@link #halfMatchStart1} (start in the longer range), {@link #halfMatchStart2} (start
+	 * in the shorter range) and {@link #halfMatchLength}.
+	 *
+	 * @param longIds
+	 *            Identifiers of the longer range.
+	 * @param longStart
+	 *            Start of the longer range.
+	 * @param longEnd
+	 *            End of the longer range, exclusive.
+	 * @param shortIds
+	 *            Identifiers of the shorter range.
+	 * @param shortStart
+	 *            Start of the shorter range.
+	 * @param shortEnd
+	 *            End of the shorter range, exclusive.
+	 * @param seedIndex
+	 *            Index, relative to <code>longStart</code>, of the quarter length seed.
+	 */
+	private void halfMatchI(int[] longIds, int longStart, int longEnd, int[] shortIds, int shortStart,
+			int shortEnd, int seedIndex) {
+		final int seedStart = longStart + seedIndex;
+		final int seedEnd = seedStart + (longEnd - longStart) / 4;
+		int j = indexOf(shortIds, shortStart, shortEnd, longIds, seedStart, seedEnd, 0);
+		while (j != -1) {
+			int prefix = 0;
+			while (seedStart + prefix < longEnd && shortStart + j + prefix < shortEnd
+					&& longIds[seedStart + prefix] == shortIds[shortStart + j + prefix]) {
+				prefix++;
+			}
+			int suffix = 0;
+			while (seedIndex - suffix > 0 && j - suffix > 0
+					&& longIds[seedStart - suffix - 1] == shortIds[shortStart + j - suffix - 1]) {
+				suffix++;
+			}
+			if (halfMatchLength < suffix + prefix) {
+				halfMatchLength = suffix + prefix;
+				halfMatchStart1 = seedStart - suffix;
+				halfMatchStart2 = shortStart + j - suffix;
+			}
+			j = indexOf(shortIds, shortStart, shortEnd, longIds, seedStart, seedEnd, j + 1);
+		}
+	}
+
+	/**
+	 * Finds the 'middle snake' of a diff, splits the problem in two and recurses. This is a port of
+	 * {@link diff_match_patch#diff_bisect(String, String, long)} working on ranges of line identifiers.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @param deadline
+	 *            Time at which to bail if not yet complete.
+	 * @return <code>false</code> if we could not find the middle snake before the deadline or within the
+	 *         maximum cost, in which case nothing has been appended to the result.
+	 */
+	private boolean bisect(int start1, int end1, int start2, int end2, long deadline) {
+		final int length1 = end1 - start1;
+		final int length2 = end2 - start2;
+		final int maxD = (length1 + length2 + 1) / 2;
+		final int vOffset = maxD;
+		final int vLength = 2 * maxD;
+		v1 = ensureCapacity(v1, vLength);
+		v2 = ensureCapacity(v2, vLength);
+		Arrays.fill(v1, 0, vLength, -1);
+		Arrays.fill(v2, 0, vLength, -1);
+		v1[vOffset + 1] = 0;
+		v2[vOffset + 1] = 0;
+		final int delta = length1 - length2;
+		// If the total number of lines is odd, then the front path will collide with the reverse path.
+		final boolean front = delta % 2 != 0;
+		// Offsets for start and end of k loop, preventing mapping of space beyond the grid.
+		int k1start = 0;
+		int k1end = 0;
+		int k2start = 0;
+		int k2end = 0;
+		final int maxSteps = Math.min(maxD, maxCost);
+		for (int d = 0; d < maxSteps; d++) {
+			if (System.currentTimeMillis() > deadline) {
+				break;
+			}
+
+			// Walk the front path one step.
+			for (int k1 = -d + k1start; k1 <= d - k1end; k1 += 2) {
+				final int k1Offset = vOffset + k1;
+				int x1;
+				if (k1 == -d || (k1 != d && v1[k1Offset - 1] < v1[k1Offset + 1])) {
+					x1 = v1[k1Offset + 1];
+				} else {
+					x1 = v1[k1Offset - 1] + 1;
+				}
+				int y1 = x1 - k1;
+				while (x1 < length1 && y1 < length2 && ids1[start1 + x1] == ids2[start2 + y1]) {
+					x1++;
+					y1++;
+				}
+				v1[k1Offset] = x1;
+				if (x1 > length1) {
+					// Ran off the right of the graph.
+					k1end += 2;
+				} else if (y1 > length2) {
+					// Ran off the bottom of the graph.
+					k1start += 2;
+				} else if (front) {
+					final int k2Offset = vOffset + delta - k1;
+					if (k2Offset >= 0 && k2Offset < vLength && v2[k2Offset] != -1) {
+						// Mirror x2 onto top-left coordinate system.
+						final int x2 = length1 - v2[k2Offset];
+						if (x1 >= x2) {
+							split(start1, end1, start2, end2, x1, y1, deadline);
+							return true;
+						}
+					}
+				}
+			}
+
+			// Walk the reverse path one step.
+			for (int k2 = -d + k2start; k2 <= d - k2end; k2 += 2) {
+				final int k2Offset = vOffset + k2;
+				int x2;
+				if (k2 == -d || (k2 != d && v2[k2Offset - 1] < v2[k2Offset + 1])) {
+					x2 = v2[k2Offset + 1];
+				} else {
+					x2 = v2[k2Offset - 1] + 1;
+				}
+				int y2 = x2 - k2;
+				while (x2 < length1 && y2 < length2
+						&& ids1[end1 - x2 - 1] == ids2[end2 - y2 - 1]) {
+					x2++;
+					y2++;
+				}
+				v2[k2Offset] = x2;
+				if (x2 > length1) {
+					// Ran off the left of the graph.
+					k2end += 2;
+				} else if (y2 > length2) {
+					// Ran off the top of the graph.
+					k2start += 2;
+				} else if (!front) {
+					final int k1Offset = vOffset + delta - k2;
+					if (k1Offset >= 0 && k1Offset < vLength && v1[k1Offset] != -1) {
+						final int x1 = v1[k1Offset];
+						final int y1 = vOffset + x1 - k1Offset;
+						// Mirror x2 onto top-left coordinate system.
+						if (x1 >= length1 - x2) {
+							split(start1, end1, start2, end2, x1, y1, deadline);
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Splits the diff at the given middle snake and recurses on both halves.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @param x
+	 *            Split point in the first range, relative to its start.
+	 * @param y
+	 *            Split point in the second range, relative to its start.
+	 * @param deadline
+	 *            Time at which to bail if not yet complete.
+	 */
+	private void split(int start1, int end1, int start2, int end2, int x, int y, long deadline) {
+		diffRange(start1, start1 + x, start2, start2 + y, deadline);
+		diffRange(start1 + x, end1, start2 + y, end2, deadline);
+	}
+
+	/**
+	 * Normalizes the runs of the range being computed the way
+	 * {@link diff_match_patch#diff_cleanupMerge(LinkedList)} does :
+	 * within each block of changes, deletions are put before insertions and the lines common to both are
+	 * factored out into the surrounding equalities, then single edits surrounded by equalities are shifted
+	 * sideways when this eliminates an equality.
+	 *
+	 * @param start1
+	 *            Line of the first text at which the first run to normalize starts.
+	 * @param start2
+	 *            Line of the second text at which the first run to normalize starts.
+	 * @return <code>true</code> if an edit has been shifted, in which case the runs need to be normalized
+	 *         again.
+	 */
+	private boolean cleanupMerge(int start1, int start2) {
+		mergeBlocks(start1, start2);
+
+		boolean changes = false;
+		int line1 = start1;
+		int line2 = start2;
+		int i = runFloor + 1;
+		if (runCount > runFloor) {
+			line1 = advance1(runFloor, line1);
+			line2 = advance2(runFloor, line2);
+		}
+		while (i < runCount - 1) {
+			final int op = runOps[i];
+			final int length = runLengths[i];
+			final int previous = runLengths[i - 1];
+			final int next = runLengths[i + 1];
+			if (runOps[i - 1] == EQUAL && runOps[i + 1] == EQUAL) {
+				final int[] ids;
+				final int start;
+				if (op == DELETE) {
+					ids = ids1;
+					start = line1;
+				} else {
+					ids = ids2;
+					start = line2;
+				}
+				if (length >= previous && rangeEquals(ids, start + length - previous, ids, start - previous,
+						previous)) {
+					// Shift the edit over the previous equality.
+					runLengths[i + 1] = previous + next;
+					removeRun(i - 1);
+					line1 -= previous;
+					line2 -= previous;
+					changes = true;
+					// The edit is now at i - 1, followed by the merged equality
+					line1 = advance1(i - 1, line1);
+					line2 = advance2(i - 1, line2);
+					line1 = advance1(i, line1);
+					line2 = advance2(i, line2);
+					i++;
+					continue;
+				} else if (length >= next && rangeEquals(ids, start, ids, start + length, next)) {
+					// Shift the edit over the next equality.
+					runLengths[i - 1] = previous + next;
+					removeRun(i + 1);
+					line1 += next;
+					line2 += next;
+					changes = true;
+				}
+			}
+			line1 = advance1(i, line1);
+			line2 = advance2(i, line2);
+			i++;
+		}
+		return changes;
+	}
+
+	/**
+	 * Merges the runs of each block of changes into a single deletion followed by a single insertion, and
+	 * factors out the lines these have in common.
+	 *
+	 * @param start1
+	 *            Line of the first text at which the first run to normalize starts.
+	 * @param start2
+	 *            Line of the second text at which the first run to normalize starts.
+	 */
+	private void mergeBlocks(int start1, int start2) {
+		final int oldCount = runCount - runFloor;
+		mergeOps = ensureCapacity(mergeOps, oldCount);
+		mergeLengths = ensureCapacity(mergeLengths, oldCount);
+		System.arraycopy(runOps, runFloor, mergeOps, 0, oldCount);
+		System.arraycopy(runLengths, runFloor, mergeLengths, 0, oldCount);
+		final int[] ops = mergeOps;
+		final int[] lengths = mergeLengths;
+		runCount = runFloor;
+
+		int line1 = start1;
+		int line2 = start2;
+		int deleted = 0;
+		int inserted = 0;
+		for (int i = 0; i <= oldCount; i++) {
+			if (i < oldCount && ops[i] == DELETE) {
+				deleted += lengths[i];
+			} else if (i < oldCount && ops[i] == INSERT) {
+				inserted += lengths[i];
+			} else {
+				int suffix = 0;
+				if (deleted != 0 && inserted != 0) {
+					final int prefix = commonPrefix(line1, line2, Math.min(deleted, inserted));
+					emit(EQUAL, prefix);
+					line1 += prefix;
+					line2 += prefix;
+					deleted -= prefix;
+					inserted -= prefix;
+					suffix = commonSuffix(line1 + deleted, line2 + inserted, Math.min(deleted, inserted));
+					deleted -= suffix;
+					inserted -= suffix;
+				}
+				if (deleted != 0 || inserted != 0) {
+					emit(DELETE, deleted);
+					emit(INSERT, inserted);
+					line1 += deleted;
+					line2 += inserted;
+				}
+				// The common suffix of the block is prepended to the following equality
+				int length = suffix;
+				if (i < oldCount) {
+					length += lengths[i];
+				}
+				emit(EQUAL, length);
+				line1 += length;
+				line2 += length;
+				deleted = 0;
+				inserted = 0;
+			}
+		}
+	}
+
+	/**
+	 * Computes the number of lines common to the start of the given ranges.
+	 *
+	 * @param start1
+	 *            Start of the range in the first text.
+	 * @param start2
+	 *            Start of the range in the second text.
+	 * @param max
+	 *            Maximum number of lines to check.
+	 * @return The number of common lines.
+	 */
+	private int commonPrefix(int start1, int start2, int max) {
+		int common = 0;
+		while (common < max && ids1[start1 + common] == ids2[start2 + common]) {
+			common++;
+		}
+		return common;
+	}
+
+	/**
+	 * Computes the number of lines common to the end of the given ranges.
+	 *
+	 * @param end1
+	 *            End of the range in the first text, exclusive.
+	 * @param end2
+	 *            End of the range in the second text, exclusive.
+	 * @param max
+	 *            Maximum number of lines to check.
+	 * @return The number of common lines.
+	 */
+	private int commonSuffix(int end1, int end2, int max) {
+		int common = 0;
+		while (common < max && ids1[end1 - common - 1] == ids2[end2 - common - 1]) {
+			common++;
+		}
+		return common;
+	}
+
+	/**
+	 * Checks whether two ranges of line identifiers are equal.
+	 *
+	 * @param a
+	 *            The first array.
+	 * @param startA
+	 *            Start of the range in the first array.
+	 * @param b
+	 *            The second array.
+	 * @param startB
+	 *            Start of the range in the second array.
+	 * @param length
+	 *            Length of both ranges.
+	 * @return <code>true</code> if the ranges hold the same identifiers.
+	 */
+	private static boolean rangeEquals(int[] a, int startA, int[] b, int startB, int length) {
+		for (int i = 0; i < length; i++) {
+			if (a[startA + i] != b[startB + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the line of the first text following the given run.
+	 *
+	 * @param run
+	 *            Index of the run.
+	 * @param line1
+	 *            Line of the first text at which the run starts.
+	 * @return Line of the first text at which the run ends.
+	 */
+	private int advance1(int run, int line1) {
+		if (runOps[run] == INSERT) {
+			return line1;
+		}
+		return line1 + runLengths[run];
+	}
+
+	/**
+	 * Computes the line of the second text following the given run.
+	 *
+	 * @param run
+	 *            Index of the run.
+	 * @param line2
+	 *            Line of the second text at which the run starts.
+	 * @return Line of the second text at which the run ends.
+	 */
+	private int advance2(int run, int line2) {
+		if (runOps[run] == DELETE) {
+			return line2;
+		}
+		return line2 + runLengths[run];
+	}
+
+	/**
+	 * Removes a run from the result.
+	 *
+	 * @param run
+	 *            Index of the run to remove.
+	 */
+	private void removeRun(int run) {
+		System.arraycopy(runOps, run + 1, runOps, run, runCount - run - 1);
+		System.arraycopy(runLengths, run + 1, runLengths, run, runCount - run - 1);
+		runCount--;
+	}
+}
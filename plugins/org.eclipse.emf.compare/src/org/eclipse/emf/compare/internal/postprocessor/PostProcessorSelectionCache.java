@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.internal.postprocessor;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.compare.postprocessor.IPostProcessor;
+import org.eclipse.emf.compare.postprocessor.IPostProcessor.Phase;
+import org.eclipse.emf.compare.scope.IComparisonScope;
+
+/**
+ * Caches the selection of the post processors that apply to a given comparison scope. The selection only
+ * depends on the descriptors that are active in the registry at the time of the selection and on the URIs
+ * these descriptors match against: the namespace URIs of the scope, and its resource URIs only if one of the
+ * descriptors declares a resource URI pattern. Resource URIs differ for every comparison, while namespace
+ * URIs are mostly shared, which lets us reuse selections across comparisons without matching every
+ * descriptor's patterns against every URI of the scope.
+ */
+public class PostProcessorSelectionCache {
+
+	/** Maximum number of distinct selections we'll keep in memory. */
+	private static final int DEFAULT_MAXIMUM_SIZE = 128;
+
+	/** The phases declared by each post processor class through the {@link IPostProcessor.Phases} annotation. */
+	private static final LoadingCache<Class<?>, Set<Phase>> DECLARED_PHASES = CacheBuilder.newBuilder()
+			.weakKeys().build(new CacheLoader<Class<?>, Set<Phase>>() {
+				@Override
+				public Set<Phase> load(Class<?> key) {
+					final IPostProcessor.Phases phases = key.getAnnotation(IPostProcessor.Phases.class);
+					if (phases == null) {
+						return Sets.immutableEnumSet(EnumSet.allOf(Phase.class));
+					}
+					return Sets.immutableEnumSet(Arrays.asList(phases.value()));
+				}
+			});
+
+	/** The selected descriptors for each set of descriptors and matched URIs we've been asked for. */
+	private final Cache<SelectionKey, List<IPostProcessor.Descriptor>> selections;
+
+	/**
+	 * Creates an empty selection cache.
+	 */
+	public PostProcessorSelectionCache() {
+		selections = CacheBuilder.newBuilder().maximumSize(DEFAULT_MAXIMUM_SIZE).build();
+	}
+
+	/**
+	 * Retrieves the post processors, among those described by the given <code>descriptors</code>, that apply
+	 * to the given <code>scope</code>. A post processor applies if its namespace URI pattern matches one of
+	 * the namespaces of the scope, or if its resource URI pattern matches one of the resources of the scope.
+	 *
+	 * @param descriptors
+	 *            The active descriptors, sorted in the order their post processors are to be called.
+	 * @param scope
+	 *            The comparison scope.
+	 * @return The post processors that apply to this scope.
+	 */
+	public List<IPostProcessor> getPostProcessors(List<IPostProcessor.Descriptor> descriptors,
+			IComparisonScope scope) {
+		final Set<String> resourceURIs;
+		if (hasResourcePattern(descriptors)) {
+			resourceURIs = scope.getResourceURIs();
+		} else {
+			// None of the descriptors will look at the resources, don't let them split the cache
+			resourceURIs = ImmutableSet.of();
+		}
+		final SelectionKey key = new SelectionKey(descriptors, scope.getNsURIs(), resourceURIs);
+		List<IPostProcessor.Descriptor> selected = selections.getIfPresent(key);
+		if (selected == null) {
+			selected = select(key);
+			selections.put(key, selected);
+		}
+
+		final ImmutableList.Builder<IPostProcessor> processors = ImmutableList.builder();
+		for (IPostProcessor.Descriptor descriptor : selected) {
+			processors.add(descriptor.getPostProcessor());
+		}
+		return processors.build();
+	}
+
+	/**
+	 * Tells whether the given post processor needs to be called for the given phase, as declared through its
+	 * {@link IPostProcessor.Phases} annotation. The annotation of each post processor class is only looked up
+	 * once.
+	 *
+	 * @param postProcessor
+	 *            The post processor.
+	 * @param phase
+	 *            The phase we are about to execute.
+	 * @return <code>true</code> if this post processor is not annotated, or declares the given phase.
+	 */
+	public static boolean isCalledFor(IPostProcessor postProcessor, Phase phase) {
+		return DECLARED_PHASES.getUnchecked(postProcessor.getClass()).contains(phase);
+	}
+
+	/**
+	 * Discards all cached selections. This should be called whenever the registry changes.
+	 */
+	public void invalidate() {
+		selections.invalidateAll();
+	}
+
+	/**
+	 * Matches the descriptors of the given key against its URIs.
+	 *
+	 * @param key
+	 *            The key for which we need to compute the selection.
+	 * @return The selected descriptors.
+	 */
+	private static List<IPostProcessor.Descriptor> select(SelectionKey key) {
+		final ImmutableList.Builder<IPostProcessor.Descriptor> selected = ImmutableList.builder();
+		for (IPostProcessor.Descriptor descriptor : key.descriptors) {
+			if (matchesAny(descriptor.getNsURI(), key.nsURIs)) {
+				selected.add(descriptor);
+			}
+			// Should probably use two loops here to prioritize NsURI matching
+			if (matchesAny(descriptor.getResourceURI(), key.resourceURIs)) {
+				selected.add(descriptor);
+			}
+		}
+		return selected.build();
+	}
+
+	/**
+	 * Checks whether any of the given descriptors declares a resource URI pattern.
+	 *
+	 * @param descriptors
+	 *            The active descriptors.
+	 * @return <code>true</code> if the resource URIs of the scopes need to be matched.
+	 */
+	private static boolean hasResourcePattern(List<IPostProcessor.Descriptor> descriptors) {
+		for (IPostProcessor.Descriptor descriptor : descriptors) {
+			if (descriptor.getResourceURI() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the given pattern matches any of the given URIs.
+	 *
+	 * @param pattern
+	 *            The pattern, may be <code>null</code>.
+	 * @param uris
+	 *            The URIs to match.
+	 * @return <code>true</code> if one of the URIs matches the pattern, <code>false</code> otherwise.
+	 */
+	private static boolean matchesAny(Pattern pattern, Set<String> uris) {
+		if (pattern != null) {
+			for (String uri : uris) {
+				if (pattern.matcher(uri).matches()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Key of the selection cache.
+	 */
+	private static final class SelectionKey {
+		/** The active descriptors. */
+		private final List<IPostProcessor.Descriptor> descriptors;
+
+		/** The namespace URIs of the scope. */
+		private final Set<String> nsURIs;
+
+		/** The resource URIs of the scope, empty if no descriptor matches against them. */
+		private final Set<String> resourceURIs;
+
+		/** Cached hash code of this key. */
+		private final int hash;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param descriptors
+		 *            The active descriptors.
+		 * @param nsURIs
+		 *            The namespace URIs of the scope.
+		 * @param resourceURIs
+		 *            The resource URIs of the scope, empty if no descriptor matches against them.
+		 */
+		SelectionKey(List<IPostProcessor.Descriptor> descriptors, Set<String> nsURIs,
+				Set<String> resourceURIs) {
+			this.descriptors = ImmutableList.copyOf(descriptors);
+			this.nsURIs = ImmutableSet.copyOf(nsURIs);
+			this.resourceURIs = ImmutableSet.copyOf(resourceURIs);
+			this.hash = Objects.hashCode(this.descriptors, this.nsURIs, this.resourceURIs);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof SelectionKey)) {
+				return false;
+			}
+			final SelectionKey other = (SelectionKey)obj;
+			return hash == other.hash && descriptors.equals(other.descriptors)
+					&& nsURIs.equals(other.nsURIs) && resourceURIs.equals(other.resourceURIs);
+		}
+	}
+}
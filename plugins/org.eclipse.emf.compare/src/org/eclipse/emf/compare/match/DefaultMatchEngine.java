@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2024 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -48,6 +48,7 @@ import org.eclipse.emf.compare.match.resource.IResourceMatcher;
 import org.eclipse.emf.compare.match.resource.IResourceMatchingStrategy;
 import org.eclipse.emf.compare.match.resource.StrategyResourceMatcher;
 import org.eclipse.emf.compare.scope.IComparisonScope;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.compare.utils.UseIdentifiers;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
@@ -62,7 +63,7 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  */
-public class DefaultMatchEngine implements IMatchEngine {
+public class DefaultMatchEngine implements IMatchEngine, IResettable {
 
 	/**
 	 * Default max size of the EObject's URI loading cache.
@@ -497,6 +498,21 @@ public class DefaultMatchEngine implements IMatchEngine {
 		return eObjectMatcher;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		if (eObjectMatcher instanceof IResettable) {
+			((IResettable)eObjectMatcher).reset();
+		}
+		if (resourceMatcher instanceof IResettable) {
+			((IResettable)resourceMatcher).reset();
+		}
+	}
+
 	/**
 	 * This will check that at least two of the three given booleans are <code>true</code>.
 	 * 
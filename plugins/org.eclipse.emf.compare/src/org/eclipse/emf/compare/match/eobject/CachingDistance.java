@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import java.util.Map;
 import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.match.eobject.ProximityEObjectMatcher.DistanceFunction;
 import org.eclipse.emf.compare.match.eobject.internal.AccessBasedLRUCache;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.ecore.EObject;
 
 /**
@@ -24,7 +25,7 @@ import org.eclipse.emf.ecore.EObject;
  * @author <a href="mailto:cedric.brun@obeo.fr">Cedric Brun</a>
  * @since 3.1
  */
-public class CachingDistance implements DistanceFunction {
+public class CachingDistance implements DistanceFunction, IResettable {
 
 	/**
 	 * The wrapped function.
@@ -69,6 +70,19 @@ public class CachingDistance implements DistanceFunction {
 		return wrapped.areIdentic(inProgress, a, b);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		distanceCache.clear();
+		if (wrapped instanceof IResettable) {
+			((IResettable)wrapped).reset();
+		}
+	}
+
 	/**
 	 * A class used as a key for two EObjects. Pair(a,b) and Pair(b,a) should be equals and have the same
 	 * hashcodes
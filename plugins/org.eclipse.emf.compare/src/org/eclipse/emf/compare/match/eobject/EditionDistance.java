@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -40,6 +40,7 @@ import org.eclipse.emf.compare.match.eobject.ProximityEObjectMatcher.DistanceFun
 import org.eclipse.emf.compare.match.eobject.internal.WeightProviderDescriptorImpl;
 import org.eclipse.emf.compare.utils.EqualityHelper;
 import org.eclipse.emf.compare.utils.IEqualityHelper;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.compare.utils.ReferenceUtil;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClassifier;
@@ -54,7 +55,7 @@ import org.eclipse.emf.ecore.util.InternalEList;
  * 
  * @author <a href="mailto:cedric.brun@obeo.fr">Cedric Brun</a>
  */
-public class EditionDistance implements DistanceFunction {
+public class EditionDistance implements DistanceFunction, IResettable {
 
 	/**
 	 * Weight coefficient of a change of location (uri).
@@ -90,6 +91,12 @@ public class EditionDistance implements DistanceFunction {
 	/** The registry of Weight Providers to use in this Edition Distance. */
 	private WeightProvider.Descriptor.Registry weightProviderRegistry;
 
+	/**
+	 * The diff engine used to measure the differences. It is reused for all measures since, like the fake
+	 * comparison, it is costly to create for each of the many calls we get during a comparison.
+	 */
+	private CountingDiffEngine countingEngine;
+
 	/**
 	 * Instantiate a new Edition Distance that will use
 	 * {@link WeightProviderDescriptorRegistryImpl#createStandaloneInstance()}.
@@ -182,8 +189,7 @@ public class EditionDistance implements DistanceFunction {
 	public double distance(Comparison inProgress, EObject a, EObject b) {
 		this.uriDistance.setComparison(inProgress);
 		double maxDist = Math.max(getThresholdAmount(a), getThresholdAmount(b));
-		double measuredDist = new CountingDiffEngine(maxDist, this.fakeComparison)
-				.measureDifferences(inProgress, a, b);
+		double measuredDist = getCountingEngine(maxDist).measureDifferences(inProgress, a, b);
 		if (measuredDist > maxDist) {
 			return Double.MAX_VALUE;
 		}
@@ -194,7 +200,40 @@ public class EditionDistance implements DistanceFunction {
 	 * {@inheritDoc}
 	 */
 	public boolean areIdentic(Comparison inProgress, EObject a, EObject b) {
-		return new CountingDiffEngine(0, this.fakeComparison).measureDifferences(inProgress, a, b) == 0;
+		return getCountingEngine(0).measureDifferences(inProgress, a, b) == 0;
+	}
+
+	/**
+	 * Returns the diff engine to use in order to measure differences up to the given distance.
+	 * 
+	 * @param maxDistance
+	 *            the maximum distance we might reach.
+	 * @return the diff engine to use in order to measure differences.
+	 */
+	private CountingDiffEngine getCountingEngine(double maxDistance) {
+		if (countingEngine == null) {
+			countingEngine = new CountingDiffEngine(maxDistance, this.fakeComparison);
+		} else {
+			countingEngine.setMaxDistance(maxDistance);
+		}
+		return countingEngine;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		uriDistance.reset();
+		final Match fakeMatch = fakeComparison.getMatches().get(0);
+		fakeMatch.setLeft(null);
+		fakeMatch.setRight(null);
+		final IEqualityHelper equalityHelper = fakeComparison.getEqualityHelper();
+		if (equalityHelper instanceof EqualityHelper) {
+			((EqualityHelper)equalityHelper).getCache().invalidateAll();
+		}
 	}
 
 	/**
@@ -436,6 +475,7 @@ public class EditionDistance implements DistanceFunction {
 		 */
 		public void reset() {
 			this.alreadyChanged.clear();
+			this.distance = 0;
 		}
 
 	}
@@ -469,6 +509,16 @@ public class EditionDistance implements DistanceFunction {
 
 		}
 
+		/**
+		 * Sets the maximum distance until which we need to measure the differences.
+		 * 
+		 * @param maxDistance
+		 *            the maximum distance we might reach.
+		 */
+		void setMaxDistance(double maxDistance) {
+			this.maxDistance = maxDistance;
+		}
+
 		@Override
 		protected void checkResourceAttachment(Match match, Monitor monitor) {
 			/*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -38,6 +38,7 @@ import org.eclipse.emf.compare.ComparisonCanceledException;
 import org.eclipse.emf.compare.EMFCompareMessages;
 import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.match.eobject.EObjectIndex.Side;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -51,7 +52,7 @@ import org.eclipse.emf.ecore.xmi.XMIResource;
  * 
  * @author <a href="mailto:laurent.goubet@obeo.fr">Laurent Goubet</a>
  */
-public class IdentifierEObjectMatcher implements IEObjectMatcher {
+public class IdentifierEObjectMatcher implements IEObjectMatcher, IResettable {
 	/**
 	 * This instance might have a delegate matcher. The delegate matcher will be called when no ID is found
 	 * and its results are aggregated with the current matcher.
@@ -301,6 +302,19 @@ public class IdentifierEObjectMatcher implements IEObjectMatcher {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		diagnostic = null;
+		if (delegate.isPresent() && delegate.get() instanceof IResettable) {
+			((IResettable)delegate.get()).reset();
+		}
+	}
+
 	/**
 	 * The default function used to retrieve IDs from EObject. You might want to extend or compose with it if
 	 * you want to reuse its behavior.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Obeo and others.
+ * Copyright (c) 2012, 2026 Obeo and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import org.eclipse.emf.compare.Match;
 import org.eclipse.emf.compare.match.eobject.EObjectIndex.Side;
 import org.eclipse.emf.compare.match.eobject.internal.ByTypeIndex;
 import org.eclipse.emf.compare.match.eobject.internal.MatchAheadOfTime;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.ecore.EObject;
 
 /**
@@ -50,12 +51,17 @@ import org.eclipse.emf.ecore.EObject;
  * 
  * @author <a href="mailto:cedric.brun@obeo.fr">Cedric Brun</a>
  */
-public class ProximityEObjectMatcher implements IEObjectMatcher, ScopeQuery {
+public class ProximityEObjectMatcher implements IEObjectMatcher, ScopeQuery, IResettable {
 	/**
 	 * Number of elements to index before a starting a match ahead step.
 	 */
 	private static final int NB_ELEMENTS_BETWEEN_MATCH_AHEAD = 10000;
 
+	/**
+	 * The function used to measure the distance between two {@link EObject}s.
+	 */
+	private final DistanceFunction meter;
+
 	/**
 	 * The index which keep the EObjects.
 	 */
@@ -73,6 +79,7 @@ public class ProximityEObjectMatcher implements IEObjectMatcher, ScopeQuery {
 	 *            a function to measure the distance between two {@link EObject}s.
 	 */
 	public ProximityEObjectMatcher(DistanceFunction meter) {
+		this.meter = meter;
 		this.index = new ByTypeIndex(meter, this);
 	}
 
@@ -434,4 +441,18 @@ public class ProximityEObjectMatcher implements IEObjectMatcher, ScopeQuery {
 	public boolean isInScope(EObject eContainer) {
 		return eObjectsToSide.get(eContainer) != null;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		eObjectsToSide.clear();
+		index = new ByTypeIndex(meter, this);
+		if (meter instanceof IResettable) {
+			((IResettable)meter).reset();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2013 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.eclipse.emf.compare.Comparison;
 import org.eclipse.emf.compare.match.eobject.internal.AccessBasedLRUCache;
+import org.eclipse.emf.compare.utils.IResettable;
 import org.eclipse.emf.ecore.EObject;
 
 /**
@@ -29,7 +30,7 @@ import org.eclipse.emf.ecore.EObject;
  * 
  * @author <a href="mailto:cedric.brun@obeo.fr">Cedric Brun</a>
  */
-public class URIDistance implements Function<EObject, Iterable<String>> {
+public class URIDistance implements Function<EObject, Iterable<String>>, IResettable {
 	/**
 	 * The upper bound distance we can get using this function.
 	 */
@@ -191,4 +192,15 @@ public class URIDistance implements Function<EObject, Iterable<String>> {
 		return MAX_DISTANCE;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @see org.eclipse.emf.compare.utils.IResettable#reset()
+	 * @since 3.6
+	 */
+	public void reset() {
+		locationCache.clear();
+		fragmentsCache.clear();
+	}
+
 }
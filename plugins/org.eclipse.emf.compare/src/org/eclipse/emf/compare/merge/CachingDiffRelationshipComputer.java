@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 EclipseSource Services GmbH and others.
+ * Copyright (c) 2017, 2026 EclipseSource Services GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -339,4 +339,16 @@ public class CachingDiffRelationshipComputer extends DiffRelationshipComputer {
 		directResultingMergesR2L.clear();
 		directResultingMergesL2R.clear();
 	}
+
+	/**
+	 * Returns the number of relationships currently cached, all kinds and directions included.
+	 * 
+	 * @return The number of cached relationships.
+	 * @since 3.6
+	 */
+	public int getCacheSize() {
+		return directMergeDependenciesR2L.size() + directMergeDependenciesL2R.size()
+				+ directResultingRejectionsR2L.size() + directResultingRejectionsL2R.size()
+				+ directResultingMergesR2L.size() + directResultingMergesL2R.size();
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2013 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.emf.compare.postprocessor;
 
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -97,6 +102,54 @@ public interface IPostProcessor {
 	 */
 	void postComparison(Comparison comparison, Monitor monitor);
 
+	/**
+	 * The steps of the comparison after which post processors can be called.
+	 * 
+	 * @since 3.6
+	 */
+	enum Phase {
+		/** After the match step, see {@link IPostProcessor#postMatch(Comparison, Monitor)}. */
+		MATCH,
+
+		/** After the difference step, see {@link IPostProcessor#postDiff(Comparison, Monitor)}. */
+		DIFF,
+
+		/** After the requirements step, see {@link IPostProcessor#postRequirements(Comparison, Monitor)}. */
+		REQUIREMENTS,
+
+		/** After the equivalences step, see {@link IPostProcessor#postEquivalences(Comparison, Monitor)}. */
+		EQUIVALENCES,
+
+		/** After the conflicts step, see {@link IPostProcessor#postConflicts(Comparison, Monitor)}. */
+		CONFLICTS,
+
+		/** After the whole comparison, see {@link IPostProcessor#postComparison(Comparison, Monitor)}. */
+		COMPARISON;
+	}
+
+	/**
+	 * Post processors can be annotated with this in order to declare the only phases they actually implement.
+	 * EMF Compare will not call the post processor for the other phases. Post processors that are not
+	 * annotated are called after every step of the comparison.
+	 * <p>
+	 * This annotation is not inherited : sub-classes of an annotated post processor need to declare their own
+	 * phases.
+	 * </p>
+	 * 
+	 * @since 3.6
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@interface Phases {
+		/**
+		 * The phases this post processor is to be called for.
+		 * 
+		 * @return The phases this post processor is to be called for.
+		 */
+		Phase[] value();
+	}
+
 	/**
 	 * Wrapper describing the given post processor.
 	 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2013 Obeo.
+ * Copyright (c) 2012, 2026 Obeo.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,14 +11,13 @@
 package org.eclipse.emf.compare.postprocessor;
 
 import com.google.common.base.Function;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Ordering;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
+import org.eclipse.emf.compare.internal.postprocessor.PostProcessorSelectionCache;
 import org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor;
 import org.eclipse.emf.compare.scope.IComparisonScope;
 
@@ -43,11 +42,15 @@ public class PostProcessorDescriptorRegistryImpl<K> implements IPostProcessor.De
 	/** List of all the post processors contributed through "org.eclipse.emf.compare.postProcessor". */
 	private final Map<K, IPostProcessor.Descriptor> postProcessorFactories;
 
+	/** Post processors previously selected for the URIs of the compared scopes. */
+	private final PostProcessorSelectionCache selectionCache;
+
 	/**
 	 * Creates a new extension registry.
 	 */
 	public PostProcessorDescriptorRegistryImpl() {
 		postProcessorFactories = new ConcurrentHashMap<K, IPostProcessor.Descriptor>();
+		selectionCache = new PostProcessorSelectionCache();
 	}
 
 	/**
@@ -57,6 +60,7 @@ public class PostProcessorDescriptorRegistryImpl<K> implements IPostProcessor.De
 	 */
 	public void clear() {
 		postProcessorFactories.clear();
+		selectionCache.invalidate();
 	}
 
 	/**
@@ -66,7 +70,9 @@ public class PostProcessorDescriptorRegistryImpl<K> implements IPostProcessor.De
 	 *      org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor)
 	 */
 	public Descriptor put(K key, Descriptor postProcessor) {
-		return postProcessorFactories.put(key, postProcessor);
+		final Descriptor previous = postProcessorFactories.put(key, postProcessor);
+		selectionCache.invalidate();
+		return previous;
 	}
 
 	/**
@@ -84,7 +90,9 @@ public class PostProcessorDescriptorRegistryImpl<K> implements IPostProcessor.De
 	 * @see org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor.Registry#remove(java.lang.Object)
 	 */
 	public Descriptor remove(K key) {
-		return postProcessorFactories.remove(key);
+		final Descriptor previous = postProcessorFactories.remove(key);
+		selectionCache.invalidate();
+		return previous;
 	}
 
 	/**
@@ -93,28 +101,6 @@ public class PostProcessorDescriptorRegistryImpl<K> implements IPostProcessor.De
 	 * @see org.eclipse.emf.compare.postprocessor.IPostProcessor.Descriptor.Registry#getPostProcessors(org.eclipse.emf.compare.scope.IComparisonScope)
 	 */
 	public List<IPostProcessor> getPostProcessors(IComparisonScope scope) {
-		final ImmutableList.Builder<IPostProcessor> processors = ImmutableList.builder();
-		for (IPostProcessor.Descriptor factory : getDescriptors()) {
-			Pattern nsURIPattern = factory.getNsURI();
-			if (nsURIPattern != null) {
-				for (String nsURI : scope.getNsURIs()) {
-					if (nsURIPattern.matcher(nsURI).matches()) {
-						processors.add(factory.getPostProcessor());
-						break;
-					}
-				}
-			}
-			// Should probably use two loops here to prioritize NsURI matching
-			Pattern resourceURIPattern = factory.getResourceURI();
-			if (resourceURIPattern != null) {
-				for (String resourceURI : scope.getResourceURIs()) {
-					if (resourceURIPattern.matcher(resourceURI).matches()) {
-						processors.add(factory.getPostProcessor());
-						break;
-					}
-				}
-			}
-		}
-		return processors.build();
+		return selectionCache.getPostProcessors(getDescriptors(), scope);
 	}
 }
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Obeo.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.emf.compare.utils;
+
+/**
+ * An element that keeps state (caches, indexes...) from one comparison to the next, and that can be asked to
+ * discard this state so that it can be reused for an unrelated comparison without retaining the objects of
+ * the previous one.
+ *
+ * @since 3.6
+ */
+public interface IResettable {
+
+	/**
+	 * Discards all state this element has accumulated during the previous comparisons. This is called
+	 * between two comparisons, never while a comparison is in progress.
+	 */
+	void reset();
+}